@@ -0,0 +1,72 @@
+package isilimageprocessing.bench;
+
+import CImage.CImageNG;
+import CImage.CImageRGB;
+import ImageProcessing.Core.Image8;
+import ImageProcessing.Core.ImageUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversions entre les images CImage (BufferedImage) et les buffers de traitement (int[][], Image8).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class BenchConversions {
+
+    @Param({"256", "1024", "4096", "8192"})
+    public int taille;
+
+    private int[][] matrice;
+    private Image8 image8;
+    private CImageNG imageNG;
+    private CImageRGB imageRGB;
+
+    @Setup(Level.Trial)
+    public void prepare() throws Exception {
+        matrice = ImagesBench.niveauxDeGris(taille);
+        image8 = Image8.depuisMatrice(matrice);
+        imageNG = ImageUtils.matrixToCImageNG(matrice);
+        imageRGB = new CImageRGB(matrice, ImagesBench.niveauxDeGris(taille), ImagesBench.binaire(taille));
+    }
+
+    @Benchmark
+    public int[][] imageNGVersMatrice() {
+        return ImageUtils.imageToGrayMatrix(imageNG);
+    }
+
+    @Benchmark
+    public int[][] imageRGBVersMatrice() {
+        return ImageUtils.imageToGrayMatrix(imageRGB);
+    }
+
+    @Benchmark
+    public CImageNG matriceVersImageNG() {
+        return ImageUtils.matrixToCImageNG(matrice);
+    }
+
+    @Benchmark
+    public Image8 imageNGVersImage8() {
+        return ImageUtils.imageToImage8(imageNG);
+    }
+
+    @Benchmark
+    public CImageNG image8VersImageNG() {
+        return ImageUtils.image8ToCImageNG(image8);
+    }
+}
@@ -0,0 +1,74 @@
+package isilimageprocessing.bench;
+
+import ImageProcessing.Core.BorderMode;
+import ImageProcessing.Core.Image8;
+import ImageProcessing.Lineaire.FiltrageLineaireLocal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Convolution locale (filtreMasqueConvolution) sur int[][] et sur Image8, pour un masque moyenneur
+ * (séparable, chemin rapide) et un masque aléatoire (non séparable : convolution directe ou FFT
+ * selon PlanificateurConvolution).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class BenchConvolution {
+
+    @Param({"256", "1024", "4096", "8192"})
+    public int taille;
+
+    @Param({"3", "7", "15", "31"})
+    public int tailleMasque;
+
+    @Param({"MOYENNEUR", "ALEATOIRE"})
+    public String typeMasque;
+
+    private int[][] image;
+    private Image8 image8;
+    private double[][] masque;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        image = ImagesBench.niveauxDeGris(taille);
+        image8 = Image8.depuisMatrice(image);
+        masque = new double[tailleMasque][tailleMasque];
+        Random rnd = new Random(7L * tailleMasque);
+        double somme = 0;
+        for (int i = 0; i < tailleMasque; i++) {
+            for (int j = 0; j < tailleMasque; j++) {
+                masque[i][j] = "MOYENNEUR".equals(typeMasque) ? 1.0 : rnd.nextDouble();
+                somme += masque[i][j];
+            }
+        }
+        for (double[] ligne : masque) {
+            for (int j = 0; j < tailleMasque; j++) ligne[j] /= somme;
+        }
+    }
+
+    @Benchmark
+    public int[][] convolutionMatrice() {
+        return FiltrageLineaireLocal.filtreMasqueConvolution(image, masque, BorderMode.REPLICATE);
+    }
+
+    @Benchmark
+    public Image8 convolutionImage8() {
+        return FiltrageLineaireLocal.filtreMasqueConvolution(image8, masque, BorderMode.REPLICATE);
+    }
+}
@@ -0,0 +1,59 @@
+package isilimageprocessing.bench;
+
+import ImageProcessing.Complexe.MatriceComplexe;
+import ImageProcessing.Fourier.Fourier;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Transformées de Fourier 2D : spectre complet (Fourier2D), demi-spectre d'une image réelle
+ * (Fourier2DReel) et aller-retour demi-spectre / image (InverseFourier2DReel).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class BenchFourier {
+
+    @Param({"256", "1024", "4096", "8192"})
+    public int taille;
+
+    private double[][] reels;
+    private int[][] image;
+    private MatriceComplexe demiSpectre;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        reels = ImagesBench.reels(taille);
+        image = ImagesBench.niveauxDeGris(taille);
+        demiSpectre = Fourier.Fourier2DReel(image);
+    }
+
+    @Benchmark
+    public MatriceComplexe fourier2D() {
+        return Fourier.Fourier2D(reels);
+    }
+
+    @Benchmark
+    public MatriceComplexe fourier2DReel() {
+        return Fourier.Fourier2DReel(image);
+    }
+
+    @Benchmark
+    public double[] inverseFourier2DReel() {
+        return Fourier.InverseFourier2DReel(demiSpectre, taille);
+    }
+}
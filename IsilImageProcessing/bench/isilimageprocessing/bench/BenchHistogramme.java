@@ -0,0 +1,63 @@
+package isilimageprocessing.bench;
+
+import ImageProcessing.Core.Image8;
+import ImageProcessing.Histogramme.Histogramme;
+import ImageProcessing.Seuillage.Seuillage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Histogramme à 256 niveaux et seuillage automatique (histogramme + seuil itératif + LUT), sur
+ * int[][] et sur Image8.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class BenchHistogramme {
+
+    @Param({"256", "1024", "4096", "8192"})
+    public int taille;
+
+    private int[][] image;
+    private Image8 image8;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        image = ImagesBench.niveauxDeGris(taille);
+        image8 = Image8.depuisMatrice(image);
+    }
+
+    @Benchmark
+    public int[] histogramme256Matrice() {
+        return Histogramme.Histogramme256(image);
+    }
+
+    @Benchmark
+    public int[] histogramme256Image8() {
+        return Histogramme.Histogramme256(image8);
+    }
+
+    @Benchmark
+    public int[][] seuillageAutomatiqueMatrice() {
+        return Seuillage.seuillageAutomatique(image);
+    }
+
+    @Benchmark
+    public Image8 seuillageAutomatiqueImage8() {
+        return Seuillage.seuillageAutomatique(image8);
+    }
+}
@@ -0,0 +1,71 @@
+package isilimageprocessing.bench;
+
+import ImageProcessing.Core.Image8;
+import ImageProcessing.NonLineaire.MorphoComplexe;
+import ImageProcessing.NonLineaire.MorphoElementaire;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Morphologie en niveaux de gris (érosion, dilatation sur int[][] et Image8) et filtre médian,
+ * selon la taille de l'élément structurant (carré).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class BenchMorphologie {
+
+    @Param({"256", "1024", "4096", "8192"})
+    public int taille;
+
+    @Param({"3", "7", "15", "31"})
+    public int tailleElement;
+
+    private int[][] image;
+    private Image8 image8;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        image = ImagesBench.niveauxDeGris(taille);
+        image8 = Image8.depuisMatrice(image);
+    }
+
+    @Benchmark
+    public int[][] erosionMatrice() {
+        return MorphoElementaire.erosion(image, tailleElement);
+    }
+
+    @Benchmark
+    public int[][] dilatationMatrice() {
+        return MorphoElementaire.dilatation(image, tailleElement);
+    }
+
+    @Benchmark
+    public Image8 erosionImage8() {
+        return MorphoElementaire.erosion(image8, tailleElement);
+    }
+
+    @Benchmark
+    public Image8 dilatationImage8() {
+        return MorphoElementaire.dilatation(image8, tailleElement);
+    }
+
+    @Benchmark
+    public int[][] filtreMedian() {
+        return MorphoComplexe.filtreMedian(image, tailleElement);
+    }
+}
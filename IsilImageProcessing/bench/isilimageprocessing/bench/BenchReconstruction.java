@@ -0,0 +1,60 @@
+package isilimageprocessing.bench;
+
+import ImageProcessing.Core.Image8;
+import ImageProcessing.NonLineaire.MorphoComplexe;
+import ImageProcessing.NonLineaire.MorphoElementaire;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reconstruction géodésique d'une image binaire depuis un marqueur obtenu par érosion : plus
+ * l'élément d'érosion est grand, plus le marqueur est petit et plus la propagation est longue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class BenchReconstruction {
+
+    @Param({"256", "1024", "4096", "8192"})
+    public int taille;
+
+    @Param({"3", "7", "15", "31"})
+    public int tailleErosionMarqueur;
+
+    private int[][] masque;
+    private int[][] marqueur;
+    private Image8 masque8;
+    private Image8 marqueur8;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        masque = ImagesBench.binaire(taille);
+        marqueur = MorphoElementaire.erosion(masque, tailleErosionMarqueur);
+        masque8 = Image8.depuisMatrice(masque);
+        marqueur8 = Image8.depuisMatrice(marqueur);
+    }
+
+    @Benchmark
+    public int[][] reconstructionMatrice() {
+        return MorphoComplexe.reconstructionGeodesique(marqueur, masque);
+    }
+
+    @Benchmark
+    public Image8 reconstructionImage8() {
+        return MorphoComplexe.reconstructionGeodesique(marqueur8, masque8);
+    }
+}
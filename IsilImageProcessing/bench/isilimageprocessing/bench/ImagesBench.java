@@ -0,0 +1,49 @@
+package isilimageprocessing.bench;
+
+import java.util.Random;
+
+/**
+ * Images synthétiques des benchmarks : contenu déterministe (graine fixe), pour que deux
+ * exécutions mesurent exactement le même travail.
+ */
+final class ImagesBench {
+
+    private ImagesBench() {
+    }
+
+    /**
+     * @return Une image en niveaux de gris int[taille][taille] : variations lentes (sinusoïdes)
+     *         et bruit uniforme, de façon à ce que seuils, histogrammes et morphologie aient du relief.
+     */
+    static int[][] niveauxDeGris(int taille) {
+        Random rnd = new Random(42L + taille);
+        int[][] image = new int[taille][taille];
+        for (int y = 0; y < taille; y++) {
+            double cy = Math.cos(y / 23.0);
+            for (int x = 0; x < taille; x++) {
+                int v = (int) (128 + 90 * Math.sin(x / 17.0) * cy) + rnd.nextInt(31) - 15;
+                image[y][x] = Math.max(0, Math.min(255, v));
+            }
+        }
+        return image;
+    }
+
+    /** @return La binarisation (0 / 255) de niveauxDeGris(taille) au seuil 128. */
+    static int[][] binaire(int taille) {
+        int[][] image = niveauxDeGris(taille);
+        for (int[] ligne : image) {
+            for (int x = 0; x < ligne.length; x++) ligne[x] = (ligne[x] > 128) ? 255 : 0;
+        }
+        return image;
+    }
+
+    /** @return niveauxDeGris(taille) en double[][] (entrée de Fourier2D). */
+    static double[][] reels(int taille) {
+        int[][] image = niveauxDeGris(taille);
+        double[][] f = new double[taille][taille];
+        for (int y = 0; y < taille; y++) {
+            for (int x = 0; x < taille; x++) f[y][x] = image[y][x];
+        }
+        return f;
+    }
+}
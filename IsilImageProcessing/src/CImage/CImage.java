@@ -49,7 +49,9 @@ public abstract class CImage
     
     public void charge(File f) throws IOException
     {
-        image = ImageIO.read(f);
+        BufferedImage lue = ImageIO.read(f);
+        if (lue == null) throw new IOException("Image illisible (format non reconnu ou fichier corrompu) : " + f.getName());
+        image = lue;
         largeur = image.getWidth();
         hauteur = image.getHeight();
         contexte = image.getGraphics();
@@ -4,6 +4,7 @@ import CImage.Exceptions.*;
 import java.awt.*;
 import java.awt.image.*;
 import java.io.*;
+import javax.imageio.*;
 
 public final class CImageNG extends CImage 
 {
@@ -35,6 +36,22 @@ public final class CImageNG extends CImage
         catch (CImageNGException ex) { throw new CImageNGException("Erreur interne inexpliquee..."); }
     }
     
+    /** Enveloppe, sans copie, une image en niveaux de gris 8 bits (TYPE_BYTE_GRAY).
+     * Les pixels sont lus et ecrits directement dans son raster (1 octet par pixel) :
+     * une modification de l'image enveloppee est visible dans la CImageNG et inversement.
+     * @param imageGris image de type BufferedImage.TYPE_BYTE_GRAY
+     * @throws CImage.Exceptions.CImageNGException si l'image est null ou d'un autre type */
+    public CImageNG(BufferedImage imageGris) throws CImageNGException
+    {
+        if (imageGris == null || imageGris.getType() != BufferedImage.TYPE_BYTE_GRAY)
+            throw new CImageNGException("L'image doit etre de type TYPE_BYTE_GRAY");
+        largeur = imageGris.getWidth();
+        hauteur = imageGris.getHeight();
+        image = imageGris;
+        contexte = image.getGraphics();
+        setObserver(null);
+    }
+
     public CImageNG(File f) throws IOException
     {
         super();
@@ -76,6 +93,7 @@ public final class CImageNG extends CImage
     
     public int getPixel(int x,int y) throws CImageNGException
     {
+        if (estRasterGris()) return image.getRaster().getSample(x,y,0);
         int pixels[] = new int[1];
         PixelGrabber pg = new PixelGrabber(image,x,y,1,1,pixels,0,1);
         try 
@@ -147,6 +165,22 @@ public final class CImageNG extends CImage
 
     public int[][] getMatrice() throws CImageNGException 
     {
+        // Acces direct au raster (ligne par ligne) pour les types connus
+        if (estRasterGris() || estRasterARGB())
+        {
+            WritableRaster raster = image.getRaster();
+            int[] ligne = new int[largeur];
+            int[][] matrice = new int[largeur][hauteur];
+            for(int y=0 ; y<hauteur ; y++)
+            {
+                if (estRasterGris()) raster.getSamples(0,y,largeur,1,0,ligne);
+                else raster.getDataElements(0,y,largeur,1,ligne);
+                for(int x=0 ; x<largeur ; x++)
+                    matrice[x][y] = estRasterGris() ? ligne[x] : (ligne[x] >> 16) & 0xFF;
+            }
+            return matrice;
+        }
+
         // Extraction des donnees de l'image
         int pixels[] = new int[largeur*hauteur];
         PixelGrabber pg = new PixelGrabber(image,0,0,largeur,hauteur,pixels,0,largeur);
@@ -175,6 +209,26 @@ public final class CImageNG extends CImage
         {
             if (matrice.length != largeur || matrice[0].length != hauteur)
                 throw new CImageNGException("La taille de la matrice n'est pas valide");
+
+            // Ecriture directe dans le raster (ligne par ligne), sans Color ni drawLine
+            if (estRasterGris() || estRasterARGB())
+            {
+                WritableRaster raster = image.getRaster();
+                int[] ligne = new int[largeur];
+                for(int j=0 ; j<hauteur ; j++)
+                {
+                    for(int i=0 ; i<largeur ; i++)
+                    {
+                        int val = matrice[i][j];
+                        verifieNG(val);
+                        ligne[i] = estRasterGris() ? val : 0xFF000000 | (val << 16) | (val << 8) | val;
+                    }
+                    if (estRasterGris()) raster.setSamples(0,j,largeur,1,0,ligne);
+                    else raster.setDataElements(0,j,largeur,1,ligne);
+                }
+                if (observer != null) observer.update();
+                return;
+            }
             
             for(int i=0 ; i<largeur ; i++)
                 for(int j=0 ; j<hauteur ; j++)
@@ -191,6 +245,19 @@ public final class CImageNG extends CImage
     @Override
     public void charge(File f) throws IOException
     {
+        // Une image en niveaux de gris 8 bits est conservee telle quelle (pas de conversion)
+        BufferedImage lue = ImageIO.read(f);
+        if (lue == null) throw new IOException("Image illisible (format non reconnu ou fichier corrompu) : " + f.getName());
+        if (lue.getType() == BufferedImage.TYPE_BYTE_GRAY)
+        {
+            largeur = lue.getWidth();
+            hauteur = lue.getHeight();
+            image = lue;
+            contexte = image.getGraphics();
+            if (getObserver() != null) getObserver().update();
+            return;
+        }
+
         CImageRGB cimagergb = new CImageRGB(f);
         CImageNG cimageng;
         cimageng = cimagergb.getCImageNG();
@@ -202,6 +269,18 @@ public final class CImageNG extends CImage
         if (getObserver() != null) getObserver().update();
     }
     
+    /** @return true si l'image est un raster 8 bits en niveaux de gris (TYPE_BYTE_GRAY),
+     * dont les echantillons sont directement les niveaux de gris */
+    public boolean estRasterGris()
+    {
+        return image.getType() == BufferedImage.TYPE_BYTE_GRAY;
+    }
+
+    private boolean estRasterARGB()
+    {
+        return image.getType() == BufferedImage.TYPE_INT_ARGB || image.getType() == BufferedImage.TYPE_INT_RGB;
+    }
+    
     public CImageRGB getCImageRGB()
     {
         try 
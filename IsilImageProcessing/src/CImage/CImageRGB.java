@@ -343,25 +343,18 @@ public final class CImageRGB extends CImage
                 throw new CImageRGBException("La taille de la matrice Blue n'est pas valide");
         }
         
-        // Extraction des donnees de l'image
-        int pixels[] = new int[largeur*hauteur];
-        PixelGrabber pg = new PixelGrabber(image,0,0,largeur,hauteur,pixels,0,largeur);
-        try 
+        // Lecture ligne par ligne du raster (pas de PixelGrabber sur toute l'image)
+        int[] ligne = new int[largeur];
+        for(int y=0 ; y<hauteur ; y++)
         {
-            pg.grabPixels();
-            ColorModel cm = pg.getColorModel();
-        
-            for(int y=0 ; y<hauteur ; y++)
-                for(int x=0 ; x<largeur ; x++)
-                {
-                    if (red != null) red[x][y] = cm.getRed(pixels[y*largeur+x]);
-                    if (green != null) green[x][y] = cm.getGreen(pixels[y*largeur+x]);
-                    if (blue != null) blue[x][y] = cm.getBlue(pixels[y*largeur+x]);
-                }
-        } 
-        catch (InterruptedException ex) 
-        {
-            throw new CImageRGBException("Probleme avec PixelGrabber");
+            litLigneRGB(y,ligne);
+            for(int x=0 ; x<largeur ; x++)
+            {
+                int p = ligne[x];
+                if (red != null) red[x][y] = (p >> 16) & 0xFF;
+                if (green != null) green[x][y] = (p >> 8) & 0xFF;
+                if (blue != null) blue[x][y] = p & 0xFF;
+            }
         }
     }
     
@@ -397,6 +390,25 @@ public final class CImageRGB extends CImage
             if (blue == null) blue = blueOld;
         }
         
+        // Raster d'entiers ARGB : ecriture directe ligne par ligne (une seule notification)
+        if (estRasterEntiers())
+        {
+            int[] ligne = new int[largeur];
+            for(int j=0 ; j<hauteur ; j++)
+            {
+                for(int i=0 ; i<largeur ; i++)
+                {
+                    int r = red[i][j], g = green[i][j], b = blue[i][j];
+                    if (((r | g | b) & ~0xFF) != 0)
+                        throw new CImageRGBException("Valeur(s) invalide(s) dans matrices RGB");
+                    ligne[i] = 0xFF000000 | (r << 16) | (g << 8) | b;
+                }
+                ecritLigneRGB(j,ligne);
+            }
+            if (observer != null) observer.update();
+            return;
+        }
+
         // Mise � jour de l'image
         for(int i=0 ; i<largeur ; i++)
             for(int j=0 ; j<hauteur ; j++)
@@ -413,6 +425,119 @@ public final class CImageRGB extends CImage
         if (observer != null) observer.update();
     }
     
+    /** Extrait les composantes de l'image dans des plans d'octets (non signes), ranges ligne par ligne :
+     * la composante du pixel (x,y) est a l'indice y*largeur+x. Un plan null n'est pas extrait.
+     * Evite les matrices int[largeur][hauteur] (4 octets par composante) et leur transposition.
+     * @param red plan rouge (largeur*hauteur octets) ou null
+     * @param green plan vert (largeur*hauteur octets) ou null
+     * @param blue plan bleu (largeur*hauteur octets) ou null
+     * @exception CImageRGBException si un plan n'a pas la bonne taille
+    */
+    public void getCanauxRGB(byte[] red,byte[] green,byte[] blue) throws CImageRGBException
+    {
+        verifiePlans(red,green,blue);
+        int[] ligne = new int[largeur];
+        for(int y=0 ; y<hauteur ; y++)
+        {
+            litLigneRGB(y,ligne);
+            int base = y*largeur;
+            for(int x=0 ; x<largeur ; x++)
+            {
+                int p = ligne[x];
+                if (red != null) red[base+x] = (byte)(p >> 16);
+                if (green != null) green[base+x] = (byte)(p >> 8);
+                if (blue != null) blue[base+x] = (byte)p;
+            }
+        }
+    }
+
+    /** Remplace les composantes de l'image par des plans d'octets ranges comme dans getCanauxRGB.
+     * Un plan null conserve la composante actuelle de l'image.
+     * @param red plan rouge (largeur*hauteur octets) ou null
+     * @param green plan vert (largeur*hauteur octets) ou null
+     * @param blue plan bleu (largeur*hauteur octets) ou null
+     * @exception CImageRGBException si un plan n'a pas la bonne taille
+    */
+    public void setCanauxRGB(byte[] red,byte[] green,byte[] blue) throws CImageRGBException
+    {
+        verifiePlans(red,green,blue);
+        if (red == null && green == null && blue == null) return;
+
+        int[] ligne = new int[largeur];
+        for(int y=0 ; y<hauteur ; y++)
+        {
+            litLigneRGB(y,ligne);
+            int base = y*largeur;
+            for(int x=0 ; x<largeur ; x++)
+            {
+                int p = ligne[x];
+                int r = (red != null) ? red[base+x] & 0xFF : (p >> 16) & 0xFF;
+                int g = (green != null) ? green[base+x] & 0xFF : (p >> 8) & 0xFF;
+                int b = (blue != null) ? blue[base+x] & 0xFF : p & 0xFF;
+                ligne[x] = 0xFF000000 | (r << 16) | (g << 8) | b;
+            }
+            if (estRasterEntiers()) ecritLigneRGB(y,ligne);
+            else
+            {
+                for(int x=0 ; x<largeur ; x++)
+                {
+                    contexte.setColor(new Color(ligne[x]));
+                    contexte.drawLine(x,y,x,y);
+                }
+            }
+        }
+        if (observer != null) observer.update();
+    }
+
+    private void verifiePlans(byte[] red,byte[] green,byte[] blue) throws CImageRGBException
+    {
+        int taille = largeur*hauteur;
+        if ((red != null && red.length != taille) || (green != null && green.length != taille) || (blue != null && blue.length != taille))
+            throw new CImageRGBException("La taille des plans RGB n'est pas valide");
+    }
+
+    /** @return true si les pixels sont stockes dans un int par pixel au format (A)RGB */
+    private boolean estRasterEntiers()
+    {
+        return image.getType() == BufferedImage.TYPE_INT_ARGB || image.getType() == BufferedImage.TYPE_INT_RGB;
+    }
+
+    /** Indice, dans le DataBuffer, du premier pixel de la ligne y d'un raster d'entiers */
+    private int debutLigne(WritableRaster raster,int y)
+    {
+        SinglePixelPackedSampleModel sm = (SinglePixelPackedSampleModel)raster.getSampleModel();
+        return raster.getDataBuffer().getOffset()
+             + sm.getOffset(-raster.getSampleModelTranslateX(),y-raster.getSampleModelTranslateY());
+    }
+
+    /** Lit la ligne y de l'image au format ARGB (un int par pixel) */
+    private void litLigneRGB(int y,int[] ligne)
+    {
+        WritableRaster raster = image.getRaster();
+        if (estRasterEntiers())
+        {
+            int[] donnees = ((DataBufferInt)raster.getDataBuffer()).getData();
+            System.arraycopy(donnees,debutLigne(raster,y),ligne,0,largeur);
+            if (image.getType() == BufferedImage.TYPE_INT_RGB)
+                for(int x=0 ; x<largeur ; x++) ligne[x] |= 0xFF000000;
+        }
+        else if (image.getType() == BufferedImage.TYPE_BYTE_GRAY)
+        {
+            // Echantillons bruts (cf. CImageNG) : getRGB appliquerait une conversion de l'espace de gris
+            raster.getSamples(0,y,largeur,1,0,ligne);
+            for(int x=0 ; x<largeur ; x++) ligne[x] = 0xFF000000 | (ligne[x] * 0x010101);
+        }
+        else image.getRGB(0,y,largeur,1,ligne,0,largeur);
+    }
+
+    /** Ecrit la ligne y (format ARGB) dans un raster d'entiers */
+    private void ecritLigneRGB(int y,int[] ligne)
+    {
+        WritableRaster raster = image.getRaster();
+        int[] donnees = ((DataBufferInt)raster.getDataBuffer()).getData();
+        System.arraycopy(ligne,0,donnees,debutLigne(raster,y),largeur);
+    }
+
     public CImageNG getCImageNG()
     {
         int[][] red = new int[largeur][hauteur];
@@ -1,44 +1,115 @@
 package ImageProcessing.Complexe;
 
-public class MatriceComplexe 
+/**
+ * Matrice de complexes stockée en "struct-of-arrays" : deux tableaux plats double[]
+ * (parties réelles et parties imaginaires), indice = ligne*colonnes + colonne.
+ * Aucun objet Complexe n'est stocké : get(...) renvoie une copie, et les accès
+ * getReel/getImaginaire/setReel/setImaginaire/set(l,c,re,im) n'allouent rien.
+ * getDonneesReelles()/getDonneesImaginaires() exposent les tableaux internes sans copie.
+ */
+public class MatriceComplexe
 {
-    private Complexe  m[][];
-    private int       lignes;
-    private int       colonnes;
-    
+    private final double    re[];
+    private final double    im[];
+    private int             lignes;
+    private int             colonnes;
+
     /** Creates a new instance of MatriceComplexe */
-    public MatriceComplexe(int l,int c) 
+    public MatriceComplexe(int l,int c)
     {
         lignes = l;
         colonnes = c;
-        m = new Complexe[l][c];
-        for(int i=0 ; i<lignes ; i++)
-            for(int j=0 ; j<colonnes ; j++)
-                m[i][j] = new Complexe(0.0,0.0);
+        re = new double[l*c];
+        im = new double[l*c];
+    }
+
+    /**
+     * Crée une matrice qui enveloppe (sans copie) deux tableaux plats existants.
+     * @param l Nombre de lignes.
+     * @param c Nombre de colonnes.
+     * @param re Parties réelles (taille l*c, indice = ligne*c + colonne).
+     * @param im Parties imaginaires (taille l*c, indice = ligne*c + colonne).
+     */
+    public MatriceComplexe(int l,int c,double re[],double im[])
+    {
+        if (re == null || im == null || re.length != l*c || im.length != l*c)
+            throw new IllegalArgumentException("MatriceComplexe: Tableaux de taille incompatible avec " + l + "x" + c);
+        lignes = l;
+        colonnes = c;
+        this.re = re;
+        this.im = im;
     }
-    
+
     public void set(int ligne,int colonne,Complexe complexe)
     {
-        m[ligne][colonne] = complexe;
+        int k = ligne*colonnes + colonne;
+        re[k] = complexe.getPartieReelle();
+        im[k] = complexe.getPartieImaginaire();
     }
-    
+
     public void set(int ligne,int colonne,double partieReelle,double partieImaginaire)
     {
-        Complexe c = new Complexe(partieReelle,partieImaginaire);
-        set(ligne,colonne,c);
+        int k = ligne*colonnes + colonne;
+        re[k] = partieReelle;
+        im[k] = partieImaginaire;
     }
-    
+
+    /** Renvoie une copie de l'élément (modifier le Complexe renvoyé ne modifie pas la matrice). */
     public Complexe get(int ligne,int colonne)
     {
-        return m[ligne][colonne];
+        int k = ligne*colonnes + colonne;
+        return new Complexe(re[k],im[k]);
+    }
+
+    public double getReel(int ligne,int colonne)
+    {
+        return re[ligne*colonnes + colonne];
+    }
+
+    public double getImaginaire(int ligne,int colonne)
+    {
+        return im[ligne*colonnes + colonne];
+    }
+
+    public void setReel(int ligne,int colonne,double partieReelle)
+    {
+        re[ligne*colonnes + colonne] = partieReelle;
+    }
+
+    public void setImaginaire(int ligne,int colonne,double partieImaginaire)
+    {
+        im[ligne*colonnes + colonne] = partieImaginaire;
+    }
+
+    public double getModule(int ligne,int colonne)
+    {
+        int k = ligne*colonnes + colonne;
+        return Math.sqrt(re[k]*re[k] + im[k]*im[k]);
+    }
+
+    public double getPhase(int ligne,int colonne)
+    {
+        int k = ligne*colonnes + colonne;
+        return Math.atan2(im[k],re[k]);
+    }
+
+    /** @return Le tableau interne des parties réelles (vue sans copie, indice = ligne*colonnes + colonne). */
+    public double[] getDonneesReelles()
+    {
+        return re;
+    }
+
+    /** @return Le tableau interne des parties imaginaires (vue sans copie, indice = ligne*colonnes + colonne). */
+    public double[] getDonneesImaginaires()
+    {
+        return im;
     }
 
     public double[][] getPartieReelle()
     {
         double d[][] = new double[lignes][colonnes];
         for(int i=0 ; i<lignes ; i++)
-            for(int j=0 ; j<colonnes ; j++)
-                d[i][j] = m[i][j].getPartieReelle();
+            System.arraycopy(re,i*colonnes,d[i],0,colonnes);
         return d;
     }
 
@@ -46,8 +117,7 @@ public class MatriceComplexe
     {
         double d[][] = new double[lignes][colonnes];
         for(int i=0 ; i<lignes ; i++)
-            for(int j=0 ; j<colonnes ; j++)
-                d[i][j] = m[i][j].getPartieImaginaire();
+            System.arraycopy(im,i*colonnes,d[i],0,colonnes);
         return d;
     }
 
@@ -56,19 +126,19 @@ public class MatriceComplexe
         double d[][] = new double[lignes][colonnes];
         for(int i=0 ; i<lignes ; i++)
             for(int j=0 ; j<colonnes ; j++)
-                d[i][j] = m[i][j].getModule();
+                d[i][j] = getModule(i,j);
         return d;
     }
-     
+
     public double[][] getPhase()
     {
         double d[][] = new double[lignes][colonnes];
         for(int i=0 ; i<lignes ; i++)
             for(int j=0 ; j<colonnes ; j++)
-                d[i][j] = m[i][j].getPhase();
+                d[i][j] = getPhase(i,j);
         return d;
     }
-        
+
     public int getLignes() {
         return lignes;
     }
@@ -76,5 +146,5 @@ public class MatriceComplexe
     public int getColonnes() {
         return colonnes;
     }
-    
+
 }
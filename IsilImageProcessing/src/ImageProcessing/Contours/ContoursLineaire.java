@@ -1,6 +1,8 @@
 package ImageProcessing.Contours;
 
 import ImageProcessing.Lineaire.FiltrageLineaireLocal;
+import ImageProcessing.Metriques.Metriques;
+import java.util.logging.Logger;
 
 /**
  * Contient des méthodes statiques pour la détection de contours linéaire
@@ -9,6 +11,8 @@ import ImageProcessing.Lineaire.FiltrageLineaireLocal;
  */
 public class ContoursLineaire {
 
+    private static final Logger LOG = Logger.getLogger(ContoursLineaire.class.getName());
+
     // --- Masques de Prewitt (3x3) ---
     private static final double[][] PREWITT_H = {
             {-1, 0, 1},
@@ -64,17 +68,19 @@ public class ContoursLineaire {
      */
     public static int[][] gradientPrewitt(int[][] image, int dir) {
         if (image == null) return null;
-        switch (dir) {
-            case 1: // Horizontal
-                System.out.println("Calcul Gradient Prewitt Horizontal...");
-                return FiltrageLineaireLocal.filtreMasqueConvolution(image, PREWITT_H);
-            case 2: // Vertical
-                System.out.println("Calcul Gradient Prewitt Vertical...");
-                return FiltrageLineaireLocal.filtreMasqueConvolution(image, PREWITT_V);
-            default:
-                System.err.println("Erreur [gradientPrewitt]: Direction invalide (1 ou 2).");
-                return null;
-        }
+        return Metriques.mesure("ContoursLineaire.gradientPrewitt", Metriques.pixels(image), () -> {
+            switch (dir) {
+                case 1: // Horizontal
+                    LOG.fine("Calcul Gradient Prewitt Horizontal...");
+                    return FiltrageLineaireLocal.filtreMasqueConvolution(image, PREWITT_H);
+                case 2: // Vertical
+                    LOG.fine("Calcul Gradient Prewitt Vertical...");
+                    return FiltrageLineaireLocal.filtreMasqueConvolution(image, PREWITT_V);
+                default:
+                    System.err.println("Erreur [gradientPrewitt]: Direction invalide (1 ou 2).");
+                    return null;
+            }
+        });
     }
 
     /**
@@ -91,17 +97,19 @@ public class ContoursLineaire {
      */
     public static int[][] gradientSobel(int[][] image, int dir) {
         if (image == null) return null;
-        switch (dir) {
-            case 1: // Horizontal
-                System.out.println("Calcul Gradient Sobel Horizontal...");
-                return FiltrageLineaireLocal.filtreMasqueConvolution(image, SOBEL_H);
-            case 2: // Vertical
-                System.out.println("Calcul Gradient Sobel Vertical...");
-                return FiltrageLineaireLocal.filtreMasqueConvolution(image, SOBEL_V);
-            default:
-                System.err.println("Erreur [gradientSobel]: Direction invalide (1 ou 2).");
-                return null;
-        }
+        return Metriques.mesure("ContoursLineaire.gradientSobel", Metriques.pixels(image), () -> {
+            switch (dir) {
+                case 1: // Horizontal
+                    LOG.fine("Calcul Gradient Sobel Horizontal...");
+                    return FiltrageLineaireLocal.filtreMasqueConvolution(image, SOBEL_H);
+                case 2: // Vertical
+                    LOG.fine("Calcul Gradient Sobel Vertical...");
+                    return FiltrageLineaireLocal.filtreMasqueConvolution(image, SOBEL_V);
+                default:
+                    System.err.println("Erreur [gradientSobel]: Direction invalide (1 ou 2).");
+                    return null;
+            }
+        });
     }
 
     /**
@@ -117,8 +125,10 @@ public class ContoursLineaire {
      */
     public static int[][] laplacien4(int[][] image) {
         if (image == null) return null;
-        System.out.println("Calcul Laplacien 4...");
-        return FiltrageLineaireLocal.filtreMasqueConvolution(image, LAPLACIEN_4);
+        return Metriques.mesure("ContoursLineaire.laplacien4", Metriques.pixels(image), () -> {
+            LOG.fine("Calcul Laplacien 4...");
+            return FiltrageLineaireLocal.filtreMasqueConvolution(image, LAPLACIEN_4);
+        });
     }
 
     /**
@@ -134,8 +144,10 @@ public class ContoursLineaire {
      */
     public static int[][] laplacien8(int[][] image) {
         if (image == null) return null;
-        System.out.println("Calcul Laplacien 8...");
-        return FiltrageLineaireLocal.filtreMasqueConvolution(image, LAPLACIEN_8);
+        return Metriques.mesure("ContoursLineaire.laplacien8", Metriques.pixels(image), () -> {
+            LOG.fine("Calcul Laplacien 8...");
+            return FiltrageLineaireLocal.filtreMasqueConvolution(image, LAPLACIEN_8);
+        });
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package ImageProcessing.Core;
+
+/**
+ * Image en niveaux de gris 16 bits non signés (0..65535), stockée à plat dans un short[]
+ * (2 octets par pixel). Cf. ImagePlate pour le rangement.
+ *
+ * Les méthodes roi(...) renvoient des vues sans copie : une écriture dans la vue modifie l'image mère.
+ *
+ * @technique Stockage à plat 16 bits, Vues de région d'intérêt sans copie.
+ */
+public final class Image16 extends ImagePlate {
+
+    private final short[] donnees;
+
+    /**
+     * Crée une image noire, contiguë.
+     * @param hauteur Nombre de lignes (>= 1).
+     * @param largeur Nombre de colonnes (>= 1).
+     */
+    public Image16(int hauteur, int largeur) {
+        this(new short[verifieDimensions(hauteur, largeur)], 0, largeur, hauteur, largeur);
+    }
+
+    /**
+     * Enveloppe un tableau existant, sans copie.
+     * @param donnees Le tableau des pixels (non signés).
+     * @param decalage Indice du pixel (0, 0).
+     * @param pas Nombre d'éléments entre deux lignes (>= largeur).
+     * @param hauteur Nombre de lignes.
+     * @param largeur Nombre de colonnes.
+     */
+    public Image16(short[] donnees, int decalage, int pas, int hauteur, int largeur) {
+        super(hauteur, largeur, decalage, pas, donnees.length);
+        this.donnees = donnees;
+    }
+
+    /**
+     * Convertit une matrice int[y][x] ; les valeurs sont ramenées dans [0, 65535].
+     * @param matrice La matrice (int[hauteur][largeur]).
+     * @return L'image, ou null si la matrice est invalide.
+     */
+    public static Image16 depuisMatrice(int[][] matrice) {
+        if (!matriceValide(matrice)) {
+            System.err.println("Erreur [Image16.depuisMatrice]: La matrice d'entrée est invalide.");
+            return null;
+        }
+        Image16 image = new Image16(matrice.length, matrice[0].length);
+        for (int y = 0; y < image.hauteur; y++) {
+            int[] ligne = matrice[y];
+            int base = y * image.largeur;
+            for (int x = 0; x < image.largeur; x++) {
+                image.donnees[base + x] = (short) Math.max(0, Math.min(65535, ligne[x]));
+            }
+        }
+        return image;
+    }
+
+    /** @return La matrice int[hauteur][largeur] correspondante (valeurs 0..65535). */
+    public int[][] versMatrice() {
+        int[][] matrice = new int[hauteur][largeur];
+        for (int y = 0; y < hauteur; y++) {
+            int[] ligne = matrice[y];
+            int base = index(y, 0);
+            for (int x = 0; x < largeur; x++) ligne[x] = donnees[base + x] & 0xFFFF;
+        }
+        return matrice;
+    }
+
+    public int get(int y, int x) {
+        return donnees[index(y, x)] & 0xFFFF;
+    }
+
+    /** Écrit un pixel ; la valeur est ramenée dans [0, 65535]. */
+    public void set(int y, int x, int valeur) {
+        donnees[index(y, x)] = (short) Math.max(0, Math.min(65535, valeur));
+    }
+
+    /** @return Le tableau sous-jacent (partagé, cf. index(y, x)). */
+    public short[] getDonnees() {
+        return donnees;
+    }
+
+    /**
+     * @return Une vue sans copie sur la région [y, y+h[ x [x, x+w[.
+     * @throws IllegalArgumentException si la région sort de l'image.
+     */
+    public Image16 roi(int y, int x, int h, int w) {
+        verifieRoi(y, x, h, w);
+        return new Image16(donnees, index(y, x), pas, h, w);
+    }
+
+    /** @return Une copie contiguë et indépendante de l'image (ou de la vue). */
+    public Image16 copie() {
+        Image16 c = new Image16(hauteur, largeur);
+        for (int y = 0; y < hauteur; y++) {
+            System.arraycopy(donnees, index(y, 0), c.donnees, y * largeur, largeur);
+        }
+        return c;
+    }
+}
@@ -0,0 +1,219 @@
+package ImageProcessing.Core;
+
+import java.util.Arrays;
+
+/**
+ * Image binaire compacte : 1 bit par pixel, stockée ligne par ligne dans un tableau long[]
+ * (64 pixels par mot). Le pixel (y, x) est le bit (x & 63) du mot y*motsParLigne + (x >>> 6).
+ * Les bits de remplissage au-delà de la largeur sont toujours à 0.
+ *
+ * Par rapport à une matrice int[][] 0/255, la mémoire est divisée par 32, et les opérations
+ * logiques (ET, OU, OU exclusif, ET NON) et le comptage de pixels traitent 64 pixels par
+ * instruction. La morphologie binaire correspondante est dans NonLineaire.MorphoBinaire.
+ *
+ * Conventions : true / 1 = pixel blanc (255 dans les matrices int[][]), false / 0 = noir.
+ *
+ * @technique Image binaire compacte (bitplane), Parallélisme au niveau du mot.
+ */
+public class ImageBinaire {
+
+    private final int hauteur;
+    private final int largeur;
+    private final int motsParLigne;
+    private final long[] bits;
+
+    /**
+     * Crée une image binaire noire (tous les pixels à 0).
+     * @param hauteur Nombre de lignes (>= 1).
+     * @param largeur Nombre de colonnes (>= 1).
+     */
+    public ImageBinaire(int hauteur, int largeur) {
+        if (hauteur < 1 || largeur < 1) {
+            throw new IllegalArgumentException("ImageBinaire: Dimensions invalides (" + hauteur + "x" + largeur + ").");
+        }
+        this.hauteur = hauteur;
+        this.largeur = largeur;
+        this.motsParLigne = (largeur + 63) >>> 6;
+        this.bits = new long[hauteur * motsParLigne];
+    }
+
+    /**
+     * Convertit une matrice int[y][x] : tout pixel non nul devient blanc.
+     * @param image La matrice (ex: sortie 0/255 de Seuillage).
+     * @return L'image binaire, ou null si l'entrée est invalide.
+     */
+    public static ImageBinaire depuisMatrice(int[][] image) {
+        return depuisSeuil(image, 0);
+    }
+
+    /**
+     * Binarise une matrice int[y][x] : pixel > seuil devient blanc (même règle que Seuillage.seuillageSimple).
+     * @param image La matrice en niveaux de gris.
+     * @param seuil Le seuil.
+     * @return L'image binaire, ou null si l'entrée est invalide.
+     */
+    public static ImageBinaire depuisSeuil(int[][] image, int seuil) {
+        if (image == null || image.length == 0 || image[0].length == 0) {
+            System.err.println("Erreur [ImageBinaire.depuisSeuil]: L'image d'entrée est invalide.");
+            return null;
+        }
+        ImageBinaire resultat = new ImageBinaire(image.length, image[0].length);
+        for (int y = 0; y < resultat.hauteur; y++) {
+            int[] ligne = image[y];
+            int base = y * resultat.motsParLigne;
+            for (int x = 0; x < resultat.largeur; x++) {
+                if (ligne[x] > seuil) resultat.bits[base + (x >>> 6)] |= 1L << x;
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Binarise une image 8 bits à plat : pixel > seuil devient blanc.
+     * @param image L'image 8 bits (éventuellement une vue roi).
+     * @param seuil Le seuil.
+     * @return L'image binaire, ou null si l'entrée est null.
+     */
+    public static ImageBinaire depuisSeuil(Image8 image, int seuil) {
+        if (image == null) {
+            System.err.println("Erreur [ImageBinaire.depuisSeuil]: L'image d'entrée est invalide.");
+            return null;
+        }
+        ImageBinaire resultat = new ImageBinaire(image.getHauteur(), image.getLargeur());
+        byte[] donnees = image.getDonnees();
+        for (int y = 0; y < resultat.hauteur; y++) {
+            int source = image.index(y, 0);
+            int base = y * resultat.motsParLigne;
+            for (int x = 0; x < resultat.largeur; x++) {
+                if ((donnees[source + x] & 0xFF) > seuil) resultat.bits[base + (x >>> 6)] |= 1L << x;
+            }
+        }
+        return resultat;
+    }
+
+    /** @return La matrice int[hauteur][largeur] correspondante (0 ou 255). */
+    public int[][] versMatrice() {
+        int[][] resultat = new int[hauteur][largeur];
+        for (int y = 0; y < hauteur; y++) {
+            int[] ligne = resultat[y];
+            int base = y * motsParLigne;
+            for (int x = 0; x < largeur; x++) {
+                if ((bits[base + (x >>> 6)] & (1L << x)) != 0) ligne[x] = 255;
+            }
+        }
+        return resultat;
+    }
+
+    public boolean get(int y, int x) {
+        return (bits[y * motsParLigne + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    public void set(int y, int x, boolean valeur) {
+        int k = y * motsParLigne + (x >>> 6);
+        if (valeur) bits[k] |= 1L << x;
+        else bits[k] &= ~(1L << x);
+    }
+
+    public int getHauteur() {
+        return hauteur;
+    }
+
+    public int getLargeur() {
+        return largeur;
+    }
+
+    /** @return Le nombre de mots long par ligne ((largeur + 63) / 64). */
+    public int getMotsParLigne() {
+        return motsParLigne;
+    }
+
+    /** @return Le tableau interne des mots (vue sans copie ; les bits de remplissage doivent rester à 0). */
+    public long[] getMots() {
+        return bits;
+    }
+
+    /** @return Une copie indépendante de l'image. */
+    public ImageBinaire copie() {
+        ImageBinaire c = new ImageBinaire(hauteur, largeur);
+        System.arraycopy(bits, 0, c.bits, 0, bits.length);
+        return c;
+    }
+
+    /** @return Le masque des bits valides du dernier mot d'une ligne. */
+    public long masqueDernierMot() {
+        int reste = largeur & 63;
+        return (reste == 0) ? -1L : (1L << reste) - 1;
+    }
+
+    // --- Opérations logiques (64 pixels par mot) ---
+
+    /** @return this ET autre. */
+    public ImageBinaire et(ImageBinaire autre) {
+        verifieDimensions(autre, "et");
+        ImageBinaire r = new ImageBinaire(hauteur, largeur);
+        for (int k = 0; k < bits.length; k++) r.bits[k] = bits[k] & autre.bits[k];
+        return r;
+    }
+
+    /** @return this OU autre. */
+    public ImageBinaire ou(ImageBinaire autre) {
+        verifieDimensions(autre, "ou");
+        ImageBinaire r = new ImageBinaire(hauteur, largeur);
+        for (int k = 0; k < bits.length; k++) r.bits[k] = bits[k] | autre.bits[k];
+        return r;
+    }
+
+    /** @return this OU EXCLUSIF autre. */
+    public ImageBinaire ouExclusif(ImageBinaire autre) {
+        verifieDimensions(autre, "ouExclusif");
+        ImageBinaire r = new ImageBinaire(hauteur, largeur);
+        for (int k = 0; k < bits.length; k++) r.bits[k] = bits[k] ^ autre.bits[k];
+        return r;
+    }
+
+    /** @return this ET NON autre (soustraction ensembliste : pixels blancs de this qui sont noirs dans autre). */
+    public ImageBinaire etNon(ImageBinaire autre) {
+        verifieDimensions(autre, "etNon");
+        ImageBinaire r = new ImageBinaire(hauteur, largeur);
+        for (int k = 0; k < bits.length; k++) r.bits[k] = bits[k] & ~autre.bits[k];
+        return r;
+    }
+
+    /** @return Le complémentaire (NON this). */
+    public ImageBinaire non() {
+        ImageBinaire r = new ImageBinaire(hauteur, largeur);
+        long dernier = masqueDernierMot();
+        for (int y = 0; y < hauteur; y++) {
+            int base = y * motsParLigne;
+            for (int w = 0; w < motsParLigne; w++) r.bits[base + w] = ~bits[base + w];
+            r.bits[base + motsParLigne - 1] &= dernier;
+        }
+        return r;
+    }
+
+    /** @return Le nombre de pixels blancs (popcount). */
+    public long compte() {
+        long total = 0;
+        for (long mot : bits) total += Long.bitCount(mot);
+        return total;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ImageBinaire)) return false;
+        ImageBinaire autre = (ImageBinaire) o;
+        return hauteur == autre.hauteur && largeur == autre.largeur && Arrays.equals(bits, autre.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * hauteur + largeur) + Arrays.hashCode(bits);
+    }
+
+    private void verifieDimensions(ImageBinaire autre, String operation) {
+        if (autre == null || autre.hauteur != hauteur || autre.largeur != largeur) {
+            throw new IllegalArgumentException("ImageBinaire." + operation + ": Images de dimensions incompatibles.");
+        }
+    }
+}
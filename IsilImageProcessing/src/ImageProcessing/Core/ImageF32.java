@@ -0,0 +1,103 @@
+package ImageProcessing.Core;
+
+/**
+ * Image à valeurs flottantes (float, 4 octets par pixel), stockée à plat dans un float[].
+ * Sert de support aux résultats intermédiaires non arrondis (convolution, gradients...).
+ * Cf. ImagePlate pour le rangement.
+ *
+ * Les méthodes roi(...) renvoient des vues sans copie : une écriture dans la vue modifie l'image mère.
+ *
+ * @technique Stockage à plat flottant, Vues de région d'intérêt sans copie.
+ */
+public final class ImageF32 extends ImagePlate {
+
+    private final float[] donnees;
+
+    /**
+     * Crée une image nulle, contiguë.
+     * @param hauteur Nombre de lignes (>= 1).
+     * @param largeur Nombre de colonnes (>= 1).
+     */
+    public ImageF32(int hauteur, int largeur) {
+        this(new float[verifieDimensions(hauteur, largeur)], 0, largeur, hauteur, largeur);
+    }
+
+    /**
+     * Enveloppe un tableau existant, sans copie.
+     * @param donnees Le tableau des pixels.
+     * @param decalage Indice du pixel (0, 0).
+     * @param pas Nombre d'éléments entre deux lignes (>= largeur).
+     * @param hauteur Nombre de lignes.
+     * @param largeur Nombre de colonnes.
+     */
+    public ImageF32(float[] donnees, int decalage, int pas, int hauteur, int largeur) {
+        super(hauteur, largeur, decalage, pas, donnees.length);
+        this.donnees = donnees;
+    }
+
+    /**
+     * Convertit une matrice int[y][x] (valeurs conservées telles quelles).
+     * @param matrice La matrice (int[hauteur][largeur]).
+     * @return L'image, ou null si la matrice est invalide.
+     */
+    public static ImageF32 depuisMatrice(int[][] matrice) {
+        if (!matriceValide(matrice)) {
+            System.err.println("Erreur [ImageF32.depuisMatrice]: La matrice d'entrée est invalide.");
+            return null;
+        }
+        ImageF32 image = new ImageF32(matrice.length, matrice[0].length);
+        for (int y = 0; y < image.hauteur; y++) {
+            int[] ligne = matrice[y];
+            int base = y * image.largeur;
+            for (int x = 0; x < image.largeur; x++) image.donnees[base + x] = ligne[x];
+        }
+        return image;
+    }
+
+    /**
+     * @return La matrice int[hauteur][largeur] correspondante, arrondie et ramenée dans [0, 255]
+     *         (même convention que les opérateurs int[][] de la librairie).
+     */
+    public int[][] versMatrice() {
+        int[][] matrice = new int[hauteur][largeur];
+        for (int y = 0; y < hauteur; y++) {
+            int[] ligne = matrice[y];
+            int base = index(y, 0);
+            for (int x = 0; x < largeur; x++) {
+                ligne[x] = Math.max(0, Math.min(255, Math.round(donnees[base + x])));
+            }
+        }
+        return matrice;
+    }
+
+    public float get(int y, int x) {
+        return donnees[index(y, x)];
+    }
+
+    public void set(int y, int x, float valeur) {
+        donnees[index(y, x)] = valeur;
+    }
+
+    /** @return Le tableau sous-jacent (partagé, cf. index(y, x)). */
+    public float[] getDonnees() {
+        return donnees;
+    }
+
+    /**
+     * @return Une vue sans copie sur la région [y, y+h[ x [x, x+w[.
+     * @throws IllegalArgumentException si la région sort de l'image.
+     */
+    public ImageF32 roi(int y, int x, int h, int w) {
+        verifieRoi(y, x, h, w);
+        return new ImageF32(donnees, index(y, x), pas, h, w);
+    }
+
+    /** @return Une copie contiguë et indépendante de l'image (ou de la vue). */
+    public ImageF32 copie() {
+        ImageF32 c = new ImageF32(hauteur, largeur);
+        for (int y = 0; y < hauteur; y++) {
+            System.arraycopy(donnees, index(y, 0), c.donnees, y * largeur, largeur);
+        }
+        return c;
+    }
+}
@@ -0,0 +1,105 @@
+package ImageProcessing.Core;
+
+/**
+ * Base commune des images "à plat" (Image8, Image16, ImageF32) : les pixels sont rangés dans un
+ * unique tableau primitif, ligne après ligne. Le pixel (y, x) est à l'indice decalage + y * pas + x.
+ *
+ * Le pas (nombre d'éléments entre deux lignes) peut être supérieur à la largeur : c'est ce qui
+ * permet les vues de région d'intérêt (roi) sans copie, qui partagent le tableau de l'image mère.
+ * Par rapport aux matrices int[][] de la librairie : un seul objet au lieu d'un par ligne,
+ * accès contigus, et 1 (Image8), 2 (Image16) ou 4 (ImageF32) octets par pixel.
+ *
+ * Convention : comme pour les matrices int[][], y est la ligne (hauteur) et x la colonne (largeur).
+ *
+ * @technique Stockage à plat avec pas de ligne (stride), Vues sans copie.
+ */
+public abstract class ImagePlate {
+
+    protected final int hauteur;
+    protected final int largeur;
+    protected final int decalage;
+    protected final int pas;
+
+    /**
+     * @param hauteur Nombre de lignes (>= 1).
+     * @param largeur Nombre de colonnes (>= 1).
+     * @param decalage Indice du pixel (0, 0) dans le tableau (>= 0).
+     * @param pas Nombre d'éléments entre deux lignes (>= largeur).
+     * @param longueurDonnees Longueur du tableau sous-jacent.
+     */
+    protected ImagePlate(int hauteur, int largeur, int decalage, int pas, int longueurDonnees) {
+        verifieDimensions(hauteur, largeur);
+        if (decalage < 0 || pas < largeur) {
+            throw new IllegalArgumentException("ImagePlate: Décalage (" + decalage + ") ou pas (" + pas + ") invalide pour une largeur de " + largeur + ".");
+        }
+        if ((long) decalage + (long) (hauteur - 1) * pas + largeur > longueurDonnees) {
+            throw new IllegalArgumentException("ImagePlate: Le tableau (" + longueurDonnees + " éléments) est trop court pour " + hauteur + "x" + largeur + " (pas " + pas + ").");
+        }
+        this.hauteur = hauteur;
+        this.largeur = largeur;
+        this.decalage = decalage;
+        this.pas = pas;
+    }
+
+    /** @return L'indice du pixel (y, x) dans le tableau sous-jacent. */
+    public final int index(int y, int x) {
+        return decalage + y * pas + x;
+    }
+
+    public final int getHauteur() {
+        return hauteur;
+    }
+
+    public final int getLargeur() {
+        return largeur;
+    }
+
+    /** @return L'indice du pixel (0, 0) dans le tableau sous-jacent. */
+    public final int getDecalage() {
+        return decalage;
+    }
+
+    /** @return Le nombre d'éléments entre le début de deux lignes consécutives. */
+    public final int getPas() {
+        return pas;
+    }
+
+    /** @return true si les lignes se suivent sans trou (pas == largeur). */
+    public final boolean estContigue() {
+        return pas == largeur;
+    }
+
+    /** @return true si l'autre image a les mêmes dimensions. */
+    public final boolean memesDimensions(ImagePlate autre) {
+        return autre != null && autre.hauteur == hauteur && autre.largeur == largeur;
+    }
+
+    /** Vérifie que la région [y, y+h[ x [x, x+w[ est non vide et incluse dans l'image. */
+    protected final void verifieRoi(int y, int x, int h, int w) {
+        if (h < 1 || w < 1 || y < 0 || x < 0 || y + h > hauteur || x + w > largeur) {
+            throw new IllegalArgumentException("ImagePlate: Région (" + y + "," + x + ") " + h + "x" + w + " hors de l'image " + hauteur + "x" + largeur + ".");
+        }
+    }
+
+    /** Vérifie des dimensions d'image (avant allocation du tableau). */
+    protected static int verifieDimensions(int hauteur, int largeur) {
+        if (hauteur < 1 || largeur < 1 || (long) hauteur * largeur > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ImagePlate: Dimensions invalides (" + hauteur + "x" + largeur + ").");
+        }
+        return hauteur * largeur;
+    }
+
+    /** Vérifie qu'une matrice int[y][x] est non vide et rectangulaire. */
+    protected static boolean matriceValide(int[][] matrice) {
+        if (matrice == null || matrice.length == 0 || matrice[0] == null || matrice[0].length == 0) return false;
+        for (int[] ligne : matrice) {
+            if (ligne == null || ligne.length != matrice[0].length) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " " + hauteur + "x" + largeur + (estContigue() ? "" : " (pas " + pas + ")");
+    }
+}
@@ -3,7 +3,16 @@ package ImageProcessing.Core;
 import CImage.CImage;
 import CImage.CImageNG;
 import CImage.Exceptions.CImageNGException;
+import ImageProcessing.Metriques.Metriques;
 import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
 
 /**
  * Classe utilitaire pour les conversions d'images et autres opérations de base.
@@ -53,6 +62,12 @@ public class ImageUtils {
      * Convertit une CImage (NG ou RGB) en une matrice de niveaux de gris int[y][x].
      * Si l'image source est en couleur, elle est convertie en utilisant la formule de luminance standard.
      *
+     * Les pixels sont lus directement dans le tableau du raster, sans appel par pixel :
+     * - TYPE_BYTE_GRAY : les octets sont les niveaux de gris (aucune conversion) ;
+     * - TYPE_INT_ARGB / TYPE_INT_RGB : les entiers empaquetés sont décomposés en R, G, B
+     *   (un pixel gris, R = G = B, donne exactement sa valeur) ;
+     * - autres types : lecture par lignes entières via getRGB(0, y, largeur, 1, ...).
+     *
      * @param cImage L'image source (CImageNG ou CImageRGB).
      * @return Une matrice int[hauteur][largeur] représentant les niveaux de gris, 
      *         ou null si l'image d'entrée est invalide.
@@ -76,25 +91,71 @@ public class ImageUtils {
             return null;
         }
 
+        return Metriques.mesure("ImageUtils.imageToGrayMatrix", (long) width * height,
+                () -> grayMatrix(bufferedImage, width, height));
+    }
+
+    private static int[][] grayMatrix(BufferedImage bufferedImage, int width, int height) {
         // Notre matrice utilise la convention [y][x] (hauteur, largeur)
         int[][] matrix = new int[height][width]; 
 
+        // 1. Raster 8 bits en niveaux de gris : copie directe des octets
+        Image8 gris = vueImage8(bufferedImage);
+        if (gris != null) {
+            byte[] donnees = gris.getDonnees();
+            for (int y = 0; y < height; y++) {
+                int base = gris.index(y, 0);
+                int[] ligne = matrix[y];
+                for (int x = 0; x < width; x++) ligne[x] = donnees[base + x] & 0xFF;
+            }
+            return matrix;
+        }
+
+        // 2. Raster d'entiers empaquetés (ARGB / RGB) : lecture directe, sinon getRGB par lignes
+        int[] donnees = null;
+        int decalage = 0, pas = width;
+        if (bufferedImage.getType() == BufferedImage.TYPE_INT_ARGB || bufferedImage.getType() == BufferedImage.TYPE_INT_RGB) {
+            WritableRaster raster = bufferedImage.getRaster();
+            SinglePixelPackedSampleModel sm = (SinglePixelPackedSampleModel) raster.getSampleModel();
+            DataBuffer db = raster.getDataBuffer();
+            donnees = ((DataBufferInt) db).getData();
+            pas = sm.getScanlineStride();
+            decalage = db.getOffset() + sm.getOffset(-raster.getSampleModelTranslateX(), -raster.getSampleModelTranslateY());
+        }
+        int[] ligneRGB = (donnees == null) ? new int[width] : null;
+
         for (int y = 0; y < height; y++) {
+            int base;
+            int[] source;
+            if (donnees != null) {
+                source = donnees;
+                base = decalage + y * pas;
+            } else {
+                bufferedImage.getRGB(0, y, width, 1, ligneRGB, 0, width);
+                source = ligneRGB;
+                base = 0;
+            }
+            int[] ligne = matrix[y];
             for (int x = 0; x < width; x++) {
-                int rgb = bufferedImage.getRGB(x, y);
+                int rgb = source[base + x];
 
                 // Extraire les composantes R, G, B
                 int r = (rgb >> 16) & 0xFF;
                 int g = (rgb >> 8) & 0xFF;
                 int b = rgb & 0xFF;
 
+                // Pixel déjà gris (ex. image produite par matrixToCImageNG) : valeur exacte,
+                // sinon la troncature de la luminance ci-dessous donnerait parfois r - 1
+                if (r == g && g == b) {
+                    ligne[x] = r;
+                    continue;
+                }
+
                 // Calculer la luminance standard
                 int gray = (int) (0.299 * r + 0.587 * g + 0.114 * b);
 
                 // Assurer que la valeur est dans [0, 255] (clamping)
-                gray = Math.max(0, Math.min(255, gray));
-
-                matrix[y][x] = gray; // Stocker dans notre convention [y][x]
+                ligne[x] = Math.max(0, Math.min(255, gray)); // Stocker dans notre convention [y][x]
             }
         }
 
@@ -103,11 +164,13 @@ public class ImageUtils {
 
     /**
      * Convertit une matrice de niveaux de gris int[y][x] en un objet CImageNG.
-     * Cette méthode gère la transposition nécessaire car CImageNG utilise potentiellement
-     * une matrice [x][y] en interne via son constructeur/setMatrice.
+     * L'image créée est, comme avec new CImageNG(int[][]), un raster TYPE_INT_ARGB opaque
+     * (R = G = B = niveau de gris) : elle s'affiche, s'enregistre (PNG RGBA) et se relit
+     * par getRGB sans conversion. Les entiers du raster sont écrits directement
+     * (pas de transposition [x][y], ni de Color / drawLine par pixel).
      *
      * @param matrix La matrice de niveaux de gris int[hauteur][largeur] (convention [y][x]).
-     *               Les valeurs doivent être idéalement entre 0 et 255.
+     *               Les valeurs doivent être idéalement entre 0 et 255 (elles sont clampées).
      * @return Un nouvel objet CImageNG, ou null en cas d'erreur ou si la matrice d'entrée est invalide.
      */
     public static CImageNG matrixToCImageNG(int[][] matrix) {
@@ -115,35 +178,112 @@ public class ImageUtils {
             System.err.println("ImageUtils.matrixToCImageNG: Input matrix is null or empty.");
             return null;
         }
+        return Metriques.mesure("ImageUtils.matrixToCImageNG", Metriques.pixels(matrix), () -> {
+            Image8 image = Image8.depuisMatrice(matrix); // Clamping [0, 255]
+            return (image == null) ? null : image8ToCImageNG(image);
+        });
+    }
 
-        int height = matrix.length;    // Nombre de lignes (y)
-        int width = matrix[0].length; // Nombre de colonnes (x)
-
-        // CImageNG(int[][] matrice) attend une matrice [largeur][hauteur] ([x][y])
-        int[][] transposedMatrix = new int[width][height]; 
+    /**
+     * Donne accès aux pixels d'une CImage sous forme d'Image8.
+     * Si l'image est un raster TYPE_BYTE_GRAY, l'Image8 est une vue sans copie sur ses octets :
+     * les écritures dans l'Image8 modifient directement la CImage. Sinon, l'image est convertie
+     * en niveaux de gris (cf. imageToGrayMatrix) dans une nouvelle Image8.
+     *
+     * @param cImage L'image source (CImageNG ou CImageRGB).
+     * @return L'Image8, ou null si l'image est invalide.
+     */
+    public static Image8 imageToImage8(CImage cImage) {
+        if (cImage == null || cImage.getImage() == null) {
+            System.err.println("ImageUtils.imageToImage8: Input CImage is null.");
+            return null;
+        }
+        Image8 vue = vueImage8(cImage.getImage());
+        if (vue != null) return vue;
+        int[][] matrix = imageToGrayMatrix(cImage);
+        return (matrix == null) ? null : Image8.depuisMatrice(matrix);
+    }
 
+    /**
+     * Copie une Image8 dans une nouvelle CImageNG au format TYPE_INT_ARGB (même format que
+     * matrixToCImageNG) : c'est la conversion à utiliser pour une image à afficher ou à enregistrer.
+     *
+     * @param image L'image 8 bits (éventuellement une vue roi).
+     * @return La CImageNG, ou null si l'image est null.
+     */
+    public static CImageNG image8ToCImageNG(Image8 image) {
+        if (image == null) {
+            System.err.println("ImageUtils.image8ToCImageNG: Input Image8 is null.");
+            return null;
+        }
+        int width = image.getLargeur();
+        int height = image.getHauteur();
+        CImageNG resultat;
+        try {
+            resultat = new CImageNG(width, height, 0);
+        } catch (CImageNGException e) {
+            System.err.println("ImageUtils.image8ToCImageNG: Failed to create CImageNG - " + e.getMessage());
+            return null;
+        }
+        // Raster TYPE_INT_ARGB neuf : décalage 0, pas = largeur
+        int[] argb = ((DataBufferInt) resultat.getImage().getRaster().getDataBuffer()).getData();
+        byte[] donnees = image.getDonnees();
         for (int y = 0; y < height; y++) {
+            int base = image.index(y, 0);
+            int sortie = y * width;
             for (int x = 0; x < width; x++) {
-                // Lire depuis notre convention [y][x]
-                int gray = matrix[y][x]; 
-                
-                // Assurer que la valeur est dans [0, 255] (clamping)
-                gray = Math.max(0, Math.min(255, gray));
-                
-                // Écrire dans la convention [x][y] pour CImageNG
-                transposedMatrix[x][y] = gray; 
+                int gris = donnees[base + x] & 0xFF;
+                argb[sortie + x] = 0xFF000000 | (gris << 16) | (gris << 8) | gris;
             }
         }
+        return resultat;
+    }
 
+    /**
+     * Crée une CImageNG qui enveloppe, sans copie, le tableau d'une Image8 (raster TYPE_BYTE_GRAY
+     * partageant le même byte[], avec le même décalage et le même pas) : les écritures dans l'une
+     * sont visibles dans l'autre, et imageToGrayMatrix / imageToImage8 relisent les octets tels quels.
+     * Attention : l'espace de couleur de TYPE_BYTE_GRAY est linéaire, donc getRGB renvoie des valeurs
+     * corrigées en gamma (128 -> 188) et un PNG enregistré est en gris 8 bits. Pour une image à afficher
+     * ou à enregistrer, utiliser image8ToCImageNG.
+     *
+     * @param image L'image 8 bits (éventuellement une vue roi).
+     * @return La CImageNG, ou null si l'image est null.
+     */
+    public static CImageNG vueCImageNG(Image8 image) {
+        if (image == null) {
+            System.err.println("ImageUtils.vueCImageNG: Input Image8 is null.");
+            return null;
+        }
+        int width = image.getLargeur();
+        int height = image.getHauteur();
+        DataBufferByte db = new DataBufferByte(image.getDonnees(), image.getDonnees().length);
+        PixelInterleavedSampleModel sm = new PixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, width, height, 1, image.getPas(), new int[]{image.getDecalage()});
+        WritableRaster raster = Raster.createWritableRaster(sm, db, null);
+        BufferedImage gris = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        BufferedImage enveloppe = new BufferedImage(gris.getColorModel(), raster, false, null);
         try {
-            // Créer l'objet CImageNG avec la matrice transposée
-            return new CImageNG(transposedMatrix);
+            return new CImageNG(enveloppe);
         } catch (CImageNGException e) {
-            System.err.println("ImageUtils.matrixToCImageNG: Failed to create CImageNG - " + e.getMessage());
-            // e.printStackTrace(); // Décommenter pour plus de détails si nécessaire
+            System.err.println("ImageUtils.vueCImageNG: Failed to create CImageNG - " + e.getMessage());
             return null;
         }
     }
+
+    /**
+     * Vue Image8 sans copie sur un raster TYPE_BYTE_GRAY (1 octet par pixel, entrelacé),
+     * ou null si l'image n'a pas cette organisation.
+     */
+    private static Image8 vueImage8(BufferedImage image) {
+        if (image.getType() != BufferedImage.TYPE_BYTE_GRAY) return null;
+        WritableRaster raster = image.getRaster();
+        if (!(raster.getSampleModel() instanceof ComponentSampleModel) || !(raster.getDataBuffer() instanceof DataBufferByte)) return null;
+        ComponentSampleModel sm = (ComponentSampleModel) raster.getSampleModel();
+        if (sm.getPixelStride() != 1 || sm.getNumBands() != 1) return null;
+        DataBuffer db = raster.getDataBuffer();
+        int decalage = db.getOffset() + sm.getOffset(-raster.getSampleModelTranslateX(), -raster.getSampleModelTranslateY());
+        return new Image8(((DataBufferByte) db).getData(), decalage, sm.getScanlineStride(), image.getHeight(), image.getWidth());
+    }
     
     // --- Autres méthodes utilitaires pourront être ajoutées ici ---
     // Par exemple : cloner une matrice int[][], etc.
@@ -98,6 +98,32 @@ public class PaddingUtils {
         return paddedImage;
     }
 
+    /**
+     * Ramène un indice (éventuellement hors de l'image) dans [0, n[ selon le mode de bord,
+     * avec exactement la même sémantique que padImage : permet de lire les pixels de bord
+     * à la volée, sans construire de copie paddée de l'image.
+     *
+     * @param i L'indice (ligne ou colonne), éventuellement négatif ou >= n.
+     * @param n La taille de la dimension (hauteur ou largeur), >= 1.
+     * @param mode La stratégie de bord.
+     * @return L'indice source dans [0, n[, ou -1 si le pixel vaut 0 (mode ZERO, ou mode null).
+     */
+    public static int remapIndex(int i, int n, BorderMode mode) {
+        if (i >= 0 && i < n) return i;
+        if (mode == null) return -1;
+        switch (mode) {
+            case REPLICATE:
+                return i < 0 ? 0 : n - 1;
+            case MIRROR:
+                // Une seule réflexion (comme padImage), puis ramené dans l'image
+                int miroir = (i < 0) ? -i - 1 : (n - 1) - (i - n);
+                return Math.max(0, Math.min(n - 1, miroir));
+            case ZERO:
+            default:
+                return -1;
+        }
+    }
+
     /**
      * Fonction utilitaire pour cloner une matrice int[][].
      * @param matrix Matrice à cloner.
@@ -0,0 +1,129 @@
+package ImageProcessing.Core;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * ForkJoinPool partagé par les opérateurs parallèles (passes de Fourier, tuiles de convolution, branches
+ * d'un graphe de traitement...),
+ * avec son niveau de parallélisme réglable.
+ *
+ * Chaque opérateur garde sa propre instance (et donc son propre réglage, cf. setParallelisme de
+ * l'opérateur). Le pool est créé à la première utilisation ; lorsqu'on change le parallélisme, l'ancien
+ * pool est arrêté (shutdown) : les calculs en cours s'y terminent, les suivants utilisent le nouveau.
+ * Un calcul refusé par un pool arrêté entre-temps est relancé sur le pool courant.
+ *
+ * @technique Parallélisme Fork/Join, Découpage récursif en lots.
+ */
+public final class PoolParallele {
+
+    /** Traitement d'un lot [debut, fin[ d'éléments indépendants (lignes, colonnes, tuiles...). */
+    @FunctionalInterface
+    public interface Lot {
+        void traite(int debut, int fin);
+    }
+
+    private final String nom;
+    private int parallelisme = Runtime.getRuntime().availableProcessors();
+    private ForkJoinPool pool = null;
+
+    /** @param nom Nom de l'opérateur propriétaire, repris dans les messages d'erreur. */
+    public PoolParallele(String nom) {
+        this.nom = nom;
+    }
+
+    /**
+     * Fixe le nombre de threads du pool ; l'ancien pool éventuel est arrêté.
+     * @param niveau Nombre de threads (>= 1). 1 = exécution séquentielle dans le thread appelant.
+     */
+    public void setParallelisme(int niveau) {
+        if (niveau < 1) {
+            throw new IllegalArgumentException(nom + ": Le niveau de parallélisme doit être >= 1 (reçu " + niveau + ").");
+        }
+        ForkJoinPool ancien;
+        synchronized (this) {
+            if (niveau == parallelisme) return;
+            parallelisme = niveau;
+            ancien = pool;
+            pool = null;
+        }
+        if (ancien != null) ancien.shutdown();
+    }
+
+    public synchronized int getParallelisme() {
+        return parallelisme;
+    }
+
+    private synchronized ForkJoinPool getPool() {
+        if (pool == null) pool = new ForkJoinPool(parallelisme);
+        return pool;
+    }
+
+    /**
+     * Exécute un traitement sur [0, nombre[ : directement dans le thread appelant en mode séquentiel,
+     * sinon découpé en lots d'environ nombre/(4*parallélisme) répartis sur le pool. Rend la main
+     * une fois tous les lots terminés (les exceptions des lots sont propagées).
+     */
+    public void executeLots(Lot lot, int nombre) {
+        int niveau = getParallelisme();
+        if (niveau == 1 || nombre <= 1) {
+            lot.traite(0, nombre);
+            return;
+        }
+        int taille = Math.max(1, nombre / (4 * niveau));
+        while (true) {
+            ForkJoinPool courant = getPool();
+            try {
+                courant.invoke(new TacheLots(lot, 0, nombre, taille));
+                return;
+            } catch (RejectedExecutionException e) {
+                if (!courant.isShutdown()) throw e; // Sinon : pool remplacé entre-temps, on relance sur le nouveau
+            }
+        }
+    }
+
+    /**
+     * Exécuteur de tâches indépendantes (ex: CompletableFuture.thenRunAsync) : exécution directe dans le
+     * thread appelant en mode séquentiel, sinon soumission au pool courant (une tâche refusée par un pool
+     * arrêté entre-temps est soumise au nouveau).
+     */
+    public Executor executeur() {
+        if (getParallelisme() == 1) return Runnable::run;
+        return tache -> {
+            while (true) {
+                ForkJoinPool courant = getPool();
+                try {
+                    courant.execute(tache);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    if (!courant.isShutdown()) throw e;
+                }
+            }
+        };
+    }
+
+    /** Découpe récursivement [debut, fin[ jusqu'à des lots d'au plus "taille" éléments. */
+    private static class TacheLots extends RecursiveAction {
+        private final Lot lot;
+        private final int debut, fin, taille;
+
+        TacheLots(Lot lot, int debut, int fin, int taille) {
+            this.lot = lot;
+            this.debut = debut;
+            this.fin = fin;
+            this.taille = taille;
+        }
+
+        @Override
+        protected void compute() {
+            if (fin - debut <= taille) {
+                lot.traite(debut, fin);
+                return;
+            }
+            int milieu = (debut + fin) >>> 1;
+            invokeAll(new TacheLots(lot, debut, milieu, taille), new TacheLots(lot, milieu, fin, taille));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ImageProcessing.Core;
+
+/**
+ * Rappel de progression d'un traitement, et demande d'annulation coopérative.
+ *
+ * Les opérateurs ne reçoivent pas ce rappel en paramètre : ils l'obtiennent du thread courant via
+ * SuiviProgression.courante(), ce qui laisse leurs signatures inchangées. Hors d'un traitement suivi,
+ * c'est Progression.AUCUNE qui est renvoyée (aucun coût, jamais annulée).
+ *
+ * Les implémentations doivent tolérer des appels concurrents : les opérateurs parallèles
+ * (Fourier, ConvolutionTuiles) signalent leur avancement depuis les threads de leur pool.
+ *
+ * @technique Annulation coopérative, Rappel de progression.
+ */
+public interface Progression {
+
+    /** Progression muette : n'affiche rien et n'est jamais annulée. */
+    Progression AUCUNE = new Progression() {
+        @Override
+        public void avance(double fraction) {
+        }
+
+        @Override
+        public boolean estAnnulee() {
+            return false;
+        }
+    };
+
+    /**
+     * Signale l'avancement du traitement.
+     * @param fraction Fraction réalisée, dans [0, 1] (les valeurs hors de cet intervalle sont ramenées aux bornes).
+     */
+    void avance(double fraction);
+
+    /**
+     * @return true si l'annulation du traitement a été demandée : l'opérateur doit alors s'interrompre
+     *         au plus tôt (cf. SuiviProgression.verifieAnnulation).
+     */
+    boolean estAnnulee();
+}
@@ -0,0 +1,105 @@
+package ImageProcessing.Core;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Progression associée au thread courant, et points de contrôle des opérateurs.
+ *
+ * Un exécuteur (interface graphique, traitement par lots...) installe sa Progression pour la durée
+ * d'un calcul (execute) ; les opérateurs appelés dans ce calcul la récupèrent une fois à l'entrée
+ * (courante) et la consultent à chaque ligne, bande ou tuile (point). Les opérateurs parallèles
+ * transmettent explicitement cette référence à leurs tâches, les threads de leur pool n'ayant pas
+ * de progression associée.
+ *
+ * Un opérateur composé de plusieurs étapes découpe son intervalle [0, 1] entre elles (etape) :
+ * chaque sous-opérateur rend compte de sa propre fraction, ramenée dans la sous-plage qui lui est
+ * attribuée. Hors d'un traitement suivi, tout ceci se réduit à des appels sur Progression.AUCUNE.
+ *
+ * @technique Annulation coopérative, Contexte par thread (ThreadLocal).
+ */
+public final class SuiviProgression {
+
+    private static final ThreadLocal<Progression> COURANTE = new ThreadLocal<>();
+
+    private SuiviProgression() {
+    }
+
+    /** @return La progression du thread courant (Progression.AUCUNE s'il n'y en a pas, jamais null). */
+    public static Progression courante() {
+        Progression p = COURANTE.get();
+        return (p != null) ? p : Progression.AUCUNE;
+    }
+
+    /**
+     * Exécute le calcul avec la progression donnée associée au thread courant ; la progression
+     * précédente est rétablie ensuite, même en cas d'exception.
+     */
+    public static <T> T execute(Progression progression, Callable<T> calcul) throws Exception {
+        if (progression == null) throw new IllegalArgumentException("La progression ne peut pas être null");
+        Progression precedente = COURANTE.get();
+        COURANTE.set(progression);
+        try {
+            return calcul.call();
+        } finally {
+            if (precedente == null) COURANTE.remove();
+            else COURANTE.set(precedente);
+        }
+    }
+
+    /**
+     * Exécute une étape d'un opérateur : pendant le calcul, la fraction [0, 1] signalée par les
+     * sous-opérateurs est ramenée dans [debut, fin] de la progression courante.
+     */
+    public static <T> T etape(double debut, double fin, Supplier<T> calcul) {
+        Progression parent = courante();
+        if (parent == Progression.AUCUNE) return calcul.get();
+        verifieAnnulation(parent);
+        Progression precedente = COURANTE.get();
+        COURANTE.set(sousProgression(parent, debut, fin));
+        try {
+            return calcul.get();
+        } finally {
+            COURANTE.set(precedente);
+            parent.avance(fin);
+        }
+    }
+
+    /** @return Une progression dont la fraction [0, 1] correspond à [debut, fin] de celle du parent. */
+    public static Progression sousProgression(Progression parent, double debut, double fin) {
+        if (parent == Progression.AUCUNE) return parent;
+        if (debut < 0 || fin > 1 || debut > fin) {
+            throw new IllegalArgumentException("Sous-plage de progression invalide : [" + debut + ", " + fin + "]");
+        }
+        return new Progression() {
+            @Override
+            public void avance(double fraction) {
+                double f = Math.max(0.0, Math.min(1.0, fraction));
+                parent.avance(debut + f * (fin - debut));
+            }
+
+            @Override
+            public boolean estAnnulee() {
+                return parent.estAnnulee();
+            }
+        };
+    }
+
+    /**
+     * @throws TraitementAnnuleException si l'annulation de la progression a été demandée.
+     */
+    public static void verifieAnnulation(Progression progression) {
+        if (progression.estAnnulee()) throw new TraitementAnnuleException();
+    }
+
+    /**
+     * Point de contrôle : vérifie l'annulation, puis signale que fait unités de travail sur total
+     * sont réalisées.
+     * @throws TraitementAnnuleException si l'annulation a été demandée.
+     */
+    public static void point(Progression progression, long fait, long total) {
+        if (progression == Progression.AUCUNE) return;
+        verifieAnnulation(progression);
+        if (total > 0) progression.avance((double) fait / total);
+    }
+}
@@ -0,0 +1,17 @@
+package ImageProcessing.Core;
+
+/**
+ * Levée par un opérateur qui s'interrompt parce que l'annulation du traitement a été demandée
+ * (cf. Progression.estAnnulee). Le résultat partiel est abandonné ; les entrées ne sont pas modifiées.
+ */
+public class TraitementAnnuleException extends RuntimeException {
+
+    public TraitementAnnuleException() {
+        super("Traitement annulé");
+    }
+
+    /** Utilisé par ForkJoinTask pour relancer l'exception d'une tâche dans le thread appelant. */
+    public TraitementAnnuleException(Throwable cause) {
+        super("Traitement annulé", cause);
+    }
+}
@@ -0,0 +1,445 @@
+package ImageProcessing.Exercices;
+
+import CImage.CImage;
+import CImage.CImageNG;
+import CImage.CImageRGB;
+import CImage.Exceptions.CImageRGBException;
+import ImageProcessing.Contours.ContoursNonLineaire;
+import ImageProcessing.Core.Image8;
+import ImageProcessing.Core.ImageBinaire;
+import ImageProcessing.Core.ImageUtils;
+import ImageProcessing.Graphe.GrapheTraitement;
+import ImageProcessing.Histogramme.Histogramme;
+import ImageProcessing.Lineaire.FiltrageLineaireLocal;
+import ImageProcessing.NonLineaire.MorphoBinaire;
+import ImageProcessing.NonLineaire.MorphoComplexe;
+import ImageProcessing.NonLineaire.MorphoElementaire;
+import ImageProcessing.Seuillage.Seuillage;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pipelines des exercices 1 à 7, sans interface graphique : chaque méthode prend les images déjà
+ * chargées et renvoie les images produites et la durée de chaque étape (ResultatExercice).
+ *
+ * Utilisés par l'interface (menu Application) et par le traitement par lots en ligne de commande
+ * (isilimageprocessing.lots.TraitementLots). Aucune méthode ne modifie ses images d'entrée : une
+ * même image (ex: le fond de l'exercice 6) peut être partagée entre plusieurs threads.
+ *
+ * Erreurs : une entrée invalide lève IllegalArgumentException, un opérateur en échec (résultat null)
+ * lève RuntimeException.
+ */
+public final class PipelinesExercices {
+
+    /** Graphe de l'exercice 3, partagé entre les appels (sa réserve de tampons sert d'une image à la suivante). */
+    private static final GrapheTraitement GRAPHE_PETITS_POIS = grapheSegmentationPetitsPois();
+
+    private PipelinesExercices() {
+    }
+
+    /**
+     * Exercice 1 : débruitage poivre et sel par filtre médian.
+     * Sortie : "median_debruite".
+     */
+    public static ResultatExercice debruitageMedian(CImage source, int tailleVoisinage) {
+        if (tailleVoisinage <= 0 || tailleVoisinage % 2 == 0) {
+            throw new IllegalArgumentException("Taille de voisinage invalide (entier positif impair) : " + tailleVoisinage);
+        }
+        int[][] inputMatrix = matriceNG(source);
+        ResultatExercice resultat = new ResultatExercice();
+
+        long debut = System.nanoTime();
+        int[][] resultMatrix = MorphoComplexe.filtreMedian(inputMatrix, tailleVoisinage);
+        resultat.ajouteDuree("Temps d'exécution", debut);
+
+        if (resultMatrix == null) throw new RuntimeException("Erreur filtre médian.");
+        resultat.ajouteSortie("median_debruite", "Après Médian", imageNG(resultMatrix));
+        resultat.setAffichage(resultMatrix);
+        return resultat;
+    }
+
+    /**
+     * Exercice 2 : égalisation d'une image couleur, (a) canal par canal, (b) par la courbe tonale
+     * de la luminance appliquée aux trois canaux.
+     * Sorties : "egalisation_A_RGB", "egalisation_B_Luminance".
+     */
+    public static ResultatExercice egalisationCouleur(CImageRGB source) throws CImageRGBException {
+        int hauteur = source.getHauteur();
+        int largeur = source.getLargeur();
+        ResultatExercice resultat = new ResultatExercice();
+
+        // Canaux extraits directement du raster en plans 8 bits [y][x] (pas de transposition)
+        Image8 rOrig = new Image8(hauteur, largeur);
+        Image8 gOrig = new Image8(hauteur, largeur);
+        Image8 bOrig = new Image8(hauteur, largeur);
+
+        // --- Méthode (a): Égalisation RGB Indépendante ---
+        long debutA = System.nanoTime();
+        source.getCanauxRGB(rOrig.getDonnees(), gOrig.getDonnees(), bOrig.getDonnees());
+        Image8 rEqA = Histogramme.rehaussement(rOrig, Histogramme.creeCourbeTonaleEgalisation(rOrig));
+        Image8 gEqA = Histogramme.rehaussement(gOrig, Histogramme.creeCourbeTonaleEgalisation(gOrig));
+        Image8 bEqA = Histogramme.rehaussement(bOrig, Histogramme.creeCourbeTonaleEgalisation(bOrig));
+        resultat.ajouteDuree("Méthode (a)", debutA);
+
+        CImageRGB resultA = new CImageRGB(largeur, hauteur, Color.BLACK);
+        resultA.setCanauxRGB(rEqA.getDonnees(), gEqA.getDonnees(), bEqA.getDonnees());
+        resultat.ajouteSortie("egalisation_A_RGB", "Méthode A (RGB Indépendant)", resultA.getImage());
+
+        // --- Méthode (b): Égalisation Luminance + Application LUT Y ---
+        // (rehaussement ne modifie pas les canaux d'origine : ils sont réutilisés)
+        long debutB = System.nanoTime();
+        int[] lutY = Histogramme.creeCourbeTonaleEgalisation(matriceNG(source));
+        Image8 rEqB = Histogramme.rehaussement(rOrig, lutY);
+        Image8 gEqB = Histogramme.rehaussement(gOrig, lutY);
+        Image8 bEqB = Histogramme.rehaussement(bOrig, lutY);
+        resultat.ajouteDuree("Méthode (b)", debutB);
+
+        CImageRGB resultB = new CImageRGB(largeur, hauteur, Color.BLACK);
+        resultB.setCanauxRGB(rEqB.getDonnees(), gEqB.getDonnees(), bEqB.getDonnees());
+        resultat.ajouteSortie("egalisation_B_Luminance", "Méthode B (Via Luminance)", resultB.getImage());
+
+        resultat.setAffichage(ImageUtils.imageToGrayMatrix(resultB));
+        return resultat;
+    }
+
+    /**
+     * Exercice 3 : segmentation des pois rouges et des pois bleus (seuillage des canaux, puis
+     * reconstruction géodésique depuis un marqueur érodé pour éliminer les petits résidus).
+     * Sorties : "Rouges_seg", "Bleus_seg".
+     */
+    public static ResultatExercice segmentationPetitsPois(CImageRGB source) throws CImageRGBException {
+        int hauteur = source.getHauteur();
+        int largeur = source.getLargeur();
+        // Plans 8 bits ranges ligne par ligne : composante du pixel (x, y) a l'indice y * largeur + x
+        byte[] r = new byte[largeur * hauteur];
+        byte[] g = new byte[largeur * hauteur];
+        byte[] b = new byte[largeur * hauteur];
+        source.getCanauxRGB(r, g, b);
+        ResultatExercice resultat = new ResultatExercice();
+
+        // Les deux branches (rouges, bleus) sont indépendantes : GrapheTraitement les exécute en parallèle
+        long debut = System.nanoTime();
+        Map<String, Image8> plans = new HashMap<>();
+        plans.put("R", new Image8(r, 0, largeur, hauteur, largeur));
+        plans.put("G", new Image8(g, 0, largeur, hauteur, largeur));
+        plans.put("B", new Image8(b, 0, largeur, hauteur, largeur));
+        Map<String, Image8> pois = GRAPHE_PETITS_POIS.execute(plans);
+        resultat.ajouteDuree("Pois rouges et bleus", debut);
+
+        Image8 redCleaned = pois.get("rouges");
+        Image8 blueCleaned = pois.get("bleus");
+        resultat.ajouteSortie("Rouges_seg", "Pois Rouges Segmentés", imageNG(redCleaned));
+        resultat.ajouteSortie("Bleus_seg", "Pois Bleus Segmentés", imageNG(blueCleaned));
+
+        resultat.setAffichage(redCleaned.versMatrice());
+        return resultat;
+    }
+
+    /**
+     * Pour chaque couleur : binarisation (composante dominante > 200, deux autres < 100, en une
+     * passe), puis nettoyage par reconstruction depuis un marqueur érodé (taille 5).
+     */
+    private static GrapheTraitement grapheSegmentationPetitsPois() {
+        int seuilHaut = 200;
+        int seuilBas = 100;
+        int tailleErosionMarqueur = 5;
+
+        GrapheTraitement graphe = new GrapheTraitement();
+        GrapheTraitement.Noeud r = graphe.entree("R");
+        GrapheTraitement.Noeud g = graphe.entree("G");
+        GrapheTraitement.Noeud b = graphe.entree("B");
+        // v < seuilBas  <=>  non (v > seuilBas - 1)
+        GrapheTraitement.Noeud vertBas = graphe.inverse(graphe.seuil(g, seuilBas - 1));
+
+        GrapheTraitement.Noeud rouges = graphe.minimum(graphe.minimum(graphe.seuil(r, seuilHaut),
+                graphe.inverse(graphe.seuil(b, seuilBas - 1))), vertBas);
+        GrapheTraitement.Noeud bleus = graphe.minimum(graphe.minimum(graphe.seuil(b, seuilHaut),
+                graphe.inverse(graphe.seuil(r, seuilBas - 1))), vertBas);
+
+        graphe.sortie("rouges", graphe.reconstruction(graphe.erosion(rouges, tailleErosionMarqueur), rouges));
+        graphe.sortie("bleus", graphe.reconstruction(graphe.erosion(bleus, tailleErosionMarqueur), bleus));
+        return graphe;
+    }
+
+    /**
+     * Exercice 4 : séparation des grandes et des petites balanes (Otsu, fermeture, reconstruction
+     * depuis un marqueur fortement érodé, puis différence et ouverture).
+     * Sorties : "Grandes_NG", "Petites_NG" (niveaux de gris d'origine sous chaque masque).
+     */
+    public static ResultatExercice separationBalanes(CImage source) {
+        int[][] imageOriginaleNG = matriceNG(source);
+        ResultatExercice resultat = new ResultatExercice();
+
+        // --- Seuillage initial ---
+        long debut = System.nanoTime();
+        ImageBinaire imageBinaire = Seuillage.seuillageAutomatiqueBinaire(imageOriginaleNG);
+        resultat.ajouteDuree("Seuillage", debut);
+
+        // --- Nettoyage binaire ---
+        debut = System.nanoTime();
+        int tailleSE_nettoyageBinaire = 3;
+        ImageBinaire imageBinaireNettoyee = MorphoBinaire.fermeture(imageBinaire, tailleSE_nettoyageBinaire);
+        resultat.ajouteDuree("Nettoyage", debut);
+
+        // --- Reconstruction des grandes balanes ---
+        debut = System.nanoTime();
+        int tailleES_Marqueur = 21;
+        ImageBinaire marqueurGrandes = MorphoBinaire.erosion(imageBinaireNettoyee, tailleES_Marqueur);
+        ImageBinaire grandesBalanesBinaires = MorphoBinaire.reconstructionGeodesique(marqueurGrandes, imageBinaireNettoyee);
+        resultat.ajouteDuree("Reconstruction", debut);
+        if (grandesBalanesBinaires == null) throw new RuntimeException("Erreur reconstruction des grandes balanes.");
+
+        // --- Extraction des petites balanes ---
+        debut = System.nanoTime();
+        ImageBinaire petitesBalanesBinaires_Bruitees = imageBinaireNettoyee.etNon(grandesBalanesBinaires);
+        int tailleES_NettoyagePetites = 5;
+        ImageBinaire petitesBalanesBinaires = MorphoBinaire.ouverture(petitesBalanesBinaires_Bruitees, tailleES_NettoyagePetites);
+        resultat.ajouteDuree("Extraction petites", debut);
+
+        // --- Création des images finales ---
+        debut = System.nanoTime();
+        int[][] grandesBalanesNG = appliquerMasqueNG(imageOriginaleNG, grandesBalanesBinaires);
+        int[][] petitesBalanesNG = appliquerMasqueNG(imageOriginaleNG, petitesBalanesBinaires);
+        resultat.ajouteDuree("Création images", debut);
+        if (grandesBalanesNG == null || petitesBalanesNG == null) throw new RuntimeException("Erreur création des images finales.");
+
+        resultat.ajouteSortie("Grandes_NG", "Grandes Balanes (NG)", imageNG(grandesBalanesNG));
+        resultat.ajouteSortie("Petites_NG", "Petites Balanes (NG)", imageNG(petitesBalanesNG));
+        resultat.setAffichage(grandesBalanesNG);
+        return resultat;
+    }
+
+    /**
+     * Exercice 5 : segmentation d'outils sous un éclairage non uniforme (chapeau haut-de-forme :
+     * image - ouverture, puis Otsu, fermeture et ouverture).
+     * Sorties : "fond_estime_debug", "corrigee_debug", "binaire_initial_debug", "Segmentation_Binaire".
+     */
+    public static ResultatExercice segmentationOutils(CImage source) {
+        int[][] imageOriginaleNG = matriceNG(source);
+        ResultatExercice resultat = new ResultatExercice();
+
+        // Estimer le fond par Ouverture morphologique
+        // --> AJUSTER CETTE TAILLE D'ES (doit être > plus grand outil) <--
+        long debut = System.nanoTime();
+        int tailleES_Fond = 71; // Point de départ (ex: 51, 71, 101...)
+        int[][] fondEstime = MorphoElementaire.ouverture(imageOriginaleNG, tailleES_Fond);
+        resultat.ajouteDuree("Estimation du fond", debut);
+        if (fondEstime == null) throw new RuntimeException("Erreur pendant l'estimation du fond (ouverture).");
+        resultat.ajouteSortie("fond_estime_debug", null, imageNG(fondEstime));
+
+        // Corriger l'illumination (Top-Hat morphologique: Original - FondEstimé)
+        debut = System.nanoTime();
+        int[][] imageCorrigee = soustraireImagesNG(imageOriginaleNG, fondEstime);
+        resultat.ajouteDuree("Correction", debut);
+        if (imageCorrigee == null) throw new RuntimeException("Erreur pendant la correction (soustraction).");
+        resultat.ajouteSortie("corrigee_debug", "Image Corrigée (Top-Hat)", imageNG(imageCorrigee));
+
+        // Seuillage de l'image corrigée (Otsu ; le fond corrigé est proche de 0)
+        debut = System.nanoTime();
+        int[][] outilsBinaires = Seuillage.seuillageAutomatique(imageCorrigee);
+        resultat.ajouteDuree("Seuillage", debut);
+        if (outilsBinaires == null) throw new RuntimeException("Erreur pendant le seuillage.");
+        resultat.ajouteSortie("binaire_initial_debug", null, imageNG(outilsBinaires));
+
+        // Nettoyage final (Fermeture pour trous, puis Ouverture pour bruit)
+        // --> AJUSTER CES TAILLES D'ES <--
+        debut = System.nanoTime();
+        int tailleSE_fermeture = 3;
+        int[][] outilsBinairesFermes = MorphoElementaire.fermeture(outilsBinaires, tailleSE_fermeture);
+        if (outilsBinairesFermes == null) outilsBinairesFermes = outilsBinaires; // Fallback
+        int tailleSE_ouverture = 3;
+        int[][] outilsBinairesNettoyes = MorphoElementaire.ouverture(outilsBinairesFermes, tailleSE_ouverture);
+        if (outilsBinairesNettoyes == null) outilsBinairesNettoyes = outilsBinairesFermes; // Fallback
+        resultat.ajouteDuree("Nettoyage", debut);
+
+        resultat.ajouteSortie("Segmentation_Binaire", "Outils Segmentés (Binaire)", imageNG(outilsBinairesNettoyes));
+        resultat.setAffichage(outilsBinairesNettoyes);
+        return resultat;
+    }
+
+    /**
+     * Exercice 6 : incrustation du petit vaisseau dans l'image de la planète, entouré d'un contour
+     * rouge. Le petit vaisseau est isolé en retirant le gros (reconstruction depuis un marqueur
+     * érodé) du masque binaire des vaisseaux.
+     * Sortie : "synthese2".
+     */
+    public static ResultatExercice compositionVaisseau(CImageRGB vaisseaux, CImageRGB planete) throws CImageRGBException {
+        ResultatExercice resultat = new ResultatExercice();
+
+        // --- Création du masque du petit vaisseau ---
+        long debut = System.nanoTime();
+        int[][] vaisseauxNG = matriceNG(vaisseaux);
+        ImageBinaire vaisseauxBinaires = Seuillage.seuillageAutomatiqueBinaire(vaisseauxNG);
+        ImageBinaire vaisseauxBinairesNettoyes = MorphoBinaire.fermeture(vaisseauxBinaires, 3);
+        int tailleES_MarqueurGros = 61;
+        ImageBinaire marqueurGros = MorphoBinaire.erosion(vaisseauxBinairesNettoyes, tailleES_MarqueurGros);
+        ImageBinaire grosVaisseauBinaire = MorphoBinaire.reconstructionGeodesique(marqueurGros, vaisseauxBinairesNettoyes);
+        if (grosVaisseauBinaire == null) throw new RuntimeException("Erreur création du masque du vaisseau.");
+        ImageBinaire petitVaisseauEtBruitBinaire = vaisseauxBinairesNettoyes.etNon(grosVaisseauBinaire);
+        int tailleES_NettoyagePetit = 11;
+        int[][] petitVaisseauBinaire = MorphoBinaire.ouverture(petitVaisseauEtBruitBinaire, tailleES_NettoyagePetit).versMatrice();
+        resultat.ajouteDuree("Création masque", debut);
+
+        // --- Copier/Coller via BufferedImage ---
+        debut = System.nanoTime();
+        BufferedImage biVaisseaux = vaisseaux.getImage();
+        BufferedImage biPlanete = planete.getImage();
+        int hauteurP = biPlanete.getHeight();
+        int largeurP = biPlanete.getWidth();
+        int hauteurV_BI = biVaisseaux.getHeight();
+        int largeurV_BI = biVaisseaux.getWidth();
+        BufferedImage biSynthese = new BufferedImage(largeurP, hauteurP, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = biSynthese.createGraphics();
+        g2d.drawImage(biPlanete, 0, 0, null);
+        g2d.dispose();
+        int yMax = Math.min(vaisseauxNG.length, hauteurP);
+        int xMax = Math.min(vaisseauxNG[0].length, largeurP);
+        for (int y = 0; y < yMax; y++) {
+            for (int x = 0; x < xMax; x++) {
+                if (y < petitVaisseauBinaire.length && x < petitVaisseauBinaire[0].length && petitVaisseauBinaire[y][x] == 255) {
+                    if (x < largeurV_BI && y < hauteurV_BI) {
+                        biSynthese.setRGB(x, y, biVaisseaux.getRGB(x, y));
+                    }
+                }
+            }
+        }
+        resultat.ajouteDuree("Collage", debut);
+
+        // --- Ajout du contour rouge ---
+        debut = System.nanoTime();
+        int[][] contourBinaire = ContoursNonLineaire.gradientBeucher(petitVaisseauBinaire);
+        int redRGB = Color.RED.getRGB();
+        for (int y = 0; y < yMax; y++) {
+            for (int x = 0; x < xMax; x++) {
+                if (y < contourBinaire.length && x < contourBinaire[0].length && contourBinaire[y][x] == 255) {
+                    biSynthese.setRGB(x, y, redRGB);
+                }
+            }
+        }
+        resultat.ajouteDuree("Contour", debut);
+
+        resultat.ajouteSortie("synthese2", "Synthèse (Avec Contour Rouge)", biSynthese);
+        resultat.setAffichage(niveauxDeGris(biSynthese));
+        return resultat;
+    }
+
+    /**
+     * Exercice 7 : contours des tartines (moyenneur, gradient de Beucher, seuillage) tracés en vert
+     * sur l'image couleur.
+     * Sortie : "avec_contours".
+     */
+    public static ResultatExercice contoursTartines(CImageRGB source) throws CImageRGBException {
+        int[][] tartinesNG = matriceNG(source);
+        int hauteur = tartinesNG.length;
+        int largeur = tartinesNG[0].length;
+        ResultatExercice resultat = new ResultatExercice();
+
+        // --- Lissage initial ---
+        long debut = System.nanoTime();
+        int tailleFiltreMoyenneur = 5;
+        int[][] tartinesNG_Lisse = FiltrageLineaireLocal.filtreMoyenneur(tartinesNG, tailleFiltreMoyenneur);
+        resultat.ajouteDuree("Lissage", debut);
+        if (tartinesNG_Lisse == null) throw new RuntimeException("Erreur lissage.");
+
+        // --- Détection des contours ---
+        debut = System.nanoTime();
+        int[][] contoursNG = ContoursNonLineaire.gradientBeucher(tartinesNG_Lisse);
+        resultat.ajouteDuree("Détection contours", debut);
+        if (contoursNG == null) throw new RuntimeException("Erreur détection des contours.");
+
+        // --- Binarisation des contours ---
+        debut = System.nanoTime();
+        int seuilContour = 50;
+        int[][] contoursBinaires = Seuillage.seuillageSimple(contoursNG, seuilContour);
+        resultat.ajouteDuree("Binarisation", debut);
+        if (contoursBinaires == null) throw new RuntimeException("Erreur binarisation des contours.");
+
+        // --- Traçage des contours ---
+        debut = System.nanoTime();
+        BufferedImage biTartinesAvecContours = new BufferedImage(largeur, hauteur, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = biTartinesAvecContours.createGraphics();
+        g2d.drawImage(source.getImage(), 0, 0, null);
+        g2d.dispose();
+        int greenRGB = Color.GREEN.getRGB();
+        for (int y = 0; y < hauteur; y++) {
+            for (int x = 0; x < largeur; x++) {
+                if (contoursBinaires[y][x] == 255) {
+                    biTartinesAvecContours.setRGB(x, y, greenRGB);
+                }
+            }
+        }
+        resultat.ajouteDuree("Traçage", debut);
+
+        resultat.ajouteSortie("avec_contours", "Tartines avec Contours Verts", biTartinesAvecContours);
+        resultat.setAffichage(niveauxDeGris(biTartinesAvecContours));
+        return resultat;
+    }
+
+    // --- Utilitaires ---
+
+    private static int[][] matriceNG(CImage source) {
+        if (source == null) throw new IllegalArgumentException("Image source absente.");
+        int[][] matrice = ImageUtils.imageToGrayMatrix(source);
+        if (matrice == null) throw new RuntimeException("Erreur conversion image.");
+        return matrice;
+    }
+
+    private static BufferedImage imageNG(Image8 image) {
+        CImageNG resultat = ImageUtils.image8ToCImageNG(image);
+        if (resultat == null) throw new RuntimeException("Erreur conversion résultat.");
+        return resultat.getImage();
+    }
+
+    private static BufferedImage imageNG(int[][] matrice) {
+        CImageNG image = ImageUtils.matrixToCImageNG(matrice);
+        if (image == null) throw new RuntimeException("Erreur conversion résultat.");
+        return image.getImage();
+    }
+
+    /** Luminance d'une image ARGB (dessinée sur un fond noir opaque, comme pour l'affichage principal). */
+    private static int[][] niveauxDeGris(BufferedImage image) throws CImageRGBException {
+        CImageRGB rgb = new CImageRGB(image.getWidth(), image.getHeight(), 0, 0, 0);
+        Graphics g = rgb.getContexte();
+        if (g != null) g.drawImage(image, 0, 0, null);
+        return matriceNG(rgb);
+    }
+
+    /**
+     * Soustrait imageB de imageA (A - B) pour des images NG.
+     * Clampe le résultat à 0 si B > A.
+     */
+    private static int[][] soustraireImagesNG(int[][] imageA, int[][] imageB) {
+        if (imageA == null || imageB == null || imageA.length != imageB.length || imageA[0].length != imageB[0].length) return null;
+        int hauteur = imageA.length;
+        int largeur = imageA[0].length;
+        int[][] resultat = new int[hauteur][largeur];
+        for (int y = 0; y < hauteur; y++) {
+            for (int x = 0; x < largeur; x++) {
+                // On ne clampe PAS à 255 ici, le seuillage s'en chargera.
+                resultat[y][x] = Math.max(0, imageA[y][x] - imageB[y][x]);
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Applique un masque binaire à une image en niveaux de gris.
+     * Copie les pixels de l'image NG là où le masque est blanc, met 0 ailleurs.
+     */
+    private static int[][] appliquerMasqueNG(int[][] imageNG, ImageBinaire masqueBinaire) {
+        if (imageNG == null || masqueBinaire == null || imageNG.length != masqueBinaire.getHauteur() || imageNG[0].length != masqueBinaire.getLargeur()) return null;
+        int hauteur = imageNG.length;
+        int largeur = imageNG[0].length;
+        int[][] resultat = new int[hauteur][largeur];
+        for (int y = 0; y < hauteur; y++) {
+            for (int x = 0; x < largeur; x++) {
+                resultat[y][x] = masqueBinaire.get(y, x) ? imageNG[y][x] : 0;
+            }
+        }
+        return resultat;
+    }
+}
@@ -0,0 +1,121 @@
+package ImageProcessing.Exercices;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+/**
+ * Résultat d'un pipeline d'exercice (cf. PipelinesExercices) : images produites, durées des
+ * étapes et image principale en niveaux de gris.
+ *
+ * Le pipeline ne connaît ni le nom du fichier traité ni le dossier de sortie : c'est l'appelant
+ * (interface graphique ou traitement par lots) qui choisit où enregistrer les sorties (enregistre)
+ * et comment présenter les durées.
+ */
+public class ResultatExercice {
+
+    /** Image produite par un pipeline. */
+    public static final class Sortie {
+        private final String suffixe;
+        private final String titre;
+        private final BufferedImage image;
+
+        Sortie(String suffixe, String titre, BufferedImage image) {
+            this.suffixe = suffixe;
+            this.titre = titre;
+            this.image = image;
+        }
+
+        /** @return Suffixe du nom de fichier (sans extension), ex: "median_debruite". */
+        public String getSuffixe() {
+            return suffixe;
+        }
+
+        /** @return Titre de la fenêtre de résultat, ou null pour une sortie de débogage (enregistrée seulement). */
+        public String getTitre() {
+            return titre;
+        }
+
+        public BufferedImage getImage() {
+            return image;
+        }
+    }
+
+    private final List<Sortie> sorties = new ArrayList<>();
+    private final Map<String, Double> durees = new LinkedHashMap<>();
+    private int[][] affichage;
+
+    void ajouteSortie(String suffixe, String titre, BufferedImage image) {
+        if (image == null) throw new RuntimeException("Sortie '" + suffixe + "' absente.");
+        sorties.add(new Sortie(suffixe, titre, image));
+    }
+
+    /** Enregistre la durée d'une étape commencée à debutNano (System.nanoTime()). */
+    void ajouteDuree(String etape, long debutNano) {
+        durees.put(etape, (System.nanoTime() - debutNano) / 1_000_000.0);
+    }
+
+    void setAffichage(int[][] affichage) {
+        this.affichage = affichage;
+    }
+
+    /** @return Les sorties, dans l'ordre de production. */
+    public List<Sortie> getSorties() {
+        return Collections.unmodifiableList(sorties);
+    }
+
+    /** @return Durée (ms) de chaque étape, dans l'ordre d'exécution. */
+    public Map<String, Double> getDurees() {
+        return Collections.unmodifiableMap(durees);
+    }
+
+    /** @return L'image principale en niveaux de gris int[y][x] (celle affichée par l'interface). */
+    public int[][] getAffichage() {
+        return affichage;
+    }
+
+    /** @return Une ligne "étape: durée ms" par étape (pour les messages de fin). */
+    public String resumeDurees() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Double> e : durees.entrySet()) {
+            sb.append(e.getKey()).append(": ").append(String.format("%.3f", e.getValue())).append(" ms\n");
+        }
+        return sb.toString();
+    }
+
+    /** @return Les durées sous la forme "étape=durée|étape=durée" (ms, point décimal), pour les rapports. */
+    public String dureesCompactes() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Double> e : durees.entrySet()) {
+            if (sb.length() > 0) sb.append('|');
+            sb.append(e.getKey()).append('=').append(String.format(Locale.ROOT, "%.3f", e.getValue()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Enregistre toutes les sorties au format PNG dans dossier, sous le nom base_suffixe.png
+     * (suffixe.png si base est vide). Le dossier est créé si nécessaire.
+     * @return Les fichiers écrits.
+     */
+    public List<File> enregistre(File dossier, String base) throws IOException {
+        if (!dossier.isDirectory() && !dossier.mkdirs()) {
+            throw new IOException("Impossible de créer le dossier " + dossier);
+        }
+        List<File> fichiers = new ArrayList<>(sorties.size());
+        for (Sortie s : sorties) {
+            String nom = (base == null || base.isEmpty()) ? s.suffixe : base + "_" + s.suffixe;
+            File f = new File(dossier, nom + ".png");
+            if (!ImageIO.write(s.image, "png", f)) throw new IOException("Aucun encodeur PNG pour " + f);
+            fichiers.add(f);
+        }
+        return fichiers;
+    }
+}
@@ -0,0 +1,255 @@
+package ImageProcessing.Flux;
+
+import ImageProcessing.Core.Image8;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Décodeur PNG ligne par ligne, qui ne revient jamais en arrière dans le fichier.
+ *
+ * Le lecteur PNG d'ImageIO redécompresse l'image depuis sa première ligne à chaque appel restreint
+ * par setSourceRegion : lire une image par N bandes coûte alors O(N²) lignes décodées. Ce décodeur
+ * garde le flux Deflate ouvert entre deux bandes (coût linéaire). Il ne traite que les cas courants :
+ * 8 bits par échantillon, non entrelacé, niveaux de gris, RGB ou RGBA, sans profil ICC. Les autres
+ * fichiers sont lus par ImageIO (cf. LecteurBandes).
+ *
+ * La conversion en niveaux de gris est celle de LecteurBandes (octets bruts pour les niveaux de gris,
+ * luminance pour la couleur, alpha ignoré).
+ *
+ * @technique Décodage PNG en flux (IDAT / Inflate, filtres de ligne None, Sub, Up, Average, Paeth).
+ */
+final class DecodeurPNGSequentiel implements Closeable {
+
+    private static final long SIGNATURE = 0x89504E470D0A1A0AL;
+    private static final int TYPE_GRIS = 0, TYPE_RGB = 2, TYPE_RGBA = 6;
+
+    private final DataInputStream fichier;
+    private final InflaterInputStream donnees;
+    private final int largeur;
+    private final int hauteur;
+    private final int octetsParPixel;
+    private byte[] ligne;
+    private byte[] lignePrecedente;
+    private int ligneCourante = 0;
+    /** Nombre d'octets restant à lire dans le bloc IDAT courant. */
+    private int restantBloc;
+
+    private DecodeurPNGSequentiel(DataInputStream fichier, int largeur, int hauteur, int octetsParPixel) {
+        this.fichier = fichier;
+        this.largeur = largeur;
+        this.hauteur = hauteur;
+        this.octetsParPixel = octetsParPixel;
+        this.ligne = new byte[largeur * octetsParPixel];
+        this.lignePrecedente = new byte[largeur * octetsParPixel];
+        this.donnees = new InflaterInputStream(new FluxIDAT());
+    }
+
+    /**
+     * Ouvre le fichier et se place au début des données image.
+     * @return Le décodeur, ou null si le fichier n'est pas un PNG de l'un des types pris en charge.
+     * @throws IOException en cas d'erreur de lecture.
+     */
+    static DecodeurPNGSequentiel ouvre(File f) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(f), 1 << 16));
+        try {
+            if (in.readLong() != SIGNATURE) {
+                in.close();
+                return null;
+            }
+            int largeur = 0, hauteur = 0, octetsParPixel = 0;
+            while (true) {
+                int longueur = in.readInt();
+                int type = in.readInt();
+                if (type == type("IHDR")) {
+                    largeur = in.readInt();
+                    hauteur = in.readInt();
+                    int profondeur = in.readUnsignedByte();
+                    int couleur = in.readUnsignedByte();
+                    in.readUnsignedByte(); // compression
+                    in.readUnsignedByte(); // filtrage
+                    int entrelacement = in.readUnsignedByte();
+                    in.readInt(); // CRC
+                    octetsParPixel = (couleur == TYPE_GRIS) ? 1 : (couleur == TYPE_RGB) ? 3 : (couleur == TYPE_RGBA) ? 4 : 0;
+                    if (profondeur != 8 || entrelacement != 0 || octetsParPixel == 0 || largeur <= 0 || hauteur <= 0) {
+                        in.close();
+                        return null;
+                    }
+                } else if (type == type("iCCP") || type == type("IEND")) {
+                    // Profil ICC : ImageIO convertirait les couleurs, on le laisse faire
+                    in.close();
+                    return null;
+                } else if (type == type("IDAT")) {
+                    if (octetsParPixel == 0) {
+                        in.close();
+                        return null;
+                    }
+                    DecodeurPNGSequentiel decodeur = new DecodeurPNGSequentiel(in, largeur, hauteur, octetsParPixel);
+                    decodeur.restantBloc = longueur;
+                    return decodeur;
+                } else {
+                    sauteOctets(in, longueur + 4L); // données + CRC
+                }
+            }
+        } catch (EOFException e) {
+            in.close();
+            return null;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    int getLargeur() {
+        return largeur;
+    }
+
+    int getHauteur() {
+        return hauteur;
+    }
+
+    /** @return L'indice de la prochaine ligne décodée. */
+    int getLigneCourante() {
+        return ligneCourante;
+    }
+
+    /** Décode et ignore les n lignes suivantes. */
+    void sauteLignes(int n) throws IOException {
+        for (int i = 0; i < n; i++) decodeLigne();
+    }
+
+    /** Décode les destination.getHauteur() lignes suivantes, converties en niveaux de gris. */
+    void litLignes(Image8 destination) throws IOException {
+        byte[] dest = destination.getDonnees();
+        for (int j = 0; j < destination.getHauteur(); j++) {
+            decodeLigne();
+            int base = destination.index(j, 0);
+            if (octetsParPixel == 1) {
+                System.arraycopy(ligne, 0, dest, base, largeur);
+                continue;
+            }
+            for (int x = 0, p = 0; x < largeur; x++, p += octetsParPixel) {
+                int r = ligne[p] & 0xFF;
+                int g = ligne[p + 1] & 0xFF;
+                int b = ligne[p + 2] & 0xFF;
+                int gris = (r == g && g == b) ? r : (int) (0.299 * r + 0.587 * g + 0.114 * b);
+                dest[base + x] = (byte) Math.max(0, Math.min(255, gris));
+            }
+        }
+    }
+
+    /** Lit une ligne filtrée et la reconstruit dans ligne (la ligne précédente sert de référence). */
+    private void decodeLigne() throws IOException {
+        if (ligneCourante >= hauteur) throw new IOException("Lecture au-delà de la dernière ligne");
+        byte[] tmp = lignePrecedente;
+        lignePrecedente = ligne;
+        ligne = tmp;
+
+        int filtre = donnees.read();
+        if (filtre < 0) throw new EOFException("Données PNG tronquées");
+        int n = ligne.length;
+        for (int lu = 0; lu < n; ) {
+            int k = donnees.read(ligne, lu, n - lu);
+            if (k < 0) throw new EOFException("Données PNG tronquées");
+            lu += k;
+        }
+        byte[] haut = lignePrecedente;
+        int bpp = octetsParPixel;
+        switch (filtre) {
+            case 0:
+                break;
+            case 1: // Sub
+                for (int i = bpp; i < n; i++) ligne[i] += ligne[i - bpp];
+                break;
+            case 2: // Up
+                for (int i = 0; i < n; i++) ligne[i] += haut[i];
+                break;
+            case 3: // Average
+                for (int i = 0; i < n; i++) {
+                    int gauche = (i >= bpp) ? ligne[i - bpp] & 0xFF : 0;
+                    ligne[i] += (byte) ((gauche + (haut[i] & 0xFF)) >> 1);
+                }
+                break;
+            case 4: // Paeth
+                for (int i = 0; i < n; i++) {
+                    int a = (i >= bpp) ? ligne[i - bpp] & 0xFF : 0;
+                    int b = haut[i] & 0xFF;
+                    int c = (i >= bpp) ? haut[i - bpp] & 0xFF : 0;
+                    int p = a + b - c;
+                    int pa = Math.abs(p - a), pb = Math.abs(p - b), pc = Math.abs(p - c);
+                    ligne[i] += (byte) ((pa <= pb && pa <= pc) ? a : (pb <= pc) ? b : c);
+                }
+                break;
+            default:
+                throw new IOException("Filtre PNG inconnu : " + filtre);
+        }
+        ligneCourante++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        donnees.close();
+    }
+
+    private static int type(String nom) {
+        return (nom.charAt(0) << 24) | (nom.charAt(1) << 16) | (nom.charAt(2) << 8) | nom.charAt(3);
+    }
+
+    private static void sauteOctets(DataInputStream in, long n) throws IOException {
+        while (n > 0) {
+            long k = in.skip(n);
+            if (k <= 0) {
+                if (in.read() < 0) throw new EOFException();
+                k = 1;
+            }
+            n -= k;
+        }
+    }
+
+    /** Concaténation des données des blocs IDAT successifs (les CRC sont ignorés). */
+    private final class FluxIDAT extends InputStream {
+        private boolean fini = false;
+
+        /** Passe au bloc IDAT suivant si le courant est épuisé ; renvoie false à la fin des données. */
+        private boolean disponible() throws IOException {
+            while (restantBloc == 0 && !fini) {
+                fichier.readInt(); // CRC du bloc courant
+                int longueur = fichier.readInt();
+                if (fichier.readInt() != type("IDAT")) {
+                    fini = true;
+                } else {
+                    restantBloc = longueur;
+                }
+            }
+            return !fini;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!disponible()) return -1;
+            restantBloc--;
+            return fichier.read();
+        }
+
+        @Override
+        public int read(byte[] b, int debut, int longueur) throws IOException {
+            if (longueur == 0) return 0;
+            if (!disponible()) return -1;
+            int k = fichier.read(b, debut, Math.min(longueur, restantBloc));
+            if (k < 0) throw new EOFException("Bloc IDAT tronqué");
+            restantBloc -= k;
+            return k;
+        }
+
+        @Override
+        public void close() throws IOException {
+            fichier.close();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package ImageProcessing.Flux;
+
+import ImageProcessing.Core.Image8;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Écriture incrémentale d'une image PNG en niveaux de gris 8 bits, bande par bande.
+ *
+ * ImageIO ne sait écrire un PNG qu'à partir d'une image complète en mémoire ; ici les lignes sont
+ * filtrées (filtre PNG "Sub") et compressées au fil de l'eau, et les données compressées sont
+ * émises en blocs IDAT de 64 Ko. La mémoire utilisée ne dépend que de la largeur de l'image.
+ * Le fichier produit est un PNG standard (relisible par ImageIO, CImageNG...).
+ *
+ * @technique Écriture en flux, Format PNG (IHDR / IDAT / IEND, CRC32, Deflate).
+ */
+public final class EcrivainPNGBandes implements Closeable {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int TAILLE_BLOC_IDAT = 1 << 16;
+
+    private final DataOutputStream sortie;
+    private final BlocsIDAT blocs;
+    private final Deflater deflater;
+    private final DeflaterOutputStream compression;
+    private final int largeur;
+    private final int hauteur;
+    private final byte[] ligneFiltree;
+    private int lignesEcrites = 0;
+    private boolean ferme = false;
+
+    /**
+     * Crée le fichier et écrit l'en-tête PNG.
+     * @param fichier Le fichier de sortie.
+     * @param largeur Largeur de l'image (>= 1).
+     * @param hauteur Hauteur totale de l'image (>= 1) : exactement ce nombre de lignes devra être écrit.
+     * @throws IOException en cas d'erreur d'écriture.
+     * @throws IllegalArgumentException si les dimensions sont invalides.
+     */
+    public EcrivainPNGBandes(File fichier, int largeur, int hauteur) throws IOException {
+        if (largeur <= 0 || hauteur <= 0) {
+            throw new IllegalArgumentException("Dimensions invalides : " + largeur + "x" + hauteur);
+        }
+        this.largeur = largeur;
+        this.hauteur = hauteur;
+        this.ligneFiltree = new byte[largeur + 1];
+        sortie = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fichier), TAILLE_BLOC_IDAT));
+        sortie.write(SIGNATURE);
+
+        byte[] ihdr = new byte[13];
+        ecritEntier(ihdr, 0, largeur);
+        ecritEntier(ihdr, 4, hauteur);
+        ihdr[8] = 8;  // 8 bits par échantillon
+        ihdr[9] = 0;  // niveaux de gris
+        ihdr[10] = 0; // compression deflate
+        ihdr[11] = 0; // filtrage standard (un octet de filtre par ligne)
+        ihdr[12] = 0; // non entrelacé
+        ecritBloc("IHDR", ihdr, ihdr.length);
+
+        blocs = new BlocsIDAT();
+        deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        compression = new DeflaterOutputStream(blocs, deflater, TAILLE_BLOC_IDAT);
+    }
+
+    /**
+     * Ajoute les lignes de la bande à la suite de celles déjà écrites.
+     * @param bande Image 8 bits de même largeur (vue roi acceptée).
+     * @throws IOException en cas d'erreur d'écriture.
+     * @throws IllegalArgumentException si la largeur diffère ou si la bande dépasse la hauteur annoncée.
+     */
+    public void ecritBande(Image8 bande) throws IOException {
+        if (ferme) throw new IllegalStateException("L'écrivain PNG est fermé");
+        if (bande.getLargeur() != largeur || lignesEcrites + bande.getHauteur() > hauteur) {
+            throw new IllegalArgumentException("Bande " + bande.getLargeur() + "x" + bande.getHauteur()
+                    + " incompatible (" + lignesEcrites + "/" + hauteur + " lignes écrites)");
+        }
+        byte[] src = bande.getDonnees();
+        ligneFiltree[0] = 1; // filtre "Sub" : différence avec le pixel de gauche
+        for (int y = 0; y < bande.getHauteur(); y++) {
+            int base = bande.index(y, 0);
+            ligneFiltree[1] = src[base];
+            for (int x = 1; x < largeur; x++) ligneFiltree[x + 1] = (byte) (src[base + x] - src[base + x - 1]);
+            compression.write(ligneFiltree, 0, ligneFiltree.length);
+        }
+        lignesEcrites += bande.getHauteur();
+    }
+
+    /** @return Le nombre de lignes déjà écrites. */
+    public int getLignesEcrites() {
+        return lignesEcrites;
+    }
+
+    /**
+     * Termine le flux compressé, écrit le bloc IEND et ferme le fichier.
+     * @throws IOException en cas d'erreur d'écriture, ou si toutes les lignes n'ont pas été écrites
+     *         (le fichier est tout de même fermé).
+     */
+    @Override
+    public void close() throws IOException {
+        if (ferme) return;
+        ferme = true;
+        try {
+            compression.finish();
+            blocs.vide();
+            ecritBloc("IEND", new byte[0], 0);
+        } finally {
+            deflater.end();
+            sortie.close();
+        }
+        if (lignesEcrites != hauteur) {
+            throw new IOException("Image PNG incomplète : " + lignesEcrites + "/" + hauteur + " lignes écrites");
+        }
+    }
+
+    /** Écrit un bloc PNG : longueur, type, données, CRC32 (calculé sur le type et les données). */
+    private void ecritBloc(String type, byte[] donnees, int longueur) throws IOException {
+        byte[] octetsType = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(octetsType);
+        crc.update(donnees, 0, longueur);
+        sortie.writeInt(longueur);
+        sortie.write(octetsType);
+        sortie.write(donnees, 0, longueur);
+        sortie.writeInt((int) crc.getValue());
+    }
+
+    private static void ecritEntier(byte[] tampon, int position, int valeur) {
+        tampon[position] = (byte) (valeur >>> 24);
+        tampon[position + 1] = (byte) (valeur >>> 16);
+        tampon[position + 2] = (byte) (valeur >>> 8);
+        tampon[position + 3] = (byte) valeur;
+    }
+
+    /** Flux recevant les données compressées et les émettant en blocs IDAT de taille bornée. */
+    private final class BlocsIDAT extends OutputStream {
+        private final byte[] tampon = new byte[TAILLE_BLOC_IDAT];
+        private int taille = 0;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (taille == tampon.length) vide();
+            tampon[taille++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int debut, int longueur) throws IOException {
+            while (longueur > 0) {
+                if (taille == tampon.length) vide();
+                int n = Math.min(longueur, tampon.length - taille);
+                System.arraycopy(b, debut, tampon, taille, n);
+                taille += n;
+                debut += n;
+                longueur -= n;
+            }
+        }
+
+        /** Émet le contenu courant du tampon comme un bloc IDAT. */
+        void vide() throws IOException {
+            if (taille == 0) return;
+            ecritBloc("IDAT", tampon, taille);
+            taille = 0;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ImageProcessing.Flux;
+
+import ImageProcessing.Core.Image8;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Lecture d'une image fichier par bandes horizontales, sans jamais charger l'image entière :
+ * chaque bande est décodée par l'ImageReader d'ImageIO restreint à la région demandée
+ * (ImageReadParam.setSourceRegion), puis convertie en niveaux de gris 8 bits.
+ * Les PNG 8 bits courants sont décodés par DecodeurPNGSequentiel, qui reprend le flux là où
+ * la bande précédente s'est arrêtée (lecture de bandes successives en temps linéaire).
+ *
+ * La conversion est celle d'ImageUtils.imageToGrayMatrix : octets bruts pour une image
+ * TYPE_BYTE_GRAY, valeur exacte d'un pixel gris (R = G = B), luminance
+ * (int) (0.299 R + 0.587 G + 0.114 B) sinon.
+ *
+ * Remarque : par ImageIO, les formats séquentiels (JPEG, PNG entrelacé ou 16 bits...) sont
+ * redécodés depuis le début de l'image à chaque bande ; la mémoire reste bornée par la hauteur
+ * de bande, mais des bandes hautes limitent le nombre de reprises.
+ *
+ * @technique Lecture par régions (ImageReadParam.setSourceRegion), Traitement hors mémoire.
+ */
+public final class LecteurBandes implements Closeable {
+
+    private final File fichier;
+    private DecodeurPNGSequentiel decodeurPNG;
+    private ImageInputStream flux;
+    private ImageReader lecteur;
+    private final int largeur;
+    private final int hauteur;
+
+    /**
+     * Ouvre le fichier et lit uniquement ses dimensions.
+     * @param fichier Le fichier image (tout format lisible par ImageIO).
+     * @throws IOException si le fichier est illisible ou si aucun lecteur ImageIO ne le reconnaît.
+     */
+    public LecteurBandes(File fichier) throws IOException {
+        this.fichier = fichier;
+        decodeurPNG = DecodeurPNGSequentiel.ouvre(fichier);
+        if (decodeurPNG != null) {
+            largeur = decodeurPNG.getLargeur();
+            hauteur = decodeurPNG.getHauteur();
+            return;
+        }
+        flux = ImageIO.createImageInputStream(fichier);
+        if (flux == null) throw new IOException("Impossible d'ouvrir " + fichier);
+        Iterator<ImageReader> lecteurs = ImageIO.getImageReaders(flux);
+        if (!lecteurs.hasNext()) {
+            flux.close();
+            throw new IOException("Format d'image non reconnu : " + fichier);
+        }
+        lecteur = lecteurs.next();
+        lecteur.setInput(flux, true, true);
+        largeur = lecteur.getWidth(0);
+        hauteur = lecteur.getHeight(0);
+    }
+
+    public int getLargeur() {
+        return largeur;
+    }
+
+    public int getHauteur() {
+        return hauteur;
+    }
+
+    /**
+     * Lit les lignes [y, y + destination.getHauteur()[ de l'image dans destination.
+     * @param y Première ligne à lire.
+     * @param destination Image 8 bits recevant la bande (même largeur que l'image, vue roi acceptée).
+     * @throws IOException en cas d'erreur de décodage.
+     * @throws IllegalArgumentException si la bande sort de l'image ou si la largeur diffère.
+     */
+    public void litBande(int y, Image8 destination) throws IOException {
+        int h = destination.getHauteur();
+        if (destination.getLargeur() != largeur || y < 0 || y + h > hauteur) {
+            throw new IllegalArgumentException("Bande [" + y + ", " + (y + h) + "[ invalide pour une image "
+                    + largeur + "x" + hauteur);
+        }
+        if (decodeurPNG != null) {
+            if (y < decodeurPNG.getLigneCourante()) {
+                // Retour en arrière : on repart du début du fichier
+                decodeurPNG.close();
+                decodeurPNG = DecodeurPNGSequentiel.ouvre(fichier);
+            }
+            decodeurPNG.sauteLignes(y - decodeurPNG.getLigneCourante());
+            decodeurPNG.litLignes(destination);
+            return;
+        }
+        ImageReadParam param = lecteur.getDefaultReadParam();
+        param.setSourceRegion(new Rectangle(0, y, largeur, h));
+        BufferedImage bande = lecteur.read(0, param);
+
+        byte[] dest = destination.getDonnees();
+        if (bande.getType() == BufferedImage.TYPE_BYTE_GRAY) {
+            // Échantillons bruts, sans conversion de l'espace de gris
+            byte[] ligne = new byte[largeur];
+            for (int j = 0; j < h; j++) {
+                bande.getRaster().getDataElements(0, j, largeur, 1, ligne);
+                System.arraycopy(ligne, 0, dest, destination.index(j, 0), largeur);
+            }
+            return;
+        }
+        int[] ligneRGB = new int[largeur];
+        for (int j = 0; j < h; j++) {
+            bande.getRGB(0, j, largeur, 1, ligneRGB, 0, largeur);
+            int base = destination.index(j, 0);
+            for (int x = 0; x < largeur; x++) {
+                int rgb = ligneRGB[x];
+                int r = (rgb >> 16) & 0xFF;
+                int g = (rgb >> 8) & 0xFF;
+                int b = rgb & 0xFF;
+                int gris = (r == g && g == b) ? r : (int) (0.299 * r + 0.587 * g + 0.114 * b);
+                dest[base + x] = (byte) Math.max(0, Math.min(255, gris));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (decodeurPNG != null) {
+            decodeurPNG.close();
+            return;
+        }
+        lecteur.dispose();
+        flux.close();
+    }
+}
@@ -0,0 +1,291 @@
+package ImageProcessing.Flux;
+
+import ImageProcessing.Core.Image16;
+import ImageProcessing.Core.Image8;
+import ImageProcessing.Core.ImageF32;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Stockage d'une image brute dans un fichier projeté en mémoire (FileChannel.map).
+ *
+ * Les pixels sont rangés ligne par ligne, sans compression, après un en-tête de 32 octets
+ * ("ISILRAW1", type, hauteur, largeur ; entiers et échantillons en petit-boutiste). Les pages du
+ * fichier sont hors du tas Java : le système les charge à la demande et les réécrit sur disque
+ * sous pression mémoire. Un résultat intermédiaire plus grand que le tas peut donc être produit
+ * et relu bande par bande (cf. TraitementParBandes), et un fichier peut être rouvert d'une
+ * exécution à l'autre sans encodage ni décodage PNG.
+ *
+ * Le fichier est projeté par segments d'au plus 1 Go, composés de lignes entières. Les échanges se
+ * font par bandes avec les conteneurs Image8, Image16 et ImageF32 du tas (vues roi acceptées).
+ *
+ * Remarque : Java 8 ne permet pas de libérer explicitement une projection ; les segments sont
+ * libérés par le ramasse-miettes après close().
+ *
+ * @technique Fichier projeté en mémoire (memory-mapped I/O), Stockage hors tas.
+ */
+public final class StockageMappe implements Closeable {
+
+    /** Type des échantillons stockés. */
+    public enum Type {
+        OCTETS(1, 1), COURTS(2, 2), FLOTTANTS(3, 4);
+
+        private final int code;
+        private final int taille;
+
+        Type(int code, int taille) {
+            this.code = code;
+            this.taille = taille;
+        }
+
+        /** @return La taille d'un échantillon en octets. */
+        public int getTaille() {
+            return taille;
+        }
+
+        private static Type depuisCode(int code) {
+            for (Type t : values()) if (t.code == code) return t;
+            return null;
+        }
+    }
+
+    private static final byte[] MAGIQUE = "ISILRAW1".getBytes(StandardCharsets.US_ASCII);
+    private static final int TAILLE_EN_TETE = 32;
+    private static final long TAILLE_SEGMENT_MAX = 1L << 30;
+
+    private final FileChannel canal;
+    private final Type type;
+    private final int hauteur;
+    private final int largeur;
+    private final int octetsParLigne;
+    private final int lignesParSegment;
+    private final MappedByteBuffer[] segments;
+
+    private StockageMappe(FileChannel canal, Type type, int hauteur, int largeur) {
+        this.canal = canal;
+        this.type = type;
+        this.hauteur = hauteur;
+        this.largeur = largeur;
+        this.octetsParLigne = largeur * type.taille;
+        this.lignesParSegment = (int) Math.max(1, TAILLE_SEGMENT_MAX / octetsParLigne);
+        this.segments = new MappedByteBuffer[(hauteur + lignesParSegment - 1) / lignesParSegment];
+    }
+
+    /**
+     * Crée (ou écrase) un fichier de stockage, initialisé à zéro.
+     * @param fichier Le fichier.
+     * @param type Le type des échantillons.
+     * @param hauteur Nombre de lignes (>= 1).
+     * @param largeur Nombre de colonnes (>= 1).
+     * @return Le stockage, ouvert en lecture et écriture.
+     * @throws IOException en cas d'erreur d'entrée-sortie.
+     * @throws IllegalArgumentException si les dimensions sont invalides.
+     */
+    public static StockageMappe cree(File fichier, Type type, int hauteur, int largeur) throws IOException {
+        if (type == null || hauteur <= 0 || largeur <= 0 || (long) largeur * type.taille > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Stockage invalide : " + hauteur + "x" + largeur + " " + type);
+        }
+        FileChannel canal = FileChannel.open(fichier.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer enTete = ByteBuffer.allocate(TAILLE_EN_TETE).order(ByteOrder.LITTLE_ENDIAN);
+            enTete.put(MAGIQUE).putInt(type.code).putInt(hauteur).putInt(largeur);
+            enTete.rewind();
+            canal.write(enTete, 0);
+            // Fichier creux : les pages jamais écrites ne consomment pas de disque
+            canal.write(ByteBuffer.allocate(1), TAILLE_EN_TETE + (long) hauteur * largeur * type.taille - 1);
+            return new StockageMappe(canal, type, hauteur, largeur);
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Rouvre un fichier de stockage existant, en lecture et écriture.
+     * @throws IOException si le fichier est illisible, n'est pas un stockage ou est tronqué.
+     */
+    public static StockageMappe ouvre(File fichier) throws IOException {
+        FileChannel canal = FileChannel.open(fichier.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer enTete = ByteBuffer.allocate(TAILLE_EN_TETE).order(ByteOrder.LITTLE_ENDIAN);
+            while (enTete.hasRemaining()) {
+                if (canal.read(enTete, enTete.position()) < 0) break;
+            }
+            enTete.flip();
+            byte[] magique = new byte[MAGIQUE.length];
+            if (enTete.remaining() < TAILLE_EN_TETE) throw new IOException("En-tête tronqué : " + fichier);
+            enTete.get(magique);
+            Type type = Type.depuisCode(enTete.getInt());
+            int hauteur = enTete.getInt();
+            int largeur = enTete.getInt();
+            if (!Arrays.equals(magique, MAGIQUE) || type == null || hauteur <= 0 || largeur <= 0) {
+                throw new IOException("Fichier de stockage invalide : " + fichier);
+            }
+            if (canal.size() < TAILLE_EN_TETE + (long) hauteur * largeur * type.taille) {
+                throw new IOException("Fichier de stockage tronqué : " + fichier);
+            }
+            return new StockageMappe(canal, type, hauteur, largeur);
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getHauteur() {
+        return hauteur;
+    }
+
+    public int getLargeur() {
+        return largeur;
+    }
+
+    // --- Échanges par bandes ---
+
+    /** Copie les lignes [y, y + destination.getHauteur()[ dans destination (stockage OCTETS). */
+    public void litBande(int y, Image8 destination) throws IOException {
+        verifie(Type.OCTETS, y, destination.getHauteur(), destination.getLargeur());
+        for (int j = 0; j < destination.getHauteur(); j++) {
+            ligne(y + j).get(destination.getDonnees(), destination.index(j, 0), largeur);
+        }
+    }
+
+    /** Écrit les lignes de la bande à partir de la ligne y (stockage OCTETS). */
+    public void ecritBande(int y, Image8 bande) throws IOException {
+        verifie(Type.OCTETS, y, bande.getHauteur(), bande.getLargeur());
+        for (int j = 0; j < bande.getHauteur(); j++) {
+            ligne(y + j).put(bande.getDonnees(), bande.index(j, 0), largeur);
+        }
+    }
+
+    /** Copie les lignes [y, y + destination.getHauteur()[ dans destination (stockage COURTS). */
+    public void litBande(int y, Image16 destination) throws IOException {
+        verifie(Type.COURTS, y, destination.getHauteur(), destination.getLargeur());
+        for (int j = 0; j < destination.getHauteur(); j++) {
+            ligne(y + j).asShortBuffer().get(destination.getDonnees(), destination.index(j, 0), largeur);
+        }
+    }
+
+    /** Écrit les lignes de la bande à partir de la ligne y (stockage COURTS). */
+    public void ecritBande(int y, Image16 bande) throws IOException {
+        verifie(Type.COURTS, y, bande.getHauteur(), bande.getLargeur());
+        for (int j = 0; j < bande.getHauteur(); j++) {
+            ligne(y + j).asShortBuffer().put(bande.getDonnees(), bande.index(j, 0), largeur);
+        }
+    }
+
+    /** Copie les lignes [y, y + destination.getHauteur()[ dans destination (stockage FLOTTANTS). */
+    public void litBande(int y, ImageF32 destination) throws IOException {
+        verifie(Type.FLOTTANTS, y, destination.getHauteur(), destination.getLargeur());
+        for (int j = 0; j < destination.getHauteur(); j++) {
+            ligne(y + j).asFloatBuffer().get(destination.getDonnees(), destination.index(j, 0), largeur);
+        }
+    }
+
+    /** Écrit les lignes de la bande à partir de la ligne y (stockage FLOTTANTS). */
+    public void ecritBande(int y, ImageF32 bande) throws IOException {
+        verifie(Type.FLOTTANTS, y, bande.getHauteur(), bande.getLargeur());
+        for (int j = 0; j < bande.getHauteur(); j++) {
+            ligne(y + j).asFloatBuffer().put(bande.getDonnees(), bande.index(j, 0), largeur);
+        }
+    }
+
+    /** Force l'écriture sur disque des segments modifiés. */
+    public void force() {
+        for (MappedByteBuffer segment : segments) {
+            if (segment != null) segment.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        Arrays.fill(segments, null);
+        canal.close();
+    }
+
+    // --- Conversions avec un fichier image ---
+
+    /**
+     * Copie une image fichier (lue par bandes, convertie en niveaux de gris, cf. LecteurBandes)
+     * dans un nouveau stockage OCTETS.
+     * @param image Le fichier image source.
+     * @param fichier Le fichier de stockage à créer.
+     * @return Le stockage, ouvert.
+     */
+    public static StockageMappe importe(File image, File fichier) throws IOException {
+        try (LecteurBandes lecteur = new LecteurBandes(image)) {
+            StockageMappe stockage = cree(fichier, Type.OCTETS, lecteur.getHauteur(), lecteur.getLargeur());
+            try {
+                int hb = TraitementParBandes.HAUTEUR_BANDE_PAR_DEFAUT;
+                Image8 bande = new Image8(Math.min(hb, stockage.hauteur), stockage.largeur);
+                for (int y0 = 0; y0 < stockage.hauteur; y0 += hb) {
+                    Image8 vue = bande.roi(0, 0, Math.min(hb, stockage.hauteur - y0), stockage.largeur);
+                    lecteur.litBande(y0, vue);
+                    stockage.ecritBande(y0, vue);
+                }
+                return stockage;
+            } catch (IOException | RuntimeException e) {
+                stockage.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Écrit le stockage (OCTETS) dans un fichier PNG en niveaux de gris, bande par bande.
+     * @param image Le fichier PNG à produire.
+     */
+    public void exportePNG(File image) throws IOException {
+        int hb = TraitementParBandes.HAUTEUR_BANDE_PAR_DEFAUT;
+        try (EcrivainPNGBandes ecrivain = new EcrivainPNGBandes(image, largeur, hauteur)) {
+            Image8 bande = new Image8(Math.min(hb, hauteur), largeur);
+            for (int y0 = 0; y0 < hauteur; y0 += hb) {
+                Image8 vue = bande.roi(0, 0, Math.min(hb, hauteur - y0), largeur);
+                litBande(y0, vue);
+                ecrivain.ecritBande(vue);
+            }
+        }
+    }
+
+    // --- Outils internes ---
+
+    private void verifie(Type attendu, int y, int h, int w) {
+        if (type != attendu) {
+            throw new IllegalArgumentException("Le stockage contient des " + type + ", pas des " + attendu);
+        }
+        if (w != largeur || y < 0 || y + h > hauteur) {
+            throw new IllegalArgumentException("Bande [" + y + ", " + (y + h) + "[ x " + w + " invalide pour un stockage "
+                    + hauteur + "x" + largeur);
+        }
+    }
+
+    /** @return Un tampon (petit-boutiste) positionné au début de la ligne y et limité à cette ligne. */
+    private ByteBuffer ligne(int y) throws IOException {
+        int s = y / lignesParSegment;
+        MappedByteBuffer segment = segments[s];
+        if (segment == null) {
+            int premiere = s * lignesParSegment;
+            int nbLignes = Math.min(lignesParSegment, hauteur - premiere);
+            segment = canal.map(FileChannel.MapMode.READ_WRITE,
+                    TAILLE_EN_TETE + (long) premiere * octetsParLigne, (long) nbLignes * octetsParLigne);
+            segments[s] = segment;
+        }
+        ByteBuffer vue = segment.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int debut = (y - s * lignesParSegment) * octetsParLigne;
+        vue.limit(debut + octetsParLigne).position(debut);
+        return vue;
+    }
+}
@@ -0,0 +1,260 @@
+package ImageProcessing.Flux;
+
+import ImageProcessing.Core.BorderMode;
+import ImageProcessing.Core.Image8;
+import ImageProcessing.Histogramme.Histogramme;
+import ImageProcessing.Lineaire.FiltrageLineaireLocal;
+import ImageProcessing.Metriques.Metriques;
+import ImageProcessing.NonLineaire.MorphoComplexe;
+import ImageProcessing.NonLineaire.MorphoElementaire;
+import ImageProcessing.Seuillage.Seuillage;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Traitement d'images plus grandes que la mémoire, par bandes horizontales.
+ *
+ * L'image d'entrée est lue bande par bande (LecteurBandes), l'opérateur local est appliqué à une
+ * fenêtre formée de la bande et de ses lignes de halo (halo lignes au-dessus et au-dessous), et
+ * seules les lignes de la bande sont écrites dans le PNG de sortie (EcrivainPNGBandes). Les lignes
+ * de halo sont conservées d'une fenêtre à la suivante : chaque ligne du fichier n'est lue qu'une fois.
+ *
+ * Pour un opérateur dont chaque pixel de sortie ne dépend que des lignes à une distance <= halo,
+ * le résultat est identique au traitement de l'image entière : les lignes écrites sont à au moins
+ * halo lignes du bord de la fenêtre, sauf au bord réel de l'image, où la fenêtre et l'image
+ * entière ont le même bord (même gestion de bord par l'opérateur).
+ *
+ * La mémoire utilisée est de l'ordre de (hauteurBande + 2 * halo) * largeur octets, quelle que
+ * soit la hauteur de l'image.
+ *
+ * Les étapes d'un traitement en plusieurs passes peuvent s'enchaîner de StockageMappe en
+ * StockageMappe : les résultats intermédiaires restent hors du tas, sans encodage PNG.
+ *
+ * @technique Traitement hors mémoire (streaming), Découpage en bandes avec halo.
+ */
+public final class TraitementParBandes {
+
+    /** Hauteur de bande par défaut (en lignes). */
+    public static final int HAUTEUR_BANDE_PAR_DEFAUT = 256;
+
+    private TraitementParBandes() {
+    }
+
+    /** Fonction appliquée à une fenêtre : doit renvoyer une image de mêmes dimensions (ou null en cas d'erreur). */
+    public interface Fonction {
+        Image8 applique(Image8 fenetre);
+    }
+
+    /**
+     * Opérateur local : une fonction sur Image8 et la portée verticale de son voisinage (halo, en lignes).
+     */
+    public static final class Operateur {
+        private final int halo;
+        private final Fonction fonction;
+
+        /**
+         * @param halo Nombre de lignes de voisinage nécessaires de part et d'autre d'une ligne (>= 0).
+         * @param fonction La fonction appliquée à chaque fenêtre.
+         * @throws IllegalArgumentException si le halo est négatif ou la fonction null.
+         */
+        public Operateur(int halo, Fonction fonction) {
+            if (halo < 0 || fonction == null) {
+                throw new IllegalArgumentException("Opérateur invalide (halo = " + halo + ")");
+            }
+            this.halo = halo;
+            this.fonction = fonction;
+        }
+
+        public int getHalo() {
+            return halo;
+        }
+
+        /** @return L'opérateur "this puis suivant" (les halos s'additionnent). */
+        public Operateur puis(Operateur suivant) {
+            Fonction premiere = fonction;
+            return new Operateur(halo + suivant.halo, fenetre -> {
+                Image8 intermediaire = premiere.applique(fenetre);
+                return (intermediaire == null) ? null : suivant.fonction.applique(intermediaire);
+            });
+        }
+
+        /** Convolution (cf. FiltrageLineaireLocal.filtreMasqueConvolution(Image8, double[][], BorderMode)). */
+        public static Operateur convolution(double[][] masque, BorderMode mode) {
+            if (masque == null || masque.length == 0 || masque.length % 2 == 0) {
+                throw new IllegalArgumentException("Le masque doit être carré, de taille impaire");
+            }
+            return new Operateur(masque.length / 2, f -> FiltrageLineaireLocal.filtreMasqueConvolution(f, masque, mode));
+        }
+
+        /** Érosion par un carré tailleMasque x tailleMasque (cf. MorphoElementaire.erosion). */
+        public static Operateur erosion(int tailleMasque) {
+            return new Operateur(rayon(tailleMasque), f -> MorphoElementaire.erosion(f, tailleMasque));
+        }
+
+        /** Dilatation par un carré tailleMasque x tailleMasque (cf. MorphoElementaire.dilatation). */
+        public static Operateur dilatation(int tailleMasque) {
+            return new Operateur(rayon(tailleMasque), f -> MorphoElementaire.dilatation(f, tailleMasque));
+        }
+
+        /** Ouverture (érosion puis dilatation) : le halo est celui des deux passes. */
+        public static Operateur ouverture(int tailleMasque) {
+            return erosion(tailleMasque).puis(dilatation(tailleMasque));
+        }
+
+        /** Fermeture (dilatation puis érosion) : le halo est celui des deux passes. */
+        public static Operateur fermeture(int tailleMasque) {
+            return dilatation(tailleMasque).puis(erosion(tailleMasque));
+        }
+
+        /** Filtre médian K x K (cf. MorphoComplexe.filtreMedian). */
+        public static Operateur median(int tailleMasque) {
+            return new Operateur(rayon(tailleMasque), f -> {
+                int[][] resultat = MorphoComplexe.filtreMedian(f.versMatrice(), tailleMasque);
+                return (resultat == null) ? null : Image8.depuisMatrice(resultat);
+            });
+        }
+
+        /** Seuillage simple, pixel > seuil devient 255 (cf. Seuillage.seuillageSimple(Image8, int)). */
+        public static Operateur seuillage(int seuil) {
+            return new Operateur(0, f -> Seuillage.seuillageSimple(f, seuil));
+        }
+
+        private static int rayon(int tailleMasque) {
+            if (tailleMasque <= 0 || tailleMasque % 2 == 0) {
+                throw new IllegalArgumentException("La taille du masque doit être impaire et positive");
+            }
+            return tailleMasque / 2;
+        }
+    }
+
+    /**
+     * Applique l'opérateur à l'image du fichier entree et écrit le résultat (PNG 8 bits en
+     * niveaux de gris) dans sortie, par bandes de HAUTEUR_BANDE_PAR_DEFAUT lignes.
+     */
+    public static void traite(File entree, File sortie, Operateur operateur) throws IOException {
+        traite(entree, sortie, operateur, HAUTEUR_BANDE_PAR_DEFAUT);
+    }
+
+    /**
+     * Applique l'opérateur à l'image du fichier entree et écrit le résultat (PNG 8 bits en
+     * niveaux de gris) dans sortie, bande par bande.
+     *
+     * @param entree Fichier image lisible par ImageIO (converti en niveaux de gris, cf. LecteurBandes).
+     * @param sortie Fichier PNG produit.
+     * @param operateur L'opérateur local.
+     * @param hauteurBande Nombre de lignes produites par bande (>= 1).
+     * @throws IOException en cas d'erreur de lecture ou d'écriture.
+     * @throws IllegalStateException si l'opérateur échoue (renvoie null) sur une fenêtre.
+     */
+    public static void traite(File entree, File sortie, Operateur operateur, int hauteurBande) throws IOException {
+        verifieHauteurBande(hauteurBande);
+        try (LecteurBandes lecteur = new LecteurBandes(entree);
+             EcrivainPNGBandes ecrivain = new EcrivainPNGBandes(sortie, lecteur.getLargeur(), lecteur.getHauteur())) {
+            traite(lecteur::litBande, lecteur.getHauteur(), lecteur.getLargeur(),
+                    (y, bande) -> ecrivain.ecritBande(bande), operateur, hauteurBande);
+        }
+    }
+
+    /**
+     * Applique l'opérateur au stockage entree et écrit le résultat dans le stockage sortie
+     * (tous deux de type OCTETS et de mêmes dimensions), bande par bande.
+     *
+     * @param entree Le stockage source.
+     * @param sortie Le stockage destination (différent de l'entrée).
+     * @param operateur L'opérateur local.
+     * @param hauteurBande Nombre de lignes produites par bande (>= 1).
+     * @throws IOException en cas d'erreur d'entrée-sortie.
+     * @throws IllegalArgumentException si les stockages sont incompatibles.
+     * @throws IllegalStateException si l'opérateur échoue (renvoie null) sur une fenêtre.
+     */
+    public static void traite(StockageMappe entree, StockageMappe sortie, Operateur operateur, int hauteurBande) throws IOException {
+        verifieHauteurBande(hauteurBande);
+        if (entree == sortie || entree.getType() != StockageMappe.Type.OCTETS || sortie.getType() != StockageMappe.Type.OCTETS
+                || entree.getHauteur() != sortie.getHauteur() || entree.getLargeur() != sortie.getLargeur()) {
+            throw new IllegalArgumentException("Les stockages doivent être distincts, de type OCTETS et de mêmes dimensions");
+        }
+        traite(entree::litBande, entree.getHauteur(), entree.getLargeur(), sortie::ecritBande, operateur, hauteurBande);
+    }
+
+    /** Source des lignes d'entrée. */
+    private interface Source {
+        void litBande(int y, Image8 destination) throws IOException;
+    }
+
+    /** Destination des lignes de sortie (appelée pour des bandes successives, y croissant). */
+    private interface Destination {
+        void ecritBande(int y, Image8 bande) throws IOException;
+    }
+
+    private static void traite(Source source, int hauteur, int largeur, Destination destination,
+                               Operateur operateur, int hauteurBande) throws IOException {
+        int halo = operateur.getHalo();
+        byte[] tampon = new byte[(int) Math.min((long) hauteur, (long) hauteurBande + 2L * halo) * largeur];
+
+        // La fenêtre courante contient les lignes [debutFenetre, finFenetre[ de l'image
+        int debutFenetre = 0, finFenetre = 0;
+        for (int y0 = 0; y0 < hauteur; y0 += hauteurBande) {
+            int hb = Math.min(hauteurBande, hauteur - y0);
+            int debut = Math.max(0, y0 - halo);
+            int fin = (int) Math.min((long) hauteur, (long) y0 + hb + halo);
+
+            // Conserver les lignes déjà lues encore utiles, lire les suivantes
+            int conservees = Math.max(0, finFenetre - debut);
+            if (conservees > 0) {
+                System.arraycopy(tampon, (debut - debutFenetre) * largeur, tampon, 0, conservees * largeur);
+            }
+            int premiereALire = debut + conservees;
+            if (fin > premiereALire) {
+                source.litBande(premiereALire, new Image8(tampon, conservees * largeur, largeur, fin - premiereALire, largeur));
+            }
+            debutFenetre = debut;
+            finFenetre = fin;
+
+            Image8 fenetre = new Image8(tampon, 0, largeur, fin - debut, largeur);
+            Image8 resultat = Metriques.mesure("TraitementParBandes.bande", Metriques.pixels(fenetre),
+                    () -> operateur.fonction.applique(fenetre));
+            if (resultat == null || resultat.getHauteur() != fenetre.getHauteur() || resultat.getLargeur() != largeur) {
+                throw new IllegalStateException("L'opérateur a échoué sur la bande [" + y0 + ", " + (y0 + hb) + "[");
+            }
+            destination.ecritBande(y0, resultat.roi(y0 - debut, 0, hb, largeur));
+        }
+    }
+
+    private static void verifieHauteurBande(int hauteurBande) {
+        if (hauteurBande <= 0) throw new IllegalArgumentException("Hauteur de bande invalide : " + hauteurBande);
+    }
+
+    /**
+     * Histogramme int[256] de l'image du fichier (niveaux de gris, cf. LecteurBandes), cumulé bande par bande.
+     * @throws IOException en cas d'erreur de lecture.
+     */
+    public static int[] histogramme(File entree, int hauteurBande) throws IOException {
+        verifieHauteurBande(hauteurBande);
+        try (LecteurBandes lecteur = new LecteurBandes(entree)) {
+            int largeur = lecteur.getLargeur();
+            int hauteur = lecteur.getHauteur();
+            Image8 bande = new Image8(Math.min(hauteur, hauteurBande), largeur);
+            int[] histo = new int[256];
+            for (int y0 = 0; y0 < hauteur; y0 += hauteurBande) {
+                Image8 vue = bande.roi(0, 0, Math.min(hauteurBande, hauteur - y0), largeur);
+                lecteur.litBande(y0, vue);
+                int[] h = Histogramme.Histogramme256(vue);
+                for (int i = 0; i < 256; i++) histo[i] += h[i];
+            }
+            return histo;
+        }
+    }
+
+    /**
+     * Seuillage automatique en deux passes : histogramme de l'image entière (lu par bandes), seuil
+     * calculé comme Seuillage.seuillageAutomatique, puis seuillage bande par bande.
+     *
+     * @return Le seuil appliqué.
+     * @throws IOException en cas d'erreur de lecture ou d'écriture.
+     */
+    public static int seuillageAutomatique(File entree, File sortie, int hauteurBande) throws IOException {
+        int seuil = Seuillage.calculeSeuilAutomatiqueHistogramme(histogramme(entree, hauteurBande));
+        traite(entree, sortie, Operateur.seuillage(seuil), hauteurBande);
+        return seuil;
+    }
+}
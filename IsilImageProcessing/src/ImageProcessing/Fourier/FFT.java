@@ -0,0 +1,206 @@
+package ImageProcessing.Fourier;
+
+import java.util.Arrays;
+
+/**
+ * Transformée de Fourier rapide 1D sur des tampons double[] séparés (partie réelle / partie imaginaire).
+ * Une instance est liée à une taille n et contient toutes les tables précalculées pour cette taille
+ * (facteurs de rotation, permutation bit-reverse, chirp de Bluestein), si bien qu'aucun
+ * Math.cos / Math.sin n'est évalué lors des transformées elles-mêmes.
+ *
+ * - n puissance de 2 : Cooley-Tukey radix-2 itératif (décimation temporelle), en place.
+ * - n quelconque     : algorithme de Bluestein (chirp-z), qui ramène la DFT de taille n à une
+ *                      convolution circulaire de taille puissance de 2 (>= 2n-1).
+ *
+ * Convention : sens direct = exp(-2*i*PI*k*n/N), sens inverse = exp(+2*i*PI*k*n/N).
+ * Aucune normalisation n'est appliquée ici (c'est le rôle de l'appelant, cf. Fourier.Fourier2D).
+ * Les instances sont immuables : une même instance peut être utilisée par plusieurs threads,
+ * à condition que chacun fournisse ses propres tampons de travail.
+ *
+ * @technique Transformée de Fourier Rapide, Cooley-Tukey Radix-2, Algorithme de Bluestein.
+ */
+public class FFT {
+
+    private final int n;
+    private final boolean puissanceDeDeux;
+
+    // --- Tables du radix-2 (n puissance de 2) ---
+    private final int[] bitReverse;   // Permutation bit-reverse des indices
+    private final double[] cosTable;  // cos(2*PI*k/n), k dans [0, n/2[
+    private final double[] sinTable;  // sin(2*PI*k/n), k dans [0, n/2[
+
+    // --- Tables de Bluestein (n quelconque) ---
+    private final FFT fftConvolution; // FFT radix-2 de taille m >= 2n-1
+    private final double[] chirpRe;   // c_k = exp(-i*PI*k²/n)
+    private final double[] chirpIm;
+    private final double[] noyauRe;   // FFT_m du noyau conj(c_k) replié circulairement
+    private final double[] noyauIm;
+
+    /**
+     * Construit une FFT pour des signaux de taille n et précalcule ses tables.
+     *
+     * @param n La taille des signaux à transformer (>= 1).
+     * @throws IllegalArgumentException si n < 1.
+     */
+    public FFT(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("FFT: La taille doit être >= 1 (reçu " + n + ").");
+        }
+        this.n = n;
+        this.puissanceDeDeux = (n & (n - 1)) == 0;
+
+        if (puissanceDeDeux) {
+            // 1. Permutation bit-reverse
+            bitReverse = new int[n];
+            int bits = Integer.numberOfTrailingZeros(n);
+            for (int i = 0; i < n; i++) {
+                bitReverse[i] = (bits == 0) ? 0 : Integer.reverse(i) >>> (32 - bits);
+            }
+
+            // 2. Facteurs de rotation (twiddles) pour une demi-période
+            cosTable = new double[Math.max(1, n / 2)];
+            sinTable = new double[Math.max(1, n / 2)];
+            for (int k = 0; k < n / 2; k++) {
+                double angle = 2.0 * Math.PI * k / n;
+                cosTable[k] = Math.cos(angle);
+                sinTable[k] = Math.sin(angle);
+            }
+
+            fftConvolution = null;
+            chirpRe = chirpIm = noyauRe = noyauIm = null;
+        } else {
+            bitReverse = null;
+            cosTable = sinTable = null;
+
+            // 1. Taille de convolution : plus petite puissance de 2 >= 2n-1
+            int m = Integer.highestOneBit(2 * n - 1);
+            if (m < 2 * n - 1) m <<= 1;
+            fftConvolution = new FFT(m);
+
+            // 2. Chirp c_k = exp(-i*PI*k²/n). k² est réduit modulo 2n pour garder la précision.
+            chirpRe = new double[n];
+            chirpIm = new double[n];
+            for (int k = 0; k < n; k++) {
+                long k2 = ((long) k * k) % (2L * n);
+                double angle = Math.PI * k2 / n;
+                chirpRe[k] = Math.cos(angle);
+                chirpIm[k] = -Math.sin(angle);
+            }
+
+            // 3. Noyau b_j = conj(c_j), replié circulairement (b_{m-j} = b_j), puis transformé
+            noyauRe = new double[m];
+            noyauIm = new double[m];
+            noyauRe[0] = chirpRe[0];
+            noyauIm[0] = -chirpIm[0];
+            for (int k = 1; k < n; k++) {
+                noyauRe[k] = noyauRe[m - k] = chirpRe[k];
+                noyauIm[k] = noyauIm[m - k] = -chirpIm[k];
+            }
+            fftConvolution.transforme(noyauRe, noyauIm, 0, false, null, null);
+        }
+    }
+
+    /** @return La taille des signaux traités par cette FFT. */
+    public int getTaille() {
+        return n;
+    }
+
+    /**
+     * @return La taille des tampons de travail à fournir à transforme(...) :
+     *         0 si n est une puissance de 2, la taille de convolution de Bluestein sinon.
+     */
+    public int getTailleTravail() {
+        return puissanceDeDeux ? 0 : fftConvolution.getTaille();
+    }
+
+    /**
+     * Transforme en place les n valeurs complexes (re[offset..offset+n[, im[offset..offset+n[).
+     *
+     * @param re        Parties réelles (modifiées en place).
+     * @param im        Parties imaginaires (modifiées en place).
+     * @param offset    Indice du premier élément du signal dans re/im.
+     * @param inverse   true pour la transformée inverse (exp(+i...)), false pour la directe.
+     * @param travailRe Tampon de travail de taille >= getTailleTravail() (ignoré si n est une puissance de 2).
+     * @param travailIm Tampon de travail de taille >= getTailleTravail() (ignoré si n est une puissance de 2).
+     */
+    public void transforme(double[] re, double[] im, int offset, boolean inverse,
+                           double[] travailRe, double[] travailIm) {
+        if (puissanceDeDeux) {
+            transformeRadix2(re, im, offset, inverse);
+        } else {
+            transformeBluestein(re, im, offset, inverse, travailRe, travailIm);
+        }
+    }
+
+    /** Cooley-Tukey radix-2 itératif, en place. */
+    private void transformeRadix2(double[] re, double[] im, int offset, boolean inverse) {
+        // 1. Réordonnancement bit-reverse
+        for (int i = 0; i < n; i++) {
+            int j = bitReverse[i];
+            if (j > i) {
+                int a = offset + i, b = offset + j;
+                double t = re[a]; re[a] = re[b]; re[b] = t;
+                t = im[a]; im[a] = im[b]; im[b] = t;
+            }
+        }
+
+        // 2. Papillons, étage par étage
+        double signe = inverse ? 1.0 : -1.0;
+        for (int longueur = 2; longueur <= n; longueur <<= 1) {
+            int moitie = longueur >> 1;
+            int pas = n / longueur; // Pas dans les tables de twiddles
+            for (int debut = offset; debut < offset + n; debut += longueur) {
+                for (int k = 0, t = 0; k < moitie; k++, t += pas) {
+                    double wr = cosTable[t];
+                    double wi = signe * sinTable[t];
+                    int a = debut + k;
+                    int b = a + moitie;
+                    double tr = re[b] * wr - im[b] * wi;
+                    double ti = re[b] * wi + im[b] * wr;
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+    }
+
+    /** Bluestein : X_k = c_k * sum_j (x_j * c_j) * conj(c_{k-j}), la somme étant une convolution. */
+    private void transformeBluestein(double[] re, double[] im, int offset, boolean inverse,
+                                     double[] travailRe, double[] travailIm) {
+        int m = fftConvolution.getTaille();
+        if (travailRe == null || travailIm == null || travailRe.length < m || travailIm.length < m) {
+            throw new IllegalArgumentException("FFT: Tampons de travail absents ou trop petits (taille requise " + m + ").");
+        }
+        // Le sens inverse s'obtient en conjuguant l'entrée et la sortie du sens direct.
+        double signe = inverse ? -1.0 : 1.0;
+
+        // 1. a_j = x_j * c_j, complété par des zéros jusqu'à m
+        for (int j = 0; j < n; j++) {
+            double xr = re[offset + j];
+            double xi = signe * im[offset + j];
+            travailRe[j] = xr * chirpRe[j] - xi * chirpIm[j];
+            travailIm[j] = xr * chirpIm[j] + xi * chirpRe[j];
+        }
+        Arrays.fill(travailRe, n, m, 0.0);
+        Arrays.fill(travailIm, n, m, 0.0);
+
+        // 2. Convolution circulaire a (*) b via FFT de taille m
+        fftConvolution.transforme(travailRe, travailIm, 0, false, null, null);
+        for (int k = 0; k < m; k++) {
+            double ar = travailRe[k], ai = travailIm[k];
+            travailRe[k] = ar * noyauRe[k] - ai * noyauIm[k];
+            travailIm[k] = ar * noyauIm[k] + ai * noyauRe[k];
+        }
+        fftConvolution.transforme(travailRe, travailIm, 0, true, null, null);
+
+        // 3. X_k = c_k * (a (*) b)_k / m
+        double echelle = 1.0 / m;
+        for (int k = 0; k < n; k++) {
+            double cr = travailRe[k] * echelle, ci = travailIm[k] * echelle;
+            re[offset + k] = cr * chirpRe[k] - ci * chirpIm[k];
+            im[offset + k] = signe * (cr * chirpIm[k] + ci * chirpRe[k]);
+        }
+    }
+}
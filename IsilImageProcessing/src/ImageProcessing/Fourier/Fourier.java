@@ -1,172 +1,473 @@
 package ImageProcessing.Fourier;
 
 import ImageProcessing.Complexe.*;
+import ImageProcessing.Core.PoolParallele;
+import ImageProcessing.Core.Progression;
+import ImageProcessing.Core.SuiviProgression;
+import ImageProcessing.Metriques.Metriques;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Fourier 
 {
+    /*
+     * Fourier2D / InverseFourier2D reposent sur la FFT (cf. classe FFT) : passes lignes puis
+     * colonnes sur des tampons plats double[] (indice = ligne*N + colonne).
+     * Complexité O(M*N*(log M + log N)) au lieu de O(M*N*(M+N)) pour l'ancienne DFT directe.
+     *
+     * Conventions inchangées : Fourier2D divise par M*N, InverseFourier2D ne normalise pas.
+     * Tolérance : par rapport à l'ancienne DFT, l'écart absolu par coefficient reste
+     * inférieur à 1e-9 * max|F(u,v)| (la DFT directe accumulait elle-même une erreur
+     * d'arrondi en O(N) via sa rotation récursive des facteurs cos/sin).
+     *
+     * Parallélisme : les lignes (puis les colonnes) étant indépendantes, chaque passe est
+     * découpée en lots répartis sur un ForkJoinPool (cf. setParallelisme et PoolParallele). Chaque ligne/colonne
+     * est toujours calculée de la même façon, quel que soit le découpage : le résultat est
+     * identique au bit près au mode séquentiel (parallélisme 1).
+     *
+     * Entrée réelle : Fourier2DReel / InverseFourier2DReel ne stockent que le demi-spectre
+     * non redondant (colonnes v = 0..N/2, soit M x (N/2+1)), le reste se déduisant de la
+     * symétrie hermitienne F(u,v) = conj(F(-u mod M, -v mod N)). Les lignes réelles sont
+     * traitées deux par deux dans une seule FFT complexe (l'une en partie réelle, l'autre en
+     * partie imaginaire) et la passe colonnes ne porte que sur N/2+1 colonnes.
+     *
+     * Plans : les tables FFT et les tampons de travail de chaque (lignes, colonnes, sens) sont
+     * obtenus via PlanFourier.obtenir(...), qui les conserve dans un cache LRU borné.
+     *
+     * Progression : chaque transformée compte pour moitié par passe ; chaque lot terminé fait avancer
+     * la progression du thread appelant (cf. SuiviProgression), et l'annulation est vérifiée avant
+     * chaque lot, y compris dans les threads du pool.
+     */
+
+    private static final PoolParallele POOL = new PoolParallele("Fourier");
+    
+    /**
+     * Fixe le nombre de threads utilisés par les passes lignes/colonnes de Fourier2D et InverseFourier2D.
+     * @param niveau Nombre de threads (>= 1). 1 = exécution séquentielle dans le thread appelant.
+     */
+    public static void setParallelisme(int niveau)
+    {
+        POOL.setParallelisme(niveau);
+    }
+    
+    public static int getParallelisme()
+    {
+        return POOL.getParallelisme();
+    }
+
     public static MatriceComplexe Fourier2D(double f[][])
+    {
+        return Metriques.mesure("Fourier.Fourier2D", Metriques.pixels(f),
+                () -> transformeeDirecte(f));
+    }
+    
+    private static MatriceComplexe transformeeDirecte(double f[][])
     {
         int M = f.length;
         int N = f[0].length;
-        MatriceComplexe F = new MatriceComplexe(M,N);
-        
-        //********** n --> v **********
-        double pr1[][] = new double[M][N];
-        double pi1[][] = new double[M][N];
         
+        double re[] = new double[M*N];
+        double im[] = new double[M*N];
         for(int m=0 ; m<M ; m++)
-        {
-            for(int v=0 ; v<=N/2 ; v++)
-            {
-                pr1[m][v] = 0.0;
-                pi1[m][v] = 0.0;
-                double cosTheta = 1.0, newCosTheta;
-                double sinTheta = 0.0, newSinTheta;
-                double cosDTheta = Math.cos(-2.0*Math.PI*(double)v/(double)N);
-                double sinDTheta = Math.sin(-2.0*Math.PI*(double)v/(double)N);
-                for (int n=0 ; n<N ; n++)
-                {
-                    pr1[m][v] += f[m][n] * cosTheta;
-                    pi1[m][v] += f[m][n] * sinTheta;
-                    newCosTheta = cosTheta*cosDTheta - sinTheta*sinDTheta;
-                    newSinTheta = sinTheta*cosDTheta + cosTheta*sinDTheta;
-                    cosTheta = newCosTheta;
-                    sinTheta = newSinTheta;
-                }
-                pr1[m][v] /= (double)N;
-                pi1[m][v] /= (double)N;
-                if (v > 0)
-                {
-                    pr1[m][N-v] = pr1[m][v];
-                    pi1[m][N-v] = -pi1[m][v];
-                }
-            }
-        }
+            System.arraycopy(f[m],0,re,m*N,N);
         
-        //********** m --> u **********
-        double pr2[][] = new double[M][N];
-        double pi2[][] = new double[M][N];
-        
-        for(int v=0 ; v<N ; v++)
-        {
-            for(int u=0 ; u<M ; u++)
-            {
-                pr2[u][v] = 0.0;
-                pi2[u][v] = 0.0;
-                double cosTheta = 1.0, newCosTheta;
-                double sinTheta = 0.0, newSinTheta;
-                double cosDTheta = Math.cos(-2.0*Math.PI*(double)u/(double)M);
-                double sinDTheta = Math.sin(-2.0*Math.PI*(double)u/(double)M);
-                for (int m=0 ; m<M ; m++)
-                {
-                    pr2[u][v] += pr1[m][v] * cosTheta - pi1[m][v] * sinTheta;
-                    pi2[u][v] += pr1[m][v] * sinTheta + pi1[m][v] * cosTheta;
-                    newCosTheta = cosTheta*cosDTheta - sinTheta*sinDTheta;
-                    newSinTheta = sinTheta*cosDTheta + cosTheta*sinDTheta;
-                    cosTheta = newCosTheta;
-                    sinTheta = newSinTheta;
-                }
-                pr2[u][v] /= (double)M;
-                pi2[u][v] /= (double)M;
-            }
-        }
-   
-        //********** Remplissage de F **********
-        for(int u=0 ; u<M ; u++)
-            for(int v=0 ; v<N ; v++)
-                F.set(u,v,pr2[u][v],pi2[u][v]);
+        PlanFourier plan = PlanFourier.obtenir(M,N,false);
+        executePasse((debut,fin) -> passeLignes(re,im,plan,debut,fin),M,0.0,0.5);
+        executePasse((debut,fin) -> passeColonnes(re,im,N,plan,debut,fin),N,0.5,1.0);
         
-        return F;
+        //********** Normalisation (F enveloppe directement les tampons) **********
+        normalise(re,im,M,N);
+        return new MatriceComplexe(M,N,re,im);
     }
 
     public static MatriceComplexe InverseFourier2D(MatriceComplexe F)
+    {
+        return Metriques.mesure("Fourier.InverseFourier2D", (long)F.getLignes()*F.getColonnes(),
+                () -> transformeeInverse(F));
+    }
+    
+    private static MatriceComplexe transformeeInverse(MatriceComplexe F)
     {
         int M = F.getLignes();
         int N = F.getColonnes();
-        MatriceComplexe f = new MatriceComplexe(M,N);
         
-        double pr0[][] = F.getPartieReelle();
-        double pi0[][] = F.getPartieImaginaire();
+        double re[] = F.getDonneesReelles().clone();
+        double im[] = F.getDonneesImaginaires().clone();
         
-        //********** v --> n **********
-        double pr1[][] = new double[M][N];
-        double pi1[][] = new double[M][N];
+        PlanFourier plan = PlanFourier.obtenir(M,N,true);
+        executePasse((debut,fin) -> passeLignes(re,im,plan,debut,fin),M,0.0,0.5);
+        executePasse((debut,fin) -> passeColonnes(re,im,N,plan,debut,fin),N,0.5,1.0);
+        
+        return new MatriceComplexe(M,N,re,im);
+    }
+    
+    /**
+     * Transformée de Fourier 2D d'une image réelle, limitée au demi-spectre non redondant.
+     * Même normalisation que Fourier2D : le résultat vaut exactement les colonnes 0..N/2 de Fourier2D(f).
+     *
+     * @param f L'image réelle (double[M][N]).
+     * @return Le demi-spectre (MatriceComplexe M x (N/2+1)).
+     */
+    public static MatriceComplexe Fourier2DReel(double f[][])
+    {
+        int M = f.length;
+        int N = f[0].length;
+        double plat[] = new double[M*N];
+        for(int m=0 ; m<M ; m++)
+            System.arraycopy(f[m],0,plat,m*N,N);
+        return Fourier2DReel(plat,M,N);
+    }
+    
+    /**
+     * Variante de Fourier2DReel sur une image réelle plate (indice = ligne*N + colonne), non modifiée.
+     *
+     * @param f L'image réelle (double[M*N]).
+     * @param M Nombre de lignes.
+     * @param N Nombre de colonnes.
+     * @return Le demi-spectre (MatriceComplexe M x (N/2+1)).
+     */
+    public static MatriceComplexe Fourier2DReel(double f[], int M, int N)
+    {
+        return Fourier2DReel((m,dest) -> System.arraycopy(f,m*N,dest,0,N),M,N);
+    }
+    
+    /**
+     * Variante de Fourier2DReel lisant directement une image entière int[M][N] (convention [y][x]),
+     * sans conversion préalable en double : les lignes sont converties à la volée dans les tampons de la FFT.
+     *
+     * @param image L'image (int[M][N]), non modifiée.
+     * @return Le demi-spectre (MatriceComplexe M x (N/2+1)).
+     */
+    public static MatriceComplexe Fourier2DReel(int image[][])
+    {
+        int M = image.length;
+        int N = image[0].length;
+        return Fourier2DReel((m,dest) -> {
+            int ligne[] = image[m];
+            for(int n=0 ; n<N ; n++) dest[n] = ligne[n];
+        },M,N);
+    }
+    
+    private static MatriceComplexe Fourier2DReel(SourceLignes source, int M, int N)
+    {
+        return Metriques.mesure("Fourier.Fourier2DReel", (long)M*N,
+                () -> transformeeReelle(source,M,N));
+    }
+    
+    private static MatriceComplexe transformeeReelle(SourceLignes source, int M, int N)
+    {
+        int W = N/2 + 1;
+        double re[] = new double[M*W];
+        double im[] = new double[M*W];
+        
+        PlanFourier plan = PlanFourier.obtenir(M,N,false);
+        executePasse((debut,fin) -> passeLignesReelles(source,re,im,plan,debut,fin),(M+1)/2,0.0,0.5);
+        executePasse((debut,fin) -> passeColonnes(re,im,W,plan,debut,fin),W,0.5,1.0);
+        
+        normalise(re,im,M,N);
+        return new MatriceComplexe(M,W,re,im);
+    }
+    
+    /**
+     * Transformée inverse d'un demi-spectre hermitien (cf. Fourier2DReel) vers une image réelle.
+     * Comme InverseFourier2D, aucune normalisation n'est appliquée : InverseFourier2DReel(Fourier2DReel(f), N)
+     * redonne f. Le résultat est égal à la partie réelle de InverseFourier2D appliquée au spectre
+     * complet, pourvu que celui-ci soit hermitien (spectre d'une image réelle multiplié par un filtre
+     * réel et symétrique, par exemple).
+     *
+     * @param demiSpectre Le demi-spectre (MatriceComplexe M x (N/2+1)), non modifié.
+     * @param N Le nombre de colonnes de l'image à reconstruire (N/2+1 doit valoir demiSpectre.getColonnes()).
+     * @return L'image réelle, sous forme plate double[M*N] (indice = ligne*N + colonne).
+     */
+    public static double[] InverseFourier2DReel(MatriceComplexe demiSpectre, int N)
+    {
+        int M = demiSpectre.getLignes();
+        MatriceComplexe copie = new MatriceComplexe(M,demiSpectre.getColonnes(),
+                demiSpectre.getDonneesReelles().clone(),demiSpectre.getDonneesImaginaires().clone());
+        return InverseFourier2DReelEnPlace(copie,N);
+    }
+    
+    /**
+     * Comme InverseFourier2DReel, mais sans copier le demi-spectre : celui-ci sert de tampon de travail
+     * et son contenu est détruit. À utiliser quand le spectre n'est plus nécessaire après l'inversion
+     * (la mémoire de pointe se limite alors au demi-spectre et à l'image résultat).
+     *
+     * @param demiSpectre Le demi-spectre (MatriceComplexe M x (N/2+1)), écrasé par le calcul.
+     * @param N Le nombre de colonnes de l'image à reconstruire.
+     * @return L'image réelle, sous forme plate double[M*N] (indice = ligne*N + colonne).
+     */
+    public static double[] InverseFourier2DReelEnPlace(MatriceComplexe demiSpectre, int N)
+    {
+        return Metriques.mesure("Fourier.InverseFourier2DReel", (long)demiSpectre.getLignes()*N,
+                () -> transformeeInverseReelle(demiSpectre,N));
+    }
+    
+    private static double[] transformeeInverseReelle(MatriceComplexe demiSpectre, int N)
+    {
+        int M = demiSpectre.getLignes();
+        int W = demiSpectre.getColonnes();
+        if (W != N/2 + 1)
+            throw new IllegalArgumentException("Fourier: Demi-spectre de " + W + " colonnes incompatible avec N=" + N);
+        
+        double re[] = demiSpectre.getDonneesReelles();
+        double im[] = demiSpectre.getDonneesImaginaires();
+        double f[] = new double[M*N];
+        
+        PlanFourier plan = PlanFourier.obtenir(M,N,true);
+        executePasse((debut,fin) -> passeColonnes(re,im,W,plan,debut,fin),W,0.0,0.5);
+        executePasse((debut,fin) -> passeLignesInversesReelles(re,im,f,plan,debut,fin),(M+1)/2,0.5,1.0);
+        
+        return f;
+    }
+    
+    /**
+     * Reconstruit le spectre complet M x N à partir d'un demi-spectre M x (N/2+1),
+     * par symétrie hermitienne : F(u,v) = conj(F(-u mod M, N-v)) pour v > N/2.
+     */
+    public static MatriceComplexe completeSpectre(MatriceComplexe demiSpectre, int N)
+    {
+        return Metriques.mesure("Fourier.completeSpectre", (long)demiSpectre.getLignes()*N,
+                () -> spectreComplet(demiSpectre,N));
+    }
+    
+    private static MatriceComplexe spectreComplet(MatriceComplexe demiSpectre, int N)
+    {
+        int M = demiSpectre.getLignes();
+        int W = demiSpectre.getColonnes();
+        if (W != N/2 + 1)
+            throw new IllegalArgumentException("Fourier: Demi-spectre de " + W + " colonnes incompatible avec N=" + N);
+        
+        double dRe[] = demiSpectre.getDonneesReelles();
+        double dIm[] = demiSpectre.getDonneesImaginaires();
+        MatriceComplexe F = new MatriceComplexe(M,N);
+        double re[] = F.getDonneesReelles();
+        double im[] = F.getDonneesImaginaires();
         
         for(int u=0 ; u<M ; u++)
         {
-            for(int n=0 ; n<N ; n++)
+            System.arraycopy(dRe,u*W,re,u*N,W);
+            System.arraycopy(dIm,u*W,im,u*N,W);
+            int us = (M - u) % M;
+            for(int v=W ; v<N ; v++)
             {
-                pr1[u][n] = 0.0;
-                pi1[u][n] = 0.0;
-                double cosTheta = 1.0, newCosTheta;
-                double sinTheta = 0.0, newSinTheta;
-                double cosDTheta = Math.cos(2.0*Math.PI*(double)n/(double)N);
-                double sinDTheta = Math.sin(2.0*Math.PI*(double)n/(double)N);
-                for (int v=0 ; v<N ; v++)
-                {
-                    pr1[u][n] += pr0[u][v] * cosTheta - pi0[u][v] * sinTheta;
-                    pi1[u][n] += pr0[u][v] * sinTheta + pi0[u][v] * cosTheta;
-                    newCosTheta = cosTheta*cosDTheta - sinTheta*sinDTheta;
-                    newSinTheta = sinTheta*cosDTheta + cosTheta*sinDTheta;
-                    cosTheta = newCosTheta;
-                    sinTheta = newSinTheta;
-                }
+                re[u*N+v] = dRe[us*W + N-v];
+                im[u*N+v] = -dIm[us*W + N-v];
             }
         }
-        
-        //********** u --> m **********
-        double pr2[][] = new double[M][N];
-        double pi2[][] = new double[M][N];
-        
-        for(int n=0 ; n<N ; n++)
+        return F;
+    }
+    
+    /** Extrait le demi-spectre non redondant (colonnes 0..N/2) d'un spectre complet M x N. */
+    public static MatriceComplexe demiSpectre(MatriceComplexe F)
+    {
+        return Metriques.mesure("Fourier.demiSpectre", (long)F.getLignes()*F.getColonnes(),
+                () -> extraitDemiSpectre(F));
+    }
+    
+    private static MatriceComplexe extraitDemiSpectre(MatriceComplexe F)
+    {
+        int M = F.getLignes();
+        int N = F.getColonnes();
+        int W = N/2 + 1;
+        MatriceComplexe demi = new MatriceComplexe(M,W);
+        for(int u=0 ; u<M ; u++)
         {
+            System.arraycopy(F.getDonneesReelles(),u*N,demi.getDonneesReelles(),u*W,W);
+            System.arraycopy(F.getDonneesImaginaires(),u*N,demi.getDonneesImaginaires(),u*W,W);
+        }
+        return demi;
+    }
+    
+    private static void normalise(double re[], double im[], int M, int N)
+    {
+        double echelle = 1.0/((double)M*(double)N);
+        for(int k=0 ; k<re.length ; k++)
+        {
+            re[k] *= echelle;
+            im[k] *= echelle;
+        }
+    }
+    
+    //********** Passes (lignes / colonnes), exécutées par lots **********
+    
+    /** FFT des lignes [debut, fin[ d'un tampon plat M x N (n --> v), dans le sens du plan. */
+    private static void passeLignes(double re[], double im[], PlanFourier plan, int debut, int fin)
+    {
+        int N = plan.getColonnes();
+        FFT fft = plan.getFFTLignes();
+        PlanFourier.Tampons t = plan.empruntTampons();
+        for(int m=debut ; m<fin ; m++)
+            fft.transforme(re,im,m*N,plan.isInverse(),t.travailRe,t.travailIm);
+        plan.rendTampons(t);
+    }
+    
+    /**
+     * FFT des colonnes [debut, fin[ d'un tampon plat de M lignes et de largeur "largeur" (m --> u),
+     * via un tampon contigu. largeur vaut N pour un spectre complet, N/2+1 pour un demi-spectre.
+     */
+    private static void passeColonnes(double re[], double im[], int largeur, PlanFourier plan, int debut, int fin)
+    {
+        int M = plan.getLignes();
+        FFT fft = plan.getFFTColonnes();
+        PlanFourier.Tampons t = plan.empruntTampons();
+        double colRe[] = t.colRe;
+        double colIm[] = t.colIm;
+        for(int n=debut ; n<fin ; n++)
+        {
+            for(int m=0 ; m<M ; m++)
+            {
+                colRe[m] = re[m*largeur+n];
+                colIm[m] = im[m*largeur+n];
+            }
+            fft.transforme(colRe,colIm,0,plan.isInverse(),t.travailRe,t.travailIm);
             for(int m=0 ; m<M ; m++)
             {
-                pr2[m][n] = 0.0;
-                pi2[m][n] = 0.0;
-                double cosTheta = 1.0, newCosTheta;
-                double sinTheta = 0.0, newSinTheta;
-                double cosDTheta = Math.cos(2.0*Math.PI*(double)m/(double)M);
-                double sinDTheta = Math.sin(2.0*Math.PI*(double)m/(double)M);
-                for (int u=0 ; u<M ; u++)
+                re[m*largeur+n] = colRe[m];
+                im[m*largeur+n] = colIm[m];
+            }
+        }
+        plan.rendTampons(t);
+    }
+    
+    /**
+     * FFT réelle des paires de lignes [debut, fin[ (paire p = lignes 2p et 2p+1) :
+     * z = x1 + i*x2, puis X1[k] = (Z[k] + conj(Z[N-k]))/2 et X2[k] = (Z[k] - conj(Z[N-k]))/(2i).
+     * Seules les colonnes 0..N/2 sont écrites dans le demi-spectre (largeur N/2+1).
+     */
+    private static void passeLignesReelles(SourceLignes source, double re[], double im[], PlanFourier plan, int debut, int fin)
+    {
+        int M = plan.getLignes();
+        int N = plan.getColonnes();
+        int W = N/2 + 1;
+        FFT fft = plan.getFFTLignes();
+        PlanFourier.Tampons t = plan.empruntTampons();
+        double zRe[] = t.zRe;
+        double zIm[] = t.zIm;
+        for(int p=debut ; p<fin ; p++)
+        {
+            int m1 = 2*p, m2 = 2*p + 1;
+            source.copieLigne(m1,zRe);
+            if (m2 < M) source.copieLigne(m2,zIm);
+            else Arrays.fill(zIm,0.0);
+            
+            fft.transforme(zRe,zIm,0,false,t.travailRe,t.travailIm);
+            
+            for(int k=0 ; k<W ; k++)
+            {
+                int nk = (k == 0) ? 0 : N - k;
+                double ar = zRe[k], ai = zIm[k];
+                double br = zRe[nk], bi = zIm[nk];
+                re[m1*W+k] = 0.5*(ar + br);
+                im[m1*W+k] = 0.5*(ai - bi);
+                if (m2 < M)
                 {
-                    pr2[m][n] += pr1[u][n] * cosTheta - pi1[u][n] * sinTheta;
-                    pi2[m][n] += pr1[u][n] * sinTheta + pi1[u][n] * cosTheta;
-                    newCosTheta = cosTheta*cosDTheta - sinTheta*sinDTheta;
-                    newSinTheta = sinTheta*cosDTheta + cosTheta*sinDTheta;
-                    cosTheta = newCosTheta;
-                    sinTheta = newSinTheta;
+                    re[m2*W+k] = 0.5*(ai + bi);
+                    im[m2*W+k] = 0.5*(br - ar);
                 }
             }
         }
-   
-        //********** Remplissage de f **********
-        for(int m=0 ; m<M ; m++)
-            for(int n=0 ; n<N ; n++)
-                f.set(m,n,pr2[m][n],pi2[m][n]);
+        plan.rendTampons(t);
+    }
+    
+    /**
+     * FFT inverse réelle des paires de lignes [debut, fin[ d'un demi-spectre (largeur N/2+1) :
+     * chaque ligne est complétée par symétrie hermitienne, puis Z = X1 + i*X2 est inversé
+     * en une seule FFT complexe, dont la partie réelle donne x1 et la partie imaginaire x2.
+     */
+    private static void passeLignesInversesReelles(double re[], double im[], double f[], PlanFourier plan, int debut, int fin)
+    {
+        int M = plan.getLignes();
+        int N = plan.getColonnes();
+        int W = N/2 + 1;
+        FFT fft = plan.getFFTLignes();
+        PlanFourier.Tampons t = plan.empruntTampons();
+        double zRe[] = t.zRe;
+        double zIm[] = t.zIm;
+        for(int p=debut ; p<fin ; p++)
+        {
+            int m1 = 2*p, m2 = 2*p + 1;
+            boolean paire = m2 < M;
+            for(int k=0 ; k<N ; k++)
+            {
+                // X[k] pour k <= N/2, conj(X[N-k]) au-delà
+                int ks = (k < W) ? k : N - k;
+                double signe = (k < W) ? 1.0 : -1.0;
+                double x1r = re[m1*W+ks], x1i = signe*im[m1*W+ks];
+                double x2r = paire ? re[m2*W+ks] : 0.0;
+                double x2i = paire ? signe*im[m2*W+ks] : 0.0;
+                zRe[k] = x1r - x2i;
+                zIm[k] = x1i + x2r;
+            }
+            
+            fft.transforme(zRe,zIm,0,true,t.travailRe,t.travailIm);
+            
+            System.arraycopy(zRe,0,f,m1*N,N);
+            if (paire) System.arraycopy(zIm,0,f,m2*N,N);
+        }
+        plan.rendTampons(t);
+    }
+    
+    /** Fournit la ligne m d'une image réelle, convertie en double dans dest[0..N[. */
+    @FunctionalInterface
+    private interface SourceLignes
+    {
+        void copieLigne(int m, double dest[]);
+    }
+    
+    //********** Exécution parallèle **********
+    
+    /**
+     * Exécute un traitement sur [0, nombre[ : directement dans le thread appelant en mode séquentiel,
+     * sinon découpé en lots d'environ nombre/(4*parallélisme) répartis sur le ForkJoinPool.
+     * La passe couvre [debutProgression, finProgression] de la progression du thread appelant.
+     */
+    private static void executePasse(PoolParallele.Lot lot, int nombre, double debutProgression, double finProgression)
+    {
+        Progression suivi = SuiviProgression.sousProgression(SuiviProgression.courante(),debutProgression,finProgression);
+        PoolParallele.Lot lotSuivi = lot;
+        if (suivi != Progression.AUCUNE)
+        {
+            // Les threads du pool n'ont pas de progression associée : la référence est capturée ici
+            AtomicInteger faits = new AtomicInteger();
+            lotSuivi = (debut,fin) ->
+            {
+                SuiviProgression.verifieAnnulation(suivi);
+                lot.traite(debut,fin);
+                suivi.avance((double)faits.addAndGet(fin - debut)/nombre);
+            };
+        }
         
-        return f;
+        POOL.executeLots(lotSuivi,nombre);
     }
     
     public static MatriceComplexe decroise(MatriceComplexe F)
+    {
+        return Metriques.mesure("Fourier.decroise", (long)F.getLignes()*F.getColonnes(),
+                () -> echangeQuadrants(F));
+    }
+    
+    private static MatriceComplexe echangeQuadrants(MatriceComplexe F)
     {
         int M = F.getLignes();
         int N = F.getColonnes();
         MatriceComplexe mat = new MatriceComplexe(M,N);
         
-        int m,n;
-        
-        for(m=0 ; m<M/2 ; m++)
-            for(n=0 ; n<N/2 ; n++) mat.set(m,n,F.get(M/2+m,N/2+n));
-        
-        for(m=M/2 ; m<M ; m++)
-            for(n=0 ; n<N/2 ; n++) mat.set(m,n,F.get(m-M/2,n+N/2));
+        double srcRe[] = F.getDonneesReelles();
+        double srcIm[] = F.getDonneesImaginaires();
+        double dstRe[] = mat.getDonneesReelles();
+        double dstIm[] = mat.getDonneesImaginaires();
         
-        for(m=0 ; m<M/2 ; m++)
-            for(n=N/2 ; n<N ; n++) mat.set(m,n,F.get(m+M/2,n-N/2));
-        
-        for(m=M/2 ; m<M ; m++)
-            for(n=N/2 ; n<N ; n++) mat.set(m,n,F.get(m-M/2,n-N/2));
+        // Echange des quadrants, ligne par ligne en deux blocs contigus :
+        // ligne m <-- ligne m+M/2 (m<M/2) ou m-M/2 (m>=M/2), idem pour les colonnes.
+        for(int m=0 ; m<M ; m++)
+        {
+            int src = ((m < M/2) ? m + M/2 : m - M/2)*N;
+            int dst = m*N;
+            System.arraycopy(srcRe,src+N/2,dstRe,dst,N/2);
+            System.arraycopy(srcIm,src+N/2,dstIm,dst,N/2);
+            System.arraycopy(srcRe,src,dstRe,dst+N/2,N-N/2);
+            System.arraycopy(srcIm,src,dstIm,dst+N/2,N-N/2);
+        }
         
         return mat;
     }
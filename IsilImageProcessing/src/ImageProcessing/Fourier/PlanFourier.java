@@ -0,0 +1,196 @@
+package ImageProcessing.Fourier;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * "Plan" de transformée de Fourier 2D pour des dimensions (lignes, colonnes) et un sens donnés :
+ * regroupe les FFT 1D des lignes et des colonnes (facteurs de rotation, permutations bit-reverse,
+ * tables de Bluestein) ainsi qu'une réserve de tampons de travail réutilisables.
+ *
+ * Les plans sont conservés dans un cache borné (éviction LRU) partagé par tous les threads :
+ * traiter une série d'images de mêmes dimensions ne recalcule donc aucun Math.cos / Math.sin
+ * et ne réalloue pas les tampons de travail. Un plan est immuable, à l'exception de sa réserve
+ * de tampons, qui est thread-safe (chaque thread emprunte ses propres tampons).
+ *
+ * @technique Transformée de Fourier Rapide, Cache LRU de plans.
+ */
+public class PlanFourier {
+
+    /** Nombre de plans conservés par défaut dans le cache. */
+    public static final int CAPACITE_PAR_DEFAUT = 16;
+
+    private static int capacite = CAPACITE_PAR_DEFAUT;
+    private static long succes = 0;
+    private static long echecs = 0;
+
+    // LinkedHashMap en ordre d'accès : l'entrée la plus anciennement utilisée est évincée en premier.
+    private static final LinkedHashMap<Long, PlanFourier> cache = new LinkedHashMap<Long, PlanFourier>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, PlanFourier> eldest) {
+            return size() > capacite;
+        }
+    };
+
+    private final int lignes;
+    private final int colonnes;
+    private final boolean inverse;
+    private final FFT fftLignes;   // FFT de taille "colonnes", appliquée à chaque ligne
+    private final FFT fftColonnes; // FFT de taille "lignes", appliquée à chaque colonne
+    private final ConcurrentLinkedQueue<Tampons> reserve = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Tampons de travail d'un plan : de quoi transformer une ligne ou une colonne
+     * (y compris les tampons de convolution de Bluestein).
+     */
+    static final class Tampons {
+        final double[] travailRe, travailIm; // Bluestein (taille 0 si puissances de 2)
+        final double[] colRe, colIm;         // Une colonne (taille lignes)
+        final double[] zRe, zIm;             // Une ligne complexe (taille colonnes)
+
+        private Tampons(int tailleTravail, int lignes, int colonnes) {
+            travailRe = new double[tailleTravail];
+            travailIm = new double[tailleTravail];
+            colRe = new double[lignes];
+            colIm = new double[lignes];
+            zRe = new double[colonnes];
+            zIm = new double[colonnes];
+        }
+    }
+
+    private PlanFourier(int lignes, int colonnes, boolean inverse, FFT fftLignes, FFT fftColonnes) {
+        this.lignes = lignes;
+        this.colonnes = colonnes;
+        this.inverse = inverse;
+        this.fftLignes = fftLignes;
+        this.fftColonnes = fftColonnes;
+    }
+
+    /**
+     * Renvoie le plan associé à (lignes, colonnes, sens), depuis le cache ou en le créant.
+     *
+     * @param lignes   Nombre de lignes de l'image (>= 1).
+     * @param colonnes Nombre de colonnes de l'image (>= 1).
+     * @param inverse  true pour la transformée inverse, false pour la directe.
+     * @return Le plan (partageable entre threads).
+     */
+    public static PlanFourier obtenir(int lignes, int colonnes, boolean inverse) {
+        if (lignes < 1 || colonnes < 1) {
+            throw new IllegalArgumentException("PlanFourier: Dimensions invalides (" + lignes + "x" + colonnes + ").");
+        }
+        Long cle = cle(lignes, colonnes, inverse);
+        PlanFourier oppose;
+        synchronized (cache) {
+            PlanFourier plan = cache.get(cle);
+            if (plan != null) {
+                succes++;
+                return plan;
+            }
+            echecs++;
+            // Les tables FFT ne dépendent pas du sens : réutiliser celles du plan opposé s'il existe.
+            oppose = cache.get(cle(lignes, colonnes, !inverse));
+        }
+
+        // Construction hors verrou (calcul des tables), puis insertion
+        FFT fftL, fftC;
+        if (oppose != null) {
+            fftL = oppose.fftLignes;
+            fftC = oppose.fftColonnes;
+        } else {
+            fftL = new FFT(colonnes);
+            fftC = (lignes == colonnes) ? fftL : new FFT(lignes);
+        }
+        PlanFourier nouveau = new PlanFourier(lignes, colonnes, inverse, fftL, fftC);
+
+        synchronized (cache) {
+            PlanFourier existant = cache.get(cle); // Un autre thread a pu le créer entre-temps
+            if (existant != null) return existant;
+            cache.put(cle, nouveau);
+            return nouveau;
+        }
+    }
+
+    /**
+     * Fixe le nombre maximal de plans conservés dans le cache (les moins récemment utilisés sont évincés).
+     * @param nombre Capacité du cache (>= 0, 0 désactive la conservation des plans).
+     */
+    public static void setCapaciteCache(int nombre) {
+        if (nombre < 0) {
+            throw new IllegalArgumentException("PlanFourier: La capacité du cache doit être >= 0 (reçu " + nombre + ").");
+        }
+        synchronized (cache) {
+            capacite = nombre;
+            while (cache.size() > capacite) {
+                Long plusAncienne = cache.keySet().iterator().next();
+                cache.remove(plusAncienne);
+            }
+        }
+    }
+
+    /** Vide le cache de plans. */
+    public static void videCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /** @return Le nombre de plans actuellement en cache. */
+    public static int getTailleCache() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /** @return Le nombre d'appels à obtenir(...) servis depuis le cache. */
+    public static long getSucces() {
+        synchronized (cache) {
+            return succes;
+        }
+    }
+
+    /** @return Le nombre d'appels à obtenir(...) ayant nécessité la création d'un plan. */
+    public static long getEchecs() {
+        synchronized (cache) {
+            return echecs;
+        }
+    }
+
+    private static Long cle(int lignes, int colonnes, boolean inverse) {
+        return ((long) lignes << 32) | ((long) colonnes << 1) | (inverse ? 1L : 0L);
+    }
+
+    public int getLignes() {
+        return lignes;
+    }
+
+    public int getColonnes() {
+        return colonnes;
+    }
+
+    public boolean isInverse() {
+        return inverse;
+    }
+
+    FFT getFFTLignes() {
+        return fftLignes;
+    }
+
+    FFT getFFTColonnes() {
+        return fftColonnes;
+    }
+
+    /** Emprunte un jeu de tampons de travail (à rendre via rendTampons une fois le lot traité). */
+    Tampons empruntTampons() {
+        Tampons t = reserve.poll();
+        if (t == null) {
+            int tailleTravail = Math.max(fftLignes.getTailleTravail(), fftColonnes.getTailleTravail());
+            t = new Tampons(tailleTravail, lignes, colonnes);
+        }
+        return t;
+    }
+
+    void rendTampons(Tampons t) {
+        reserve.offer(t);
+    }
+}
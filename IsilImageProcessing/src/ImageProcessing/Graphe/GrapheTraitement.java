@@ -0,0 +1,674 @@
+package ImageProcessing.Graphe;
+
+import ImageProcessing.Core.Image8;
+import ImageProcessing.Core.PoolParallele;
+import ImageProcessing.Core.Progression;
+import ImageProcessing.Core.SuiviProgression;
+import ImageProcessing.Histogramme.Histogramme;
+import ImageProcessing.Metriques.Metriques;
+import ImageProcessing.NonLineaire.MorphoComplexe;
+import ImageProcessing.NonLineaire.MorphoElementaire;
+import ImageProcessing.Seuillage.Seuillage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Graphe déclaratif d'opérateurs sur images 8 bits (Image8).
+ *
+ * Le graphe est d'abord décrit (entree, seuil, fermeture, reconstruction, masque, sortie...), puis
+ * exécuté autant de fois que nécessaire sur des images différentes (execute). À l'exécution :
+ * <ul>
+ *   <li>les étapes ponctuelles adjacentes (LUT, seuil, inversion, masque, soustraction, minimum,
+ *       maximum) sont fusionnées en une seule passe ligne par ligne : les résultats intermédiaires
+ *       n'occupent qu'une ligne, et deux LUT successives sont composées en une seule ;</li>
+ *   <li>une image intermédiaire est libérée dès que son dernier consommateur s'est exécuté : son
+ *       tableau rejoint une réserve (ReserveTampons) où les étapes fusionnées puisent leurs sorties ;</li>
+ *   <li>les branches indépendantes (ex: pois rouges et pois bleus) s'exécutent en parallèle sur un
+ *       ForkJoinPool (cf. setParallelisme).</li>
+ * </ul>
+ *
+ * Une étape ponctuelle est fusionnée dans son consommateur lorsqu'elle n'a qu'un consommateur,
+ * lui-même ponctuel, et qu'elle n'est pas une sortie. Les étapes dont la LUT dépend de l'image
+ * entière (seuillageAutomatique, egalisation) lisent une entrée calculée au préalable, mais leur
+ * résultat peut être fusionné dans l'étape suivante. Les autres opérateurs (morphologie, opérateurs
+ * fournis par l'appelant) allouent eux-mêmes leur résultat, qui sera recyclé à sa libération.
+ *
+ * Le résultat est identique à l'appel des opérateurs un à un. Les images d'entrée ne sont jamais
+ * modifiées ; les images de sortie appartiennent à l'appelant. Un graphe décrit peut être exécuté
+ * simultanément depuis plusieurs threads ; il ne doit plus être modifié pendant une exécution.
+ *
+ * Erreurs : une description invalide lève IllegalArgumentException ; un opérateur en échec
+ * (résultat null) fait lever RuntimeException par execute ; l'annulation de la progression courante
+ * (cf. SuiviProgression) fait lever TraitementAnnuleException.
+ *
+ * @technique Graphe de traitements (DAG), Fusion d'opérateurs ponctuels, Composition de LUT,
+ *            Comptage de références et recyclage de tampons, Parallélisme de branches.
+ */
+public final class GrapheTraitement {
+
+    /** Nombre de tableaux conservés par taille dans la réserve d'un graphe, par défaut. */
+    public static final int TAMPONS_PAR_TAILLE_PAR_DEFAUT = 4;
+    /** Nombre de lignes traitées entre deux vérifications d'annulation dans une passe fusionnée. */
+    private static final int LIGNES_PAR_POINT = 64;
+
+    private static final PoolParallele POOL = new PoolParallele("GrapheTraitement");
+
+    /** Opérateur à une entrée : doit renvoyer une image de mêmes dimensions, ou null en cas d'erreur. */
+    public interface Operateur1 {
+        Image8 applique(Image8 entree);
+    }
+
+    /** Opérateur à deux entrées de mêmes dimensions : doit renvoyer une image de mêmes dimensions, ou null. */
+    public interface Operateur2 {
+        Image8 applique(Image8 a, Image8 b);
+    }
+
+    private enum Type {
+        ENTREE, LUT, LUT_CALCULEE, PONCTUEL2, OPERATEUR
+    }
+
+    /** Opérations d'une étape d'une passe fusionnée. */
+    private enum Operation {
+        LUT, MASQUE, SOUSTRACTION, MINIMUM, MAXIMUM
+    }
+
+    /** Nœud du graphe, créé par les méthodes de GrapheTraitement et utilisé comme entrée des suivantes. */
+    public static final class Noeud {
+        private final GrapheTraitement graphe;
+        private final int id;
+        private final Type type;
+        private final String nom;
+        private final Noeud[] entrees;
+        private byte[] lut;                        // LUT
+        private Function<Image8, int[]> courbe;    // LUT_CALCULEE
+        private Operation operation;               // PONCTUEL2
+        private Operateur1 operateur1;             // OPERATEUR
+        private Operateur2 operateur2;             // OPERATEUR
+
+        private Noeud(GrapheTraitement graphe, int id, Type type, String nom, Noeud... entrees) {
+            this.graphe = graphe;
+            this.id = id;
+            this.type = type;
+            this.nom = nom;
+            this.entrees = entrees;
+        }
+
+        private boolean estPonctuel() {
+            return type == Type.LUT || type == Type.LUT_CALCULEE || type == Type.PONCTUEL2;
+        }
+
+        @Override
+        public String toString() {
+            return nom + "#" + id;
+        }
+    }
+
+    private final List<Noeud> noeuds = new ArrayList<>();
+    private final Map<String, Noeud> entrees = new LinkedHashMap<>();
+    private final Map<String, Noeud> sorties = new LinkedHashMap<>();
+    private final ReserveTampons reserve;
+
+    public GrapheTraitement() {
+        this(TAMPONS_PAR_TAILLE_PAR_DEFAUT);
+    }
+
+    /**
+     * @param tamponsParTaille Nombre maximal de tableaux libérés conservés par taille d'image
+     *                         (0 = pas de recyclage entre deux exécutions ni entre deux étapes).
+     */
+    public GrapheTraitement(int tamponsParTaille) {
+        this.reserve = new ReserveTampons(tamponsParTaille);
+    }
+
+    // --- Description du graphe ---
+
+    /**
+     * Déclare une entrée du graphe, fournie à chaque exécution sous ce nom.
+     * @throws IllegalArgumentException si le nom est vide ou déjà utilisé.
+     */
+    public synchronized Noeud entree(String nom) {
+        if (nom == null || nom.isEmpty() || entrees.containsKey(nom)) {
+            throw new IllegalArgumentException("GrapheTraitement: Nom d'entrée invalide ou déjà utilisé : " + nom);
+        }
+        Noeud n = ajoute(Type.ENTREE, "entree(" + nom + ")");
+        entrees.put(nom, n);
+        return n;
+    }
+
+    /**
+     * Déclare une sortie du graphe : l'image du nœud sera renvoyée par execute sous ce nom.
+     * @throws IllegalArgumentException si le nom est vide ou déjà utilisé, ou le nœud invalide.
+     */
+    public synchronized void sortie(String nom, Noeud noeud) {
+        verifie(noeud);
+        if (nom == null || nom.isEmpty() || sorties.containsKey(nom)) {
+            throw new IllegalArgumentException("GrapheTraitement: Nom de sortie invalide ou déjà utilisé : " + nom);
+        }
+        sorties.put(nom, noeud);
+    }
+
+    /**
+     * Courbe tonale (cf. Histogramme.rehaussement(Image8, int[])) : valeurs ramenées dans [0, 255].
+     * @param courbeTonale Un tableau int[256].
+     */
+    public synchronized Noeud lut(Noeud entree, int[] courbeTonale) {
+        if (courbeTonale == null || courbeTonale.length != 256) {
+            throw new IllegalArgumentException("GrapheTraitement: La courbe tonale doit être un tableau int[256].");
+        }
+        Noeud n = ajoute(Type.LUT, "lut", entree);
+        n.lut = versLut(courbeTonale);
+        return n;
+    }
+
+    /** Seuillage simple : pixel > seuil devient 255, sinon 0 (cf. Seuillage.seuillageSimple(Image8, int)). */
+    public synchronized Noeud seuil(Noeud entree, int seuil) {
+        int[] courbe = new int[256];
+        for (int i = 0; i < 256; i++) courbe[i] = (i > seuil) ? 255 : 0;
+        Noeud n = ajoute(Type.LUT, "seuil(" + seuil + ")", entree);
+        n.lut = versLut(courbe);
+        return n;
+    }
+
+    /** Négatif : 255 - pixel (sur une image binaire 0/255 : complément). */
+    public synchronized Noeud inverse(Noeud entree) {
+        int[] courbe = new int[256];
+        for (int i = 0; i < 256; i++) courbe[i] = 255 - i;
+        Noeud n = ajoute(Type.LUT, "inverse", entree);
+        n.lut = versLut(courbe);
+        return n;
+    }
+
+    /** Seuillage automatique (cf. Seuillage.seuillageAutomatique(Image8)) : seuil calculé sur l'image entière. */
+    public synchronized Noeud seuillageAutomatique(Noeud entree) {
+        return lutCalculee("seuillageAutomatique", entree, image -> {
+            int s = Seuillage.calculeSeuilAutomatique(image);
+            int[] courbe = new int[256];
+            for (int i = 0; i < 256; i++) courbe[i] = (i > s) ? 255 : 0;
+            return courbe;
+        });
+    }
+
+    /** Égalisation d'histogramme (cf. Histogramme.creeCourbeTonaleEgalisation(Image8)). */
+    public synchronized Noeud egalisation(Noeud entree) {
+        return lutCalculee("egalisation", entree, Histogramme::creeCourbeTonaleEgalisation);
+    }
+
+    /**
+     * Courbe tonale calculée à l'exécution à partir de l'image d'entrée entière (histogramme...).
+     * @param courbe Fonction renvoyant un tableau int[256] (valeurs ramenées dans [0, 255]).
+     */
+    public synchronized Noeud lutCalculee(String nom, Noeud entree, Function<Image8, int[]> courbe) {
+        if (courbe == null) throw new IllegalArgumentException("GrapheTraitement: Courbe absente.");
+        Noeud n = ajoute(Type.LUT_CALCULEE, nom, entree);
+        n.courbe = courbe;
+        return n;
+    }
+
+    /** Masquage : pixel de image là où masque est non nul, 0 ailleurs. */
+    public synchronized Noeud masque(Noeud image, Noeud masque) {
+        return ponctuel2(Operation.MASQUE, "masque", image, masque);
+    }
+
+    /** Différence saturée : max(0, a - b). */
+    public synchronized Noeud soustraction(Noeud a, Noeud b) {
+        return ponctuel2(Operation.SOUSTRACTION, "soustraction", a, b);
+    }
+
+    /** Minimum pixel à pixel (sur des images binaires 0/255 : intersection). */
+    public synchronized Noeud minimum(Noeud a, Noeud b) {
+        return ponctuel2(Operation.MINIMUM, "minimum", a, b);
+    }
+
+    /** Maximum pixel à pixel (sur des images binaires 0/255 : union). */
+    public synchronized Noeud maximum(Noeud a, Noeud b) {
+        return ponctuel2(Operation.MAXIMUM, "maximum", a, b);
+    }
+
+    /** Cf. MorphoElementaire.erosion(Image8, int). */
+    public synchronized Noeud erosion(Noeud entree, int taille) {
+        return operateur("erosion(" + taille + ")", entree, image -> MorphoElementaire.erosion(image, taille));
+    }
+
+    /** Cf. MorphoElementaire.dilatation(Image8, int). */
+    public synchronized Noeud dilatation(Noeud entree, int taille) {
+        return operateur("dilatation(" + taille + ")", entree, image -> MorphoElementaire.dilatation(image, taille));
+    }
+
+    /** Cf. MorphoElementaire.ouverture(Image8, int). */
+    public synchronized Noeud ouverture(Noeud entree, int taille) {
+        return operateur("ouverture(" + taille + ")", entree, image -> MorphoElementaire.ouverture(image, taille));
+    }
+
+    /** Cf. MorphoElementaire.fermeture(Image8, int). */
+    public synchronized Noeud fermeture(Noeud entree, int taille) {
+        return operateur("fermeture(" + taille + ")", entree, image -> MorphoElementaire.fermeture(image, taille));
+    }
+
+    /** Cf. MorphoComplexe.reconstructionGeodesique(Image8, Image8). */
+    public synchronized Noeud reconstruction(Noeud marqueur, Noeud masque) {
+        return operateur("reconstruction", marqueur, masque, MorphoComplexe::reconstructionGeodesique);
+    }
+
+    /** Opérateur quelconque à une entrée (non fusionné). */
+    public synchronized Noeud operateur(String nom, Noeud entree, Operateur1 operateur) {
+        if (operateur == null) throw new IllegalArgumentException("GrapheTraitement: Opérateur absent.");
+        Noeud n = ajoute(Type.OPERATEUR, nom, entree);
+        n.operateur1 = operateur;
+        return n;
+    }
+
+    /** Opérateur quelconque à deux entrées (non fusionné). */
+    public synchronized Noeud operateur(String nom, Noeud a, Noeud b, Operateur2 operateur) {
+        if (operateur == null) throw new IllegalArgumentException("GrapheTraitement: Opérateur absent.");
+        Noeud n = ajoute(Type.OPERATEUR, nom, a, b);
+        n.operateur2 = operateur;
+        return n;
+    }
+
+    private Noeud ponctuel2(Operation operation, String nom, Noeud a, Noeud b) {
+        Noeud n = ajoute(Type.PONCTUEL2, nom, a, b);
+        n.operation = operation;
+        return n;
+    }
+
+    private Noeud ajoute(Type type, String nom, Noeud... entreesNoeud) {
+        for (Noeud e : entreesNoeud) verifie(e);
+        Noeud n = new Noeud(this, noeuds.size(), type, nom, entreesNoeud);
+        noeuds.add(n);
+        return n;
+    }
+
+    private void verifie(Noeud n) {
+        if (n == null || n.graphe != this) {
+            throw new IllegalArgumentException("GrapheTraitement: Nœud absent ou appartenant à un autre graphe.");
+        }
+    }
+
+    private static byte[] versLut(int[] courbe) {
+        byte[] lut = new byte[256];
+        for (int i = 0; i < 256; i++) lut[i] = (byte) Math.max(0, Math.min(255, courbe[i]));
+        return lut;
+    }
+
+    // --- Plan d'exécution ---
+
+    /**
+     * Plan figé d'une exécution : nœuds utiles aux sorties, étapes ponctuelles fusionnées dans leur
+     * consommateur (absorbe), et nombre de lectures de chaque nœud par les nœuds utiles.
+     */
+    private static final class Plan {
+        final Noeud[] noeuds;
+        final Map<String, Noeud> entrees;
+        final Map<String, Noeud> sorties;
+        final boolean[] utile;
+        final boolean[] absorbe;
+        final boolean[] sortie;
+        final int[] lectures;
+        /** Nœuds exécutés comme tâches (ni entrées, ni absorbés), dans l'ordre de création. */
+        final List<Noeud> taches = new ArrayList<>();
+
+        Plan(List<Noeud> liste, Map<String, Noeud> entrees, Map<String, Noeud> sorties) {
+            this.noeuds = liste.toArray(new Noeud[0]);
+            this.entrees = entrees;
+            this.sorties = sorties;
+            int n = noeuds.length;
+            utile = new boolean[n];
+            absorbe = new boolean[n];
+            sortie = new boolean[n];
+            lectures = new int[n];
+            int[] consommateur = new int[n];
+
+            for (Noeud s : sorties.values()) {
+                utile[s.id] = true;
+                sortie[s.id] = true;
+            }
+            // Les entrées d'un nœud ont toujours un indice inférieur : un seul parcours à rebours suffit
+            for (int i = n - 1; i >= 0; i--) {
+                if (!utile[i]) continue;
+                for (Noeud e : noeuds[i].entrees) {
+                    utile[e.id] = true;
+                    lectures[e.id]++;
+                    consommateur[e.id] = i;
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                if (!utile[i] || !noeuds[i].estPonctuel() || sortie[i] || lectures[i] != 1) continue;
+                Type suivant = noeuds[consommateur[i]].type;
+                absorbe[i] = (suivant == Type.LUT || suivant == Type.PONCTUEL2);
+            }
+            for (int i = 0; i < n; i++) {
+                if (utile[i] && !absorbe[i] && noeuds[i].type != Type.ENTREE) taches.add(noeuds[i]);
+            }
+        }
+
+        /** Ajoute à feuilles les nœuds calculés séparément lus par la tâche n et ses étapes fusionnées (avec répétitions). */
+        void feuilles(Noeud n, List<Noeud> feuilles) {
+            for (Noeud e : n.entrees) {
+                if (absorbe[e.id]) feuilles(e, feuilles);
+                else feuilles.add(e);
+            }
+        }
+    }
+
+    private synchronized Plan planifie() {
+        if (sorties.isEmpty()) throw new IllegalArgumentException("GrapheTraitement: Aucune sortie déclarée.");
+        return new Plan(new ArrayList<>(noeuds), new LinkedHashMap<>(entrees), new LinkedHashMap<>(sorties));
+    }
+
+    /**
+     * @return Une description du plan d'exécution : une ligne par tâche, avec les étapes fusionnées
+     *         dans une même passe entre crochets.
+     */
+    public String decritPlan() {
+        Plan plan = planifie();
+        StringBuilder sb = new StringBuilder();
+        for (Noeud t : plan.taches) {
+            if (t.estPonctuel()) {
+                List<Noeud> membres = new ArrayList<>();
+                membres(plan, t, membres);
+                sb.append("passe ").append(membres);
+            } else {
+                sb.append(t);
+            }
+            List<Noeud> feuilles = new ArrayList<>();
+            plan.feuilles(t, feuilles);
+            sb.append(" <- ").append(feuilles).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void membres(Plan plan, Noeud n, List<Noeud> membres) {
+        for (Noeud e : n.entrees) {
+            if (plan.absorbe[e.id]) membres(plan, e, membres);
+        }
+        membres.add(n);
+    }
+
+    // --- Exécution ---
+
+    /**
+     * Exécute le graphe.
+     * @param images Image de chaque entrée déclarée, par nom.
+     * @return Image de chaque sortie, par nom, dans l'ordre de déclaration des sorties.
+     * @throws IllegalArgumentException si une entrée manque ou est inconnue, ou si les dimensions
+     *         des images lues par une même étape ponctuelle diffèrent.
+     * @throws RuntimeException si un opérateur échoue.
+     */
+    public Map<String, Image8> execute(Map<String, Image8> images) {
+        return Metriques.mesure("GrapheTraitement.execute",
+                () -> images.values().stream().mapToLong(Metriques::pixels).sum(), () -> executeGraphe(images));
+    }
+
+    private Map<String, Image8> executeGraphe(Map<String, Image8> images) {
+        Plan plan = planifie();
+        for (String nom : images.keySet()) {
+            if (!plan.entrees.containsKey(nom)) throw new IllegalArgumentException("GrapheTraitement: Entrée inconnue : " + nom);
+        }
+        Execution ex = new Execution(plan, SuiviProgression.courante());
+        for (Map.Entry<String, Noeud> e : plan.entrees.entrySet()) {
+            Image8 image = images.get(e.getKey());
+            if (plan.utile[e.getValue().id]) {
+                if (image == null) throw new IllegalArgumentException("GrapheTraitement: Entrée absente : " + e.getKey());
+                ex.publie(e.getValue(), image, true);
+            }
+        }
+
+        Executor executeur = POOL.executeur();
+        CompletableFuture<?>[] termine = new CompletableFuture<?>[plan.noeuds.length];
+        List<CompletableFuture<?>> toutes = new ArrayList<>(plan.taches.size());
+        for (Noeud t : plan.taches) {
+            List<Noeud> feuilles = new ArrayList<>();
+            plan.feuilles(t, feuilles);
+            List<CompletableFuture<?>> attentes = new ArrayList<>();
+            for (Noeud f : feuilles) {
+                if (termine[f.id] != null) attentes.add(termine[f.id]);
+            }
+            CompletableFuture<Void> tache = CompletableFuture
+                    .allOf(attentes.toArray(new CompletableFuture<?>[0]))
+                    .thenRunAsync(() -> ex.calcule(t, feuilles), executeur);
+            termine[t.id] = tache;
+            toutes.add(tache);
+        }
+        CompletableFuture.allOf(toutes.toArray(new CompletableFuture<?>[0])).join();
+
+        Throwable echec = ex.echec.get();
+        if (echec instanceof RuntimeException) throw (RuntimeException) echec;
+        if (echec instanceof Error) throw (Error) echec;
+
+        Map<String, Image8> resultat = new LinkedHashMap<>();
+        for (Map.Entry<String, Noeud> s : plan.sorties.entrySet()) {
+            resultat.put(s.getKey(), ex.valeurs[s.getValue().id]);
+        }
+        return resultat;
+    }
+
+    /** @return Nombre de tableaux fournis par la réserve de ce graphe au lieu d'être alloués. */
+    public long getTamponsRecycles() {
+        return reserve.getReutilisations();
+    }
+
+    /** Vide la réserve de tableaux de ce graphe (les exécutions suivantes la rempliront à nouveau). */
+    public void videReserve() {
+        reserve.vide();
+    }
+
+    /** État d'une exécution : images vivantes, lectures restantes, premier échec. */
+    private final class Execution {
+        final Plan plan;
+        final Image8[] valeurs;
+        final int[] restantes;
+        /** Nombre d'images vivantes par tableau : un opérateur peut renvoyer une image partageant le tableau de son entrée. */
+        final Map<byte[], Integer> vivants = new IdentityHashMap<>();
+        /** Tableaux jamais recyclés : ceux des entrées et des sorties. */
+        final Set<byte[]> proteges = Collections.newSetFromMap(new IdentityHashMap<>());
+        final AtomicReference<Throwable> echec = new AtomicReference<>();
+        final AtomicInteger terminees = new AtomicInteger();
+        final Progression suivi;
+        /** Progression transmise aux opérateurs : annulation seulement (les branches avancent en parallèle). */
+        final Progression annulation;
+
+        Execution(Plan plan, Progression suivi) {
+            this.plan = plan;
+            this.valeurs = new Image8[plan.noeuds.length];
+            this.restantes = plan.lectures.clone();
+            this.suivi = suivi;
+            this.annulation = (suivi == Progression.AUCUNE) ? suivi : new Progression() {
+                @Override
+                public void avance(double fraction) {
+                }
+
+                @Override
+                public boolean estAnnulee() {
+                    return suivi.estAnnulee();
+                }
+            };
+        }
+
+        void calcule(Noeud t, List<Noeud> feuilles) {
+            if (echec.get() != null) return;
+            try {
+                SuiviProgression.verifieAnnulation(suivi);
+                Image8 resultat = SuiviProgression.execute(annulation, () -> (t.type == Type.OPERATEUR) ? applique(t) : passe(t));
+                if (resultat == null) {
+                    throw new RuntimeException("Erreur [GrapheTraitement]: Échec de l'opération " + t + ".");
+                }
+                publie(t, resultat, false);
+                for (Noeud f : feuilles) libere(f);
+                SuiviProgression.point(suivi, terminees.incrementAndGet(), plan.taches.size());
+            } catch (RuntimeException | Error e) {
+                echec.compareAndSet(null, e);
+            } catch (Exception e) {
+                echec.compareAndSet(null, new RuntimeException(e));
+            }
+        }
+
+        private Image8 applique(Noeud t) {
+            Image8 a = valeurs[t.entrees[0].id];
+            if (t.operateur1 != null) return t.operateur1.applique(a);
+            return t.operateur2.applique(a, valeurs[t.entrees[1].id]);
+        }
+
+        synchronized void publie(Noeud n, Image8 image, boolean entree) {
+            valeurs[n.id] = image;
+            vivants.merge(image.getDonnees(), 1, Integer::sum);
+            if (entree || plan.sortie[n.id]) proteges.add(image.getDonnees());
+        }
+
+        /** Une lecture du nœud n est terminée : à la dernière, son image est libérée (sauf entrée ou sortie). */
+        synchronized void libere(Noeud n) {
+            if (--restantes[n.id] > 0 || plan.sortie[n.id]) return;
+            Image8 image = valeurs[n.id];
+            valeurs[n.id] = null;
+            byte[] donnees = image.getDonnees();
+            int reste = vivants.merge(donnees, -1, Integer::sum);
+            if (reste > 0) return;
+            vivants.remove(donnees);
+            if (!proteges.contains(donnees) && image.getDecalage() == 0 && image.estContigue()
+                    && donnees.length == image.getHauteur() * image.getLargeur()) {
+                reserve.rend(donnees);
+            }
+        }
+
+        // --- Passe fusionnée ---
+
+        /** Étape d'une passe : sources >= 0 = étape précédente, < 0 = image calculée -(k + 1). */
+        private final class Etage {
+            final Operation operation;
+            byte[] lut;
+            final int a;
+            final int b;
+
+            Etage(Operation operation, byte[] lut, int a, int b) {
+                this.operation = operation;
+                this.lut = lut;
+                this.a = a;
+                this.b = b;
+            }
+        }
+
+        /** Calcule en une passe la tâche ponctuelle t et toutes les étapes qui y sont fusionnées. */
+        private Image8 passe(Noeud t) {
+            List<Etage> etages = new ArrayList<>();
+            List<Image8> images = new ArrayList<>();
+            compile(t, t, etages, images);
+
+            Image8 reference = images.get(0);
+            for (Image8 im : images) {
+                if (!im.memesDimensions(reference)) {
+                    throw new IllegalArgumentException("Erreur [GrapheTraitement]: Dimensions incompatibles pour " + t + " ("
+                            + im.getHauteur() + "x" + im.getLargeur() + " et " + reference.getHauteur() + "x" + reference.getLargeur() + ").");
+                }
+            }
+            int hauteur = reference.getHauteur();
+            int largeur = reference.getLargeur();
+            int nbEtages = etages.size();
+            int nbImages = images.size();
+
+            byte[] dest = reserve.obtient(hauteur * largeur);
+            byte[][] lignes = new byte[nbEtages][];
+            for (int s = 0; s < nbEtages - 1; s++) lignes[s] = new byte[largeur];
+            byte[][] donnees = new byte[nbImages][];
+            int[] bases = new int[nbImages];
+            for (int k = 0; k < nbImages; k++) donnees[k] = images.get(k).getDonnees();
+
+            for (int y = 0; y < hauteur; y++) {
+                if (y % LIGNES_PAR_POINT == 0) SuiviProgression.verifieAnnulation(suivi);
+                for (int k = 0; k < nbImages; k++) bases[k] = images.get(k).index(y, 0);
+                for (int s = 0; s < nbEtages; s++) {
+                    Etage e = etages.get(s);
+                    byte[] out = (s == nbEtages - 1) ? dest : lignes[s];
+                    int o = (s == nbEtages - 1) ? y * largeur : 0;
+                    byte[] a = (e.a >= 0) ? lignes[e.a] : donnees[-e.a - 1];
+                    int oa = (e.a >= 0) ? 0 : bases[-e.a - 1];
+                    if (e.operation == Operation.LUT) {
+                        byte[] lut = e.lut;
+                        for (int x = 0; x < largeur; x++) out[o + x] = lut[a[oa + x] & 0xFF];
+                        continue;
+                    }
+                    byte[] b = (e.b >= 0) ? lignes[e.b] : donnees[-e.b - 1];
+                    int ob = (e.b >= 0) ? 0 : bases[-e.b - 1];
+                    switch (e.operation) {
+                        case MASQUE:
+                            for (int x = 0; x < largeur; x++) out[o + x] = (b[ob + x] != 0) ? a[oa + x] : 0;
+                            break;
+                        case SOUSTRACTION:
+                            for (int x = 0; x < largeur; x++) {
+                                int v = (a[oa + x] & 0xFF) - (b[ob + x] & 0xFF);
+                                out[o + x] = (byte) ((v > 0) ? v : 0);
+                            }
+                            break;
+                        case MINIMUM:
+                            for (int x = 0; x < largeur; x++) out[o + x] = (byte) Math.min(a[oa + x] & 0xFF, b[ob + x] & 0xFF);
+                            break;
+                        case MAXIMUM:
+                            for (int x = 0; x < largeur; x++) out[o + x] = (byte) Math.max(a[oa + x] & 0xFF, b[ob + x] & 0xFF);
+                            break;
+                        default:
+                            throw new IllegalStateException("Opération inattendue : " + e.operation);
+                    }
+                }
+            }
+            return new Image8(dest, 0, largeur, hauteur, largeur);
+        }
+
+        /**
+         * Traduit le nœud n (membre de la passe de racine t) en étapes, entrées avant consommateurs.
+         * @return La référence du résultat de n (cf. Etage).
+         */
+        private int compile(Noeud t, Noeud n, List<Etage> etages, List<Image8> images) {
+            if (n != t && !plan.absorbe[n.id]) {
+                images.add(valeurs[n.id]);
+                return -images.size();
+            }
+            if (n.type == Type.PONCTUEL2) {
+                int a = compile(t, n.entrees[0], etages, images);
+                int b = compile(t, n.entrees[1], etages, images);
+                etages.add(new Etage(n.operation, null, a, b));
+                return etages.size() - 1;
+            }
+            int source = compile(t, n.entrees[0], etages, images);
+            byte[] lut = n.lut;
+            if (n.type == Type.LUT_CALCULEE) {
+                int[] courbe = n.courbe.apply(valeurs[n.entrees[0].id]);
+                if (courbe == null || courbe.length != 256) {
+                    throw new RuntimeException("Erreur [GrapheTraitement]: Courbe tonale invalide pour " + n + ".");
+                }
+                lut = versLut(courbe);
+            }
+            if (source >= 0 && etages.get(source).operation == Operation.LUT) {
+                // L'étape source n'est lue que par n : les deux LUT sont composées en une seule
+                Etage precedente = etages.get(source);
+                byte[] composee = new byte[256];
+                for (int i = 0; i < 256; i++) composee[i] = lut[precedente.lut[i] & 0xFF];
+                precedente.lut = composee;
+                return source;
+            }
+            etages.add(new Etage(Operation.LUT, lut, source, 0));
+            return etages.size() - 1;
+        }
+    }
+
+    // --- Parallélisme ---
+
+    /**
+     * Fixe le nombre de threads qui exécutent les branches indépendantes.
+     * @param niveau Nombre de threads (>= 1). 1 = exécution séquentielle dans le thread appelant.
+     */
+    public static void setParallelisme(int niveau) {
+        POOL.setParallelisme(niveau);
+    }
+
+    public static int getParallelisme() {
+        return POOL.getParallelisme();
+    }
+}
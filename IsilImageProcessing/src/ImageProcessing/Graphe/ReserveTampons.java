@@ -0,0 +1,55 @@
+package ImageProcessing.Graphe;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Réserve de tableaux byte[] libérés, classés par taille, réutilisés par les étapes ponctuelles
+ * fusionnées d'un GrapheTraitement à la place de nouvelles allocations.
+ *
+ * Le nombre de tableaux conservés par taille est borné : au-delà, les tableaux rendus sont laissés
+ * au ramasse-miettes. Accès concurrents autorisés (branches exécutées en parallèle).
+ */
+final class ReserveTampons {
+
+    private final int maxParTaille;
+    private final Map<Integer, ArrayDeque<byte[]>> libres = new HashMap<>();
+    private long reutilisations = 0;
+
+    /**
+     * @param maxParTaille Nombre maximal de tableaux conservés pour une même taille (>= 0).
+     */
+    ReserveTampons(int maxParTaille) {
+        if (maxParTaille < 0) {
+            throw new IllegalArgumentException("ReserveTampons: maxParTaille doit être >= 0 (reçu " + maxParTaille + ").");
+        }
+        this.maxParTaille = maxParTaille;
+    }
+
+    /** @return Un tableau de la taille demandée, au contenu quelconque (à réécrire entièrement). */
+    synchronized byte[] obtient(int taille) {
+        ArrayDeque<byte[]> pile = libres.get(taille);
+        if (pile != null && !pile.isEmpty()) {
+            reutilisations++;
+            return pile.pop();
+        }
+        return new byte[taille];
+    }
+
+    /** Rend un tableau qui n'est plus référencé par aucune image vivante. */
+    synchronized void rend(byte[] tableau) {
+        ArrayDeque<byte[]> pile = libres.computeIfAbsent(tableau.length, t -> new ArrayDeque<>());
+        if (pile.size() < maxParTaille) pile.push(tableau);
+    }
+
+    /** @return Nombre de tableaux servis depuis la réserve (au lieu d'être alloués). */
+    synchronized long getReutilisations() {
+        return reutilisations;
+    }
+
+    /** Vide la réserve. */
+    synchronized void vide() {
+        libres.clear();
+    }
+}
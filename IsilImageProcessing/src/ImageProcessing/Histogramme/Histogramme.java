@@ -1,5 +1,9 @@
 package ImageProcessing.Histogramme;
 
+import ImageProcessing.Core.Image16;
+import ImageProcessing.Core.Image8;
+import ImageProcessing.Core.ImageF32;
+import ImageProcessing.Metriques.Metriques;
 
 /**
  * Contient des méthodes statiques pour le calcul et la manipulation
@@ -16,6 +20,11 @@ public class Histogramme
             return null;
         }
 
+        return Metriques.mesure("Histogramme.Histogramme256", Metriques.pixels(mat), () -> histogrammeMatrice(mat));
+    }
+
+    private static int[] histogrammeMatrice(int mat[][])
+    {
         int M = mat.length;
         int N = mat[0].length;
         int histo[] = new int[256];
@@ -28,6 +37,81 @@ public class Histogramme
         
         return histo;
     }
+
+    /**
+     * Histogramme d'une image 8 bits à plat : lecture directe des octets, ligne par ligne
+     * (respecte le pas et le décalage des vues roi).
+     * @param image L'image 8 bits.
+     * @return L'histogramme int[256], ou null si l'image est null.
+     */
+    public static int[] Histogramme256(Image8 image)
+    {
+        if (image == null) {
+            System.err.println("Histogramme256: Image invalide.");
+            return null;
+        }
+        return Metriques.mesure("Histogramme.Histogramme256/Image8", Metriques.pixels(image), () -> histogrammeImage8(image));
+    }
+
+    private static int[] histogrammeImage8(Image8 image)
+    {
+        byte[] donnees = image.getDonnees();
+        int largeur = image.getLargeur();
+        int histo[] = new int[256];
+        for (int y = 0; y < image.getHauteur(); y++) {
+            int base = image.index(y, 0);
+            for (int x = 0; x < largeur; x++) histo[donnees[base + x] & 0xFF]++;
+        }
+        return histo;
+    }
+
+    /**
+     * Histogramme d'une image flottante à plat, sur 256 niveaux : chaque pixel est arrondi et ramené
+     * dans [0, 255], comme par ImageF32.versMatrice (même résultat que Histogramme256(image.versMatrice())).
+     * @param image L'image flottante.
+     * @return L'histogramme int[256], ou null si l'image est null.
+     */
+    public static int[] Histogramme256(ImageF32 image)
+    {
+        if (image == null) {
+            System.err.println("Histogramme256: Image invalide.");
+            return null;
+        }
+        return Metriques.mesure("Histogramme.Histogramme256/ImageF32", Metriques.pixels(image), () -> {
+            float[] donnees = image.getDonnees();
+            int largeur = image.getLargeur();
+            int histo[] = new int[256];
+            for (int y = 0; y < image.getHauteur(); y++) {
+                int base = image.index(y, 0);
+                for (int x = 0; x < largeur; x++) histo[Math.max(0, Math.min(255, Math.round(donnees[base + x])))]++;
+            }
+            return histo;
+        });
+    }
+
+    /**
+     * Histogramme complet d'une image 16 bits à plat (un compteur par niveau 0..65535), lu
+     * directement dans le tableau, ligne par ligne (respecte le pas et le décalage des vues roi).
+     * @param image L'image 16 bits.
+     * @return L'histogramme int[65536], ou null si l'image est null.
+     */
+    public static int[] Histogramme65536(Image16 image)
+    {
+        if (image == null) {
+            System.err.println("Histogramme65536: Image invalide.");
+            return null;
+        }
+        return Metriques.mesure("Histogramme.Histogramme65536/Image16", Metriques.pixels(image), () -> {
+            short[] donnees = image.getDonnees();
+            int largeur = image.getLargeur();
+            int histo[] = new int[65536];
+            for (int y = 0; y < image.getHauteur(); y++) {
+                int base = image.index(y, 0);
+                for (int x = 0; x < largeur; x++) histo[donnees[base + x] & 0xFFFF]++;
+            }
+            return histo;
+        });
+    }
 // --- NOUVELLES MÉTHODES STATISTIQUES ---
 
     /**
@@ -37,18 +121,20 @@ public class Histogramme
      */
     public static int minimum(int[][] image) {
         if (image == null || image.length == 0 || image[0].length == 0) return -1;
-        int minVal = 256; // Commencer plus haut que le max possible (255)
-        for (int[] row : image) {
-            for (int pixel : row) {
-                if (pixel < minVal) {
-                    minVal = pixel;
+        return Metriques.mesure("Histogramme.minimum", Metriques.pixels(image), () -> {
+            int minVal = 256; // Commencer plus haut que le max possible (255)
+            for (int[] row : image) {
+                for (int pixel : row) {
+                    if (pixel < minVal) {
+                        minVal = pixel;
+                    }
                 }
             }
-        }
-        // Retourner 0 si minVal n'a jamais été mis à jour (image vide ou hors plage?)
-        // Ou retourner la valeur trouvée (peut être > 255 si l'image contient des erreurs)
-        // On retourne minVal tel quel, le clamping est fait ailleurs si besoin.
-        return (minVal == 256) ? 0 : minVal; // Retourne 0 pour une image vide pour éviter 256
+            // Retourner 0 si minVal n'a jamais été mis à jour (image vide ou hors plage?)
+            // Ou retourner la valeur trouvée (peut être > 255 si l'image contient des erreurs)
+            // On retourne minVal tel quel, le clamping est fait ailleurs si besoin.
+            return (minVal == 256) ? 0 : minVal; // Retourne 0 pour une image vide pour éviter 256
+        });
     }
 
     /**
@@ -58,15 +144,17 @@ public class Histogramme
      */
     public static int maximum(int[][] image) {
         if (image == null || image.length == 0 || image[0].length == 0) return -1;
-        int maxVal = -1; // Commencer plus bas que le min possible (0)
-        for (int[] row : image) {
-            for (int pixel : row) {
-                if (pixel > maxVal) {
-                    maxVal = pixel;
+        return Metriques.mesure("Histogramme.maximum", Metriques.pixels(image), () -> {
+            int maxVal = -1; // Commencer plus bas que le min possible (0)
+            for (int[] row : image) {
+                for (int pixel : row) {
+                    if (pixel > maxVal) {
+                        maxVal = pixel;
+                    }
                 }
             }
-        }
-        return maxVal; // Retourne -1 si l'image est vide
+            return maxVal; // Retourne -1 si l'image est vide
+        });
     }
 
     /**
@@ -77,17 +165,19 @@ public class Histogramme
      */
     public static double luminance(int[][] image) {
         if (image == null || image.length == 0 || image[0].length == 0) return -1.0;
-        int hauteur = image.length;
-        int largeur = image[0].length;
-        long sommePixels = 0; // Utiliser long pour éviter dépassement sur grandes images
-
-        for (int[] row : image) {
-            for (int
-                    pixel : row) {
-                sommePixels += pixel;
+        return Metriques.mesure("Histogramme.luminance", Metriques.pixels(image), () -> {
+            int hauteur = image.length;
+            int largeur = image[0].length;
+            long sommePixels = 0; // Utiliser long pour éviter dépassement sur grandes images
+
+            for (int[] row : image) {
+                for (int
+                        pixel : row) {
+                    sommePixels += pixel;
+                }
             }
-        }
-        return (double) sommePixels / (hauteur * largeur);
+            return (double) sommePixels / (hauteur * largeur);
+        });
     }
 
     /**
@@ -99,26 +189,28 @@ public class Histogramme
     public static double contraste1(int[][] image) {
         // ... (code inchangé, mais basé sur nbPixelsValides) ...
         if (image == null || image.length == 0 || image[0].length == 0) return -1.0;
-        int hauteur = image.length;
-        int largeur = image[0].length;
-        long nbPixelsValides = 0;
-        for(int[] row : image) { for(int p : row) if(p>=0 && p<=255) nbPixelsValides++; }
+        return Metriques.mesure("Histogramme.contraste1", Metriques.pixels(image), () -> {
+            int hauteur = image.length;
+            int largeur = image[0].length;
+            long nbPixelsValides = 0;
+            for(int[] row : image) { for(int p : row) if(p>=0 && p<=255) nbPixelsValides++; }
 
-        if (nbPixelsValides <= 1) return 0.0;
+            if (nbPixelsValides <= 1) return 0.0;
 
-        double moyenne = luminance(image);
-        if (moyenne < 0) return -1.0;
+            double moyenne = luminance(image);
+            if (moyenne < 0) return -1.0;
 
-        double sommeCarresEcarts = 0.0;
-        for (int[] row : image) {
-            for (int pixel : row) {
-                if (pixel >= 0 && pixel <=255) {
-                    sommeCarresEcarts += Math.pow(pixel - moyenne, 2);
+            double sommeCarresEcarts = 0.0;
+            for (int[] row : image) {
+                for (int pixel : row) {
+                    if (pixel >= 0 && pixel <=255) {
+                        sommeCarresEcarts += Math.pow(pixel - moyenne, 2);
+                    }
                 }
             }
-        }
-        double variance = sommeCarresEcarts / nbPixelsValides; // Variance de la population
-        return Math.sqrt(variance);
+            double variance = sommeCarresEcarts / nbPixelsValides; // Variance de la population
+            return Math.sqrt(variance);
+        });
     }
 
     /**
@@ -131,17 +223,19 @@ public class Histogramme
      */
     public static double contraste2(int[][] image) {
         if (image == null || image.length == 0 || image[0].length == 0) return -1.0;
-        int minVal = minimum(image);
-        int maxVal = maximum(image);
+        return Metriques.mesure("Histogramme.contraste2", Metriques.pixels(image), () -> {
+            int minVal = minimum(image);
+            int maxVal = maximum(image);
 
-        if (minVal == -1 || maxVal == -1) return -1.0; // Erreur min/max
+            if (minVal == -1 || maxVal == -1) return -1.0; // Erreur min/max
 
-        double denominateur = (double) maxVal + minVal;
-        if (Math.abs(denominateur) < 1e-9) { // Vérifier si max + min est proche de zéro
-            if (maxVal == 0) return 0.0; // Si l'image est toute noire, contraste 0
-            else return -1.0; // Cas indéfini (ne devrait pas arriver avec min>=0)
-        }
-        return (double) (maxVal - minVal) / denominateur;
+            double denominateur = (double) maxVal + minVal;
+            if (Math.abs(denominateur) < 1e-9) { // Vérifier si max + min est proche de zéro
+                if (maxVal == 0) return 0.0; // Si l'image est toute noire, contraste 0
+                else return -1.0; // Cas indéfini (ne devrait pas arriver avec min>=0)
+            }
+            return (double) (maxVal - minVal) / denominateur;
+        });
     }
     // --- MÉTHODES DE REHAUSSEMENT ---
 
@@ -158,24 +252,56 @@ public class Histogramme
         if (image == null || image.length == 0 || image[0].length == 0) return null;
         if (courbeTonale == null || courbeTonale.length != 256) return null;
 
-        int hauteur = image.length;
-        int largeur = image[0].length;
-        int[][] resultat = new int[hauteur][largeur];
-
-        for (int y = 0; y < hauteur; y++) {
-            for (int x = 0; x < largeur; x++) {
-                int pixelValue = image[y][x];
-                if (pixelValue >= 0 && pixelValue <= 255) {
-                    // Appliquer la LUT
-                    resultat[y][x] = courbeTonale[pixelValue];
-                    // Sécurité: Clamper le résultat de la LUT (au cas où)
-                    // resultat[y][x] = Math.max(0, Math.min(255, courbeTonale[pixelValue]));
-                } else {
-                    resultat[y][x] = 0; // Ou copier la valeur invalide ? Mettons 0.
+        return Metriques.mesure("Histogramme.rehaussement", Metriques.pixels(image), () -> {
+            int hauteur = image.length;
+            int largeur = image[0].length;
+            int[][] resultat = new int[hauteur][largeur];
+
+            for (int y = 0; y < hauteur; y++) {
+                for (int x = 0; x < largeur; x++) {
+                    int pixelValue = image[y][x];
+                    if (pixelValue >= 0 && pixelValue <= 255) {
+                        // Appliquer la LUT
+                        resultat[y][x] = courbeTonale[pixelValue];
+                        // Sécurité: Clamper le résultat de la LUT (au cas où)
+                        // resultat[y][x] = Math.max(0, Math.min(255, courbeTonale[pixelValue]));
+                    } else {
+                        resultat[y][x] = 0; // Ou copier la valeur invalide ? Mettons 0.
+                    }
                 }
             }
-        }
-        return resultat;
+            return resultat;
+        });
+    }
+
+    /**
+     * Applique une courbe tonale (LUT) à une image 8 bits à plat. Les valeurs de la LUT sont
+     * ramenées dans [0, 255] (une seule fois, sur la LUT, et non par pixel).
+     * @param image L'image d'entrée (Image8, éventuellement une vue roi).
+     * @param courbeTonale Un tableau int[256].
+     * @return Une nouvelle image 8 bits (contiguë), ou null si invalide.
+     * @technique Application d'une Look-Up Table (LUT).
+     */
+    public static Image8 rehaussement(Image8 image, int[] courbeTonale) {
+        if (image == null) return null;
+        if (courbeTonale == null || courbeTonale.length != 256) return null;
+
+        return Metriques.mesure("Histogramme.rehaussement/Image8", Metriques.pixels(image), () -> {
+            byte[] lut = new byte[256];
+            for (int i = 0; i < 256; i++) lut[i] = (byte) Math.max(0, Math.min(255, courbeTonale[i]));
+
+            int hauteur = image.getHauteur();
+            int largeur = image.getLargeur();
+            byte[] src = image.getDonnees();
+            Image8 resultat = new Image8(hauteur, largeur);
+            byte[] dest = resultat.getDonnees();
+            for (int y = 0; y < hauteur; y++) {
+                int base = image.index(y, 0);
+                int baseDest = y * largeur;
+                for (int x = 0; x < largeur; x++) dest[baseDest + x] = lut[src[base + x] & 0xFF];
+            }
+            return resultat;
+        });
     }
 
     /**
@@ -260,23 +386,40 @@ public class Histogramme
      */
     public static int[] creeCourbeTonaleEgalisation(int[][] image) {
         if (image == null || image.length == 0 || image[0].length == 0) return null;
-        int hauteur = image.length;
-        int largeur = image[0].length;
-        long nbPixelsTotal = (long)hauteur * largeur;
-        if (nbPixelsTotal == 0) return null;
+        return Metriques.mesure("Histogramme.creeCourbeTonaleEgalisation", Metriques.pixels(image), () -> {
+            int hauteur = image.length;
+            int largeur = image[0].length;
+            long nbPixelsTotal = (long)hauteur * largeur;
+            if (nbPixelsTotal == 0) return null;
+
+            return courbeEgalisation(Histogramme256(image), nbPixelsTotal);
+        });
+    }
+
+    /**
+     * Courbe tonale d'égalisation d'une image 8 bits à plat (même LUT que creeCourbeTonaleEgalisation(int[][])).
+     * @param image L'image d'entrée (Image8, éventuellement une vue roi).
+     * @return La courbe tonale (LUT) int[256], ou null si l'image est null.
+     * @technique Égalisation d'histogramme.
+     */
+    public static int[] creeCourbeTonaleEgalisation(Image8 image) {
+        if (image == null) return null;
+        return Metriques.mesure("Histogramme.creeCourbeTonaleEgalisation/Image8", Metriques.pixels(image),
+                () -> courbeEgalisation(Histogramme256(image), (long) image.getHauteur() * image.getLargeur()));
+    }
 
-        // 1. Calculer l'histogramme
-        int[] hist = Histogramme256(image);
+    /** LUT d'égalisation I' = 255 * C(I) à partir d'un histogramme int[256] et du nombre de pixels. */
+    private static int[] courbeEgalisation(int[] hist, long nbPixelsTotal) {
         if (hist == null) return null;
 
-        // 2. Calculer l'histogramme cumulé (non normalisé pour l'instant)
+        // 1. Calculer l'histogramme cumulé (non normalisé pour l'instant)
         long[] histCumul = new long[256];
         histCumul[0] = hist[0];
         for (int i = 1; i < 256; i++) {
             histCumul[i] = histCumul[i - 1] + hist[i];
         }
 
-        // 3. Créer la LUT en appliquant la formule I' = 255 * C(I)
+        // 2. Créer la LUT en appliquant la formule I' = 255 * C(I)
         // où C(I) = histCumul[I] / nbPixelsTotal
         int[] lut = new int[256];
         for (int i = 0; i < 256; i++) {
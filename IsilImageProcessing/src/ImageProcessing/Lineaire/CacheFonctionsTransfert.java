@@ -0,0 +1,138 @@
+package ImageProcessing.Lineaire;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Cache des fonctions de transfert H(u,v) utilisées par le filtrage fréquentiel.
+ * Les masques sont réels et ne couvrent que le demi-spectre hermitien (non centré) de la FFT réelle :
+ * stockés à plat en double[lignes*demiColonnes] avec demiColonnes = colonnes/2 + 1
+ * (indice = u*demiColonnes + v, v dans [0, colonnes/2]), indexés par (type, lignes, colonnes, D0, ordre).
+ *
+ * Le cache est borné par un budget mémoire (en octets) : lorsqu'il est dépassé, les masques
+ * les moins récemment utilisés sont évincés (LRU). Un masque plus grand que le budget entier
+ * est calculé mais jamais conservé. Les compteurs de succès / échecs permettent de vérifier
+ * l'efficacité du cache sur un traitement par lot.
+ *
+ * Thread-safe. Les masques renvoyés sont partagés : ils ne doivent pas être modifiés.
+ *
+ * @technique Mémoïsation, Cache LRU à budget mémoire.
+ */
+public class CacheFonctionsTransfert {
+
+    /** Budget mémoire par défaut du cache : 64 Mo. */
+    public static final long BUDGET_PAR_DEFAUT = 64L * 1024 * 1024;
+
+    private static long budget = BUDGET_PAR_DEFAUT;
+    private static long octetsUtilises = 0;
+    private static long succes = 0;
+    private static long echecs = 0;
+
+    // LinkedHashMap en ordre d'accès : le premier élément est le moins récemment utilisé.
+    private static final LinkedHashMap<String, double[]> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Renvoie le masque associé à la clé (type, lignes, colonnes, D0, ordre),
+     * en le calculant via "calcul" s'il n'est pas en cache.
+     *
+     * @param type     Type de filtre (ex: "IDEAL_PB", "BUTTERWORTH_PH").
+     * @param lignes   Nombre de lignes du masque.
+     * @param colonnes Nombre de colonnes de l'image (le masque en couvre colonnes/2 + 1).
+     * @param D0       Fréquence de coupure.
+     * @param ordre    Ordre du filtre (0 si non applicable).
+     * @param calcul   Fonction de calcul du masque (double[lignes*(colonnes/2 + 1)]) en cas d'absence.
+     * @return Le masque (partagé, à ne pas modifier).
+     */
+    static double[] obtenir(String type, int lignes, int colonnes, double D0, int ordre, Supplier<double[]> calcul) {
+        String cle = type + "|" + lignes + "x" + colonnes + "|D0=" + D0 + "|n=" + ordre;
+        synchronized (cache) {
+            double[] masque = cache.get(cle);
+            if (masque != null) {
+                succes++;
+                return masque;
+            }
+            echecs++;
+        }
+
+        // Calcul hors verrou, puis insertion (si un autre thread l'a inséré entre-temps, on garde le sien)
+        double[] masque = calcul.get();
+        long taille = 8L * masque.length;
+        synchronized (cache) {
+            double[] existant = cache.get(cle);
+            if (existant != null) return existant;
+            if (taille <= budget) {
+                cache.put(cle, masque);
+                octetsUtilises += taille;
+                evincer();
+            }
+        }
+        return masque;
+    }
+
+    /** Évince les masques les moins récemment utilisés jusqu'à respecter le budget (verrou tenu). */
+    private static void evincer() {
+        Iterator<Map.Entry<String, double[]>> it = cache.entrySet().iterator();
+        while (octetsUtilises > budget && it.hasNext()) {
+            octetsUtilises -= 8L * it.next().getValue().length;
+            it.remove();
+        }
+    }
+
+    /**
+     * Fixe le budget mémoire du cache et évince immédiatement si nécessaire.
+     * @param octets Budget en octets (>= 0, 0 désactive la conservation des masques).
+     */
+    public static void setBudget(long octets) {
+        if (octets < 0) {
+            throw new IllegalArgumentException("CacheFonctionsTransfert: Le budget doit être >= 0 (reçu " + octets + ").");
+        }
+        synchronized (cache) {
+            budget = octets;
+            evincer();
+        }
+    }
+
+    public static long getBudget() {
+        synchronized (cache) {
+            return budget;
+        }
+    }
+
+    /** @return La mémoire occupée par les masques en cache (en octets). */
+    public static long getOctetsUtilises() {
+        synchronized (cache) {
+            return octetsUtilises;
+        }
+    }
+
+    /** @return Le nombre de masques actuellement en cache. */
+    public static int getTaille() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /** @return Le nombre de demandes servies depuis le cache. */
+    public static long getSucces() {
+        synchronized (cache) {
+            return succes;
+        }
+    }
+
+    /** @return Le nombre de demandes ayant nécessité le calcul du masque. */
+    public static long getEchecs() {
+        synchronized (cache) {
+            return echecs;
+        }
+    }
+
+    /** Vide le cache (les compteurs de succès / échecs sont conservés). */
+    public static void vide() {
+        synchronized (cache) {
+            cache.clear();
+            octetsUtilises = 0;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package ImageProcessing.Lineaire;
+
+import ImageProcessing.Core.BorderMode;
+import ImageProcessing.Core.Image16;
+import ImageProcessing.Core.Image8;
+import ImageProcessing.Core.ImageF32;
+import ImageProcessing.Core.PaddingUtils;
+import ImageProcessing.Core.PoolParallele;
+import ImageProcessing.Core.Progression;
+import ImageProcessing.Core.SuiviProgression;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moteur de convolution directe par tuiles, multi-thread.
+ *
+ * L'image est découpée en tuiles de taille fixe (par défaut 64 x 256 pixels, de sorte que la
+ * tuile, son halo et le masque tiennent dans le cache L2). Pour chaque tuile, le voisinage
+ * nécessaire (tuile + halo de (K-1)/2 pixels) est recopié dans un petit tampon local, les pixels
+ * hors image étant lus à la volée via PaddingUtils.remapIndex : aucune copie paddée de l'image
+ * entière n'est construite. Les tuiles sont indépendantes et réparties sur un ForkJoinPool (cf. PoolParallele).
+ *
+ * Chaque pixel est calculé avec le même ordre de sommation que la convolution directe
+ * historique : le résultat est identique au bit près, quel que soit le découpage ou le
+ * nombre de threads.
+ *
+ * Le moteur lit et écrit les pixels ligne de tuile par ligne de tuile, au travers d'une Source et
+ * d'une Destination : les matrices int[][] et les images à plat (Image8, Image16, ImageF32) partagent ainsi
+ * le même code de calcul.
+ *
+ * @technique Convolution discrète 2D, Découpage en tuiles avec halo, Parallélisme Fork/Join.
+ */
+public class ConvolutionTuiles {
+
+    /** Hauteur par défaut d'une tuile (en pixels). */
+    public static final int HAUTEUR_TUILE_PAR_DEFAUT = 64;
+    /** Largeur par défaut d'une tuile (en pixels). */
+    public static final int LARGEUR_TUILE_PAR_DEFAUT = 256;
+
+    private static int hauteurTuile = HAUTEUR_TUILE_PAR_DEFAUT;
+    private static int largeurTuile = LARGEUR_TUILE_PAR_DEFAUT;
+    private static final PoolParallele POOL = new PoolParallele("ConvolutionTuiles");
+
+    /**
+     * Convolue l'image par le masque (même sémantique que FiltrageLineaireLocal.filtreMasqueConvolution :
+     * corrélation, arrondi puis clamping 0..255).
+     *
+     * @param image L'image (int[hauteur][largeur], convention [y][x]), supposée valide.
+     * @param masque Le masque carré de taille impaire, supposé valide.
+     * @param mode La stratégie de bord.
+     * @return L'image filtrée (int[hauteur][largeur]).
+     */
+    static int[][] convolue(int[][] image, double[][] masque, BorderMode mode) {
+        int hauteur = image.length;
+        int largeur = image[0].length;
+        int[][] resultat = new int[hauteur][largeur];
+        Source source = (sy, indicesX, x0, tampon, base, n) -> {
+            int[] src = image[sy];
+            for (int tx = 0; tx < n; tx++) {
+                int sx = indicesX[x0 + tx];
+                tampon[base + tx] = (sx < 0) ? 0.0 : src[sx];
+            }
+        };
+        Destination destination = (y, x0, sommes, n) -> {
+            int[] ligneResultat = resultat[y];
+            for (int i = 0; i < n; i++) {
+                int valeurArrondie = (int) Math.round(sommes[i]);
+                ligneResultat[x0 + i] = Math.max(0, Math.min(255, valeurArrondie));
+            }
+        };
+        convolue(source, destination, hauteur, largeur, masque, mode);
+        return resultat;
+    }
+
+    /**
+     * Convolue une image 8 bits à plat (même sémantique que convolue(int[][], ...) : arrondi puis
+     * clamping 0..255). Les vues roi sont acceptées : les bords sont ceux de la vue.
+     */
+    static Image8 convolue(Image8 image, double[][] masque, BorderMode mode) {
+        int hauteur = image.getHauteur();
+        int largeur = image.getLargeur();
+        byte[] donnees = image.getDonnees();
+        Image8 resultat = new Image8(hauteur, largeur);
+        byte[] sortie = resultat.getDonnees();
+        Source source = (sy, indicesX, x0, tampon, base, n) -> {
+            int ligne = image.index(sy, 0);
+            for (int tx = 0; tx < n; tx++) {
+                int sx = indicesX[x0 + tx];
+                tampon[base + tx] = (sx < 0) ? 0.0 : (donnees[ligne + sx] & 0xFF);
+            }
+        };
+        Destination destination = (y, x0, sommes, n) -> {
+            int ligne = y * largeur + x0;
+            for (int i = 0; i < n; i++) {
+                int valeurArrondie = (int) Math.round(sommes[i]);
+                sortie[ligne + i] = (byte) Math.max(0, Math.min(255, valeurArrondie));
+            }
+        };
+        convolue(source, destination, hauteur, largeur, masque, mode);
+        return resultat;
+    }
+
+    /**
+     * Convolue une image 16 bits à plat (arrondi puis clamping 0..65535). Les vues roi sont acceptées.
+     */
+    static Image16 convolue(Image16 image, double[][] masque, BorderMode mode) {
+        int hauteur = image.getHauteur();
+        int largeur = image.getLargeur();
+        short[] donnees = image.getDonnees();
+        Image16 resultat = new Image16(hauteur, largeur);
+        short[] sortie = resultat.getDonnees();
+        Source source = (sy, indicesX, x0, tampon, base, n) -> {
+            int ligne = image.index(sy, 0);
+            for (int tx = 0; tx < n; tx++) {
+                int sx = indicesX[x0 + tx];
+                tampon[base + tx] = (sx < 0) ? 0.0 : (donnees[ligne + sx] & 0xFFFF);
+            }
+        };
+        Destination destination = (y, x0, sommes, n) -> {
+            int ligne = y * largeur + x0;
+            for (int i = 0; i < n; i++) {
+                long valeurArrondie = Math.round(sommes[i]);
+                sortie[ligne + i] = (short) Math.max(0, Math.min(65535, valeurArrondie));
+            }
+        };
+        convolue(source, destination, hauteur, largeur, masque, mode);
+        return resultat;
+    }
+
+    /**
+     * Convolue une image flottante à plat, sans arrondi ni clamping (résultat brut de la somme
+     * pondérée, utile pour les gradients et les masques à coefficients négatifs).
+     */
+    static ImageF32 convolue(ImageF32 image, double[][] masque, BorderMode mode) {
+        int hauteur = image.getHauteur();
+        int largeur = image.getLargeur();
+        float[] donnees = image.getDonnees();
+        ImageF32 resultat = new ImageF32(hauteur, largeur);
+        float[] sortie = resultat.getDonnees();
+        Source source = (sy, indicesX, x0, tampon, base, n) -> {
+            int ligne = image.index(sy, 0);
+            for (int tx = 0; tx < n; tx++) {
+                int sx = indicesX[x0 + tx];
+                tampon[base + tx] = (sx < 0) ? 0.0 : donnees[ligne + sx];
+            }
+        };
+        Destination destination = (y, x0, sommes, n) -> {
+            int ligne = y * largeur + x0;
+            for (int i = 0; i < n; i++) sortie[ligne + i] = (float) sommes[i];
+        };
+        convolue(source, destination, hauteur, largeur, masque, mode);
+        return resultat;
+    }
+
+    /** Cœur commun : découpage en tuiles, tables d'indices de bord et répartition sur le pool. */
+    private static void convolue(Source source, Destination destination, int hauteur, int largeur,
+                                 double[][] masque, BorderMode mode) {
+        int tailleMasque = masque.length;
+        int padSize = (tailleMasque - 1) / 2;
+
+        // Masque à plat et tables d'indices de bord (calculées une fois pour toute l'image)
+        double[] noyau = new double[tailleMasque * tailleMasque];
+        for (int i = 0; i < tailleMasque; i++) {
+            System.arraycopy(masque[i], 0, noyau, i * tailleMasque, tailleMasque);
+        }
+        int[] indicesY = new int[hauteur + 2 * padSize];
+        for (int y = 0; y < indicesY.length; y++) indicesY[y] = PaddingUtils.remapIndex(y - padSize, hauteur, mode);
+        int[] indicesX = new int[largeur + 2 * padSize];
+        for (int x = 0; x < indicesX.length; x++) indicesX[x] = PaddingUtils.remapIndex(x - padSize, largeur, mode);
+
+        int th, tw;
+        synchronized (ConvolutionTuiles.class) {
+            th = hauteurTuile;
+            tw = largeurTuile;
+        }
+        int tuilesY = (hauteur + th - 1) / th;
+        int tuilesX = (largeur + tw - 1) / tw;
+        int nombreTuiles = tuilesY * tuilesX;
+
+        final int hT = th, wT = tw;
+        // Chaque tuile est un point de contrôle ; la progression du thread appelant est capturée ici,
+        // les threads du pool n'en ayant pas
+        Progression suivi = SuiviProgression.courante();
+        AtomicInteger tuilesFaites = new AtomicInteger();
+        PoolParallele.Lot lot = (debut, fin) -> {
+            // Tampons par lot, réutilisés pour toutes ses tuiles
+            double[] tampon = new double[(hT + 2 * padSize) * (wT + 2 * padSize)];
+            double[] sommes = new double[wT];
+            for (int t = debut; t < fin; t++) {
+                SuiviProgression.verifieAnnulation(suivi);
+                int y0 = (t / tuilesX) * hT;
+                int x0 = (t % tuilesX) * wT;
+                traiteTuile(source, destination, noyau, tailleMasque, indicesY, indicesX,
+                        y0, Math.min(hauteur, y0 + hT), x0, Math.min(largeur, x0 + wT), tampon, sommes);
+                if (suivi != Progression.AUCUNE) suivi.avance((double) tuilesFaites.incrementAndGet() / nombreTuiles);
+            }
+        };
+
+        POOL.executeLots(lot, nombreTuiles);
+    }
+
+    /** Convolue la tuile [y0, y1[ x [x0, x1[ : copie tuile + halo dans le tampon, puis somme pondérée. */
+    private static void traiteTuile(Source source, Destination destination, double[] noyau, int tailleMasque,
+                                    int[] indicesY, int[] indicesX, int y0, int y1, int x0, int x1,
+                                    double[] tampon, double[] sommes) {
+        int largeurTampon = (x1 - x0) + tailleMasque - 1;
+        int hauteurTampon = (y1 - y0) + tailleMasque - 1;
+
+        // 1. Tuile + halo (indices décalés de padSize dans indicesY / indicesX)
+        for (int ty = 0; ty < hauteurTampon; ty++) {
+            int sy = indicesY[y0 + ty];
+            int base = ty * largeurTampon;
+            if (sy < 0) {
+                Arrays.fill(tampon, base, base + largeurTampon, 0.0);
+                continue;
+            }
+            source.litLigne(sy, indicesX, x0, tampon, base, largeurTampon);
+        }
+
+        // 2. Somme pondérée (même ordre de sommation que la convolution directe)
+        for (int y = y0; y < y1; y++) {
+            int baseY = (y - y0) * largeurTampon;
+            for (int x = x0; x < x1; x++) {
+                double sommePonderee = 0.0;
+                int k = 0;
+                for (int i = 0; i < tailleMasque; i++) {
+                    int p = baseY + i * largeurTampon + (x - x0);
+                    for (int j = 0; j < tailleMasque; j++) {
+                        sommePonderee += tampon[p + j] * noyau[k++];
+                    }
+                }
+                sommes[x - x0] = sommePonderee;
+            }
+            destination.ecritLigne(y, x0, sommes, x1 - x0);
+        }
+    }
+
+    /**
+     * Fixe la taille des tuiles.
+     * @param hauteur Hauteur d'une tuile (>= 1).
+     * @param largeur Largeur d'une tuile (>= 1).
+     */
+    public static synchronized void setTailleTuiles(int hauteur, int largeur) {
+        if (hauteur < 1 || largeur < 1) {
+            throw new IllegalArgumentException("ConvolutionTuiles: Taille de tuile invalide (" + hauteur + "x" + largeur + ").");
+        }
+        hauteurTuile = hauteur;
+        largeurTuile = largeur;
+    }
+
+    public static synchronized int getHauteurTuile() {
+        return hauteurTuile;
+    }
+
+    public static synchronized int getLargeurTuile() {
+        return largeurTuile;
+    }
+
+    /**
+     * Fixe le nombre de threads utilisés pour traiter les tuiles.
+     * @param niveau Nombre de threads (>= 1). 1 = exécution séquentielle dans le thread appelant.
+     */
+    public static void setParallelisme(int niveau) {
+        POOL.setParallelisme(niveau);
+    }
+
+    public static int getParallelisme() {
+        return POOL.getParallelisme();
+    }
+
+    /** Lecture d'une ligne de tuile + halo : tampon[base + tx] = pixel (sy, indicesX[x0 + tx]), 0 si l'indice est < 0. */
+    @FunctionalInterface
+    private interface Source {
+        void litLigne(int sy, int[] indicesX, int x0, double[] tampon, int base, int n);
+    }
+
+    /** Écriture des sommes pondérées sommes[0 .. n-1] aux pixels (y, x0 .. x0 + n - 1). */
+    @FunctionalInterface
+    private interface Destination {
+        void ecritLigne(int y, int x0, double[] sommes, int n);
+    }
+}
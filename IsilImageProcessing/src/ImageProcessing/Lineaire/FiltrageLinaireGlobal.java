@@ -1,8 +1,11 @@
 package ImageProcessing.Lineaire;
 
-import ImageProcessing.Complexe.Complexe;
 import ImageProcessing.Complexe.MatriceComplexe;
+import ImageProcessing.Core.Progression;
+import ImageProcessing.Core.SuiviProgression;
 import ImageProcessing.Fourier.Fourier; // Utiliser la classe Fourier fournie
+import ImageProcessing.Metriques.Metriques;
+import java.util.logging.Logger;
 
 /**
  * Contient des méthodes statiques pour le filtrage linéaire global (fréquentiel) d'images.
@@ -10,6 +13,8 @@ import ImageProcessing.Fourier.Fourier; // Utiliser la classe Fourier fournie
  */
 public class FiltrageLinaireGlobal {
 
+    private static final Logger LOG = Logger.getLogger(FiltrageLinaireGlobal.class.getName());
+
     // Facteur de normalisation potentiel pour l'IFFT (à ajuster si besoin après tests)
     // Si la FFT divise par N*M et l'IFFT ne multiplie pas, on doit multiplier ici.
     private static final boolean APPLY_IFFT_NORMALIZATION = true;
@@ -27,7 +32,8 @@ public class FiltrageLinaireGlobal {
      */
     public static int[][] filtrePasseBasIdeal(int[][] image, int frequenceCoupure) {
         return appliquerFiltreFrequentiel(image, (rows, cols, D0) ->
-                        creerFiltreIdeal(rows, cols, D0, true), // true pour Passe-Bas
+                        CacheFonctionsTransfert.obtenir("IDEAL_PB", rows, cols, D0, 0,
+                                () -> creerFiltreIdeal(rows, cols, D0, true)), // true pour Passe-Bas
                 frequenceCoupure
         );
     }
@@ -45,7 +51,8 @@ public class FiltrageLinaireGlobal {
      */
     public static int[][] filtrePasseHautIdeal(int[][] image, int frequenceCoupure) {
         return appliquerFiltreFrequentiel(image, (rows, cols, D0) ->
-                        creerFiltreIdeal(rows, cols, D0, false), // false pour Passe-Haut
+                        CacheFonctionsTransfert.obtenir("IDEAL_PH", rows, cols, D0, 0,
+                                () -> creerFiltreIdeal(rows, cols, D0, false)), // false pour Passe-Haut
                 frequenceCoupure
         );
     }
@@ -63,7 +70,8 @@ public class FiltrageLinaireGlobal {
      */
     public static int[][] filtrePasseBasButterworth(int[][] image, int frequenceCoupure, int ordre) {
         return appliquerFiltreFrequentiel(image, (rows, cols, D0) ->
-                        creerFiltreButterworth(rows, cols, D0, ordre, true), // true pour Passe-Bas
+                        CacheFonctionsTransfert.obtenir("BUTTERWORTH_PB", rows, cols, D0, ordre,
+                                () -> creerFiltreButterworth(rows, cols, D0, ordre, true)), // true pour Passe-Bas
                 frequenceCoupure
         );
     }
@@ -81,7 +89,8 @@ public class FiltrageLinaireGlobal {
      */
     public static int[][] filtrePasseHautButterworth(int[][] image, int frequenceCoupure, int ordre) {
         return appliquerFiltreFrequentiel(image, (rows, cols, D0) ->
-                        creerFiltreButterworth(rows, cols, D0, ordre, false), // false pour Passe-Haut
+                        CacheFonctionsTransfert.obtenir("BUTTERWORTH_PH", rows, cols, D0, ordre,
+                                () -> creerFiltreButterworth(rows, cols, D0, ordre, false)), // false pour Passe-Haut
                 frequenceCoupure
         );
     }
@@ -90,13 +99,19 @@ public class FiltrageLinaireGlobal {
     // --- Méthode Générique pour Appliquer un Filtre Fréquentiel ---
 
     // Interface fonctionnelle pour représenter la logique de création de filtre
+    // (masque réel à plat sur le demi-spectre NON centré : double[rows*(cols/2+1)], indice u*(cols/2+1) + v)
     @FunctionalInterface
     private interface FiltreFactory {
-        MatriceComplexe create(int rows, int cols, double frequenceCoupure);
+        double[] create(int rows, int cols, double frequenceCoupure);
     }
 
     /**
      * Méthode centrale qui applique la chaîne de traitement du filtrage fréquentiel.
+     * Chaîne fusionnée : FFT réelle (demi-spectre) lue directement depuis l'image int[][],
+     * multiplication en place par le masque exprimé dans le repère non centré (ce qui évite
+     * les deux Fourier.decroise), IFFT réelle en place, puis normalisation min/max à l'extraction.
+     * La mémoire de pointe se limite au demi-spectre et à l'image réelle reconstruite
+     * (environ deux tampons M*N de double), en plus des images int[][] d'entrée et de sortie.
      *
      * @param image L'image d'entrée int[y][x].
      * @param factory L'objet capable de créer le masque de filtrage H(u,v).
@@ -105,86 +120,69 @@ public class FiltrageLinaireGlobal {
      */
     private static int[][] appliquerFiltreFrequentiel(int[][] image, FiltreFactory factory, double frequenceCoupure) {
         if (image == null || image.length == 0 || image[0].length == 0) {
-            System.err.println("Erreur [appliquerFiltreFrequentiel]: Image d'entrée invalide.");
+            LOG.warning("Erreur [appliquerFiltreFrequentiel]: Image d'entrée invalide.");
             return null;
         }
         if (frequenceCoupure <= 0) {
-            System.err.println("Erreur [appliquerFiltreFrequentiel]: Fréquence de coupure doit être positive.");
+            LOG.warning("Erreur [appliquerFiltreFrequentiel]: Fréquence de coupure doit être positive.");
             return null;
         }
 
+        return Metriques.mesure("FiltrageLinaireGlobal.filtrageFrequentiel", Metriques.pixels(image),
+                () -> filtreFrequentiel(image, factory, frequenceCoupure));
+    }
+
+    private static int[][] filtreFrequentiel(int[][] image, FiltreFactory factory, double frequenceCoupure) {
         int hauteur = image.length;
         int largeur = image[0].length;
 
-        // 1. Convertir l'image int[][] en double[][] pour Fourier.Fourier2D
-        double[][] imageDouble = new double[hauteur][largeur];
-        for (int y = 0; y < hauteur; y++) {
-            for (int x = 0; x < largeur; x++) {
-                imageDouble[y][x] = (double) image[y][x];
-            }
-        }
-
-        // 2. Calculer la FFT
-        System.out.println("Calcul FFT..."); // Log
-        MatriceComplexe spectre = Fourier.Fourier2D(imageDouble);
+        // 1. Calculer la FFT réelle (demi-spectre non centré, hauteur x (largeur/2+1))
+        LOG.fine("Calcul FFT...");
+        // Progression : FFT 0 -> 0.45, filtre 0.45 -> 0.5, IFFT 0.5 -> 0.95, normalisation 0.95 -> 1
+        Progression suivi = SuiviProgression.courante();
+        MatriceComplexe spectre = SuiviProgression.etape(0.0, 0.45, () -> Fourier.Fourier2DReel(image));
         if (spectre == null) {
-            System.err.println("Erreur [appliquerFiltreFrequentiel]: Échec du calcul FFT.");
+            LOG.warning("Erreur [appliquerFiltreFrequentiel]: Échec du calcul FFT.");
             return null;
         }
 
-        // 3. Centrer le spectre
-        System.out.println("Centrage Spectre..."); // Log
-        MatriceComplexe spectreCentre = Fourier.decroise(spectre);
-
-        // 4. Créer le filtre H(u,v)
-        System.out.println("Création Filtre H(u,v)..."); // Log
-        MatriceComplexe filtreH = factory.create(hauteur, largeur, frequenceCoupure);
+        // 2. Obtenir le filtre H(u,v) (non centré, demi-plan, depuis le cache si possible)
+        LOG.fine("Création Filtre H(u,v)...");
+        double[] filtreH = SuiviProgression.etape(0.45, 0.5, () -> factory.create(hauteur, largeur, frequenceCoupure));
         if (filtreH == null) {
-            System.err.println("Erreur [appliquerFiltreFrequentiel]: Échec de la création du filtre.");
+            LOG.warning("Erreur [appliquerFiltreFrequentiel]: Échec de la création du filtre.");
             return null;
         }
 
-        // 5. Appliquer le filtre (multiplication point par point)
-        System.out.println("Application Filtre..."); // Log
-        MatriceComplexe spectreFiltreCentre = new MatriceComplexe(hauteur, largeur);
-        for (int u = 0; u < hauteur; u++) { // u correspond aux lignes (fréquences verticales)
-            for (int v = 0; v < largeur; v++) { // v correspond aux colonnes (fréquences horizontales)
-                Complexe valSpectre = spectreCentre.get(u, v);
-                Complexe valFiltre = filtreH.get(u, v);
-
-                // Copier valSpectre pour ne pas modifier l'original si multiplie modifie en place
-                Complexe resMult = new Complexe(valSpectre.getPartieReelle(), valSpectre.getPartieImaginaire());
-                resMult.multiplie(valFiltre); // Sf(u,v) = S(u,v) * H(u,v)
-
-                spectreFiltreCentre.set(u, v, resMult);
-            }
+        // 3. Appliquer le filtre en place (multiplication point par point par le masque réel)
+        LOG.fine("Application Filtre...");
+        double[] sRe = spectre.getDonneesReelles();
+        double[] sIm = spectre.getDonneesImaginaires();
+        for (int k = 0; k < filtreH.length; k++) { // k = u*(largeur/2+1) + v
+            // Sf(u,v) = S(u,v) * H(u,v), H étant réel
+            sRe[k] *= filtreH[k];
+            sIm[k] *= filtreH[k];
         }
 
-        // 6. Dé-centrer le spectre filtré
-        System.out.println("Dé-centrage Spectre..."); // Log
-        MatriceComplexe spectreFiltre = Fourier.decroise(spectreFiltreCentre);
-
-        // 7. Calculer l'IFFT
-        System.out.println("Calcul IFFT..."); // Log
-        MatriceComplexe imageComplexeFiltree = Fourier.InverseFourier2D(spectreFiltre);
-        if (imageComplexeFiltree == null) {
-            System.err.println("Erreur [appliquerFiltreFrequentiel]: Échec du calcul IFFT.");
+        // 4. Calculer l'IFFT réelle (le demi-spectre sert de tampon de travail)
+        LOG.fine("Calcul IFFT...");
+        double[] partieReelle = SuiviProgression.etape(0.5, 0.95,
+                () -> Fourier.InverseFourier2DReelEnPlace(spectre, largeur)); // Indice y*largeur + x
+        if (partieReelle == null) {
+            LOG.warning("Erreur [appliquerFiltreFrequentiel]: Échec du calcul IFFT.");
             return null;
         }
 
-// ... (après le calcul de imageComplexeFiltree = Fourier.InverseFourier2D(...))
-
-// 8. Extraire partie réelle, trouver min/max, normaliser et convertir en int[0..255]
-        System.out.println("Extraction, Recherche Min/Max et Normalisation Adaptative..."); // Log
-        double[][] partieReelle = imageComplexeFiltree.getPartieReelle();
+// 5. Trouver min/max de la partie réelle, normaliser et convertir en int[0..255]
+        LOG.fine("Extraction, Recherche Min/Max et Normalisation Adaptative...");
         int[][] imageResultat = new int[hauteur][largeur];
 
-// --- Étape 8a: Trouver le Min et le Max de la partie réelle ---
+// --- Étape 5a: Trouver le Min et le Max de la partie réelle ---
         double minVal = Double.POSITIVE_INFINITY;
         double maxVal = Double.NEGATIVE_INFINITY;
         for (int y = 0; y < hauteur; y++) {
             for (int x = 0; x < largeur; x++) {
-                double val = partieReelle[y][x];
+                double val = partieReelle[y * largeur + x];
                 if (val < minVal) {
                     minVal = val;
                 }
@@ -193,19 +191,21 @@ public class FiltrageLinaireGlobal {
                 }
             }
         }
-        System.out.println("Min/Max après IFFT: [" + minVal + ", " + maxVal + "]"); // Log
+        final double min = minVal, max = maxVal; // Copies pour le message construit à la demande
+        LOG.fine(() -> "Min/Max après IFFT: [" + min + ", " + max + "]");
 
-// --- Étape 8b: Appliquer la mise à l'échelle linéaire ---
+// --- Étape 5b: Appliquer la mise à l'échelle linéaire ---
         double range = maxVal - minVal;
 // Gérer le cas où l'image est complètement uniforme (pour éviter division par zéro)
         if (range < 1e-6) {
             range = 1.0; // ou choisir une valeur par défaut, par exemple la moyenne
-            System.out.println("Attention: Plage dynamique très faible après IFFT.");
+            LOG.warning("Attention: Plage dynamique très faible après IFFT.");
         }
 
         for (int y = 0; y < hauteur; y++) {
+            SuiviProgression.point(suivi, 19L * hauteur + y, 20L * hauteur); // 0.95 .. 1
             for (int x = 0; x < largeur; x++) {
-                double valReelle = partieReelle[y][x];
+                double valReelle = partieReelle[y * largeur + x];
 
                 // Mise à l'échelle: (val - min) / (max - min) pour ramener dans [0, 1]
                 // Puis multiplier par 255 pour ramener dans [0, 255]
@@ -218,65 +218,83 @@ public class FiltrageLinaireGlobal {
             }
         }
 
-        System.out.println("Filtrage fréquentiel terminé."); // Log
+        LOG.fine("Filtrage fréquentiel terminé.");
         return imageResultat;
     }
 
 
     // --- Fonctions de Création des Filtres H(u,v) ---
+    // Masques réels à plat sur le demi-spectre NON centré (double[rows*(cols/2+1)], indice u*(cols/2+1) + v).
+    // La fréquence associée à l'indice u est u si u <= rows/2, u - rows sinon (idem pour v, mais seules
+    // les colonnes v = 0..cols/2 sont stockées) : c'est la distance au centre du spectre centré,
+    // sans avoir à centrer. Les distances sont manipulées au carré (D² = du² + dv²) :
+    // pas de Math.sqrt ni de Math.pow par cellule.
 
     /** Crée un filtre idéal (passe-bas ou passe-haut). */
-    private static MatriceComplexe creerFiltreIdeal(int rows, int cols, double D0, boolean isLowPass) {
-        MatriceComplexe filtre = new MatriceComplexe(rows, cols);
-        int centreY = rows / 2;
-        int centreX = cols / 2;
+    private static double[] creerFiltreIdeal(int rows, int cols, double D0, boolean isLowPass) {
+        int demiCols = cols / 2 + 1;
+        double[] filtre = new double[rows * demiCols];
+        double D0Carre = D0 * D0;
 
         for (int u = 0; u < rows; u++) {
-            for (int v = 0; v < cols; v++) {
-                // Calculer la distance euclidienne par rapport au centre du spectre
-                double distance = Math.sqrt(Math.pow(u - centreY, 2) + Math.pow(v - centreX, 2));
+            int du = (u <= rows / 2) ? u : u - rows;
+            for (int v = 0; v < demiCols; v++) {
+                // Distance euclidienne au carré par rapport à la fréquence nulle (entière, donc exacte)
+                double distanceCarre = (double) (du * du + v * v);
 
-                // Appliquer la condition du filtre idéal
+                // Appliquer la condition du filtre idéal (D <= D0  <=>  D² <= D0²)
                 boolean inPassBand;
                 if (isLowPass) {
-                    inPassBand = distance <= D0; // Passe si dans le cercle
+                    inPassBand = distanceCarre <= D0Carre; // Passe si dans le cercle
                 } else {
-                    inPassBand = distance > D0; // Passe si hors du cercle
+                    inPassBand = distanceCarre > D0Carre; // Passe si hors du cercle
                 }
 
-                filtre.set(u, v, inPassBand ? 1.0 : 0.0, 0.0); // Filtre réel
+                filtre[u * demiCols + v] = inPassBand ? 1.0 : 0.0;
             }
         }
         return filtre;
     }
 
     /** Crée un filtre de Butterworth (passe-bas ou passe-haut). */
-    private static MatriceComplexe creerFiltreButterworth(int rows, int cols, double D0, int order, boolean isLowPass) {
-        MatriceComplexe filtre = new MatriceComplexe(rows, cols);
-        int centreY = rows / 2;
-        int centreX = cols / 2;
+    private static double[] creerFiltreButterworth(int rows, int cols, double D0, int order, boolean isLowPass) {
+        int demiCols = cols / 2 + 1;
+        double[] filtre = new double[rows * demiCols];
         if (D0 == 0) D0 = 1e-6; // Eviter division par zéro si D0=0
+        double D0Carre = D0 * D0;
 
         for (int u = 0; u < rows; u++) {
-            for (int v = 0; v < cols; v++) {
-                // Calculer la distance euclidienne par rapport au centre du spectre
-                double distance = Math.sqrt(Math.pow(u - centreY, 2) + Math.pow(v - centreX, 2));
+            int du = (u <= rows / 2) ? u : u - rows;
+            for (int v = 0; v < demiCols; v++) {
+                double distanceCarre = (double) (du * du + v * v);
 
                 // Calculer la valeur du filtre H(u,v) selon Butterworth
                 double h_uv;
                 if (isLowPass) {
-                    // H(u,v) = 1 / (1 + (D(u,v)/D0)^(2n))
-                    h_uv = 1.0 / (1.0 + Math.pow(distance / D0, 2.0 * order));
+                    // H(u,v) = 1 / (1 + (D(u,v)/D0)^(2n)) = 1 / (1 + (D²/D0²)^n)
+                    h_uv = 1.0 / (1.0 + puissanceEntiere(distanceCarre / D0Carre, order));
                 } else { // Passe-Haut
-                    // H(u,v) = 1 / (1 + (D0/D(u,v))^(2n))
-                    if (distance == 0) distance = 1e-6; // Eviter division par zéro au centre
-                    h_uv = 1.0 / (1.0 + Math.pow(D0 / distance, 2.0 * order));
+                    // H(u,v) = 1 / (1 + (D0/D(u,v))^(2n)) = 1 / (1 + (D0²/D²)^n)
+                    if (distanceCarre == 0) distanceCarre = 1e-12; // Eviter division par zéro au centre (D = 1e-6)
+                    h_uv = 1.0 / (1.0 + puissanceEntiere(D0Carre / distanceCarre, order));
                 }
 
-                filtre.set(u, v, h_uv, 0.0); // Filtre réel
+                filtre[u * demiCols + v] = h_uv; // Filtre réel
             }
         }
         return filtre;
     }
 
-}
\ No newline at end of file
+    /** Calcule x^n pour n entier >= 0 par exponentiation rapide (remplace Math.pow dans les boucles). */
+    private static double puissanceEntiere(double x, int n) {
+        if (n < 0) return 1.0 / puissanceEntiere(x, -n);
+        double resultat = 1.0;
+        while (n > 0) {
+            if ((n & 1) != 0) resultat *= x;
+            x *= x;
+            n >>= 1;
+        }
+        return resultat;
+    }
+
+}
@@ -2,7 +2,14 @@ package ImageProcessing.Lineaire;
 
 import ImageProcessing.Core.PaddingUtils;
 import ImageProcessing.Core.BorderMode;
-import java.util.Arrays; // Pour des messages d'erreur potentiels
+import ImageProcessing.Core.Image16;
+import ImageProcessing.Core.Image8;
+import ImageProcessing.Core.ImageF32;
+import ImageProcessing.Core.SuiviProgression;
+import ImageProcessing.Complexe.MatriceComplexe;
+import ImageProcessing.Fourier.Fourier;
+import ImageProcessing.Metriques.Metriques;
+import java.util.Arrays;
 
 /**
  * Contient des méthodes statiques pour le filtrage linéaire local (spatial) d'images.
@@ -25,72 +32,151 @@ public class FiltrageLineaireLocal {
      * @technique Convolution discrète 2D, Gestion des bords par Padding (REPLICATE).
      */
     public static int[][] filtreMasqueConvolution(int[][] image, double[][] masque) {
+        return filtreMasqueConvolution(image, masque, BorderMode.REPLICATE);
+    }
+
+    /**
+     * Réalise un filtrage local de l'image par un masque de convolution, avec un mode de bord donné.
+     * La méthode de calcul est choisie par PlanificateurConvolution selon un modèle de coût :
+     * - DIRECTE   : somme pondérée K² par pixel ;
+     * - SEPARABLE : deux passes 1D (2K par pixel), si le masque est de rang 1 ;
+     * - FFT       : produit des spectres (coût indépendant de K), pour les grands masques.
+     * Les trois méthodes donnent le même résultat, aux erreurs d'arrondi flottant près.
+     *
+     * @param image L'image d'entrée (matrice int[hauteur][largeur] avec convention [y][x]).
+     * @param masque Le masque (noyau) de convolution (matrice double[n][n] où n est impair).
+     * @param mode La stratégie de bord (ZERO, REPLICATE, MIRROR), même sémantique que PaddingUtils.padImage.
+     * @return Une nouvelle image (matrice int[hauteur][largeur]) résultat de la convolution.
+     *         Les valeurs sont clampées entre 0 et 255. Retourne null si les entrées sont invalides.
+     *
+     * @technique Convolution discrète 2D, Convolution Séparable (deux passes 1D),
+     *            Convolution par FFT (théorème de convolution), Planification par modèle de coût.
+     */
+    public static int[][] filtreMasqueConvolution(int[][] image, double[][] masque, BorderMode mode) {
         // --- Validation des entrées ---
         if (image == null || image.length == 0 || image[0].length == 0) {
             System.err.println("Erreur [filtreMasqueConvolution]: L'image d'entrée est invalide.");
             return null;
         }
-        if (masque == null || masque.length == 0 || masque[0].length == 0) {
-            System.err.println("Erreur [filtreMasqueConvolution]: Le masque d'entrée est invalide.");
-            return null;
-        }
-        if (masque.length != masque[0].length) {
-            System.err.println("Erreur [filtreMasqueConvolution]: Le masque doit être carré.");
-            return null;
-        }
-        if (masque.length % 2 == 0) {
-            System.err.println("Erreur [filtreMasqueConvolution]: La taille du masque doit être impaire.");
-            return null;
-        }
+        if (!masqueValide(masque)) return null;
+
+        return Metriques.mesure("FiltrageLineaireLocal.filtreMasqueConvolution", Metriques.pixels(image),
+                () -> filtreMatrice(image, masque, mode));
+    }
 
+    private static int[][] filtreMatrice(int[][] image, double[][] masque, BorderMode mode) {
+        // --- Choix de la méthode ---
+        // Le masque n'est factorisé que si la voie séparable peut être rentable.
         int hauteur = image.length;
         int largeur = image[0].length;
-        int tailleMasque = masque.length;
-        int padSize = (tailleMasque - 1) / 2; // Taille du padding nécessaire de chaque côté
+        double[][] facteurs = masque.length > 1 ? factoriseMasqueSeparable(masque) : null;
+        PlanificateurConvolution.Strategie strategie =
+                PlanificateurConvolution.choisit(hauteur, largeur, masque.length, facteurs != null);
+
+        // Chaque voie est mesurée séparément (imbriquée dans filtreMasqueConvolution)
+        long pixels = (long) hauteur * largeur;
+        switch (strategie) {
+            case SEPARABLE:
+                return Metriques.mesure("FiltrageLineaireLocal.convolutionSeparable", pixels,
+                        () -> convolutionSeparable(image, facteurs[0], facteurs[1], mode));
+            case FFT:
+                return Metriques.mesure("FiltrageLineaireLocal.convolutionFFT", pixels,
+                        () -> convolutionFFT(image, masque, mode));
+            case DIRECTE:
+            default:
+                return Metriques.mesure("ConvolutionTuiles.convolue", pixels,
+                        () -> convolutionDirecte(image, masque, mode));
+        }
+    }
 
-        // --- Préparation : Padding de l'image ---
-        // Utilisation du mode REPLICATE pour gérer les bords, minimise les artefacts.
-        int[][] imagePaddee = PaddingUtils.padImage(image, padSize, BorderMode.REPLICATE);
-        if (imagePaddee == null) {
-            System.err.println("Erreur [filtreMasqueConvolution]: Échec lors du padding de l'image.");
+    /**
+     * Filtrage local d'une image 8 bits à plat par un masque de convolution : même résultat que
+     * filtreMasqueConvolution(int[][], double[][], BorderMode) par la voie directe (arrondi puis
+     * clamping 0..255), les pixels étant lus et écrits directement dans les octets.
+     * Une vue roi est filtrée comme une image à part entière (ses bords sont ceux de la vue).
+     *
+     * @param image L'image d'entrée (Image8).
+     * @param masque Le masque (noyau) de convolution (matrice double[n][n] où n est impair).
+     * @param mode La stratégie de bord (ZERO, REPLICATE, MIRROR).
+     * @return Une nouvelle image 8 bits (contiguë), ou null si les entrées sont invalides.
+     *
+     * @technique Convolution discrète 2D, Découpage en tuiles avec halo.
+     */
+    public static Image8 filtreMasqueConvolution(Image8 image, double[][] masque, BorderMode mode) {
+        if (image == null) {
+            System.err.println("Erreur [filtreMasqueConvolution]: L'image d'entrée est invalide.");
             return null;
         }
+        if (!masqueValide(masque)) return null;
+        return Metriques.mesure("FiltrageLineaireLocal.filtreMasqueConvolution/Image8", Metriques.pixels(image),
+                () -> ConvolutionTuiles.convolue(image, masque, mode));
+    }
 
-        // Création de l'image résultat (mêmes dimensions que l'originale)
-        int[][] resultat = new int[hauteur][largeur];
+    /**
+     * Filtrage local d'une image 16 bits à plat par un masque de convolution : même calcul que
+     * filtreMasqueConvolution(Image8, double[][], BorderMode), arrondi puis clamping 0..65535.
+     *
+     * @param image L'image d'entrée (Image16).
+     * @param masque Le masque (noyau) de convolution (matrice double[n][n] où n est impair).
+     * @param mode La stratégie de bord (ZERO, REPLICATE, MIRROR).
+     * @return Une nouvelle image 16 bits (contiguë), ou null si les entrées sont invalides.
+     *
+     * @technique Convolution discrète 2D, Découpage en tuiles avec halo.
+     */
+    public static Image16 filtreMasqueConvolution(Image16 image, double[][] masque, BorderMode mode) {
+        if (image == null) {
+            System.err.println("Erreur [filtreMasqueConvolution]: L'image d'entrée est invalide.");
+            return null;
+        }
+        if (!masqueValide(masque)) return null;
+        return Metriques.mesure("FiltrageLineaireLocal.filtreMasqueConvolution/Image16", Metriques.pixels(image),
+                () -> ConvolutionTuiles.convolue(image, masque, mode));
+    }
 
-        // --- Application de la convolution ---
-        // Itérer sur chaque pixel (y, x) de l'image *originale*
-        for (int y = 0; y < hauteur; y++) {
-            for (int x = 0; x < largeur; x++) {
-                double sommePonderee = 0.0;
-
-                // Itérer sur le voisinage défini par le masque
-                // i, j sont les décalages par rapport au centre (-padSize à +padSize)
-                for (int i = -padSize; i <= padSize; i++) {
-                    for (int j = -padSize; j <= padSize; j++) {
-                        // Coordonnées du pixel voisin dans l'image *paddée*
-                        int voisinY = y + padSize + i;
-                        int voisinX = x + padSize + j;
-
-                        // Coordonnées correspondantes dans le *masque*
-                        int masqueY = i + padSize;
-                        int masqueX = j + padSize;
-
-                        // Accumuler la somme pondérée
-                        sommePonderee += imagePaddee[voisinY][voisinX] * masque[masqueY][masqueX];
-                    }
-                }
+    /**
+     * Filtrage local d'une image flottante à plat par un masque de convolution, sans arrondi ni
+     * clamping : le résultat garde le signe et la dynamique de la somme pondérée (gradients, Laplacien...).
+     *
+     * @param image L'image d'entrée (ImageF32).
+     * @param masque Le masque (noyau) de convolution (matrice double[n][n] où n est impair).
+     * @param mode La stratégie de bord (ZERO, REPLICATE, MIRROR).
+     * @return Une nouvelle image flottante (contiguë), ou null si les entrées sont invalides.
+     *
+     * @technique Convolution discrète 2D, Découpage en tuiles avec halo.
+     */
+    public static ImageF32 filtreMasqueConvolution(ImageF32 image, double[][] masque, BorderMode mode) {
+        if (image == null) {
+            System.err.println("Erreur [filtreMasqueConvolution]: L'image d'entrée est invalide.");
+            return null;
+        }
+        if (!masqueValide(masque)) return null;
+        return Metriques.mesure("FiltrageLineaireLocal.filtreMasqueConvolution/ImageF32", Metriques.pixels(image),
+                () -> ConvolutionTuiles.convolue(image, masque, mode));
+    }
 
-                // --- Conversion et Clamping du résultat ---
-                // Arrondir le résultat à l'entier le plus proche
-                int valeurArrondie = (int) Math.round(sommePonderee);
-                // Clamper (limiter) la valeur entre 0 et 255
-                resultat[y][x] = Math.max(0, Math.min(255, valeurArrondie));
-            }
+    /** Validation d'un masque de convolution (carré, de taille impaire), avec message d'erreur. */
+    private static boolean masqueValide(double[][] masque) {
+        if (masque == null || masque.length == 0 || masque[0].length == 0) {
+            System.err.println("Erreur [filtreMasqueConvolution]: Le masque d'entrée est invalide.");
+            return false;
+        }
+        if (masque.length != masque[0].length) {
+            System.err.println("Erreur [filtreMasqueConvolution]: Le masque doit être carré.");
+            return false;
+        }
+        if (masque.length % 2 == 0) {
+            System.err.println("Erreur [filtreMasqueConvolution]: La taille du masque doit être impaire.");
+            return false;
         }
+        return true;
+    }
 
-        return resultat;
+    /**
+     * Convolution directe (K² multiplications par pixel), par tuiles avec halo réparties sur
+     * plusieurs threads (cf. ConvolutionTuiles) : les bords sont lus à la volée, sans copie paddée.
+     */
+    static int[][] convolutionDirecte(int[][] image, double[][] masque, BorderMode mode) {
+        return ConvolutionTuiles.convolue(image, masque, mode);
     }
 
     /**
@@ -104,7 +190,7 @@ public class FiltrageLineaireLocal {
      * @return Une nouvelle image (matrice int[hauteur][largeur]) résultat du filtrage moyenneur.
      *         Retourne null si les entrées sont invalides.
      *
-     * @technique Filtre Moyenneur (Box Blur), implémenté via Convolution.
+     * @technique Filtre Moyenneur (Box Blur), implémenté par Sommes Glissantes (O(1) par pixel).
      */
     public static int[][] filtreMoyenneur(int[][] image, int tailleMasque) {
         // --- Validation des entrées ---
@@ -121,25 +207,214 @@ public class FiltrageLineaireLocal {
             return null;
         }
 
-        // --- Création du masque moyenneur ---
-        // Le masque est de taille [tailleMasque x tailleMasque]
-        // Chaque poids est égal à 1 / (nombre total de pixels dans le masque)
-        double poids = 1.0 / (tailleMasque * tailleMasque);
-        double[][] masqueMoyenneur = new double[tailleMasque][tailleMasque];
+        // --- Filtrage par sommes glissantes ---
+        // Le masque moyenneur est séparable et uniforme : on maintient des sommes glissantes
+        // (horizontales puis verticales), soit O(1) opérations par pixel quelle que soit la taille.
+        // Les sommes sont entières, donc exactes : le résultat est identique à la convolution
+        // par le masque 1/(taille²) (la moyenne exacte n'est jamais à mi-chemin entre deux entiers
+        // car taille² est impair).
+        return Metriques.mesure("FiltrageLineaireLocal.filtreMoyenneur", Metriques.pixels(image),
+                () -> moyenneSommesGlissantes(image, tailleMasque));
+    }
+
+    // --- Fonctions Utilitaires Privées (chemins rapides) ---
 
-        // Remplir le masque avec le poids calculé
+    /**
+     * Tente de factoriser un masque carré en produit extérieur K[i][j] = colonne[i] * ligne[j].
+     * Le pivot est le coefficient de plus grande valeur absolue ; la factorisation est acceptée si
+     * elle reconstruit chaque coefficient à 1e-9 * max|K| près.
+     *
+     * @param masque Le masque (double[n][n]).
+     * @return {colonne, ligne} si le masque est de rang 1, null sinon.
+     */
+    static double[][] factoriseMasqueSeparable(double[][] masque) {
+        int n = masque.length;
+        int pivotI = 0, pivotJ = 0;
+        double maxAbs = 0.0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (Math.abs(masque[i][j]) > maxAbs) {
+                    maxAbs = Math.abs(masque[i][j]);
+                    pivotI = i;
+                    pivotJ = j;
+                }
+            }
+        }
+        if (maxAbs == 0.0) return null; // Masque nul : laisser le chemin général
+
+        double pivot = masque[pivotI][pivotJ];
+        double[] colonne = new double[n];
+        double[] ligne = new double[n];
+        for (int i = 0; i < n; i++) colonne[i] = masque[i][pivotJ];
+        for (int j = 0; j < n; j++) ligne[j] = masque[pivotI][j] / pivot;
+
+        double tolerance = 1e-9 * maxAbs;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (Math.abs(masque[i][j] - colonne[i] * ligne[j]) > tolerance) return null;
+            }
+        }
+        return new double[][]{colonne, ligne};
+    }
+
+    /**
+     * Convolution par un masque séparable : passe horizontale (ligne) puis verticale (colonne).
+     * Les bords sont lus à la volée par PaddingUtils.remapIndex (pas d'image paddée) ;
+     * la sémantique est celle du padding 2D, puisque remapIndex agit indépendamment sur y et x.
+     */
+    static int[][] convolutionSeparable(int[][] image, double[] colonne, double[] ligne, BorderMode mode) {
+        int hauteur = image.length;
+        int largeur = image[0].length;
+        int n = ligne.length;
+        int padSize = (n - 1) / 2;
+
+        // 1. Passe horizontale : tmp[y][x] = sum_j ligne[j] * image[y][remap(x + j - pad)]
+        double[] tmp = new double[hauteur * largeur];
+        double[] lignePaddee = new double[largeur + 2 * padSize];
+        for (int y = 0; y < hauteur; y++) {
+            int[] src = image[y];
+            for (int x = 0; x < lignePaddee.length; x++) {
+                int sx = PaddingUtils.remapIndex(x - padSize, largeur, mode);
+                lignePaddee[x] = (sx < 0) ? 0.0 : src[sx];
+            }
+            int base = y * largeur;
+            for (int x = 0; x < largeur; x++) {
+                double somme = 0.0;
+                for (int j = 0; j < n; j++) {
+                    somme += lignePaddee[x + j] * ligne[j];
+                }
+                tmp[base + x] = somme;
+            }
+        }
+
+        // 2. Passe verticale, accumulée ligne par ligne (accès contigus)
+        int[][] resultat = new int[hauteur][largeur];
+        double[] somme = new double[largeur];
+        for (int y = 0; y < hauteur; y++) {
+            Arrays.fill(somme, 0.0);
+            for (int i = 0; i < n; i++) {
+                int sy = PaddingUtils.remapIndex(y + i - padSize, hauteur, mode);
+                if (sy < 0) continue; // Ligne hors image en mode ZERO
+                int base = sy * largeur;
+                double c = colonne[i];
+                for (int x = 0; x < largeur; x++) {
+                    somme[x] += tmp[base + x] * c;
+                }
+            }
+            for (int x = 0; x < largeur; x++) {
+                int valeurArrondie = (int) Math.round(somme[x]);
+                resultat[y][x] = Math.max(0, Math.min(255, valeurArrondie));
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Convolution par FFT : corrélation circulaire de l'image paddée (taille arrondie aux puissances
+     * de 2 supérieures) avec le masque, calculée comme produit des demi-spectres réels.
+     * Le padding de (K-1)/2 pixels de chaque côté garantit qu'aucun repliement circulaire
+     * n'atteint la zone de sortie : le résultat est celui de la convolution directe.
+     */
+    static int[][] convolutionFFT(int[][] image, double[][] masque, BorderMode mode) {
+        int hauteur = image.length;
+        int largeur = image[0].length;
+        int tailleMasque = masque.length;
+        int padSize = (tailleMasque - 1) / 2;
+        int M = PlanificateurConvolution.puissanceDeDeuxSuperieure(hauteur + 2 * padSize);
+        int N = PlanificateurConvolution.puissanceDeDeuxSuperieure(largeur + 2 * padSize);
+
+        // 1. Image paddée (lecture des bords à la volée), complétée par des zéros jusqu'à M x N
+        double[] f = new double[M * N];
+        for (int y = 0; y < hauteur + 2 * padSize; y++) {
+            int sy = PaddingUtils.remapIndex(y - padSize, hauteur, mode);
+            if (sy < 0) continue;
+            int[] src = image[sy];
+            int base = y * N;
+            for (int x = 0; x < largeur + 2 * padSize; x++) {
+                int sx = PaddingUtils.remapIndex(x - padSize, largeur, mode);
+                if (sx >= 0) f[base + x] = src[sx];
+            }
+        }
+
+        // 2. Masque retourné et enroulé : h[-i][-j] = K[i][j], pour que (f (*) h)[y][x] = sum K[i][j] f[y+i][x+j]
+        double[] h = new double[M * N];
         for (int i = 0; i < tailleMasque; i++) {
+            int u = (M - i) % M;
             for (int j = 0; j < tailleMasque; j++) {
-                masqueMoyenneur[i][j] = poids;
+                h[u * N + (N - j) % N] = masque[i][j];
+            }
+        }
+
+        // 3. Produit des spectres. Fourier2DReel normalise par 1/(M*N) : on compense une fois.
+        //    Progression : un tiers par transformée.
+        MatriceComplexe F = SuiviProgression.etape(0.0, 1.0 / 3, () -> Fourier.Fourier2DReel(f, M, N));
+        MatriceComplexe H = SuiviProgression.etape(1.0 / 3, 2.0 / 3, () -> Fourier.Fourier2DReel(h, M, N));
+        double[] fr = F.getDonneesReelles(), fi = F.getDonneesImaginaires();
+        double[] hr = H.getDonneesReelles(), hi = H.getDonneesImaginaires();
+        double echelle = (double) M * N;
+        for (int k = 0; k < fr.length; k++) {
+            double ar = fr[k], ai = fi[k];
+            fr[k] = (ar * hr[k] - ai * hi[k]) * echelle;
+            fi[k] = (ar * hi[k] + ai * hr[k]) * echelle;
+        }
+        double[] g = SuiviProgression.etape(2.0 / 3, 1.0, () -> Fourier.InverseFourier2DReelEnPlace(F, N));
+
+        // 4. Extraction de la zone utile, arrondi et clamping
+        int[][] resultat = new int[hauteur][largeur];
+        for (int y = 0; y < hauteur; y++) {
+            int base = y * N;
+            for (int x = 0; x < largeur; x++) {
+                int valeurArrondie = (int) Math.round(g[base + x]);
+                resultat[y][x] = Math.max(0, Math.min(255, valeurArrondie));
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Moyenne sur un voisinage carré par sommes glissantes entières (bords par réplication).
+     * Chaque pixel coûte un nombre constant d'additions, indépendamment de la taille du masque.
+     */
+    private static int[][] moyenneSommesGlissantes(int[][] image, int tailleMasque) {
+        int hauteur = image.length;
+        int largeur = image[0].length;
+        int padSize = (tailleMasque - 1) / 2;
+
+        // 1. Sommes horizontales glissantes : h[y][x] = sum_{j=-pad..pad} image[y][clamp(x+j)]
+        long[] h = new long[hauteur * largeur];
+        for (int y = 0; y < hauteur; y++) {
+            int[] src = image[y];
+            int base = y * largeur;
+            long s = 0;
+            for (int j = -padSize; j <= padSize; j++) {
+                s += src[Math.max(0, Math.min(largeur - 1, j))];
+            }
+            h[base] = s;
+            for (int x = 1; x < largeur; x++) {
+                s += src[Math.min(largeur - 1, x + padSize)] - src[Math.max(0, x - 1 - padSize)];
+                h[base + x] = s;
             }
         }
-        // Alternative plus rapide pour le remplissage :
-        // for (double[] row : masqueMoyenneur) {
-        //    Arrays.fill(row, poids);
-        // }
 
-        // --- Appel de la convolution générale ---
-        // On réutilise la fonction de convolution générique avec le masque spécifique créé.
-        return filtreMasqueConvolution(image, masqueMoyenneur);
+        // 2. Sommes verticales glissantes sur les sommes horizontales
+        int[][] resultat = new int[hauteur][largeur];
+        long[] v = new long[largeur];
+        for (int i = -padSize; i <= padSize; i++) {
+            int base = Math.max(0, Math.min(hauteur - 1, i)) * largeur;
+            for (int x = 0; x < largeur; x++) v[x] += h[base + x];
+        }
+        double aire = (double) tailleMasque * tailleMasque;
+        for (int y = 0; y < hauteur; y++) {
+            if (y > 0) {
+                int entree = Math.min(hauteur - 1, y + padSize) * largeur;
+                int sortie = Math.max(0, y - 1 - padSize) * largeur;
+                for (int x = 0; x < largeur; x++) v[x] += h[entree + x] - h[sortie + x];
+            }
+            for (int x = 0; x < largeur; x++) {
+                int valeurArrondie = (int) Math.round(v[x] / aire);
+                resultat[y][x] = Math.max(0, Math.min(255, valeurArrondie));
+            }
+        }
+        return resultat;
     }
-}
\ No newline at end of file
+}
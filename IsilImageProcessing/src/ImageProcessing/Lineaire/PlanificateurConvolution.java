@@ -0,0 +1,166 @@
+package ImageProcessing.Lineaire;
+
+import ImageProcessing.Core.BorderMode;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Choisit la méthode de calcul d'une convolution spatiale (utilisé par
+ * FiltrageLineaireLocal.filtreMasqueConvolution) à partir d'un modèle de coût :
+ *
+ * - DIRECTE   : coût ~ cDirecte   * H*W*K² / P                 (P : threads de ConvolutionTuiles)
+ * - SEPARABLE : coût ~ cSeparable * H*W*2K                     (masques de rang 1 uniquement)
+ * - FFT       : coût ~ cFFT       * M*N*log2(M*N)              (M, N : H+K-1 et W+K-1 arrondis aux puissances de 2)
+ *
+ * Les coefficients (en nanosecondes par opération élémentaire) ont des valeurs par défaut mesurées
+ * sur une machine de développement ; calibre() les remesure sur la machine courante.
+ * En pratique, la FFT l'emporte sur la convolution directe au-delà de masques d'environ 15x15.
+ *
+ * @technique Planification par modèle de coût, Convolution par FFT.
+ */
+public class PlanificateurConvolution {
+
+    /** Méthodes de calcul de la convolution. */
+    public enum Strategie {
+        /** Somme pondérée sur le voisinage K x K. */
+        DIRECTE,
+        /** Deux passes 1D (masque de rang 1). */
+        SEPARABLE,
+        /** Produit des spectres (théorème de convolution). */
+        FFT
+    }
+
+    // Coefficients du modèle de coût (ns par opération élémentaire)
+    private static volatile double coutDirecte = 1.6;
+    private static volatile double coutSeparable = 5.0;
+    private static volatile double coutFFT = 8.5;
+
+    // Stratégie imposée (null = choix automatique), utile pour les comparaisons et mesures
+    private static volatile Strategie strategieForcee = null;
+
+    /**
+     * Choisit la méthode la moins coûteuse pour convoluer une image hauteur x largeur
+     * par un masque tailleMasque x tailleMasque.
+     *
+     * @param hauteur Hauteur de l'image.
+     * @param largeur Largeur de l'image.
+     * @param tailleMasque Taille (impaire) du masque.
+     * @param separable true si le masque est de rang 1 (voie SEPARABLE possible).
+     * @return La stratégie retenue.
+     */
+    public static Strategie choisit(int hauteur, int largeur, int tailleMasque, boolean separable) {
+        Strategie forcee = strategieForcee;
+        if (forcee != null && (forcee != Strategie.SEPARABLE || separable)) {
+            return forcee;
+        }
+
+        Strategie meilleure = Strategie.DIRECTE;
+        double meilleurCout = estimeCout(Strategie.DIRECTE, hauteur, largeur, tailleMasque);
+        if (separable) {
+            double cout = estimeCout(Strategie.SEPARABLE, hauteur, largeur, tailleMasque);
+            if (cout < meilleurCout) {
+                meilleure = Strategie.SEPARABLE;
+                meilleurCout = cout;
+            }
+        }
+        if (estimeCout(Strategie.FFT, hauteur, largeur, tailleMasque) < meilleurCout) {
+            meilleure = Strategie.FFT;
+        }
+        return meilleure;
+    }
+
+    /**
+     * Estime le coût (en nanosecondes) d'une stratégie selon le modèle courant.
+     *
+     * @param strategie La stratégie.
+     * @param hauteur Hauteur de l'image.
+     * @param largeur Largeur de l'image.
+     * @param tailleMasque Taille du masque.
+     * @return Le coût estimé.
+     */
+    public static double estimeCout(Strategie strategie, int hauteur, int largeur, int tailleMasque) {
+        double pixels = (double) hauteur * largeur;
+        switch (strategie) {
+            case SEPARABLE:
+                return coutSeparable * pixels * 2.0 * tailleMasque;
+            case FFT:
+                double taille = (double) puissanceDeDeuxSuperieure(hauteur + tailleMasque - 1)
+                              * puissanceDeDeuxSuperieure(largeur + tailleMasque - 1);
+                return coutFFT * taille * (Math.log(taille) / Math.log(2.0));
+            case DIRECTE:
+            default:
+                // Les tuiles de la convolution directe sont réparties sur ConvolutionTuiles.getParallelisme() threads
+                return coutDirecte * pixels * tailleMasque * tailleMasque / ConvolutionTuiles.getParallelisme();
+        }
+    }
+
+    /**
+     * Recalibre les coefficients du modèle en chronométrant les trois méthodes
+     * sur une image de test 256x256 (quelques dixièmes de seconde).
+     */
+    public static synchronized void calibre() {
+        int taille = 256;
+        int[][] image = new int[taille][taille];
+        Random aleatoire = new Random(1);
+        for (int[] ligne : image) {
+            for (int x = 0; x < taille; x++) ligne[x] = aleatoire.nextInt(256);
+        }
+        int k = 15;
+        double[][] masque = new double[k][k];
+        for (double[] ligne : masque) Arrays.fill(ligne, 1.0 / (k * k));
+        double[] facteur = new double[k];
+        Arrays.fill(facteur, 1.0 / k);
+
+        double pixels = (double) taille * taille;
+        double tDirecte = chronometre(() -> FiltrageLineaireLocal.convolutionDirecte(image, masque, BorderMode.REPLICATE));
+        double tSeparable = chronometre(() -> FiltrageLineaireLocal.convolutionSeparable(image, facteur, facteur, BorderMode.REPLICATE));
+        double tFFT = chronometre(() -> FiltrageLineaireLocal.convolutionFFT(image, masque, BorderMode.REPLICATE));
+
+        double tailleFFT = (double) puissanceDeDeuxSuperieure(taille + k - 1) * puissanceDeDeuxSuperieure(taille + k - 1);
+        coutDirecte = tDirecte * ConvolutionTuiles.getParallelisme() / (pixels * k * k);
+        coutSeparable = tSeparable / (pixels * 2.0 * k);
+        coutFFT = tFFT / (tailleFFT * (Math.log(tailleFFT) / Math.log(2.0)));
+    }
+
+    /** Temps (ns) du meilleur de 3 essais, après un essai de préchauffage. */
+    private static double chronometre(Runnable calcul) {
+        calcul.run();
+        long meilleur = Long.MAX_VALUE;
+        for (int essai = 0; essai < 3; essai++) {
+            long debut = System.nanoTime();
+            calcul.run();
+            meilleur = Math.min(meilleur, System.nanoTime() - debut);
+        }
+        return meilleur;
+    }
+
+    /**
+     * Impose une stratégie à toutes les convolutions suivantes (null rétablit le choix automatique).
+     * Une stratégie SEPARABLE imposée n'est appliquée qu'aux masques de rang 1.
+     */
+    public static void setStrategieForcee(Strategie strategie) {
+        strategieForcee = strategie;
+    }
+
+    public static Strategie getStrategieForcee() {
+        return strategieForcee;
+    }
+
+    public static double getCoutDirecte() {
+        return coutDirecte;
+    }
+
+    public static double getCoutSeparable() {
+        return coutSeparable;
+    }
+
+    public static double getCoutFFT() {
+        return coutFFT;
+    }
+
+    /** @return La plus petite puissance de 2 supérieure ou égale à n (n >= 1). */
+    static int puissanceDeDeuxSuperieure(int n) {
+        int p = Integer.highestOneBit(n);
+        return (p < n) ? p << 1 : p;
+    }
+}
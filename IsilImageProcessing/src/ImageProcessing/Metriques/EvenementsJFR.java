@@ -0,0 +1,98 @@
+package ImageProcessing.Metriques;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Export des appels d'opérateurs en événements Java Flight Recorder ("isil.Operateur" : durée,
+ * opérateur, pixels, octets alloués, itérations, échec), visibles dans JDK Mission Control.
+ *
+ * Le projet cible Java 8, dont l'API ne contient pas jdk.jfr : le type d'événement est créé par
+ * réflexion via jdk.jfr.EventFactory (JDK 11 et suivants). Sur une JVM sans cette API, charge()
+ * renvoie null et l'export reste inactif.
+ *
+ * @technique Java Flight Recorder, Événements dynamiques (EventFactory), Réflexion.
+ */
+final class EvenementsJFR {
+
+    private static final int CHAMP_OPERATEUR = 0, CHAMP_PIXELS = 1, CHAMP_OCTETS = 2, CHAMP_ITERATIONS = 3, CHAMP_ECHEC = 4;
+
+    private final Object fabrique;
+    private final Method nouveau;
+    private final Method begin;
+    private final Method end;
+    private final Method commit;
+    private final Method set;
+
+    private EvenementsJFR(Object fabrique, Method nouveau, Method begin, Method end, Method commit, Method set) {
+        this.fabrique = fabrique;
+        this.nouveau = nouveau;
+        this.begin = begin;
+        this.end = end;
+        this.commit = commit;
+        this.set = set;
+    }
+
+    /** @return L'export JFR, ou null si l'API jdk.jfr n'est pas disponible. */
+    @SuppressWarnings("unchecked")
+    static EvenementsJFR charge() {
+        try {
+            Class<?> cAnnotation = Class.forName("jdk.jfr.AnnotationElement");
+            Class<?> cValeur = Class.forName("jdk.jfr.ValueDescriptor");
+            Class<?> cFabrique = Class.forName("jdk.jfr.EventFactory");
+            Class<?> cEvenement = Class.forName("jdk.jfr.Event");
+            Constructor<?> annotation = cAnnotation.getConstructor(Class.class, Object.class);
+            Constructor<?> valeur = cValeur.getConstructor(Class.class, String.class, List.class);
+
+            List<Object> annotations = new ArrayList<>();
+            annotations.add(annotation.newInstance(Class.forName("jdk.jfr.Name"), "isil.Operateur"));
+            annotations.add(annotation.newInstance(Class.forName("jdk.jfr.Label"), "Opérateur de traitement d'image"));
+            annotations.add(annotation.newInstance(Class.forName("jdk.jfr.Category"), new String[]{"IsilImageProcessing"}));
+
+            Class<?> cLabel = Class.forName("jdk.jfr.Label");
+            List<Object> champs = new ArrayList<>();
+            champs.add(valeur.newInstance(String.class, "operateur", Arrays.asList(annotation.newInstance(cLabel, "Opérateur"))));
+            champs.add(valeur.newInstance(long.class, "pixels", Arrays.asList(annotation.newInstance(cLabel, "Pixels"))));
+            champs.add(valeur.newInstance(long.class, "octetsAlloues", Arrays.asList(annotation.newInstance(cLabel, "Octets alloués"))));
+            champs.add(valeur.newInstance(long.class, "iterations", Arrays.asList(annotation.newInstance(cLabel, "Itérations"))));
+            champs.add(valeur.newInstance(boolean.class, "echec", Arrays.asList(annotation.newInstance(cLabel, "Échec"))));
+
+            Object fabrique = cFabrique.getMethod("create", List.class, List.class).invoke(null, annotations, champs);
+            cFabrique.getMethod("register").invoke(fabrique);
+            return new EvenementsJFR(fabrique, cFabrique.getMethod("newEvent"),
+                    cEvenement.getMethod("begin"), cEvenement.getMethod("end"), cEvenement.getMethod("commit"),
+                    cEvenement.getMethod("set", int.class, Object.class));
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /** @return Un événement commencé (à terminer par fin), ou null en cas d'erreur. */
+    Object debut() {
+        try {
+            Object evenement = nouveau.invoke(fabrique);
+            begin.invoke(evenement);
+            return evenement;
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    void fin(Object evenement, String operateur, long pixels, long octets, long iterations, boolean echec) {
+        if (evenement == null) return;
+        try {
+            end.invoke(evenement);
+            set.invoke(evenement, CHAMP_OPERATEUR, operateur);
+            set.invoke(evenement, CHAMP_PIXELS, pixels);
+            set.invoke(evenement, CHAMP_OCTETS, octets);
+            set.invoke(evenement, CHAMP_ITERATIONS, iterations);
+            set.invoke(evenement, CHAMP_ECHEC, echec);
+            commit.invoke(evenement);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            // Événement perdu : la mesure elle-même est déjà enregistrée
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ImageProcessing.Metriques;
+
+/**
+ * Histogramme de durées (en nanosecondes) à classes log-linéaires, à la manière de HdrHistogram :
+ * chaque puissance de 2 est découpée en 2^PRECISION classes de même largeur. L'erreur relative sur
+ * un percentile est donc bornée (au plus 1 / 2^PRECISION, soit environ 3 %), de la nanoseconde à
+ * plusieurs années, pour une taille fixe d'environ 15 Ko.
+ *
+ * Non synchronisé : l'appelant (StatistiquesOperateur) sérialise les accès.
+ *
+ * @technique Histogramme log-linéaire (HDR), Percentiles à erreur relative bornée.
+ */
+public final class HistogrammeLatence {
+
+    /** Nombre de bits de la mantisse : 2^PRECISION classes par puissance de 2. */
+    private static final int PRECISION = 5;
+    private static final int CLASSES_PAR_OCTAVE = 1 << PRECISION;
+    private static final int NB_CLASSES = (63 - PRECISION + 1) * CLASSES_PAR_OCTAVE;
+
+    private final long[] comptes = new long[NB_CLASSES];
+    private long total = 0;
+    private long min = Long.MAX_VALUE;
+    private long max = 0;
+    private long somme = 0;
+
+    /** Ajoute une durée (les valeurs négatives sont ramenées à 0). */
+    void enregistre(long nanos) {
+        long v = Math.max(0, nanos);
+        comptes[classe(v)]++;
+        total++;
+        somme += v;
+        if (v < min) min = v;
+        if (v > max) max = v;
+    }
+
+    /** Ajoute toutes les valeurs d'un autre histogramme. */
+    void ajoute(HistogrammeLatence autre) {
+        for (int i = 0; i < NB_CLASSES; i++) comptes[i] += autre.comptes[i];
+        total += autre.total;
+        somme += autre.somme;
+        min = Math.min(min, autre.min);
+        max = Math.max(max, autre.max);
+    }
+
+    HistogrammeLatence copie() {
+        HistogrammeLatence c = new HistogrammeLatence();
+        c.ajoute(this);
+        return c;
+    }
+
+    /** @return Nombre de valeurs enregistrées. */
+    public long getNombre() {
+        return total;
+    }
+
+    /** @return Plus petite valeur enregistrée (0 si aucune). */
+    public long getMin() {
+        return (total == 0) ? 0 : min;
+    }
+
+    /** @return Plus grande valeur enregistrée (0 si aucune). */
+    public long getMax() {
+        return max;
+    }
+
+    /** @return Somme exacte des valeurs enregistrées. */
+    public long getSomme() {
+        return somme;
+    }
+
+    /** @return Moyenne exacte des valeurs enregistrées (0 si aucune). */
+    public double getMoyenne() {
+        return (total == 0) ? 0.0 : (double) somme / total;
+    }
+
+    /**
+     * @param percentile Rang cherché, dans [0, 100].
+     * @return Borne supérieure de la classe contenant ce rang (ramenée à la valeur maximale
+     *         observée), 0 si l'histogramme est vide.
+     */
+    public long getPercentile(double percentile) {
+        if (total == 0) return 0;
+        double p = Math.max(0.0, Math.min(100.0, percentile));
+        long rang = Math.max(1, (long) Math.ceil(p / 100.0 * total));
+        long cumul = 0;
+        for (int i = 0; i < NB_CLASSES; i++) {
+            cumul += comptes[i];
+            if (cumul >= rang) return Math.min(max, borneSuperieure(i));
+        }
+        return max;
+    }
+
+    /** Classe de v : exacte sous 2^PRECISION, puis PRECISION bits de mantisse par octave. */
+    private static int classe(long v) {
+        if (v < CLASSES_PAR_OCTAVE) return (int) v;
+        int exposant = 63 - Long.numberOfLeadingZeros(v);
+        int decalage = exposant - PRECISION;
+        int mantisse = (int) (v >>> decalage) - CLASSES_PAR_OCTAVE;
+        return (decalage + 1) * CLASSES_PAR_OCTAVE + mantisse;
+    }
+
+    /** Plus grande valeur appartenant à la classe i. */
+    private static long borneSuperieure(int i) {
+        if (i < CLASSES_PAR_OCTAVE) return i;
+        int decalage = i / CLASSES_PAR_OCTAVE - 1;
+        long mantisse = CLASSES_PAR_OCTAVE + (i % CLASSES_PAR_OCTAVE);
+        long debut = mantisse << decalage;
+        return debut + (1L << decalage) - 1;
+    }
+}
@@ -0,0 +1,281 @@
+package ImageProcessing.Metriques;
+
+import ImageProcessing.Core.ImageBinaire;
+import ImageProcessing.Core.ImagePlate;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Mesure des appels des opérateurs de ImageProcessing.* : durée (histogramme HDR par opérateur),
+ * pixels traités et débit (Mpx/s), octets alloués par le thread appelant (ThreadMXBean), itérations
+ * des algorithmes itératifs, et export optionnel en événements JFR.
+ *
+ * Les opérateurs enveloppent leur calcul dans mesure(nom, pixels, calcul), sur le modèle de
+ * SuiviProgression.etape. Désactivées (par défaut), les mesures se réduisent à la lecture d'un
+ * booléen volatile avant l'appel direct du calcul (ni horloge, ni ThreadLocal) ; reste le coût de la
+ * lambda passée par l'appelant, créée à chaque appel dès qu'elle capture ses arguments.
+ *
+ * Le comptage des allocations par thread de la JVM (ThreadMXBean) n'est activé qu'au premier
+ * setActif(true), et désactivé par setActif(false) s'il l'a été par Metriques.
+ *
+ * Activation : setActif(true), ou -Disil.metriques=true au lancement ; export JFR : setExportJFR(true)
+ * ou -Disil.metriques.jfr=true (JVM 11 et suivantes, cf. EvenementsJFR). Les mesures sont
+ * cumulées jusqu'à reinitialise() ; rapportTexte() et rapportJSON() en donnent un instantané.
+ *
+ * Tous les opérateurs publics sur pixels sont mesurés, y compris les surcharges Image8 / Image16 /
+ * ImageF32 / ImageBinaire (nom suffixé, ex: "Seuillage.seuillageSimple/Image8"). La voie de convolution
+ * choisie par PlanificateurConvolution l'est aussi (ConvolutionTuiles.convolue,
+ * FiltrageLineaireLocal.convolutionSeparable, FiltrageLineaireLocal.convolutionFFT), de même que chaque
+ * bande de TraitementParBandes ("TraitementParBandes.bande"). Ne sont pas mesurés : la création des
+ * courbes tonales et des éléments structurants, les copies et conversions autres que
+ * ImageUtils.imageToGrayMatrix / matrixToCImageNG (PaddingUtils, depuisMatrice...), les réglages
+ * (parallélisme, caches, tuiles) et la calibration du planificateur.
+ *
+ * Les appels imbriqués (ex: fermeture puis ses dilatation et érosion) sont mesurés chacun, de façon
+ * inclusive. Les octets alloués par les threads des opérateurs parallèles (Fourier, ConvolutionTuiles,
+ * GrapheTraitement) ne sont pas comptés, seuls ceux du thread appelant le sont.
+ *
+ * @technique Instrumentation désactivable, Histogrammes de latence, ThreadMXBean, Java Flight Recorder.
+ */
+public final class Metriques {
+
+    private static volatile boolean actif = false;
+    private static volatile EvenementsJFR jfr = null;
+    /** Bean des allocations par thread, null tant que les mesures n'ont pas été activées (ou si non disponible). */
+    private static volatile com.sun.management.ThreadMXBean allocations = null;
+    /** true si le comptage des allocations a été activé par Metriques (et doit donc être désactivé par elle). */
+    private static boolean comptageActive = false;
+
+    private static final Map<String, StatistiquesOperateur> STATISTIQUES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Mesure> COURANTE = new ThreadLocal<>();
+
+    static {
+        if (Boolean.getBoolean("isil.metriques")) setActif(true);
+        if (Boolean.getBoolean("isil.metriques.jfr")) setExportJFR(true);
+    }
+
+    private Metriques() {
+    }
+
+    /** Appel en cours de mesure sur un thread (pile chaînée par parente). */
+    private static final class Mesure {
+        final Mesure parente;
+        long iterations = 0;
+
+        Mesure(Mesure parente) {
+            this.parente = parente;
+        }
+    }
+
+    public static boolean estActif() {
+        return actif;
+    }
+
+    /**
+     * Active ou désactive les mesures (les statistiques déjà cumulées sont conservées).
+     * L'activation met en place le comptage des allocations par thread de la JVM ; la désactivation
+     * l'arrête, s'il n'était pas déjà actif avant Metriques.
+     */
+    public static synchronized void setActif(boolean active) {
+        if (active) {
+            if (allocations == null) allocations = beanAllocations();
+        } else if (allocations != null && comptageActive) {
+            try {
+                allocations.setThreadAllocatedMemoryEnabled(false);
+            } catch (RuntimeException ex) {
+                // Comptage laissé actif
+            }
+            comptageActive = false;
+            allocations = null;
+        }
+        actif = active;
+    }
+
+    /**
+     * Active ou désactive l'export des appels mesurés en événements JFR.
+     * @return true si l'export est actif après l'appel (false si demandé mais non disponible).
+     */
+    public static synchronized boolean setExportJFR(boolean exporte) {
+        if (!exporte) {
+            jfr = null;
+        } else if (jfr == null) {
+            jfr = EvenementsJFR.charge();
+        }
+        return jfr != null;
+    }
+
+    public static boolean estExportJFR() {
+        return jfr != null;
+    }
+
+    /**
+     * Exécute le calcul d'un opérateur et, si les mesures sont actives, enregistre sa durée,
+     * ses pixels, ses allocations et ses itérations sous le nom operateur.
+     * @param operateur Nom de l'opérateur (constante, ex: "MorphoElementaire.erosion").
+     * @param pixels Nombre de pixels traités par cet appel (cf. pixels(...)).
+     */
+    public static <T> T mesure(String operateur, long pixels, Supplier<T> calcul) {
+        if (!actif) return calcul.get();
+        return mesureActive(operateur, pixels, calcul);
+    }
+
+    /**
+     * Comme mesure(String, long, Supplier), pour un nombre de pixels coûteux à obtenir (ex: somme sur
+     * plusieurs images) : pixels n'est évalué que si les mesures sont actives.
+     */
+    public static <T> T mesure(String operateur, LongSupplier pixels, Supplier<T> calcul) {
+        if (!actif) return calcul.get();
+        return mesureActive(operateur, pixels.getAsLong(), calcul);
+    }
+
+    private static <T> T mesureActive(String operateur, long pixels, Supplier<T> calcul) {
+        Mesure m = new Mesure(COURANTE.get());
+        COURANTE.set(m);
+        EvenementsJFR export = jfr;
+        Object evenement = (export != null) ? export.debut() : null;
+        long octetsDebut = octetsAlloues();
+        long debut = System.nanoTime();
+        boolean echec = true;
+        try {
+            T resultat = calcul.get();
+            echec = false;
+            return resultat;
+        } finally {
+            long duree = System.nanoTime() - debut;
+            long octets = (octetsDebut < 0) ? 0 : Math.max(0, octetsAlloues() - octetsDebut);
+            if (m.parente == null) COURANTE.remove();
+            else COURANTE.set(m.parente);
+            STATISTIQUES.computeIfAbsent(operateur, StatistiquesOperateur::new).enregistre(duree, pixels, octets, m.iterations, echec);
+            if (evenement != null) export.fin(evenement, operateur, pixels, octets, m.iterations, echec);
+        }
+    }
+
+    /**
+     * Signale n itérations de l'algorithme itératif en cours (balayages, éléments propagés...) ;
+     * elles sont comptées pour l'appel mesuré le plus interne du thread courant.
+     */
+    public static void iterations(long n) {
+        if (!actif) return;
+        Mesure m = COURANTE.get();
+        if (m != null) m.iterations += n;
+    }
+
+    /** @return Nombre de pixels d'une matrice [y][x] (0 si elle est null ou vide). */
+    public static long pixels(int[][] image) {
+        return (image == null || image.length == 0 || image[0] == null) ? 0 : (long) image.length * image[0].length;
+    }
+
+    /** @return Nombre de pixels d'une matrice [y][x] (0 si elle est null ou vide). */
+    public static long pixels(double[][] image) {
+        return (image == null || image.length == 0 || image[0] == null) ? 0 : (long) image.length * image[0].length;
+    }
+
+    /** @return Nombre de pixels d'une image à plat (0 si elle est null). */
+    public static long pixels(ImagePlate image) {
+        return (image == null) ? 0 : (long) image.getHauteur() * image.getLargeur();
+    }
+
+    /** @return Nombre de pixels d'une image binaire compacte (0 si elle est null). */
+    public static long pixels(ImageBinaire image) {
+        return (image == null) ? 0 : (long) image.getHauteur() * image.getLargeur();
+    }
+
+    /** @return Une copie des statistiques cumulées, par nom d'opérateur (ordre alphabétique). */
+    public static Map<String, StatistiquesOperateur> instantane() {
+        Map<String, StatistiquesOperateur> copie = new TreeMap<>();
+        for (StatistiquesOperateur s : STATISTIQUES.values()) copie.put(s.getOperateur(), s.copie());
+        return copie;
+    }
+
+    /** Efface les statistiques cumulées. */
+    public static void reinitialise() {
+        STATISTIQUES.clear();
+    }
+
+    /** @return Un tableau texte : une ligne par opérateur (durées en ms). */
+    public static String rapportTexte() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-48s %8s %10s %10s %10s %10s %10s %9s %11s %11s %7s%n",
+                "operateur", "appels", "moy_ms", "p50_ms", "p90_ms", "p99_ms", "max_ms", "Mpx/s", "Mo_alloues", "iterations", "echecs"));
+        for (StatistiquesOperateur s : instantane().values()) {
+            HistogrammeLatence d = s.getDurees();
+            sb.append(String.format(Locale.ROOT, "%-48s %8d %10.3f %10.3f %10.3f %10.3f %10.3f %9.1f %11.1f %11d %7d%n",
+                    s.getOperateur(), s.getAppels(), d.getMoyenne() / 1e6, d.getPercentile(50) / 1e6,
+                    d.getPercentile(90) / 1e6, d.getPercentile(99) / 1e6, d.getMax() / 1e6,
+                    s.getMegapixelsParSeconde(), s.getOctetsAlloues() / (1024.0 * 1024.0), s.getIterations(), s.getEchecs()));
+        }
+        return sb.toString();
+    }
+
+    /** @return Les statistiques au format JSON (durées en nanosecondes). */
+    public static String rapportJSON() {
+        StringBuilder sb = new StringBuilder("{\n  \"operateurs\": [");
+        boolean premier = true;
+        for (StatistiquesOperateur s : instantane().values()) {
+            HistogrammeLatence d = s.getDurees();
+            sb.append(premier ? "\n" : ",\n");
+            premier = false;
+            sb.append("    {\"operateur\": ").append(chaineJSON(s.getOperateur()))
+                    .append(", \"appels\": ").append(s.getAppels())
+                    .append(", \"echecs\": ").append(s.getEchecs())
+                    .append(", \"pixels\": ").append(s.getPixels())
+                    .append(", \"megapixelsParSeconde\": ").append(String.format(Locale.ROOT, "%.3f", s.getMegapixelsParSeconde()))
+                    .append(", \"octetsAlloues\": ").append(s.getOctetsAlloues())
+                    .append(", \"iterations\": ").append(s.getIterations())
+                    .append(", \"dureeNs\": {\"min\": ").append(d.getMin())
+                    .append(", \"moyenne\": ").append(String.format(Locale.ROOT, "%.1f", d.getMoyenne()))
+                    .append(", \"p50\": ").append(d.getPercentile(50))
+                    .append(", \"p90\": ").append(d.getPercentile(90))
+                    .append(", \"p99\": ").append(d.getPercentile(99))
+                    .append(", \"p999\": ").append(d.getPercentile(99.9))
+                    .append(", \"max\": ").append(d.getMax())
+                    .append(", \"total\": ").append(d.getSomme())
+                    .append("}}");
+        }
+        sb.append(premier ? "]\n}\n" : "\n  ]\n}\n");
+        return sb.toString();
+    }
+
+    private static String chaineJSON(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') sb.append('\\').append(c);
+            else if (c < 0x20) sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            else sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+
+    /** @return Octets alloués jusqu'ici par le thread courant, ou -1 si la JVM ne le mesure pas. */
+    private static long octetsAlloues() {
+        com.sun.management.ThreadMXBean bean = allocations;
+        return (bean == null) ? -1 : bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /** Appelé sous le verrou de la classe (cf. setActif). */
+    private static com.sun.management.ThreadMXBean beanAllocations() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean b = (com.sun.management.ThreadMXBean) bean;
+                if (b.isThreadAllocatedMemorySupported()) {
+                    if (!b.isThreadAllocatedMemoryEnabled()) {
+                        b.setThreadAllocatedMemoryEnabled(true);
+                        comptageActive = true;
+                    }
+                    return b;
+                }
+            }
+        } catch (RuntimeException | LinkageError ex) {
+            // Allocations non mesurées
+        }
+        return null;
+    }
+}
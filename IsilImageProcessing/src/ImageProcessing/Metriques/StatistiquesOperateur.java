@@ -0,0 +1,86 @@
+package ImageProcessing.Metriques;
+
+/**
+ * Statistiques cumulées des appels d'un opérateur : histogramme des durées, pixels traités,
+ * octets alloués par le thread appelant, itérations (algorithmes itératifs) et échecs.
+ *
+ * Les instances renvoyées par Metriques.instantane() sont des copies figées.
+ */
+public final class StatistiquesOperateur {
+
+    private final String operateur;
+    private final HistogrammeLatence durees;
+    private long pixels;
+    private long octetsAlloues;
+    private long iterations;
+    private long echecs;
+
+    StatistiquesOperateur(String operateur) {
+        this(operateur, new HistogrammeLatence());
+    }
+
+    private StatistiquesOperateur(String operateur, HistogrammeLatence durees) {
+        this.operateur = operateur;
+        this.durees = durees;
+    }
+
+    synchronized void enregistre(long nanos, long pixelsAppel, long octets, long iterationsAppel, boolean echec) {
+        durees.enregistre(nanos);
+        pixels += pixelsAppel;
+        if (octets > 0) octetsAlloues += octets;
+        iterations += iterationsAppel;
+        if (echec) echecs++;
+    }
+
+    synchronized StatistiquesOperateur copie() {
+        StatistiquesOperateur c = new StatistiquesOperateur(operateur, durees.copie());
+        c.pixels = pixels;
+        c.octetsAlloues = octetsAlloues;
+        c.iterations = iterations;
+        c.echecs = echecs;
+        return c;
+    }
+
+    /** @return Nom de l'opérateur (ex: "MorphoElementaire.erosion"). */
+    public String getOperateur() {
+        return operateur;
+    }
+
+    /** @return Histogramme des durées d'appel (ns). */
+    public HistogrammeLatence getDurees() {
+        return durees;
+    }
+
+    public long getAppels() {
+        return durees.getNombre();
+    }
+
+    /** @return Nombre total de pixels traités (somme sur les appels). */
+    public long getPixels() {
+        return pixels;
+    }
+
+    /**
+     * @return Octets alloués par le thread appelant pendant les appels (hors threads des pools
+     *         utilisés par les opérateurs parallèles ; 0 si la JVM ne sait pas les mesurer).
+     */
+    public long getOctetsAlloues() {
+        return octetsAlloues;
+    }
+
+    /** @return Itérations signalées par l'opérateur (cf. Metriques.iterations), 0 s'il n'est pas itératif. */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /** @return Nombre d'appels terminés par une exception. */
+    public long getEchecs() {
+        return echecs;
+    }
+
+    /** @return Débit moyen en mégapixels par seconde (pixels totaux / durée totale), 0 si inconnu. */
+    public double getMegapixelsParSeconde() {
+        double secondes = durees.getSomme() / 1e9;
+        return (secondes > 0) ? pixels / 1e6 / secondes : 0.0;
+    }
+}
@@ -0,0 +1,282 @@
+package ImageProcessing.NonLineaire;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Élément structurant binaire de forme quelconque pour la morphologie mathématique
+ * (cf. MorphoElementaire.erosion(int[][], ElementStructurant), etc.).
+ *
+ * L'élément est un masque booléen [dy][dx] muni d'une origine (par défaut son centre).
+ * Il est décomposé une fois pour toutes en "segments" horizontaux (suites de points contigus
+ * d'une même ligne) : l'érosion / la dilatation se ramènent alors à des min/max glissants 1D
+ * (van Herk / Gil-Werman) sur chaque segment distinct, combinés ligne à ligne. Un rectangle
+ * se réduit ainsi à une passe horizontale et une passe verticale, un disque de rayon r à r+1
+ * passes horizontales : le coût est en O(r) par pixel au lieu de O(r²).
+ *
+ * Les instances sont immuables.
+ *
+ * @technique Morphologie Mathématique, Élément Structurant, Décomposition en segments.
+ */
+public final class ElementStructurant {
+
+    private final boolean[][] masque; // [dy + origineY][dx + origineX]
+    private final int origineY;
+    private final int origineX;
+    private final int nombrePoints;
+    private final int[][] segments;   // {dy, dxDebut, longueur}, relatifs à l'origine, ligne par ligne
+
+    private ElementStructurant(boolean[][] masque, int origineY, int origineX) {
+        if (masque == null || masque.length == 0 || masque[0].length == 0) {
+            throw new IllegalArgumentException("ElementStructurant: Le masque est vide.");
+        }
+        int hauteur = masque.length;
+        int largeur = masque[0].length;
+        if (origineY < 0 || origineY >= hauteur || origineX < 0 || origineX >= largeur) {
+            throw new IllegalArgumentException("ElementStructurant: L'origine (" + origineY + "," + origineX + ") est hors du masque.");
+        }
+        this.masque = new boolean[hauteur][];
+        for (int i = 0; i < hauteur; i++) {
+            if (masque[i].length != largeur) {
+                throw new IllegalArgumentException("ElementStructurant: Le masque doit être rectangulaire.");
+            }
+            this.masque[i] = masque[i].clone();
+        }
+        this.origineY = origineY;
+        this.origineX = origineX;
+
+        // Décomposition en segments horizontaux
+        List<int[]> liste = new ArrayList<>();
+        int points = 0;
+        for (int i = 0; i < hauteur; i++) {
+            int j = 0;
+            while (j < largeur) {
+                if (!masque[i][j]) {
+                    j++;
+                    continue;
+                }
+                int debut = j;
+                while (j < largeur && masque[i][j]) j++;
+                liste.add(new int[]{i - origineY, debut - origineX, j - debut});
+                points += j - debut;
+            }
+        }
+        if (points == 0) {
+            throw new IllegalArgumentException("ElementStructurant: Le masque ne contient aucun point.");
+        }
+        this.nombrePoints = points;
+        this.segments = liste.toArray(new int[0][]);
+    }
+
+    // --- Fabriques ---
+
+    /**
+     * Élément défini par un masque quelconque (true = point de l'élément).
+     * @param masque Le masque [ligne][colonne] (copié).
+     * @param origineY Ligne de l'origine dans le masque.
+     * @param origineX Colonne de l'origine dans le masque.
+     */
+    public static ElementStructurant depuisMasque(boolean[][] masque, int origineY, int origineX) {
+        return new ElementStructurant(masque, origineY, origineX);
+    }
+
+    /**
+     * Élément défini par un masque entier (valeur non nulle = point de l'élément), d'origine centrale.
+     * @param masque Le masque [ligne][colonne] (ex: un masque 0/1 ou 0/255).
+     */
+    public static ElementStructurant depuisMasque(int[][] masque) {
+        if (masque == null || masque.length == 0 || masque[0].length == 0) {
+            throw new IllegalArgumentException("ElementStructurant: Le masque est vide.");
+        }
+        boolean[][] b = new boolean[masque.length][masque[0].length];
+        for (int i = 0; i < masque.length; i++) {
+            for (int j = 0; j < b[0].length && j < masque[i].length; j++) {
+                b[i][j] = masque[i][j] != 0;
+            }
+        }
+        return new ElementStructurant(b, (b.length - 1) / 2, (b[0].length - 1) / 2);
+    }
+
+    /** Carré centré de côté "taille" (impair >= 1), équivalent à l'élément implicite de MorphoElementaire. */
+    public static ElementStructurant carre(int taille) {
+        return rectangle(taille, taille);
+    }
+
+    /** Rectangle centré hauteur x largeur (impairs >= 1). */
+    public static ElementStructurant rectangle(int hauteur, int largeur) {
+        verifieImpair(hauteur, "hauteur");
+        verifieImpair(largeur, "largeur");
+        boolean[][] b = new boolean[hauteur][largeur];
+        for (boolean[] ligne : b) Arrays.fill(ligne, true);
+        return new ElementStructurant(b, hauteur / 2, largeur / 2);
+    }
+
+    /** Disque (euclidien) centré : dx² + dy² <= rayon². */
+    public static ElementStructurant disque(int rayon) {
+        verifieRayon(rayon);
+        boolean[][] b = new boolean[2 * rayon + 1][2 * rayon + 1];
+        for (int dy = -rayon; dy <= rayon; dy++) {
+            for (int dx = -rayon; dx <= rayon; dx++) {
+                b[dy + rayon][dx + rayon] = dx * dx + dy * dy <= rayon * rayon;
+            }
+        }
+        return new ElementStructurant(b, rayon, rayon);
+    }
+
+    /** Losange (boule de la distance de Manhattan) centré : |dx| + |dy| <= rayon. */
+    public static ElementStructurant losange(int rayon) {
+        verifieRayon(rayon);
+        boolean[][] b = new boolean[2 * rayon + 1][2 * rayon + 1];
+        for (int dy = -rayon; dy <= rayon; dy++) {
+            for (int dx = -rayon; dx <= rayon; dx++) {
+                b[dy + rayon][dx + rayon] = Math.abs(dx) + Math.abs(dy) <= rayon;
+            }
+        }
+        return new ElementStructurant(b, rayon, rayon);
+    }
+
+    /**
+     * Octogone centré d'apothème "rayon" : max(|dx|, |dy|) <= rayon et |dx| + |dy| <= round(rayon * sqrt(2)).
+     */
+    public static ElementStructurant octogone(int rayon) {
+        verifieRayon(rayon);
+        int diagonale = (int) Math.round(rayon * Math.sqrt(2.0));
+        boolean[][] b = new boolean[2 * rayon + 1][2 * rayon + 1];
+        for (int dy = -rayon; dy <= rayon; dy++) {
+            for (int dx = -rayon; dx <= rayon; dx++) {
+                b[dy + rayon][dx + rayon] = Math.abs(dx) + Math.abs(dy) <= diagonale;
+            }
+        }
+        return new ElementStructurant(b, rayon, rayon);
+    }
+
+    /** Croix centrée (lignes horizontale et verticale) de côté "taille" (impair >= 1). */
+    public static ElementStructurant croix(int taille) {
+        verifieImpair(taille, "taille");
+        boolean[][] b = new boolean[taille][taille];
+        for (int i = 0; i < taille; i++) {
+            b[taille / 2][i] = true;
+            b[i][taille / 2] = true;
+        }
+        return new ElementStructurant(b, taille / 2, taille / 2);
+    }
+
+    /**
+     * Segment de droite centré (tracé discret de type Bresenham).
+     * @param longueur Nombre de pixels le long de l'axe dominant (impair >= 1).
+     * @param angleDegres Angle par rapport à l'horizontale, sens trigonométrique (l'axe y de l'image pointe vers le bas).
+     */
+    public static ElementStructurant ligne(int longueur, double angleDegres) {
+        verifieImpair(longueur, "longueur");
+        int demi = longueur / 2;
+        double c = Math.cos(Math.toRadians(angleDegres));
+        double s = Math.sin(Math.toRadians(angleDegres));
+        int[] dxs = new int[longueur];
+        int[] dys = new int[longueur];
+        int etendue = 0;
+        for (int i = -demi; i <= demi; i++) {
+            int dx, dy;
+            if (Math.abs(c) >= Math.abs(s)) { // Axe dominant horizontal : x = i, y = -i*tan
+                dx = i;
+                dy = (int) Math.round(-i * s / c);
+            } else {                          // Axe dominant vertical : y = i, x = -i/tan
+                dy = i;
+                dx = (int) Math.round(-i * c / s);
+            }
+            dxs[i + demi] = dx;
+            dys[i + demi] = dy;
+            etendue = Math.max(etendue, Math.max(Math.abs(dx), Math.abs(dy)));
+        }
+        boolean[][] b = new boolean[2 * etendue + 1][2 * etendue + 1];
+        for (int k = 0; k < longueur; k++) {
+            b[dys[k] + etendue][dxs[k] + etendue] = true;
+        }
+        return new ElementStructurant(b, etendue, etendue);
+    }
+
+    // --- Accesseurs ---
+
+    /** @return L'élément réfléchi (symétrique par rapport à l'origine), utilisé par la dilatation. */
+    public ElementStructurant reflechi() {
+        int hauteur = masque.length;
+        int largeur = masque[0].length;
+        boolean[][] b = new boolean[hauteur][largeur];
+        for (int i = 0; i < hauteur; i++) {
+            for (int j = 0; j < largeur; j++) {
+                b[hauteur - 1 - i][largeur - 1 - j] = masque[i][j];
+            }
+        }
+        return new ElementStructurant(b, hauteur - 1 - origineY, largeur - 1 - origineX);
+    }
+
+    /** @return true si le point (dy, dx), relatif à l'origine, appartient à l'élément. */
+    public boolean contient(int dy, int dx) {
+        int i = dy + origineY;
+        int j = dx + origineX;
+        return i >= 0 && i < masque.length && j >= 0 && j < masque[0].length && masque[i][j];
+    }
+
+    /** @return Une copie du masque [ligne][colonne]. */
+    public boolean[][] getMasque() {
+        boolean[][] copie = new boolean[masque.length][];
+        for (int i = 0; i < masque.length; i++) copie[i] = masque[i].clone();
+        return copie;
+    }
+
+    public int getHauteur() {
+        return masque.length;
+    }
+
+    public int getLargeur() {
+        return masque[0].length;
+    }
+
+    public int getOrigineY() {
+        return origineY;
+    }
+
+    public int getOrigineX() {
+        return origineX;
+    }
+
+    /** @return Le nombre de points de l'élément. */
+    public int getNombrePoints() {
+        return nombrePoints;
+    }
+
+    /** @return Le nombre de segments horizontaux de la décomposition. */
+    public int getNombreSegments() {
+        return segments.length;
+    }
+
+    /** @return Les segments {dy, dxDebut, longueur}, relatifs à l'origine (tableau interne, à ne pas modifier). */
+    int[][] getSegments() {
+        return segments;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("ElementStructurant ").append(getHauteur()).append("x").append(getLargeur())
+          .append(" (origine ").append(origineY).append(",").append(origineX).append(", ")
+          .append(nombrePoints).append(" points, ").append(segments.length).append(" segments)\n");
+        for (boolean[] ligne : masque) {
+            for (boolean b : ligne) sb.append(b ? '#' : '.');
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void verifieImpair(int valeur, String nom) {
+        if (valeur <= 0 || valeur % 2 == 0) {
+            throw new IllegalArgumentException("ElementStructurant: La " + nom + " doit être impaire et positive (reçu " + valeur + ").");
+        }
+    }
+
+    private static void verifieRayon(int rayon) {
+        if (rayon < 0) {
+            throw new IllegalArgumentException("ElementStructurant: Le rayon doit être >= 0 (reçu " + rayon + ").");
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package ImageProcessing.NonLineaire;
+
+import ImageProcessing.Core.Progression;
+import ImageProcessing.Core.SuiviProgression;
+import java.util.Arrays;
+
+/**
+ * Moteur des filtres de rang (médiane, percentile, k-ième valeur) sur voisinage carré K x K,
+ * par histogrammes glissants, pour des images 8 bits (valeurs dans [0, 255]).
+ *
+ * Deux algorithmes, choisis selon la taille du masque :
+ * - Huang (1979) : l'histogramme du noyau est mis à jour en retirant la colonne qui sort et en
+ *   ajoutant celle qui entre (2K opérations), et la valeur de rang k est suivie de proche en proche
+ *   (elle bouge peu d'un pixel au suivant). Coût O(K) par pixel, très rapide pour les petits masques.
+ * - Perreault & Hébert (2007) : un histogramme par colonne de l'image, mis à jour d'une ligne à l'autre
+ *   (1 retrait + 1 ajout), et un histogramme du noyau obtenu en ajoutant / retranchant des histogrammes
+ *   de colonnes entiers. Les histogrammes sont à deux niveaux (16 classes grossières x 16 classes fines) ;
+ *   les classes fines du noyau ne sont mises à jour que paresseusement, pour le seul segment où se
+ *   trouve la valeur cherchée. Coût O(1) par pixel, indépendant de K.
+ *
+ * Les bords sont gérés par réplication (comme PaddingUtils.padImage(REPLICATE)) : la colonne x < 0
+ * est la colonne 0, la ligne y >= hauteur est la ligne hauteur-1, etc. Les résultats sont identiques
+ * à ceux d'un tri des K² voisins. Chaque ligne de sortie est un point de contrôle de la progression
+ * du thread courant (cf. SuiviProgression).
+ *
+ * @technique Filtrage Non-Linéaire, Filtre de Rang, Algorithme de Huang, Algorithme de Perreault-Hébert.
+ */
+class FiltreRang {
+
+    /** Taille de masque à partir de laquelle l'algorithme de Perreault-Hébert est préféré à celui de Huang. */
+    static final int SEUIL_PERREAULT = 13;
+
+    private static final int NIVEAUX = 256;
+    private static final int GROSSIERS = 16;
+
+    /**
+     * @return true si toutes les valeurs de l'image sont dans [0, 255] (condition d'emploi des histogrammes).
+     */
+    static boolean estHuitBits(int[][] image) {
+        for (int[] ligne : image) {
+            for (int v : ligne) {
+                if ((v & ~0xFF) != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Filtre de rang K x K : chaque pixel reçoit la (rang+1)-ième plus petite valeur de son voisinage.
+     *
+     * @param image L'image 8 bits (int[hauteur][largeur]), non modifiée.
+     * @param tailleMasque K, impair >= 1.
+     * @param rang Le rang cherché, dans [0, K² - 1] (0 = minimum, K²/2 = médiane, K² - 1 = maximum).
+     * @return Une nouvelle image.
+     */
+    static int[][] filtre(int[][] image, int tailleMasque, int rang) {
+        return (tailleMasque >= SEUIL_PERREAULT)
+                ? perreault(image, tailleMasque / 2, rang)
+                : huang(image, tailleMasque / 2, rang);
+    }
+
+    /**
+     * Algorithme de Huang : balayage horizontal de chaque ligne avec un histogramme du noyau.
+     */
+    static int[][] huang(int[][] image, int rayon, int rang) {
+        int hauteur = image.length;
+        int largeur = image[0].length;
+        int[][] resultat = new int[hauteur][largeur];
+        int[] histo = new int[NIVEAUX];
+        int[][] lignes = new int[2 * rayon + 1][];
+        Progression suivi = SuiviProgression.courante();
+
+        for (int y = 0; y < hauteur; y++) {
+            SuiviProgression.point(suivi, y, hauteur);
+            for (int i = -rayon; i <= rayon; i++) {
+                lignes[i + rayon] = image[Math.max(0, Math.min(hauteur - 1, y + i))];
+            }
+
+            // Histogramme initial du noyau centré en x = 0 (colonnes répliquées à gauche)
+            Arrays.fill(histo, 0);
+            for (int[] ligne : lignes) {
+                for (int j = -rayon; j <= rayon; j++) {
+                    histo[ligne[Math.max(0, Math.min(largeur - 1, j))]]++;
+                }
+            }
+            // Suivi du rang : "inferieurs" = nombre de valeurs < valeur
+            int valeur = 0;
+            int inferieurs = 0;
+            while (inferieurs + histo[valeur] <= rang) {
+                inferieurs += histo[valeur];
+                valeur++;
+            }
+            int[] dest = resultat[y];
+            dest[0] = valeur;
+
+            for (int x = 1; x < largeur; x++) {
+                int sortante = Math.max(0, x - rayon - 1);
+                int entrante = Math.min(largeur - 1, x + rayon);
+                if (sortante != entrante) {
+                    for (int[] ligne : lignes) {
+                        int vs = ligne[sortante];
+                        int ve = ligne[entrante];
+                        histo[vs]--;
+                        histo[ve]++;
+                        if (vs < valeur) inferieurs--;
+                        if (ve < valeur) inferieurs++;
+                    }
+                }
+                while (inferieurs > rang) {
+                    valeur--;
+                    inferieurs -= histo[valeur];
+                }
+                while (inferieurs + histo[valeur] <= rang) {
+                    inferieurs += histo[valeur];
+                    valeur++;
+                }
+                dest[x] = valeur;
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Algorithme de Perreault-Hébert : histogrammes de colonnes à deux niveaux et histogramme
+     * du noyau à classes fines mises à jour paresseusement.
+     */
+    static int[][] perreault(int[][] image, int rayon, int rang) {
+        int hauteur = image.length;
+        int largeur = image[0].length;
+        int diametre = 2 * rayon + 1;
+        int[][] resultat = new int[hauteur][largeur];
+
+        // Histogrammes de colonnes (colonnes réelles ; les colonnes répliquées réutilisent 0 et largeur-1)
+        int[] colGrossier = new int[largeur * GROSSIERS];
+        int[] colFin = new int[largeur * NIVEAUX];
+        for (int i = -rayon; i <= rayon; i++) {
+            int[] ligne = image[Math.max(0, Math.min(hauteur - 1, i))];
+            for (int x = 0; x < largeur; x++) {
+                int v = ligne[x];
+                colGrossier[x * GROSSIERS + (v >>> 4)]++;
+                colFin[x * NIVEAUX + v]++;
+            }
+        }
+
+        int[] noyauGrossier = new int[GROSSIERS];
+        int[] noyauFin = new int[NIVEAUX];
+        int[] derniereMaj = new int[GROSSIERS]; // Abscisse à laquelle chaque segment fin du noyau est à jour
+        Progression suivi = SuiviProgression.courante();
+
+        for (int y = 0; y < hauteur; y++) {
+            SuiviProgression.point(suivi, y, hauteur);
+            if (y > 0) {
+                int[] sortante = image[Math.max(0, y - rayon - 1)];
+                int[] entrante = image[Math.min(hauteur - 1, y + rayon)];
+                if (sortante != entrante) {
+                    for (int x = 0; x < largeur; x++) {
+                        int vs = sortante[x];
+                        int ve = entrante[x];
+                        colGrossier[x * GROSSIERS + (vs >>> 4)]--;
+                        colFin[x * NIVEAUX + vs]--;
+                        colGrossier[x * GROSSIERS + (ve >>> 4)]++;
+                        colFin[x * NIVEAUX + ve]++;
+                    }
+                }
+            }
+
+            // Noyau centré en x = 0 : colonnes -rayon .. rayon (répliquées)
+            Arrays.fill(noyauGrossier, 0);
+            Arrays.fill(noyauFin, 0);
+            for (int j = -rayon; j <= rayon; j++) {
+                int c = Math.max(0, Math.min(largeur - 1, j));
+                for (int b = 0; b < GROSSIERS; b++) noyauGrossier[b] += colGrossier[c * GROSSIERS + b];
+                for (int b = 0; b < NIVEAUX; b++) noyauFin[b] += colFin[c * NIVEAUX + b];
+            }
+            Arrays.fill(derniereMaj, 0);
+
+            int[] dest = resultat[y];
+            for (int x = 0; x < largeur; x++) {
+                if (x > 0) {
+                    int cs = Math.max(0, x - rayon - 1);
+                    int ce = Math.min(largeur - 1, x + rayon);
+                    if (cs != ce) {
+                        int bs = cs * GROSSIERS;
+                        int be = ce * GROSSIERS;
+                        for (int b = 0; b < GROSSIERS; b++) noyauGrossier[b] += colGrossier[be + b] - colGrossier[bs + b];
+                    }
+                }
+
+                // 1. Segment grossier contenant la valeur de rang "rang"
+                int cumul = 0;
+                int segment = 0;
+                while (cumul + noyauGrossier[segment] <= rang) {
+                    cumul += noyauGrossier[segment];
+                    segment++;
+                }
+
+                // 2. Mise à jour paresseuse des classes fines de ce segment, de derniereMaj[segment] à x
+                int debut = segment * GROSSIERS;
+                int depuis = derniereMaj[segment];
+                if (x - depuis > diametre) {
+                    // Plus rapide de recalculer le segment à partir des colonnes du noyau courant
+                    Arrays.fill(noyauFin, debut, debut + GROSSIERS, 0);
+                    for (int j = x - rayon; j <= x + rayon; j++) {
+                        int bc = Math.max(0, Math.min(largeur - 1, j)) * NIVEAUX + debut;
+                        for (int b = 0; b < GROSSIERS; b++) noyauFin[debut + b] += colFin[bc + b];
+                    }
+                } else {
+                    for (int t = depuis + 1; t <= x; t++) {
+                        int cs = Math.max(0, t - rayon - 1);
+                        int ce = Math.min(largeur - 1, t + rayon);
+                        if (cs == ce) continue;
+                        int bs = cs * NIVEAUX + debut;
+                        int be = ce * NIVEAUX + debut;
+                        for (int b = 0; b < GROSSIERS; b++) noyauFin[debut + b] += colFin[be + b] - colFin[bs + b];
+                    }
+                }
+                derniereMaj[segment] = x;
+
+                // 3. Valeur fine
+                int v = debut;
+                while (cumul + noyauFin[v] <= rang) {
+                    cumul += noyauFin[v];
+                    v++;
+                }
+                dest[x] = v;
+            }
+        }
+        return resultat;
+    }
+}
@@ -0,0 +1,370 @@
+package ImageProcessing.NonLineaire;
+
+import ImageProcessing.Core.ImageBinaire;
+import ImageProcessing.Core.Progression;
+import ImageProcessing.Core.SuiviProgression;
+import ImageProcessing.Metriques.Metriques;
+import java.util.Arrays;
+
+/**
+ * Morphologie mathématique sur images binaires compactes (ImageBinaire, 64 pixels par mot long).
+ * Mêmes conventions que MorphoElementaire / MorphoComplexe (élément structurant carré ou rectangulaire
+ * centré, bords par réplication, reconstruction en 8-connexité) : sur une image 0/255, les résultats
+ * sont identiques à ceux des versions int[][], pour 32 fois moins de mémoire.
+ *
+ * - Érosion / dilatation : ET / OU glissant sur une fenêtre de K pixels, calculé par doublement
+ *   (fenêtres de 1, 2, 4, 8... pixels combinées par décalages) : O(log K) opérations par mot
+ *   de 64 pixels, horizontalement (décalages de bits) puis verticalement (lignes entières).
+ * - Reconstruction : balayages raster / anti-raster alternés ; dans chaque ligne, la propagation
+ *   le long des plages du masque se fait d'un seul coup par propagation de retenue
+ *   (addition multi-mots), dans un sens puis dans l'autre.
+ *
+ * @technique Morphologie Mathématique Binaire, Parallélisme au niveau du mot, Décomposition logarithmique.
+ */
+public class MorphoBinaire {
+
+    /**
+     * Érosion binaire par un carré centré (impair >= 1), bords par réplication.
+     *
+     * @param image L'image binaire.
+     * @param tailleMasque La taille de l'élément structurant carré.
+     * @return Une nouvelle image binaire, ou null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique Binaire, Érosion.
+     */
+    public static ImageBinaire erosion(ImageBinaire image, int tailleMasque) {
+        return erosion(image, tailleMasque, tailleMasque);
+    }
+
+    /**
+     * Érosion binaire par un rectangle centré hauteurMasque x largeurMasque (impairs >= 1).
+     *
+     * @param image L'image binaire.
+     * @param hauteurMasque La hauteur de l'élément structurant.
+     * @param largeurMasque La largeur de l'élément structurant.
+     * @return Une nouvelle image binaire, ou null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique Binaire, Érosion.
+     */
+    public static ImageBinaire erosion(ImageBinaire image, int hauteurMasque, int largeurMasque) {
+        if (!valide(image, hauteurMasque, largeurMasque, "erosion")) return null;
+        return Metriques.mesure("MorphoBinaire.erosion", Metriques.pixels(image),
+                () -> rectangle(image, hauteurMasque, largeurMasque, true));
+    }
+
+    /**
+     * Dilatation binaire par un carré centré (impair >= 1), bords par réplication.
+     *
+     * @param image L'image binaire.
+     * @param tailleMasque La taille de l'élément structurant carré.
+     * @return Une nouvelle image binaire, ou null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique Binaire, Dilatation.
+     */
+    public static ImageBinaire dilatation(ImageBinaire image, int tailleMasque) {
+        return dilatation(image, tailleMasque, tailleMasque);
+    }
+
+    /**
+     * Dilatation binaire par un rectangle centré hauteurMasque x largeurMasque (impairs >= 1).
+     *
+     * @param image L'image binaire.
+     * @param hauteurMasque La hauteur de l'élément structurant.
+     * @param largeurMasque La largeur de l'élément structurant.
+     * @return Une nouvelle image binaire, ou null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique Binaire, Dilatation.
+     */
+    public static ImageBinaire dilatation(ImageBinaire image, int hauteurMasque, int largeurMasque) {
+        if (!valide(image, hauteurMasque, largeurMasque, "dilatation")) return null;
+        return Metriques.mesure("MorphoBinaire.dilatation", Metriques.pixels(image),
+                () -> rectangle(image, hauteurMasque, largeurMasque, false));
+    }
+
+    /**
+     * Ouverture binaire (érosion puis dilatation) par un carré centré.
+     *
+     * @param image L'image binaire.
+     * @param tailleMasque La taille de l'élément structurant carré (impair >= 1).
+     * @return Une nouvelle image binaire, ou null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique Binaire, Ouverture.
+     */
+    public static ImageBinaire ouverture(ImageBinaire image, int tailleMasque) {
+        return Metriques.mesure("MorphoBinaire.ouverture", Metriques.pixels(image), () -> {
+            ImageBinaire erodee = erosion(image, tailleMasque);
+            return (erodee == null) ? null : dilatation(erodee, tailleMasque);
+        });
+    }
+
+    /**
+     * Fermeture binaire (dilatation puis érosion) par un carré centré.
+     *
+     * @param image L'image binaire.
+     * @param tailleMasque La taille de l'élément structurant carré (impair >= 1).
+     * @return Une nouvelle image binaire, ou null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique Binaire, Fermeture.
+     */
+    public static ImageBinaire fermeture(ImageBinaire image, int tailleMasque) {
+        return Metriques.mesure("MorphoBinaire.fermeture", Metriques.pixels(image), () -> {
+            ImageBinaire dilatee = dilatation(image, tailleMasque);
+            return (dilatee == null) ? null : erosion(dilatee, tailleMasque);
+        });
+    }
+
+    /**
+     * Reconstruction géodésique binaire du marqueur sous le masque (8-connexité) : composantes
+     * connexes du masque atteintes par le marqueur. Comme MorphoComplexe.reconstructionGeodesique,
+     * on part d'une première dilatation géodésique 3x3 du marqueur.
+     *
+     * @param marqueur L'image de départ.
+     * @param masque L'image qui contraint la reconstruction (mêmes dimensions).
+     * @return Une nouvelle image binaire, ou null si les entrées sont invalides.
+     *
+     * @technique Morphologie Géodésique Binaire, Reconstruction par Dilatation,
+     *            Balayages raster / anti-raster, Propagation par retenue.
+     */
+    public static ImageBinaire reconstructionGeodesique(ImageBinaire marqueur, ImageBinaire masque) {
+        if (marqueur == null || masque == null) {
+            System.err.println("Erreur [reconstructionGeodesique]: Images marqueur ou masque invalides.");
+            return null;
+        }
+        if (marqueur.getHauteur() != masque.getHauteur() || marqueur.getLargeur() != masque.getLargeur()) {
+            System.err.println("Erreur [reconstructionGeodesique]: Les dimensions des images marqueur et masque doivent être identiques.");
+            return null;
+        }
+        return Metriques.mesure("MorphoBinaire.reconstructionGeodesique", Metriques.pixels(masque), () -> {
+            int hauteur = masque.getHauteur();
+            int mots = masque.getMotsParLigne();
+            ImageBinaire resultat = rectangle(marqueur, 3, 3, false).et(masque);
+            long[] J = resultat.getMots();
+            long[] M = masque.getMots();
+
+            long[] graine = new long[mots];
+            long[] voisins = new long[mots];
+            long[] rempli = new long[mots];
+            long[] tampon = new long[mots];
+            // Nombre de balayages inconnu à l'avance : annulation vérifiée à chaque balayage, sans progression
+            Progression suivi = SuiviProgression.courante();
+            boolean modifie = true;
+            while (modifie) {
+                modifie = false;
+                // Balayage raster (la ligne précédente propage vers le bas), puis anti-raster
+                for (int sens = 0; sens < 2; sens++) {
+                    SuiviProgression.verifieAnnulation(suivi);
+                    for (int i = 0; i < hauteur; i++) {
+                        int y = (sens == 0) ? i : hauteur - 1 - i;
+                        int yVoisin = (sens == 0) ? y - 1 : y + 1;
+                        int base = y * mots;
+                        System.arraycopy(J, base, graine, 0, mots);
+                        if (yVoisin >= 0 && yVoisin < hauteur) {
+                            voisinage3(J, yVoisin * mots, mots, voisins);
+                            for (int w = 0; w < mots; w++) graine[w] |= voisins[w] & M[base + w];
+                        }
+                        rempliLigne(graine, M, base, mots, rempli, tampon);
+                        for (int w = 0; w < mots; w++) {
+                            if (rempli[w] != J[base + w]) {
+                                J[base + w] = rempli[w];
+                                modifie = true;
+                            }
+                        }
+                    }
+                }
+            }
+            return resultat;
+        });
+    }
+
+    // --- Fonctions Utilitaires Privées ---
+
+    private static boolean valide(ImageBinaire image, int hauteurMasque, int largeurMasque, String nom) {
+        if (image == null) {
+            System.err.println("Erreur [" + nom + "]: L'image d'entrée est invalide.");
+            return false;
+        }
+        if (hauteurMasque <= 0 || largeurMasque <= 0 || hauteurMasque % 2 == 0 || largeurMasque % 2 == 0) {
+            System.err.println("Erreur [" + nom + "]: La taille du masque doit être impaire et positive.");
+            return false;
+        }
+        return true;
+    }
+
+    /** Érosion (et = true) ou dilatation (et = false) par un rectangle centré : passe horizontale puis verticale. */
+    private static ImageBinaire rectangle(ImageBinaire image, int hauteurMasque, int largeurMasque, boolean et) {
+        int hauteur = image.getHauteur();
+        int largeur = image.getLargeur();
+        int mots = image.getMotsParLigne();
+        long[] src = image.getMots();
+        long dernier = image.masqueDernierMot();
+
+        // 1. Passe horizontale, ligne par ligne
+        int pad = (largeurMasque - 1) / 2;
+        int longueurEtendue = largeur + 2 * pad;
+        int motsEtendus = ((longueurEtendue + 63) >>> 6) + 1; // +1 mot pour les lectures décalées
+        long[][] lignes = new long[hauteur][];
+        long[] etendue = new long[motsEtendus];
+        for (int y = 0; y < hauteur; y++) {
+            long[] ligne = new long[mots];
+            if (largeurMasque == 1) {
+                System.arraycopy(src, y * mots, ligne, 0, mots);
+            } else {
+                // Ligne étendue de pad pixels répliqués de chaque côté
+                Arrays.fill(etendue, 0L);
+                decaleVersHaut(src, y * mots, mots, etendue, pad);
+                if ((src[y * mots] & 1L) != 0) metBits(etendue, 0, pad);
+                if ((src[y * mots + ((largeur - 1) >>> 6)] & (1L << (largeur - 1))) != 0) {
+                    metBits(etendue, largeur + pad, longueurEtendue);
+                }
+                long[] fenetre = fenetreHorizontale(etendue, largeurMasque, et);
+                System.arraycopy(fenetre, 0, ligne, 0, mots);
+                ligne[mots - 1] &= dernier;
+            }
+            lignes[y] = ligne;
+        }
+
+        // 2. Passe verticale sur les lignes entières (lignes étendues par réplication)
+        int padV = (hauteurMasque - 1) / 2;
+        long[][] etendues = new long[hauteur + 2 * padV][];
+        for (int t = 0; t < etendues.length; t++) {
+            etendues[t] = lignes[Math.max(0, Math.min(hauteur - 1, t - padV))];
+        }
+        long[][] fenetres = fenetreVerticale(etendues, hauteurMasque, mots, et);
+
+        ImageBinaire resultat = new ImageBinaire(hauteur, largeur);
+        long[] dest = resultat.getMots();
+        for (int y = 0; y < hauteur; y++) {
+            System.arraycopy(fenetres[y], 0, dest, y * mots, mots);
+        }
+        return resultat;
+    }
+
+    /**
+     * ET / OU glissant de k bits par doublement : R[t] = op(S[t .. t+k-1]).
+     * Fenêtres A_w (w = 1, 2, 4...) : A_2w[t] = A_w[t] op A_w[t+w] ; R_(r+w)[t] = R_r[t] op A_w[t+r].
+     */
+    private static long[] fenetreHorizontale(long[] s, int k, boolean et) {
+        long[] a = s;
+        long[] r = null;
+        int longueurR = 0;
+        for (int w = 1; w <= k; w <<= 1) {
+            if ((k & w) != 0) {
+                if (r == null) {
+                    r = a.clone();
+                } else {
+                    long[] decale = decaleVersBas(a, longueurR);
+                    for (int i = 0; i < r.length; i++) r[i] = et ? (r[i] & decale[i]) : (r[i] | decale[i]);
+                }
+                longueurR += w;
+            }
+            if (2L * w <= k) {
+                long[] decale = decaleVersBas(a, w);
+                long[] suivant = new long[a.length];
+                for (int i = 0; i < a.length; i++) suivant[i] = et ? (a[i] & decale[i]) : (a[i] | decale[i]);
+                a = suivant;
+            }
+        }
+        return r;
+    }
+
+    /** Même doublement sur des lignes entières : R[t] = op(S[t .. t+k-1]) pour t dans [0, n-k]. */
+    private static long[][] fenetreVerticale(long[][] s, int k, int mots, boolean et) {
+        int n = s.length;
+        long[][] a = s;
+        long[][] r = null;
+        int longueurR = 0;
+        for (int w = 1; w <= k; w <<= 1) {
+            if ((k & w) != 0) {
+                if (r == null) {
+                    r = new long[n - k + 1][];
+                    for (int t = 0; t < r.length; t++) r[t] = a[t].clone();
+                } else {
+                    for (int t = 0; t < r.length; t++) {
+                        long[] dest = r[t], autre = a[t + longueurR];
+                        for (int i = 0; i < mots; i++) dest[i] = et ? (dest[i] & autre[i]) : (dest[i] | autre[i]);
+                    }
+                }
+                longueurR += w;
+            }
+            if (2L * w <= k) {
+                long[][] suivant = new long[n - 2 * w + 1][];
+                for (int t = 0; t < suivant.length; t++) {
+                    long[] l1 = a[t], l2 = a[t + w], l = new long[mots];
+                    for (int i = 0; i < mots; i++) l[i] = et ? (l1[i] & l2[i]) : (l1[i] | l2[i]);
+                    suivant[t] = l;
+                }
+                a = suivant;
+            }
+        }
+        return r;
+    }
+
+    /** out[bit t] = a[bit t + k] (décalage vers les indices faibles), 0 au-delà de la fin. */
+    private static long[] decaleVersBas(long[] a, int k) {
+        long[] out = new long[a.length];
+        int ws = k >>> 6, bs = k & 63;
+        for (int i = 0; i + ws < a.length; i++) {
+            long v = a[i + ws] >>> bs;
+            if (bs != 0 && i + ws + 1 < a.length) v |= a[i + ws + 1] << (64 - bs);
+            out[i] = v;
+        }
+        return out;
+    }
+
+    /** dst[bit t + k] = src[debut..debut+mots[ bit t] (décalage vers les indices forts). */
+    private static void decaleVersHaut(long[] src, int debut, int mots, long[] dst, int k) {
+        int ws = k >>> 6, bs = k & 63;
+        for (int i = 0; i < mots; i++) {
+            long v = src[debut + i];
+            if (i + ws < dst.length) dst[i + ws] |= v << bs;
+            if (bs != 0 && i + ws + 1 < dst.length) dst[i + ws + 1] |= v >>> (64 - bs);
+        }
+    }
+
+    /** Met à 1 les bits [de, a[. */
+    private static void metBits(long[] a, int de, int jusqua) {
+        for (int t = de; t < jusqua; t++) a[t >>> 6] |= 1L << t;
+    }
+
+    /** voisins = ligne | ligne<<1 | ligne>>1 (voisinage horizontal 3, avant intersection avec le masque). */
+    private static void voisinage3(long[] J, int base, int mots, long[] voisins) {
+        for (int w = 0; w < mots; w++) {
+            long v = J[base + w];
+            long gauche = (v << 1) | (w > 0 ? J[base + w - 1] >>> 63 : 0L);
+            long droite = (v >>> 1) | (w < mots - 1 ? J[base + w + 1] << 63 : 0L);
+            voisins[w] = v | gauche | droite;
+        }
+    }
+
+    /**
+     * Remplit, dans une ligne, les plages du masque contenant au moins un bit de la graine
+     * (graine incluse dans le masque) : propagation vers les bits forts par addition avec retenue,
+     * puis vers les bits faibles par la même opération sur la ligne renversée.
+     */
+    private static void rempliLigne(long[] graine, long[] M, int base, int mots, long[] rempli, long[] tampon) {
+        // Vers les bits forts : ((m + s) ^ m) & m | s, addition multi-mots
+        long retenue = 0;
+        for (int w = 0; w < mots; w++) {
+            long m = M[base + w], s = graine[w];
+            long somme = m + s;
+            long retenue1 = Long.compareUnsigned(somme, m) < 0 ? 1 : 0;
+            long total = somme + retenue;
+            long retenue2 = (retenue != 0 && total == 0) ? 1 : 0;
+            retenue = retenue1 | retenue2;
+            rempli[w] = (((total ^ m) & m) | s);
+        }
+        // Vers les bits faibles : même opération sur la ligne renversée
+        retenue = 0;
+        for (int w = 0; w < mots; w++) {
+            long m = Long.reverse(M[base + mots - 1 - w]);
+            long s = Long.reverse(rempli[mots - 1 - w]);
+            long somme = m + s;
+            long retenue1 = Long.compareUnsigned(somme, m) < 0 ? 1 : 0;
+            long total = somme + retenue;
+            long retenue2 = (retenue != 0 && total == 0) ? 1 : 0;
+            retenue = retenue1 | retenue2;
+            tampon[w] = ((total ^ m) & m) | s;
+        }
+        for (int w = 0; w < mots; w++) rempli[w] = Long.reverse(tampon[mots - 1 - w]);
+    }
+}
@@ -2,8 +2,13 @@ package ImageProcessing.NonLineaire;
 
 import ImageProcessing.Core.PaddingUtils;
 import ImageProcessing.Core.BorderMode;
+import ImageProcessing.Core.Image8;
 import ImageProcessing.Core.ImageUtils; // <--- AJOUTER CET IMPORT ---
+import ImageProcessing.Core.Progression;
+import ImageProcessing.Core.SuiviProgression;
+import ImageProcessing.Metriques.Metriques;
 import java.util.Arrays; // Nécessaire pour Arrays.sort()
+import java.util.logging.Logger;
 
 /**
  * Contient des méthodes statiques pour des opérations morphologiques complexes
@@ -11,6 +16,8 @@ import java.util.Arrays; // Nécessaire pour Arrays.sort()
  */
 public class MorphoComplexe {
 
+    private static final Logger LOG = Logger.getLogger(MorphoComplexe.class.getName());
+
     /**
      * Applique un filtre médian à une image en niveaux de gris.
      * Chaque pixel est remplacé par la valeur médiane des pixels dans son voisinage carré.
@@ -18,6 +25,10 @@ public class MorphoComplexe {
      * tout en préservant relativement bien les contours.
      * Gère les bords par réplication.
      *
+     * Pour une image 8 bits, la médiane est obtenue par histogrammes glissants (Huang pour les petits
+     * masques, Perreault-Hébert en O(1) par pixel pour les grands, cf. filtreRang) au lieu d'un tri
+     * des K² voisins pour chaque pixel.
+     *
      * @param image        L'image d'entrée (int[hauteur][largeur], convention [y][x]).
      * @param tailleMasque La taille du voisinage carré (doit être impair >= 1).
      * @return Une nouvelle image (int[hauteur][largeur]) résultat du filtrage médian.
@@ -25,20 +36,88 @@ public class MorphoComplexe {
      * @technique Filtrage Non-Linéaire, Filtre de Rang, Filtre Médian.
      */
     public static int[][] filtreMedian(int[][] image, int tailleMasque) {
+        if (tailleMasque <= 0 || tailleMasque % 2 == 0) {
+            System.err.println("Erreur [filtreMedian]: La taille du masque doit être impaire et positive.");
+            return null;
+        }
+        return filtreRang(image, tailleMasque, (tailleMasque * tailleMasque) / 2);
+    }
+
+    /**
+     * Applique un filtre de rang à une image en niveaux de gris : chaque pixel est remplacé par la
+     * (rang+1)-ième plus petite valeur de son voisinage carré K x K (bords par réplication).
+     * rang = 0 donne le minimum (érosion), rang = K²/2 la médiane, rang = K² - 1 le maximum (dilatation).
+     *
+     * Si toutes les valeurs sont dans [0, 255], le calcul se fait par histogrammes glissants :
+     * algorithme de Huang (mise à jour colonne par colonne, O(K) par pixel) pour les petits masques,
+     * algorithme de Perreault-Hébert (histogrammes de colonnes, O(1) par pixel) à partir de
+     * K = 13. Le minimum et le maximum sont délégués à MorphoElementaire (van Herk / Gil-Werman).
+     * Sinon, on revient au tri des K² voisins de chaque pixel.
+     *
+     * @param image        L'image d'entrée (int[hauteur][largeur], convention [y][x]).
+     * @param tailleMasque La taille du voisinage carré (doit être impair >= 1).
+     * @param rang         Le rang cherché, dans [0, K² - 1].
+     * @return Une nouvelle image (int[hauteur][largeur]), ou null si les entrées sont invalides.
+     * @technique Filtrage Non-Linéaire, Filtre de Rang, Algorithme de Huang, Algorithme de Perreault-Hébert.
+     */
+    public static int[][] filtreRang(int[][] image, int tailleMasque, int rang) {
         // --- Validation des entrées ---
         if (image == null || image.length == 0 || image[0].length == 0) {
-            System.err.println("Erreur [filtreMedian]: L'image d'entrée est invalide.");
+            System.err.println("Erreur [filtreRang]: L'image d'entrée est invalide.");
             return null;
         }
         if (tailleMasque <= 0) {
-            System.err.println("Erreur [filtreMedian]: La taille du masque doit être positive.");
+            System.err.println("Erreur [filtreRang]: La taille du masque doit être positive.");
             return null;
         }
         if (tailleMasque % 2 == 0) {
-            System.err.println("Erreur [filtreMedian]: La taille du masque doit être impaire.");
+            System.err.println("Erreur [filtreRang]: La taille du masque doit être impaire.");
             return null;
         }
+        int nbVoisins = tailleMasque * tailleMasque;
+        if (rang < 0 || rang >= nbVoisins) {
+            System.err.println("Erreur [filtreRang]: Le rang doit être compris entre 0 et " + (nbVoisins - 1) + ".");
+            return null;
+        }
+
+        return Metriques.mesure("MorphoComplexe.filtreRang", Metriques.pixels(image), () -> {
+            if (FiltreRang.estHuitBits(image)) {
+                if (rang == 0) return MorphoElementaire.erosion(image, tailleMasque);
+                if (rang == nbVoisins - 1) return MorphoElementaire.dilatation(image, tailleMasque);
+                return FiltreRang.filtre(image, tailleMasque, rang);
+            }
+            return filtreRangParTri(image, tailleMasque, rang);
+        });
+    }
 
+    /**
+     * Applique un filtre percentile : la valeur de rang round(percentile/100 * (K² - 1)) du voisinage K x K.
+     * percentile = 0 donne le minimum, 50 la médiane, 100 le maximum.
+     *
+     * @param image        L'image d'entrée (int[hauteur][largeur], convention [y][x]).
+     * @param tailleMasque La taille du voisinage carré (doit être impair >= 1).
+     * @param percentile   Le percentile, dans [0, 100].
+     * @return Une nouvelle image (int[hauteur][largeur]), ou null si les entrées sont invalides.
+     * @technique Filtrage Non-Linéaire, Filtre de Rang, Filtre Percentile.
+     */
+    public static int[][] filtrePercentile(int[][] image, int tailleMasque, double percentile) {
+        if (!(percentile >= 0.0 && percentile <= 100.0)) {
+            System.err.println("Erreur [filtrePercentile]: Le percentile doit être compris entre 0 et 100.");
+            return null;
+        }
+        if (tailleMasque <= 0 || tailleMasque % 2 == 0) {
+            System.err.println("Erreur [filtrePercentile]: La taille du masque doit être impaire et positive.");
+            return null;
+        }
+        int rang = (int) Math.round(percentile / 100.0 * (tailleMasque * tailleMasque - 1));
+        return filtreRang(image, tailleMasque, rang);
+    }
+
+    /**
+     * Filtre de rang par tri des K² voisins de chaque pixel (O(K² log K) par pixel).
+     * Utilisé pour les images dont les valeurs sortent de [0, 255].
+     */
+    private static int[][] filtreRangParTri(int[][] image, int tailleMasque, int rang) {
         int hauteur = image.length;
         int largeur = image[0].length;
         int padSize = (tailleMasque - 1) / 2;
@@ -46,37 +125,27 @@ public class MorphoComplexe {
         // --- Padding ---
         int[][] imagePaddee = PaddingUtils.padImage(image, padSize, BorderMode.REPLICATE);
         if (imagePaddee == null) {
-            System.err.println("Erreur [filtreMedian]: Échec lors du padding de l'image.");
+            System.err.println("Erreur [filtreRang]: Échec lors du padding de l'image.");
             return null;
         }
 
-        // Création de l'image résultat
         int[][] resultat = new int[hauteur][largeur];
-        int nbVoisins = tailleMasque * tailleMasque;
-        int[] voisins = new int[nbVoisins]; // Tableau pour stocker les voisins
-        int indiceMilieu = nbVoisins / 2; // Indice de la médiane dans le tableau trié
+        int[] voisins = new int[tailleMasque * tailleMasque]; // Tableau pour stocker les voisins
+        Progression suivi = SuiviProgression.courante();
 
-        // --- Application du filtre médian ---
-        // Itérer sur chaque pixel (y, x) de l'image *originale*
         for (int y = 0; y < hauteur; y++) {
+            SuiviProgression.point(suivi, y, hauteur);
             for (int x = 0; x < largeur; x++) {
-
                 // 1. Collecter les valeurs des voisins
-                int k = 0; // Index pour le tableau voisins
+                int k = 0;
                 for (int i = -padSize; i <= padSize; i++) {
                     for (int j = -padSize; j <= padSize; j++) {
                         voisins[k++] = imagePaddee[y + padSize + i][x + padSize + j];
                     }
                 }
-
-                // 2. Trier les voisins
+                // 2. Trier les voisins et extraire la valeur de rang demandé
                 Arrays.sort(voisins);
-
-                // 3. Extraire la médiane (valeur du milieu)
-                int valeurMediane = voisins[indiceMilieu];
-
-                // 4. Stocker la médiane dans l'image résultat
-                resultat[y][x] = valeurMediane;
+                resultat[y][x] = voisins[rang];
             }
         }
         return resultat;
@@ -112,17 +181,25 @@ public class MorphoComplexe {
             return null;
         }
 
+        return Metriques.mesure("MorphoComplexe.dilatationGeodesique", Metriques.pixels(marqueur),
+                () -> dilatationGeodesiqueIteree(marqueur, masque, nbIter));
+    }
+
+    /** Itérations de la dilatation géodésique, sur des entrées déjà validées. */
+    private static int[][] dilatationGeodesiqueIteree(int[][] marqueur, int[][] masque, int nbIter) {
         // Commencer avec une copie du marqueur pour ne pas le modifier
         int[][] resultatCourant = ImageUtils.cloneMatrix(marqueur);
         if (resultatCourant == null) return null; // Échec du clonage
 
-        System.out.println("Début Dilatation Géodésique (" + nbIter + " itérations)...");
+        LOG.fine(() -> "Début Dilatation Géodésique (" + nbIter + " itérations)...");
 
-        // Itérer nbIter fois
+        // Itérer nbIter fois (chaque itération reçoit 1/nbIter de la progression)
         for (int i = 0; i < nbIter; i++) {
             // 1. Dilater l'image courante avec un élément structurant 3x3
             //    On utilise la dilatation de MorphoElementaire
-            int[][] dilatee = MorphoElementaire.dilatation(resultatCourant, 3);
+            final int[][] courant = resultatCourant;
+            int[][] dilatee = SuiviProgression.etape((double) i / nbIter, (double) (i + 1) / nbIter,
+                    () -> MorphoElementaire.dilatation(courant, 3));
             if (dilatee == null) {
                 System.err.println("Erreur [dilatationGeodesique]: Échec dilatation élémentaire à l'itération " + (i + 1));
                 return null; // Échec d'une étape intermédiaire
@@ -135,13 +212,10 @@ public class MorphoComplexe {
                 return null;
             }
 
-            // Optionnel: Log de progression
-            // if ((i + 1) % 10 == 0) {
-            //     System.out.println("Itération " + (i + 1) + " terminée.");
-            // }
+            Metriques.iterations(1);
         }
 
-        System.out.println("Dilatation Géodésique terminée.");
+        LOG.fine("Dilatation Géodésique terminée.");
         return resultatCourant;
     }
 
@@ -149,16 +223,21 @@ public class MorphoComplexe {
     /**
      * Réalise la reconstruction géodésique d'une image 'marqueur'
      * conditionnellement à une image 'masque' par dilatation.
-     * La reconstruction est obtenue en appliquant la dilatation géodésique
-     * de taille 1 jusqu'à ce que l'image n'évolue plus (convergence).
-     * L'élément structurant pour la dilatation élémentaire est un carré 3x3 implicite.
+     * La reconstruction est la limite de la dilatation géodésique de taille 1 répétée jusqu'à
+     * convergence ; elle est calculée ici par l'algorithme hybride de Vincent (1993) :
+     * un balayage raster, un balayage anti-raster, puis une propagation par file FIFO limitée
+     * aux pixels encore susceptibles d'évoluer. Le résultat est identique à l'itération
+     * "dilatation 3x3 puis minimum avec le masque" jusqu'à stabilité, pour un coût de quelques
+     * passes sur l'image au lieu d'une passe complète par itération.
+     * L'élément structurant pour la dilatation élémentaire est un carré 3x3 implicite (8-connexité).
      *
      * @param marqueur L'image de départ (int[hauteur][largeur]).
      * @param masque   L'image qui contraint la reconstruction (int[hauteur][largeur]).
      *                 Doit avoir les mêmes dimensions et marqueur[y][x] <= masque[y][x].
      * @return Une nouvelle image (int[hauteur][largeur]) résultat de la reconstruction,
      * ou null si les entrées sont invalides ou incompatibles.
-     * @technique Morphologie Géodésique, Reconstruction par Dilatation.
+     * @technique Morphologie Géodésique, Reconstruction par Dilatation,
+     *            Algorithme hybride de Vincent (balayages raster / anti-raster + file FIFO).
      */
     public static int[][] reconstructionGeodesique(int[][] marqueur, int[][] masque) {
         // --- Validation des entrées (similaire à dilatationGeodesique) ---
@@ -172,47 +251,183 @@ public class MorphoComplexe {
             return null;
         }
 
-        // Commencer avec une copie du marqueur
-        int[][] resultatPrecedent = null; // Pour détecter la convergence
-        int[][] resultatCourant = ImageUtils.cloneMatrix(marqueur);
-        if (resultatCourant == null) return null;
+        return Metriques.mesure("MorphoComplexe.reconstructionGeodesique", Metriques.pixels(masque),
+                () -> reconstructionMatrice(marqueur, masque));
+    }
 
-        System.out.println("Début Reconstruction Géodésique...");
-        int iteration = 0;
-        final int MAX_ITERATIONS = 10000; // Sécurité pour éviter boucle infinie
+    /** Reconstruction géodésique de matrices déjà validées. */
+    private static int[][] reconstructionMatrice(int[][] marqueur, int[][] masque) {
+        LOG.fine("Début Reconstruction Géodésique...");
+        int hauteur = masque.length;
+        int largeur = masque[0].length;
 
-        // Itérer jusqu'à convergence ou limite max
-        while (iteration < MAX_ITERATIONS) {
-            iteration++;
-            resultatPrecedent = resultatCourant; // Garder la version précédente
+        // --- Initialisation : une dilatation géodésique de taille 1 ---
+        // Ramène le marqueur sous le masque exactement comme la première itération de la
+        // version itérative (utile si la condition marqueur <= masque n'est pas respectée).
+        // Progression : dilatation initiale, puis balayages raster et anti-raster par ligne ; la durée
+        // de la propagation FIFO n'est pas connue à l'avance (seule l'annulation y est vérifiée).
+        Progression suivi = SuiviProgression.courante();
+        int[][] dilatee = SuiviProgression.etape(0.0, 0.2, () -> MorphoElementaire.dilatation(marqueur, 3));
+        if (dilatee == null) {
+            System.err.println("Erreur [reconstructionGeodesique]: Échec de la dilatation élémentaire initiale.");
+            return null;
+        }
+        int[] J = new int[hauteur * largeur]; // Image en cours de reconstruction (à plat)
+        int[] I = new int[hauteur * largeur]; // Masque (à plat)
+        for (int y = 0; y < hauteur; y++) {
+            int base = y * largeur;
+            for (int x = 0; x < largeur; x++) {
+                I[base + x] = masque[y][x];
+                J[base + x] = Math.min(dilatee[y][x], masque[y][x]);
+            }
+        }
 
-            // Appliquer UNE itération de dilatation géodésique de taille 1
-            int[][] dilatee = MorphoElementaire.dilatation(resultatPrecedent, 3);
-            if (dilatee == null) {
-                System.err.println("Erreur [reconstructionGeodesique]: Échec dilatation élémentaire à l'itération " + iteration);
-                return null;
+        reconstructionHybride(J, I, hauteur, largeur, suivi);
+
+        // --- Conversion vers int[y][x] ---
+        int[][] resultat = new int[hauteur][largeur];
+        for (int y = 0; y < hauteur; y++) {
+            System.arraycopy(J, y * largeur, resultat[y], 0, largeur);
+        }
+        LOG.fine("Reconstruction Géodésique terminée.");
+        return resultat;
+    }
+
+    /**
+     * Reconstruction géodésique par dilatation d'une image 8 bits à plat (même algorithme et même
+     * résultat que reconstructionGeodesique(int[][], int[][]), sans conversion en matrices int[][]).
+     *
+     * @param marqueur L'image de départ (Image8, éventuellement une vue roi).
+     * @param masque   L'image qui contraint la reconstruction, de mêmes dimensions.
+     * @return Une nouvelle image 8 bits (contiguë), ou null si les entrées sont invalides ou incompatibles.
+     * @technique Morphologie Géodésique, Reconstruction par Dilatation,
+     *            Algorithme hybride de Vincent (balayages raster / anti-raster + file FIFO).
+     */
+    public static Image8 reconstructionGeodesique(Image8 marqueur, Image8 masque) {
+        if (marqueur == null || masque == null) {
+            System.err.println("Erreur [reconstructionGeodesique]: Images marqueur ou masque invalides.");
+            return null;
+        }
+        if (!marqueur.memesDimensions(masque)) {
+            System.err.println("Erreur [reconstructionGeodesique]: Les dimensions des images marqueur et masque doivent être identiques.");
+            return null;
+        }
+        return Metriques.mesure("MorphoComplexe.reconstructionGeodesique/Image8", Metriques.pixels(masque),
+                () -> reconstructionImage8(marqueur, masque));
+    }
+
+    /** Reconstruction géodésique d'images 8 bits déjà validées. */
+    private static Image8 reconstructionImage8(Image8 marqueur, Image8 masque) {
+        int hauteur = masque.getHauteur();
+        int largeur = masque.getLargeur();
+
+        Progression suivi = SuiviProgression.courante();
+        Image8 dilatee = SuiviProgression.etape(0.0, 0.2, () -> MorphoElementaire.dilatation(marqueur, 3));
+        if (dilatee == null) {
+            System.err.println("Erreur [reconstructionGeodesique]: Échec de la dilatation élémentaire initiale.");
+            return null;
+        }
+        int[] J = new int[hauteur * largeur];
+        int[] I = new int[hauteur * largeur];
+        byte[] d = dilatee.getDonnees();
+        byte[] m = masque.getDonnees();
+        for (int y = 0; y < hauteur; y++) {
+            int base = y * largeur;
+            int baseD = dilatee.index(y, 0);
+            int baseM = masque.index(y, 0);
+            for (int x = 0; x < largeur; x++) {
+                int vm = m[baseM + x] & 0xFF;
+                I[base + x] = vm;
+                J[base + x] = Math.min(d[baseD + x] & 0xFF, vm);
             }
-            resultatCourant = minimumPointParPoint(dilatee, masque);
-            if (resultatCourant == null) {
-                System.err.println("Erreur [reconstructionGeodesique]: Échec minimum point par point à l'itération " + iteration);
-                return null;
+        }
+
+        reconstructionHybride(J, I, hauteur, largeur, suivi);
+
+        Image8 resultat = new Image8(hauteur, largeur);
+        byte[] r = resultat.getDonnees();
+        for (int p = 0; p < r.length; p++) r[p] = (byte) J[p];
+        return resultat;
+    }
+
+    /**
+     * Balayages raster et anti-raster puis propagation FIFO de l'algorithme hybride de Vincent.
+     * J (marqueur déjà ramené sous le masque) est modifié sur place ; I est le masque. Tableaux à plat
+     * hauteur x largeur. Itérations signalées (cf. Metriques) : pixels retirés de la file.
+     */
+    private static void reconstructionHybride(int[] J, int[] I, int hauteur, int largeur, Progression suivi) {
+        // --- 1. Balayage raster : voisins déjà visités (haut-gauche, haut, haut-droite, gauche) ---
+        for (int y = 0; y < hauteur; y++) {
+            SuiviProgression.point(suivi, 2L * hauteur + 4L * y, 10L * hauteur); // 0.2 .. 0.6
+            for (int x = 0; x < largeur; x++) {
+                int p = y * largeur + x;
+                int m = J[p];
+                if (x > 0) m = Math.max(m, J[p - 1]);
+                if (y > 0) {
+                    int q = p - largeur;
+                    m = Math.max(m, J[q]);
+                    if (x > 0) m = Math.max(m, J[q - 1]);
+                    if (x < largeur - 1) m = Math.max(m, J[q + 1]);
+                }
+                J[p] = Math.min(m, I[p]);
             }
+        }
 
-            // Vérifier la convergence: l'image a-t-elle changé ?
-            if (Arrays.deepEquals(resultatCourant, resultatPrecedent)) {
-                System.out.println("Reconstruction Géodésique convergée après " + iteration + " itérations.");
-                return resultatCourant; // Convergence atteinte !
+        // --- 2. Balayage anti-raster (bas-droite, bas, bas-gauche, droite) + amorçage de la file ---
+        FileEntiers file = new FileEntiers(Math.max(16, (hauteur + largeur) * 2));
+        for (int y = hauteur - 1; y >= 0; y--) {
+            SuiviProgression.point(suivi, 6L * hauteur + 4L * (hauteur - 1 - y), 10L * hauteur); // 0.6 .. 1.0
+            for (int x = largeur - 1; x >= 0; x--) {
+                int p = y * largeur + x;
+                int m = J[p];
+                if (x < largeur - 1) m = Math.max(m, J[p + 1]);
+                if (y < hauteur - 1) {
+                    int q = p + largeur;
+                    m = Math.max(m, J[q]);
+                    if (x > 0) m = Math.max(m, J[q - 1]);
+                    if (x < largeur - 1) m = Math.max(m, J[q + 1]);
+                }
+                int v = Math.min(m, I[p]);
+                J[p] = v;
+
+                // p peut encore faire progresser un voisin "anti-raster" : à propager
+                boolean aPropager = false;
+                if (x < largeur - 1 && J[p + 1] < v && J[p + 1] < I[p + 1]) aPropager = true;
+                if (!aPropager && y < hauteur - 1) {
+                    int q = p + largeur;
+                    if (J[q] < v && J[q] < I[q]) aPropager = true;
+                    else if (x > 0 && J[q - 1] < v && J[q - 1] < I[q - 1]) aPropager = true;
+                    else if (x < largeur - 1 && J[q + 1] < v && J[q + 1] < I[q + 1]) aPropager = true;
+                }
+                if (aPropager) file.ajoute(p);
             }
-            // Optionnel: Log de progression
-            // if (iteration % 50 == 0) {
-            //    System.out.println("Itération de reconstruction " + iteration + "...");
-            // }
         }
 
-        // Si on sort de la boucle sans converger (très improbable avec des images finies)
-        System.err.println("Erreur [reconstructionGeodesique]: Convergence non atteinte après " + MAX_ITERATIONS + " itérations.");
-        return resultatCourant; // Retourner le dernier état calculé
+        // --- 3. Propagation FIFO (8-connexité) ---
+        int retraits = 0;
+        while (!file.estVide()) {
+            if ((++retraits & 0xFFFF) == 0) SuiviProgression.verifieAnnulation(suivi);
+            int p = file.retire();
+            int py = p / largeur;
+            int px = p - py * largeur;
+            int v = J[p];
+            for (int dy = -1; dy <= 1; dy++) {
+                int ny = py + dy;
+                if (ny < 0 || ny >= hauteur) continue;
+                for (int dx = -1; dx <= 1; dx++) {
+                    int nx = px + dx;
+                    if ((dx == 0 && dy == 0) || nx < 0 || nx >= largeur) continue;
+                    int q = ny * largeur + nx;
+                    if (J[q] < v && J[q] != I[q]) {
+                        J[q] = Math.min(v, I[q]);
+                        file.ajoute(q);
+                    }
+                }
+            }
+        }
+        Metriques.iterations(retraits);
     }
+
     // --- Fonctions Utilitaires Privées ---
 
     /**
@@ -238,5 +453,38 @@ public class MorphoComplexe {
         return resultat;
     }
 
-}
+    /** File FIFO d'entiers (indices de pixels) sur tableau circulaire extensible, sans objets Integer. */
+    private static final class FileEntiers {
+        private int[] elements;
+        private int tete = 0;   // Indice du prochain élément à retirer
+        private int taille = 0; // Nombre d'éléments dans la file
 
+        FileEntiers(int capacite) {
+            elements = new int[capacite];
+        }
+
+        void ajoute(int valeur) {
+            if (taille == elements.length) {
+                int[] agrandi = new int[elements.length * 2];
+                int premiers = elements.length - tete;
+                System.arraycopy(elements, tete, agrandi, 0, premiers);
+                System.arraycopy(elements, 0, agrandi, premiers, tete);
+                elements = agrandi;
+                tete = 0;
+            }
+            elements[(tete + taille) % elements.length] = valeur;
+            taille++;
+        }
+
+        int retire() {
+            int valeur = elements[tete];
+            tete = (tete + 1) % elements.length;
+            taille--;
+            return valeur;
+        }
+
+        boolean estVide() {
+            return taille == 0;
+        }
+    }
+}
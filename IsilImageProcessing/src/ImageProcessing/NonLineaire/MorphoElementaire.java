@@ -1,15 +1,30 @@
 package ImageProcessing.NonLineaire;
 
-import ImageProcessing.Core.PaddingUtils;
-import ImageProcessing.Core.BorderMode;
+import ImageProcessing.Core.Image16;
+import ImageProcessing.Core.Image8;
+import ImageProcessing.Core.ImageF32;
+import ImageProcessing.Core.ImagePlate;
+import ImageProcessing.Core.SuiviProgression;
+import ImageProcessing.Metriques.Metriques;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
 
 /**
  * Contient des méthodes statiques pour les opérations morphologiques élémentaires
  * (érosion, dilatation, ouverture, fermeture) sur des images en niveaux de gris ou binaires.
- * Utilise un élément structurant carré implicite de taille spécifiée.
+ * Utilise un élément structurant carré implicite de taille spécifiée (ou rectangulaire),
+ * ou un ElementStructurant de forme quelconque (disque, losange, octogone, ligne, masque...).
+ * Érosion et dilatation sont calculées par min/max glissants séparables (van Herk / Gil-Werman) :
+ * leur coût ne dépend pas de la taille de l'élément structurant.
+ * Les opérations en plusieurs passes répartissent leur progression entre elles (cf. SuiviProgression).
  */
 public class MorphoElementaire {
 
+    private static final Logger LOG = Logger.getLogger(MorphoElementaire.class.getName());
+
     /**
      * Réalise l'érosion morphologique d'une image.
      * Pour chaque pixel, la valeur de sortie est le minimum des pixels
@@ -24,54 +39,49 @@ public class MorphoElementaire {
      * @technique Morphologie Mathématique, Érosion, Élément Structurant Carré.
      */
     public static int[][] erosion(int[][] image, int tailleMasque) {
+        return erosion(image, tailleMasque, tailleMasque);
+    }
+
+    /**
+     * Réalise l'érosion morphologique d'une image par un élément structurant rectangulaire
+     * centré (hauteurMasque x largeurMasque). Le rectangle étant séparable, on applique un minimum
+     * glissant horizontal puis vertical, chacun calculé par l'algorithme de van Herk / Gil-Werman :
+     * environ 3 comparaisons par pixel et par axe, indépendamment de la taille de l'élément.
+     * Gère les bords par réplication.
+     *
+     * @param image L'image d'entrée (int[hauteur][largeur], convention [y][x]).
+     * @param hauteurMasque La hauteur de l'élément structurant (doit être impaire >= 1).
+     * @param largeurMasque La largeur de l'élément structurant (doit être impaire >= 1).
+     * @return Une nouvelle image (int[hauteur][largeur]) résultat de l'érosion.
+     *         Retourne null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique, Érosion, Élément Structurant Rectangulaire,
+     *            Algorithme de van Herk / Gil-Werman.
+     */
+    public static int[][] erosion(int[][] image, int hauteurMasque, int largeurMasque) {
         // --- Validation des entrées ---
         if (image == null || image.length == 0 || image[0].length == 0) {
             System.err.println("Erreur [erosion]: L'image d'entrée est invalide.");
             return null;
         }
-        if (tailleMasque <= 0) {
+        if (hauteurMasque <= 0 || largeurMasque <= 0) {
             System.err.println("Erreur [erosion]: La taille du masque doit être positive.");
             return null;
         }
-        if (tailleMasque % 2 == 0) {
+        if (hauteurMasque % 2 == 0 || largeurMasque % 2 == 0) {
             System.err.println("Erreur [erosion]: La taille du masque doit être impaire.");
             return null;
         }
 
-        int hauteur = image.length;
-        int largeur = image[0].length;
-        int padSize = (tailleMasque - 1) / 2;
-
-        // --- Padding ---
-        // REPLICATE est un choix raisonnable pour l'érosion.
-        int[][] imagePaddee = PaddingUtils.padImage(image, padSize, BorderMode.REPLICATE);
-        if (imagePaddee == null) {
-            System.err.println("Erreur [erosion]: Échec lors du padding de l'image.");
-            return null;
-        }
-
-        // Création de l'image résultat
-        int[][] resultat = new int[hauteur][largeur];
-
-        // --- Application de l'érosion ---
-        // Itérer sur chaque pixel (y, x) de l'image *originale*
-        for (int y = 0; y < hauteur; y++) {
-            for (int x = 0; x < largeur; x++) {
-                int minVoisin = 255; // Initialiser au maximum possible pour chercher le minimum
-
-                // Itérer sur le voisinage carré dans l'image *paddée*
-                for (int i = -padSize; i <= padSize; i++) {
-                    for (int j = -padSize; j <= padSize; j++) {
-                        int voisinY = y + padSize + i;
-                        int voisinX = x + padSize + j;
-                        minVoisin = Math.min(minVoisin, imagePaddee[voisinY][voisinX]);
-                    }
-                }
-                // Stocker le minimum trouvé
-                resultat[y][x] = minVoisin;
-            }
-        }
-        return resultat;
+        // --- Minimum glissant horizontal puis vertical ---
+        // La valeur neutre 255 reproduit l'initialisation de l'accumulateur de la version
+        // directe (K×K comparaisons par pixel), dont le résultat est ainsi conservé à l'identique.
+        return Metriques.mesure("MorphoElementaire.erosion", Metriques.pixels(image), () -> {
+            int[][] passeHorizontale = SuiviProgression.etape(0.0, 0.5,
+                    () -> VanHerk.horizontal(image, -(largeurMasque - 1) / 2, largeurMasque, true, 255));
+            return SuiviProgression.etape(0.5, 1.0,
+                    () -> VanHerk.vertical(passeHorizontale, -(hauteurMasque - 1) / 2, hauteurMasque, true, 255));
+        });
     }
 
     /**
@@ -88,55 +98,49 @@ public class MorphoElementaire {
      * @technique Morphologie Mathématique, Dilatation, Élément Structurant Carré.
      */
     public static int[][] dilatation(int[][] image, int tailleMasque) {
+        return dilatation(image, tailleMasque, tailleMasque);
+    }
+
+    /**
+     * Réalise la dilatation morphologique d'une image par un élément structurant rectangulaire
+     * centré (hauteurMasque x largeurMasque). Le rectangle étant séparable, on applique un maximum
+     * glissant horizontal puis vertical, chacun calculé par l'algorithme de van Herk / Gil-Werman :
+     * environ 3 comparaisons par pixel et par axe, indépendamment de la taille de l'élément.
+     * Gère les bords par réplication.
+     *
+     * @param image L'image d'entrée (int[hauteur][largeur], convention [y][x]).
+     * @param hauteurMasque La hauteur de l'élément structurant (doit être impaire >= 1).
+     * @param largeurMasque La largeur de l'élément structurant (doit être impaire >= 1).
+     * @return Une nouvelle image (int[hauteur][largeur]) résultat de la dilatation.
+     *         Retourne null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique, Dilatation, Élément Structurant Rectangulaire,
+     *            Algorithme de van Herk / Gil-Werman.
+     */
+    public static int[][] dilatation(int[][] image, int hauteurMasque, int largeurMasque) {
         // --- Validation des entrées ---
         if (image == null || image.length == 0 || image[0].length == 0) {
             System.err.println("Erreur [dilatation]: L'image d'entrée est invalide.");
             return null;
         }
-        if (tailleMasque <= 0) {
+        if (hauteurMasque <= 0 || largeurMasque <= 0) {
             System.err.println("Erreur [dilatation]: La taille du masque doit être positive.");
             return null;
         }
-        if (tailleMasque % 2 == 0) {
+        if (hauteurMasque % 2 == 0 || largeurMasque % 2 == 0) {
             System.err.println("Erreur [dilatation]: La taille du masque doit être impaire.");
             return null;
         }
 
-        int hauteur = image.length;
-        int largeur = image[0].length;
-        int padSize = (tailleMasque - 1) / 2;
-
-        // --- Padding ---
-        // REPLICATE est utilisé ici aussi pour la cohérence avec l'érosion.
-        // Pourrait être discuté (parfois ZERO est utilisé pour la dilatation).
-        int[][] imagePaddee = PaddingUtils.padImage(image, padSize, BorderMode.REPLICATE);
-        if (imagePaddee == null) {
-            System.err.println("Erreur [dilatation]: Échec lors du padding de l'image.");
-            return null;
-        }
-
-        // Création de l'image résultat
-        int[][] resultat = new int[hauteur][largeur];
-
-        // --- Application de la dilatation ---
-        // Itérer sur chaque pixel (y, x) de l'image *originale*
-        for (int y = 0; y < hauteur; y++) {
-            for (int x = 0; x < largeur; x++) {
-                int maxVoisin = 0; // Initialiser au minimum possible pour chercher le maximum
-
-                // Itérer sur le voisinage carré dans l'image *paddée*
-                for (int i = -padSize; i <= padSize; i++) {
-                    for (int j = -padSize; j <= padSize; j++) {
-                        int voisinY = y + padSize + i;
-                        int voisinX = x + padSize + j;
-                        maxVoisin = Math.max(maxVoisin, imagePaddee[voisinY][voisinX]);
-                    }
-                }
-                // Stocker le maximum trouvé
-                resultat[y][x] = maxVoisin;
-            }
-        }
-        return resultat;
+        // --- Maximum glissant horizontal puis vertical ---
+        // La valeur neutre 0 reproduit l'initialisation de l'accumulateur de la version
+        // directe (K×K comparaisons par pixel), dont le résultat est ainsi conservé à l'identique.
+        return Metriques.mesure("MorphoElementaire.dilatation", Metriques.pixels(image), () -> {
+            int[][] passeHorizontale = SuiviProgression.etape(0.0, 0.5,
+                    () -> VanHerk.horizontal(image, -(largeurMasque - 1) / 2, largeurMasque, false, 0));
+            return SuiviProgression.etape(0.5, 1.0,
+                    () -> VanHerk.vertical(passeHorizontale, -(hauteurMasque - 1) / 2, hauteurMasque, false, 0));
+        });
     }
 
     /**
@@ -158,22 +162,24 @@ public class MorphoElementaire {
             return null;
         }
 
-        System.out.println("Ouverture: Étape 1 - Érosion...");
-        int[][] imageErodee = erosion(image, tailleMasque);
-        if (imageErodee == null) {
-            System.err.println("Erreur [ouverture]: Échec de l'étape d'érosion.");
-            return null;
-        }
+        return Metriques.mesure("MorphoElementaire.ouverture", Metriques.pixels(image), () -> {
+            LOG.fine("Ouverture: Étape 1 - Érosion...");
+            int[][] imageErodee = SuiviProgression.etape(0.0, 0.5, () -> erosion(image, tailleMasque));
+            if (imageErodee == null) {
+                System.err.println("Erreur [ouverture]: Échec de l'étape d'érosion.");
+                return null;
+            }
 
-        System.out.println("Ouverture: Étape 2 - Dilatation...");
-        int[][] resultat = dilatation(imageErodee, tailleMasque);
-        if (resultat == null) {
-            System.err.println("Erreur [ouverture]: Échec de l'étape de dilatation.");
-            return null;
-        }
+            LOG.fine("Ouverture: Étape 2 - Dilatation...");
+            int[][] resultat = SuiviProgression.etape(0.5, 1.0, () -> dilatation(imageErodee, tailleMasque));
+            if (resultat == null) {
+                System.err.println("Erreur [ouverture]: Échec de l'étape de dilatation.");
+                return null;
+            }
 
-        System.out.println("Ouverture terminée.");
-        return resultat;
+            LOG.fine("Ouverture terminée.");
+            return resultat;
+        });
     }
 
     /**
@@ -195,21 +201,439 @@ public class MorphoElementaire {
             return null;
         }
 
-        System.out.println("Fermeture: Étape 1 - Dilatation...");
-        int[][] imageDilatee = dilatation(image, tailleMasque);
-        if (imageDilatee == null) {
-            System.err.println("Erreur [fermeture]: Échec de l'étape de dilatation.");
+        return Metriques.mesure("MorphoElementaire.fermeture", Metriques.pixels(image), () -> {
+            LOG.fine("Fermeture: Étape 1 - Dilatation...");
+            int[][] imageDilatee = SuiviProgression.etape(0.0, 0.5, () -> dilatation(image, tailleMasque));
+            if (imageDilatee == null) {
+                System.err.println("Erreur [fermeture]: Échec de l'étape de dilatation.");
+                return null;
+            }
+
+            LOG.fine("Fermeture: Étape 2 - Érosion...");
+            int[][] resultat = SuiviProgression.etape(0.5, 1.0, () -> erosion(imageDilatee, tailleMasque));
+            if (resultat == null) {
+                System.err.println("Erreur [fermeture]: Échec de l'étape d'érosion.");
+                return null;
+            }
+
+            LOG.fine("Fermeture terminée.");
+            return resultat;
+        });
+    }
+
+    // --- Éléments structurants quelconques ---
+
+    /**
+     * Réalise l'érosion morphologique d'une image par un élément structurant quelconque :
+     * resultat(x) = min { image(x + b) : b dans l'élément }.
+     * L'élément est traité segment horizontal par segment horizontal (cf. ElementStructurant) :
+     * un min glissant de van Herk par segment distinct, un min glissant vertical pour les segments
+     * identiques sur des lignes consécutives, puis un minimum point par point des résultats décalés.
+     * Gère les bords par réplication. Un élément carré donne le même résultat que erosion(image, taille).
+     *
+     * @param image L'image d'entrée (int[hauteur][largeur], convention [y][x]).
+     * @param element L'élément structurant.
+     * @return Une nouvelle image (int[hauteur][largeur]) résultat de l'érosion.
+     *         Retourne null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique, Érosion, Élément Structurant quelconque,
+     *            Décomposition en segments, Algorithme de van Herk / Gil-Werman.
+     */
+    public static int[][] erosion(int[][] image, ElementStructurant element) {
+        if (image == null || image.length == 0 || image[0].length == 0) {
+            System.err.println("Erreur [erosion]: L'image d'entrée est invalide.");
+            return null;
+        }
+        if (element == null) {
+            System.err.println("Erreur [erosion]: L'élément structurant est null.");
             return null;
         }
+        return Metriques.mesure("MorphoElementaire.erosion(element)", Metriques.pixels(image),
+                () -> appliqueElement(image, element, true, 255));
+    }
 
-        System.out.println("Fermeture: Étape 2 - Érosion...");
-        int[][] resultat = erosion(imageDilatee, tailleMasque);
-        if (resultat == null) {
-            System.err.println("Erreur [fermeture]: Échec de l'étape d'érosion.");
+    /**
+     * Réalise la dilatation morphologique d'une image par un élément structurant quelconque :
+     * resultat(x) = max { image(x - b) : b dans l'élément }, c'est-à-dire un maximum sur l'élément réfléchi
+     * (ce qui fait de ouverture / fermeture de vraies ouvertures / fermetures pour les éléments non symétriques).
+     * Gère les bords par réplication. Un élément carré donne le même résultat que dilatation(image, taille).
+     *
+     * @param image L'image d'entrée (int[hauteur][largeur], convention [y][x]).
+     * @param element L'élément structurant.
+     * @return Une nouvelle image (int[hauteur][largeur]) résultat de la dilatation.
+     *         Retourne null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique, Dilatation, Élément Structurant quelconque,
+     *            Décomposition en segments, Algorithme de van Herk / Gil-Werman.
+     */
+    public static int[][] dilatation(int[][] image, ElementStructurant element) {
+        if (image == null || image.length == 0 || image[0].length == 0) {
+            System.err.println("Erreur [dilatation]: L'image d'entrée est invalide.");
+            return null;
+        }
+        if (element == null) {
+            System.err.println("Erreur [dilatation]: L'élément structurant est null.");
             return null;
         }
+        return Metriques.mesure("MorphoElementaire.dilatation(element)", Metriques.pixels(image),
+                () -> appliqueElement(image, element.reflechi(), false, 0));
+    }
+
+    /**
+     * Réalise l'ouverture morphologique (érosion puis dilatation) par un élément structurant quelconque.
+     *
+     * @param image L'image d'entrée (int[hauteur][largeur], convention [y][x]).
+     * @param element L'élément structurant.
+     * @return Une nouvelle image résultat de l'ouverture, ou null en cas d'erreur.
+     *
+     * @technique Morphologie Mathématique, Ouverture, Élément Structurant quelconque.
+     */
+    public static int[][] ouverture(int[][] image, ElementStructurant element) {
+        return Metriques.mesure("MorphoElementaire.ouverture(element)", Metriques.pixels(image), () -> {
+            int[][] imageErodee = erosion(image, element);
+            if (imageErodee == null) {
+                System.err.println("Erreur [ouverture]: Échec de l'étape d'érosion.");
+                return null;
+            }
+            return dilatation(imageErodee, element);
+        });
+    }
+
+    /**
+     * Réalise la fermeture morphologique (dilatation puis érosion) par un élément structurant quelconque.
+     *
+     * @param image L'image d'entrée (int[hauteur][largeur], convention [y][x]).
+     * @param element L'élément structurant.
+     * @return Une nouvelle image résultat de la fermeture, ou null en cas d'erreur.
+     *
+     * @technique Morphologie Mathématique, Fermeture, Élément Structurant quelconque.
+     */
+    public static int[][] fermeture(int[][] image, ElementStructurant element) {
+        return Metriques.mesure("MorphoElementaire.fermeture(element)", Metriques.pixels(image), () -> {
+            int[][] imageDilatee = dilatation(image, element);
+            if (imageDilatee == null) {
+                System.err.println("Erreur [fermeture]: Échec de l'étape de dilatation.");
+                return null;
+            }
+            return erosion(imageDilatee, element);
+        });
+    }
 
-        System.out.println("Fermeture terminée.");
+    // --- Surcharges pour les images 8 bits à plat (Image8) ---
+
+    /**
+     * Érosion d'une image 8 bits à plat par un rectangle centré hauteurMasque x largeurMasque
+     * (van Herk / Gil-Werman, bords par réplication). Même résultat que erosion(int[][], int, int),
+     * lu et écrit directement dans les octets (les vues roi sont acceptées en entrée).
+     *
+     * @param image L'image d'entrée (Image8).
+     * @param hauteurMasque La hauteur de l'élément structurant (doit être impaire >= 1).
+     * @param largeurMasque La largeur de l'élément structurant (doit être impaire >= 1).
+     * @return Une nouvelle image 8 bits (contiguë), ou null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique, Érosion, Algorithme de van Herk / Gil-Werman.
+     */
+    public static Image8 erosion(Image8 image, int hauteurMasque, int largeurMasque) {
+        return minMaxRectangle(image, hauteurMasque, largeurMasque, true, "erosion");
+    }
+
+    /** Érosion d'une image 8 bits par un carré centré tailleMasque x tailleMasque. */
+    public static Image8 erosion(Image8 image, int tailleMasque) {
+        return erosion(image, tailleMasque, tailleMasque);
+    }
+
+    /**
+     * Dilatation d'une image 8 bits à plat par un rectangle centré hauteurMasque x largeurMasque
+     * (van Herk / Gil-Werman, bords par réplication). Même résultat que dilatation(int[][], int, int).
+     *
+     * @param image L'image d'entrée (Image8).
+     * @param hauteurMasque La hauteur de l'élément structurant (doit être impaire >= 1).
+     * @param largeurMasque La largeur de l'élément structurant (doit être impaire >= 1).
+     * @return Une nouvelle image 8 bits (contiguë), ou null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique, Dilatation, Algorithme de van Herk / Gil-Werman.
+     */
+    public static Image8 dilatation(Image8 image, int hauteurMasque, int largeurMasque) {
+        return minMaxRectangle(image, hauteurMasque, largeurMasque, false, "dilatation");
+    }
+
+    /** Dilatation d'une image 8 bits par un carré centré tailleMasque x tailleMasque. */
+    public static Image8 dilatation(Image8 image, int tailleMasque) {
+        return dilatation(image, tailleMasque, tailleMasque);
+    }
+
+    /**
+     * Ouverture (érosion puis dilatation) d'une image 8 bits par un carré centré.
+     * @return Une nouvelle image 8 bits, ou null si les entrées sont invalides.
+     * @technique Morphologie Mathématique, Ouverture.
+     */
+    public static Image8 ouverture(Image8 image, int tailleMasque) {
+        return Metriques.mesure("MorphoElementaire.ouverture/Image8", Metriques.pixels(image), () -> {
+            Image8 imageErodee = SuiviProgression.etape(0.0, 0.5, () -> erosion(image, tailleMasque));
+            return (imageErodee == null) ? null : SuiviProgression.etape(0.5, 1.0, () -> dilatation(imageErodee, tailleMasque));
+        });
+    }
+
+    /**
+     * Fermeture (dilatation puis érosion) d'une image 8 bits par un carré centré.
+     * @return Une nouvelle image 8 bits, ou null si les entrées sont invalides.
+     * @technique Morphologie Mathématique, Fermeture.
+     */
+    public static Image8 fermeture(Image8 image, int tailleMasque) {
+        return Metriques.mesure("MorphoElementaire.fermeture/Image8", Metriques.pixels(image), () -> {
+            Image8 imageDilatee = SuiviProgression.etape(0.0, 0.5, () -> dilatation(image, tailleMasque));
+            return (imageDilatee == null) ? null : SuiviProgression.etape(0.5, 1.0, () -> erosion(imageDilatee, tailleMasque));
+        });
+    }
+
+    // --- Surcharges pour les images 16 bits (Image16) et flottantes (ImageF32) à plat ---
+
+    /**
+     * Érosion d'une image 16 bits à plat par un rectangle centré hauteurMasque x largeurMasque
+     * (van Herk / Gil-Werman, bords par réplication), même calcul que erosion(Image8, int, int).
+     *
+     * @param image L'image d'entrée (Image16, éventuellement une vue roi).
+     * @param hauteurMasque La hauteur de l'élément structurant (doit être impaire >= 1).
+     * @param largeurMasque La largeur de l'élément structurant (doit être impaire >= 1).
+     * @return Une nouvelle image 16 bits (contiguë), ou null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique, Érosion, Algorithme de van Herk / Gil-Werman.
+     */
+    public static Image16 erosion(Image16 image, int hauteurMasque, int largeurMasque) {
+        return minMaxRectangle(image, hauteurMasque, largeurMasque, true, "erosion");
+    }
+
+    /** Érosion d'une image 16 bits par un carré centré tailleMasque x tailleMasque. */
+    public static Image16 erosion(Image16 image, int tailleMasque) {
+        return erosion(image, tailleMasque, tailleMasque);
+    }
+
+    /**
+     * Dilatation d'une image 16 bits à plat par un rectangle centré hauteurMasque x largeurMasque
+     * (van Herk / Gil-Werman, bords par réplication), même calcul que dilatation(Image8, int, int).
+     *
+     * @param image L'image d'entrée (Image16, éventuellement une vue roi).
+     * @param hauteurMasque La hauteur de l'élément structurant (doit être impaire >= 1).
+     * @param largeurMasque La largeur de l'élément structurant (doit être impaire >= 1).
+     * @return Une nouvelle image 16 bits (contiguë), ou null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique, Dilatation, Algorithme de van Herk / Gil-Werman.
+     */
+    public static Image16 dilatation(Image16 image, int hauteurMasque, int largeurMasque) {
+        return minMaxRectangle(image, hauteurMasque, largeurMasque, false, "dilatation");
+    }
+
+    /** Dilatation d'une image 16 bits par un carré centré tailleMasque x tailleMasque. */
+    public static Image16 dilatation(Image16 image, int tailleMasque) {
+        return dilatation(image, tailleMasque, tailleMasque);
+    }
+
+    /** Ouverture (érosion puis dilatation) d'une image 16 bits par un carré centré. */
+    public static Image16 ouverture(Image16 image, int tailleMasque) {
+        return Metriques.mesure("MorphoElementaire.ouverture/Image16", Metriques.pixels(image), () -> {
+            Image16 imageErodee = SuiviProgression.etape(0.0, 0.5, () -> erosion(image, tailleMasque));
+            return (imageErodee == null) ? null : SuiviProgression.etape(0.5, 1.0, () -> dilatation(imageErodee, tailleMasque));
+        });
+    }
+
+    /** Fermeture (dilatation puis érosion) d'une image 16 bits par un carré centré. */
+    public static Image16 fermeture(Image16 image, int tailleMasque) {
+        return Metriques.mesure("MorphoElementaire.fermeture/Image16", Metriques.pixels(image), () -> {
+            Image16 imageDilatee = SuiviProgression.etape(0.0, 0.5, () -> dilatation(image, tailleMasque));
+            return (imageDilatee == null) ? null : SuiviProgression.etape(0.5, 1.0, () -> erosion(imageDilatee, tailleMasque));
+        });
+    }
+
+    /**
+     * Érosion d'une image flottante à plat par un rectangle centré hauteurMasque x largeurMasque
+     * (van Herk / Gil-Werman, bords par réplication). Les valeurs sont conservées telles quelles
+     * (aucun arrondi ni clamping).
+     *
+     * @param image L'image d'entrée (ImageF32, éventuellement une vue roi).
+     * @param hauteurMasque La hauteur de l'élément structurant (doit être impaire >= 1).
+     * @param largeurMasque La largeur de l'élément structurant (doit être impaire >= 1).
+     * @return Une nouvelle image flottante (contiguë), ou null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique, Érosion, Algorithme de van Herk / Gil-Werman.
+     */
+    public static ImageF32 erosion(ImageF32 image, int hauteurMasque, int largeurMasque) {
+        return minMaxRectangle(image, hauteurMasque, largeurMasque, true, "erosion");
+    }
+
+    /** Érosion d'une image flottante par un carré centré tailleMasque x tailleMasque. */
+    public static ImageF32 erosion(ImageF32 image, int tailleMasque) {
+        return erosion(image, tailleMasque, tailleMasque);
+    }
+
+    /**
+     * Dilatation d'une image flottante à plat par un rectangle centré hauteurMasque x largeurMasque
+     * (van Herk / Gil-Werman, bords par réplication), sans arrondi ni clamping.
+     *
+     * @param image L'image d'entrée (ImageF32, éventuellement une vue roi).
+     * @param hauteurMasque La hauteur de l'élément structurant (doit être impaire >= 1).
+     * @param largeurMasque La largeur de l'élément structurant (doit être impaire >= 1).
+     * @return Une nouvelle image flottante (contiguë), ou null si les entrées sont invalides.
+     *
+     * @technique Morphologie Mathématique, Dilatation, Algorithme de van Herk / Gil-Werman.
+     */
+    public static ImageF32 dilatation(ImageF32 image, int hauteurMasque, int largeurMasque) {
+        return minMaxRectangle(image, hauteurMasque, largeurMasque, false, "dilatation");
+    }
+
+    /** Dilatation d'une image flottante par un carré centré tailleMasque x tailleMasque. */
+    public static ImageF32 dilatation(ImageF32 image, int tailleMasque) {
+        return dilatation(image, tailleMasque, tailleMasque);
+    }
+
+    /** Ouverture (érosion puis dilatation) d'une image flottante par un carré centré. */
+    public static ImageF32 ouverture(ImageF32 image, int tailleMasque) {
+        return Metriques.mesure("MorphoElementaire.ouverture/ImageF32", Metriques.pixels(image), () -> {
+            ImageF32 imageErodee = SuiviProgression.etape(0.0, 0.5, () -> erosion(image, tailleMasque));
+            return (imageErodee == null) ? null : SuiviProgression.etape(0.5, 1.0, () -> dilatation(imageErodee, tailleMasque));
+        });
+    }
+
+    /** Fermeture (dilatation puis érosion) d'une image flottante par un carré centré. */
+    public static ImageF32 fermeture(ImageF32 image, int tailleMasque) {
+        return Metriques.mesure("MorphoElementaire.fermeture/ImageF32", Metriques.pixels(image), () -> {
+            ImageF32 imageDilatee = SuiviProgression.etape(0.0, 0.5, () -> dilatation(image, tailleMasque));
+            return (imageDilatee == null) ? null : SuiviProgression.etape(0.5, 1.0, () -> erosion(imageDilatee, tailleMasque));
+        });
+    }
+
+    /** Validation d'une image à plat et d'un rectangle de taille impaire, avec message d'erreur. */
+    private static boolean rectangleValide(ImagePlate image, int hauteurMasque, int largeurMasque, String nom) {
+        if (image == null) {
+            System.err.println("Erreur [" + nom + "]: L'image d'entrée est invalide.");
+            return false;
+        }
+        if (hauteurMasque <= 0 || largeurMasque <= 0 || hauteurMasque % 2 == 0 || largeurMasque % 2 == 0) {
+            System.err.println("Erreur [" + nom + "]: La taille du masque doit être impaire et positive.");
+            return false;
+        }
+        return true;
+    }
+
+    /** Validation puis min/max glissant (passes par lignes de VanHerk) sur une Image16. */
+    private static Image16 minMaxRectangle(Image16 image, int hauteurMasque, int largeurMasque, boolean minimum, String nom) {
+        if (!rectangleValide(image, hauteurMasque, largeurMasque, nom)) return null;
+        String operateur = minimum ? "MorphoElementaire.erosion/Image16" : "MorphoElementaire.dilatation/Image16";
+        return Metriques.mesure(operateur, Metriques.pixels(image), () -> {
+            int hauteur = image.getHauteur();
+            int largeur = image.getLargeur();
+            short[] donnees = image.getDonnees();
+            Image16 resultat = new Image16(hauteur, largeur);
+            short[] sortie = resultat.getDonnees();
+            VanHerk.rectangle((y, x0, ligne, n) -> {
+                int base = image.index(y, x0);
+                for (int i = 0; i < n; i++) ligne[i] = donnees[base + i] & 0xFFFF;
+            }, (y, x0, ligne, n) -> {
+                int base = y * largeur + x0;
+                for (int i = 0; i < n; i++) sortie[base + i] = (short) ligne[i];
+            }, hauteur, largeur, hauteurMasque, largeurMasque, minimum);
+            return resultat;
+        });
+    }
+
+    /** Validation puis min/max glissant sur une ImageF32 (flottants comparés via VanHerk.cleFlottant). */
+    private static ImageF32 minMaxRectangle(ImageF32 image, int hauteurMasque, int largeurMasque, boolean minimum, String nom) {
+        if (!rectangleValide(image, hauteurMasque, largeurMasque, nom)) return null;
+        String operateur = minimum ? "MorphoElementaire.erosion/ImageF32" : "MorphoElementaire.dilatation/ImageF32";
+        return Metriques.mesure(operateur, Metriques.pixels(image), () -> {
+            int hauteur = image.getHauteur();
+            int largeur = image.getLargeur();
+            float[] donnees = image.getDonnees();
+            ImageF32 resultat = new ImageF32(hauteur, largeur);
+            float[] sortie = resultat.getDonnees();
+            VanHerk.rectangle((y, x0, ligne, n) -> {
+                int base = image.index(y, x0);
+                for (int i = 0; i < n; i++) ligne[i] = VanHerk.cleFlottant(donnees[base + i]);
+            }, (y, x0, ligne, n) -> {
+                int base = y * largeur + x0;
+                for (int i = 0; i < n; i++) sortie[base + i] = VanHerk.flottantCle(ligne[i]);
+            }, hauteur, largeur, hauteurMasque, largeurMasque, minimum);
+            return resultat;
+        });
+    }
+
+    /** Validation puis min/max glissant horizontal et vertical sur une Image8. */
+    private static Image8 minMaxRectangle(Image8 image, int hauteurMasque, int largeurMasque, boolean minimum, String nom) {
+        if (!rectangleValide(image, hauteurMasque, largeurMasque, nom)) return null;
+        String operateur = minimum ? "MorphoElementaire.erosion/Image8" : "MorphoElementaire.dilatation/Image8";
+        return Metriques.mesure(operateur, Metriques.pixels(image), () -> {
+            Image8 passeHorizontale = new Image8(image.getHauteur(), image.getLargeur());
+            Image8 resultat = new Image8(image.getHauteur(), image.getLargeur());
+            SuiviProgression.etape(0.0, 0.5, () -> {
+                VanHerk.horizontal(image, passeHorizontale, -(largeurMasque - 1) / 2, largeurMasque, minimum);
+                return passeHorizontale;
+            });
+            return SuiviProgression.etape(0.5, 1.0, () -> {
+                VanHerk.vertical(passeHorizontale, resultat, -(hauteurMasque - 1) / 2, hauteurMasque, minimum);
+                return resultat;
+            });
+        });
+    }
+
+    /**
+     * resultat(y, x) = op(neutre, image(y + dy, x + dx) pour (dy, dx) dans l'élément), bords répliqués.
+     * Les segments de même (dxDebut, longueur) partagent une passe horizontale ; parmi eux, ceux situés
+     * sur des lignes consécutives sont fusionnés par une passe verticale (un rectangle = 2 passes).
+     */
+    private static int[][] appliqueElement(int[][] image, ElementStructurant element, boolean minimum, int neutre) {
+        // 1. Regroupement des segments par (dxDebut, longueur), lignes dy croissantes
+        Map<Long, List<Integer>> groupes = new LinkedHashMap<>();
+        for (int[] segment : element.getSegments()) {
+            long cle = ((long) segment[1] << 32) | (segment[2] & 0xffffffffL);
+            groupes.computeIfAbsent(cle, k -> new ArrayList<>()).add(segment[0]);
+        }
+
+        int[][] resultat = null;
+        for (Map.Entry<Long, List<Integer>> groupe : groupes.entrySet()) {
+            int dxDebut = (int) (groupe.getKey() >> 32);
+            int longueur = (int) (long) groupe.getKey();
+            List<Integer> lignes = groupe.getValue();
+            int[][] passeHorizontale = VanHerk.horizontal(image, dxDebut, longueur, minimum, neutre);
+
+            // 2. Intervalles de lignes consécutives [dyDebut, dyFin]
+            int k = 0;
+            while (k < lignes.size()) {
+                int dyDebut = lignes.get(k);
+                int dyFin = dyDebut;
+                while (k + 1 < lignes.size() && lignes.get(k + 1) == dyFin + 1) {
+                    dyFin = lignes.get(++k);
+                }
+                k++;
+                if (dyFin > dyDebut) {
+                    int[][] passeVerticale = VanHerk.vertical(passeHorizontale, dyDebut, dyFin - dyDebut + 1, minimum, neutre);
+                    resultat = (resultat == null) ? passeVerticale : combine(resultat, passeVerticale, 0, minimum);
+                } else {
+                    resultat = combine(resultat, passeHorizontale, dyDebut, minimum);
+                }
+            }
+        }
         return resultat;
     }
-}
\ No newline at end of file
+
+    /** acc(y, x) = op(acc(y, x), source(clamp(y + dy), x)) ; acc null = copie décalée de la source. */
+    private static int[][] combine(int[][] acc, int[][] source, int dy, boolean minimum) {
+        int hauteur = source.length;
+        int largeur = source[0].length;
+        if (acc == null) {
+            acc = new int[hauteur][largeur];
+            for (int y = 0; y < hauteur; y++) {
+                System.arraycopy(source[Math.max(0, Math.min(hauteur - 1, y + dy))], 0, acc[y], 0, largeur);
+            }
+            return acc;
+        }
+        for (int y = 0; y < hauteur; y++) {
+            int[] a = acc[y];
+            int[] src = source[Math.max(0, Math.min(hauteur - 1, y + dy))];
+            if (minimum) {
+                for (int x = 0; x < largeur; x++) a[x] = Math.min(a[x], src[x]);
+            } else {
+                for (int x = 0; x < largeur; x++) a[x] = Math.max(a[x], src[x]);
+            }
+        }
+        return acc;
+    }
+}
@@ -0,0 +1,375 @@
+package ImageProcessing.NonLineaire;
+
+import ImageProcessing.Core.Image8;
+import ImageProcessing.Core.Progression;
+import ImageProcessing.Core.SuiviProgression;
+
+/**
+ * Minimum / maximum glissant 1D en temps constant par pixel (algorithme de van Herk / Gil-Werman),
+ * appliqué aux lignes ou aux colonnes d'une image int[y][x].
+ *
+ * Principe : le signal (paddé par réplication) est découpé en blocs de la taille k de la fenêtre.
+ * On calcule les minima cumulés depuis le début de chaque bloc (g) et depuis la fin de chaque bloc (h) ;
+ * une fenêtre de taille k chevauche au plus deux blocs, donc min(fenêtre [t, t+k-1]) = min(h[t], g[t+k-1]).
+ * Soit environ 3 comparaisons par pixel, quelle que soit la taille de la fenêtre.
+ *
+ * La fenêtre d'un pixel x couvre [x + debut, x + debut + longueur - 1] (debut = -(k-1)/2 pour une
+ * fenêtre centrée). Les bords sont gérés par réplication, comme PaddingUtils.padImage(REPLICATE).
+ *
+ * Les images 8 bits sont lues et écrites directement dans leurs octets ; les autres images à plat
+ * (Image16, ImageF32) passent par des lecteurs / écrivains de lignes qui convertissent leurs pixels
+ * en clés int de même ordre (cf. cleFlottant), de sorte que le même cœur 1D sert à tous les types.
+ *
+ * Chaque passe est un point de contrôle par ligne (horizontale) ou par bande de colonnes (verticale)
+ * pour la progression du thread courant (cf. SuiviProgression).
+ *
+ * @technique Morphologie Mathématique, Algorithme de van Herk / Gil-Werman.
+ */
+class VanHerk {
+
+    /** Largeur des bandes de colonnes traitées par la passe verticale (limite la mémoire de travail). */
+    private static final int LARGEUR_BANDE = 256;
+
+    /**
+     * Passe horizontale : resultat[y][x] = op(neutre, image[y][x + debut .. x + debut + longueur - 1]).
+     *
+     * @param image L'image (int[hauteur][largeur]), non modifiée.
+     * @param debut Décalage du début de la fenêtre par rapport au pixel.
+     * @param longueur Longueur de la fenêtre (>= 1).
+     * @param minimum true pour un minimum (érosion), false pour un maximum (dilatation).
+     * @param neutre Valeur initiale de l'accumulateur (ex: 255 pour un minimum sur des niveaux de gris).
+     * @return Une nouvelle image.
+     */
+    static int[][] horizontal(int[][] image, int debut, int longueur, boolean minimum, int neutre) {
+        int hauteur = image.length;
+        int largeur = image[0].length;
+        int taillePaddee = largeur + longueur - 1;
+        int[] pad = new int[taillePaddee];
+        int[] g = new int[taillePaddee];
+        int[] h = new int[taillePaddee];
+        int[][] resultat = new int[hauteur][largeur];
+        Progression suivi = SuiviProgression.courante();
+
+        for (int y = 0; y < hauteur; y++) {
+            SuiviProgression.point(suivi, y, hauteur);
+            int[] src = image[y];
+            for (int t = 0; t < taillePaddee; t++) {
+                int v = src[Math.max(0, Math.min(largeur - 1, t + debut))];
+                pad[t] = minimum ? Math.min(v, neutre) : Math.max(v, neutre);
+            }
+            fenetreGlissante(pad, taillePaddee, longueur, minimum, g, h, resultat[y]);
+        }
+        return resultat;
+    }
+
+    /**
+     * Passe verticale : resultat[y][x] = op(neutre, image[y + debut .. y + debut + longueur - 1][x]).
+     * Les lignes sont traitées entières (accès contigus), par bandes de LARGEUR_BANDE colonnes.
+     *
+     * @param image L'image (int[hauteur][largeur]), non modifiée.
+     * @param debut Décalage du début de la fenêtre par rapport au pixel.
+     * @param longueur Longueur de la fenêtre (>= 1).
+     * @param minimum true pour un minimum (érosion), false pour un maximum (dilatation).
+     * @param neutre Valeur initiale de l'accumulateur.
+     * @return Une nouvelle image.
+     */
+    static int[][] vertical(int[][] image, int debut, int longueur, boolean minimum, int neutre) {
+        int hauteur = image.length;
+        int largeur = image[0].length;
+        int taillePaddee = hauteur + longueur - 1;
+        int bandeMax = Math.min(LARGEUR_BANDE, largeur);
+        int[] g = new int[taillePaddee * bandeMax];
+        int[] h = new int[taillePaddee * bandeMax];
+        int[][] resultat = new int[hauteur][largeur];
+        Progression suivi = SuiviProgression.courante();
+
+        for (int x0 = 0; x0 < largeur; x0 += bandeMax) {
+            SuiviProgression.point(suivi, x0, largeur);
+            int bande = Math.min(bandeMax, largeur - x0);
+
+            // 1. Cumuls depuis le début de chaque bloc de "longueur" lignes (g)
+            for (int t = 0; t < taillePaddee; t++) {
+                int[] src = image[Math.max(0, Math.min(hauteur - 1, t + debut))];
+                int base = t * bande;
+                if (t % longueur == 0) {
+                    for (int i = 0; i < bande; i++) {
+                        int v = src[x0 + i];
+                        g[base + i] = minimum ? Math.min(v, neutre) : Math.max(v, neutre);
+                    }
+                } else {
+                    for (int i = 0; i < bande; i++) {
+                        g[base + i] = minimum ? Math.min(g[base - bande + i], src[x0 + i])
+                                              : Math.max(g[base - bande + i], src[x0 + i]);
+                    }
+                }
+            }
+
+            // 2. Cumuls depuis la fin de chaque bloc (h)
+            for (int t = taillePaddee - 1; t >= 0; t--) {
+                int[] src = image[Math.max(0, Math.min(hauteur - 1, t + debut))];
+                int base = t * bande;
+                if (t == taillePaddee - 1 || (t + 1) % longueur == 0) {
+                    for (int i = 0; i < bande; i++) {
+                        int v = src[x0 + i];
+                        h[base + i] = minimum ? Math.min(v, neutre) : Math.max(v, neutre);
+                    }
+                } else {
+                    for (int i = 0; i < bande; i++) {
+                        h[base + i] = minimum ? Math.min(h[base + bande + i], src[x0 + i])
+                                              : Math.max(h[base + bande + i], src[x0 + i]);
+                    }
+                }
+            }
+
+            // 3. Fenêtre [y, y+longueur-1] (en indices paddés) = op(h[y], g[y+longueur-1])
+            for (int y = 0; y < hauteur; y++) {
+                int[] dest = resultat[y];
+                int baseH = y * bande;
+                int baseG = (y + longueur - 1) * bande;
+                for (int i = 0; i < bande; i++) {
+                    dest[x0 + i] = minimum ? Math.min(h[baseH + i], g[baseG + i])
+                                           : Math.max(h[baseH + i], g[baseG + i]);
+                }
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Passe horizontale sur une image 8 bits à plat : dest[y][x] = op(src[y][x + debut .. x + debut + longueur - 1]).
+     * Aucun neutre n'est nécessaire : les valeurs sont déjà dans [0, 255].
+     *
+     * @param src L'image source (éventuellement une vue roi), non modifiée.
+     * @param dest L'image destination, de mêmes dimensions (distincte de src).
+     */
+    static void horizontal(Image8 src, Image8 dest, int debut, int longueur, boolean minimum) {
+        int hauteur = src.getHauteur();
+        int largeur = src.getLargeur();
+        byte[] donnees = src.getDonnees();
+        byte[] sortie = dest.getDonnees();
+        int taillePaddee = largeur + longueur - 1;
+        int[] pad = new int[taillePaddee];
+        int[] g = new int[taillePaddee];
+        int[] h = new int[taillePaddee];
+        int[] ligne = new int[largeur];
+        Progression suivi = SuiviProgression.courante();
+
+        for (int y = 0; y < hauteur; y++) {
+            SuiviProgression.point(suivi, y, hauteur);
+            int base = src.index(y, 0);
+            for (int t = 0; t < taillePaddee; t++) {
+                pad[t] = donnees[base + Math.max(0, Math.min(largeur - 1, t + debut))] & 0xFF;
+            }
+            fenetreGlissante(pad, taillePaddee, longueur, minimum, g, h, ligne);
+            int baseDest = dest.index(y, 0);
+            for (int x = 0; x < largeur; x++) sortie[baseDest + x] = (byte) ligne[x];
+        }
+    }
+
+    /**
+     * Passe verticale sur une image 8 bits à plat : dest[y][x] = op(src[y + debut .. y + debut + longueur - 1][x]).
+     * Même organisation par bandes de colonnes que vertical(int[][], ...).
+     *
+     * @param src L'image source (éventuellement une vue roi), non modifiée.
+     * @param dest L'image destination, de mêmes dimensions (distincte de src).
+     */
+    static void vertical(Image8 src, Image8 dest, int debut, int longueur, boolean minimum) {
+        int hauteur = src.getHauteur();
+        int largeur = src.getLargeur();
+        byte[] donnees = src.getDonnees();
+        byte[] sortie = dest.getDonnees();
+        int taillePaddee = hauteur + longueur - 1;
+        int bandeMax = Math.min(LARGEUR_BANDE, largeur);
+        int[] g = new int[taillePaddee * bandeMax];
+        int[] h = new int[taillePaddee * bandeMax];
+        Progression suivi = SuiviProgression.courante();
+
+        for (int x0 = 0; x0 < largeur; x0 += bandeMax) {
+            SuiviProgression.point(suivi, x0, largeur);
+            int bande = Math.min(bandeMax, largeur - x0);
+
+            // 1. Cumuls depuis le début de chaque bloc (g)
+            for (int t = 0; t < taillePaddee; t++) {
+                int ligneSrc = src.index(Math.max(0, Math.min(hauteur - 1, t + debut)), x0);
+                int base = t * bande;
+                if (t % longueur == 0) {
+                    for (int i = 0; i < bande; i++) g[base + i] = donnees[ligneSrc + i] & 0xFF;
+                } else {
+                    for (int i = 0; i < bande; i++) {
+                        int v = donnees[ligneSrc + i] & 0xFF;
+                        g[base + i] = minimum ? Math.min(g[base - bande + i], v) : Math.max(g[base - bande + i], v);
+                    }
+                }
+            }
+
+            // 2. Cumuls depuis la fin de chaque bloc (h)
+            for (int t = taillePaddee - 1; t >= 0; t--) {
+                int ligneSrc = src.index(Math.max(0, Math.min(hauteur - 1, t + debut)), x0);
+                int base = t * bande;
+                if (t == taillePaddee - 1 || (t + 1) % longueur == 0) {
+                    for (int i = 0; i < bande; i++) h[base + i] = donnees[ligneSrc + i] & 0xFF;
+                } else {
+                    for (int i = 0; i < bande; i++) {
+                        int v = donnees[ligneSrc + i] & 0xFF;
+                        h[base + i] = minimum ? Math.min(h[base + bande + i], v) : Math.max(h[base + bande + i], v);
+                    }
+                }
+            }
+
+            // 3. Fenêtre [y, y+longueur-1] (en indices paddés) = op(h[y], g[y+longueur-1])
+            for (int y = 0; y < hauteur; y++) {
+                int ligneDest = dest.index(y, x0);
+                int baseH = y * bande;
+                int baseG = (y + longueur - 1) * bande;
+                for (int i = 0; i < bande; i++) {
+                    sortie[ligneDest + i] = (byte) (minimum ? Math.min(h[baseH + i], g[baseG + i])
+                                                          : Math.max(h[baseH + i], g[baseG + i]));
+                }
+            }
+        }
+    }
+
+    // --- Passes par lignes, pour les images à plat autres que 8 bits ---
+
+    /** Lecture de n pixels de la ligne y à partir de la colonne x0, convertis en clés int (ordre conservé). */
+    @FunctionalInterface
+    interface LecteurLignes {
+        void lit(int y, int x0, int[] ligne, int n);
+    }
+
+    /** Écriture de n clés int aux pixels (y, x0 .. x0 + n - 1). */
+    @FunctionalInterface
+    interface EcrivainLignes {
+        void ecrit(int y, int x0, int[] ligne, int n);
+    }
+
+    /**
+     * Min / max glissant sur un rectangle centré hauteurMasque x largeurMasque (bords par réplication) :
+     * passe horizontale vers un tampon de clés int, puis passe verticale vers la destination.
+     * La progression est répartie à parts égales entre les deux passes.
+     */
+    static void rectangle(LecteurLignes src, EcrivainLignes dest, int hauteur, int largeur,
+                          int hauteurMasque, int largeurMasque, boolean minimum) {
+        int[] intermediaire = new int[hauteur * largeur];
+        LecteurLignes lectureIntermediaire = (y, x0, ligne, n) -> System.arraycopy(intermediaire, y * largeur + x0, ligne, 0, n);
+        EcrivainLignes ecritureIntermediaire = (y, x0, ligne, n) -> System.arraycopy(ligne, 0, intermediaire, y * largeur + x0, n);
+        SuiviProgression.etape(0.0, 0.5, () -> {
+            horizontal(src, ecritureIntermediaire, hauteur, largeur, -(largeurMasque - 1) / 2, largeurMasque, minimum);
+            return intermediaire;
+        });
+        SuiviProgression.etape(0.5, 1.0, () -> {
+            vertical(lectureIntermediaire, dest, hauteur, largeur, -(hauteurMasque - 1) / 2, hauteurMasque, minimum);
+            return intermediaire;
+        });
+    }
+
+    /** Passe horizontale par lignes : dest[y][x] = op(src[y][x + debut .. x + debut + longueur - 1]). */
+    static void horizontal(LecteurLignes src, EcrivainLignes dest, int hauteur, int largeur,
+                           int debut, int longueur, boolean minimum) {
+        int taillePaddee = largeur + longueur - 1;
+        int[] ligne = new int[largeur];
+        int[] pad = new int[taillePaddee];
+        int[] g = new int[taillePaddee];
+        int[] h = new int[taillePaddee];
+        int[] sortie = new int[largeur];
+        Progression suivi = SuiviProgression.courante();
+
+        for (int y = 0; y < hauteur; y++) {
+            SuiviProgression.point(suivi, y, hauteur);
+            src.lit(y, 0, ligne, largeur);
+            for (int t = 0; t < taillePaddee; t++) pad[t] = ligne[Math.max(0, Math.min(largeur - 1, t + debut))];
+            fenetreGlissante(pad, taillePaddee, longueur, minimum, g, h, sortie);
+            dest.ecrit(y, 0, sortie, largeur);
+        }
+    }
+
+    /**
+     * Passe verticale par lignes : dest[y][x] = op(src[y + debut .. y + debut + longueur - 1][x]).
+     * Même organisation par bandes de colonnes que vertical(int[][], ...).
+     */
+    static void vertical(LecteurLignes src, EcrivainLignes dest, int hauteur, int largeur,
+                         int debut, int longueur, boolean minimum) {
+        int taillePaddee = hauteur + longueur - 1;
+        int bandeMax = Math.min(LARGEUR_BANDE, largeur);
+        int[] g = new int[taillePaddee * bandeMax];
+        int[] h = new int[taillePaddee * bandeMax];
+        int[] ligne = new int[bandeMax];
+        Progression suivi = SuiviProgression.courante();
+
+        for (int x0 = 0; x0 < largeur; x0 += bandeMax) {
+            SuiviProgression.point(suivi, x0, largeur);
+            int bande = Math.min(bandeMax, largeur - x0);
+
+            // 1. Cumuls depuis le début de chaque bloc (g)
+            for (int t = 0; t < taillePaddee; t++) {
+                src.lit(Math.max(0, Math.min(hauteur - 1, t + debut)), x0, ligne, bande);
+                int base = t * bande;
+                if (t % longueur == 0) {
+                    System.arraycopy(ligne, 0, g, base, bande);
+                } else {
+                    for (int i = 0; i < bande; i++) {
+                        g[base + i] = minimum ? Math.min(g[base - bande + i], ligne[i]) : Math.max(g[base - bande + i], ligne[i]);
+                    }
+                }
+            }
+
+            // 2. Cumuls depuis la fin de chaque bloc (h)
+            for (int t = taillePaddee - 1; t >= 0; t--) {
+                src.lit(Math.max(0, Math.min(hauteur - 1, t + debut)), x0, ligne, bande);
+                int base = t * bande;
+                if (t == taillePaddee - 1 || (t + 1) % longueur == 0) {
+                    System.arraycopy(ligne, 0, h, base, bande);
+                } else {
+                    for (int i = 0; i < bande; i++) {
+                        h[base + i] = minimum ? Math.min(h[base + bande + i], ligne[i]) : Math.max(h[base + bande + i], ligne[i]);
+                    }
+                }
+            }
+
+            // 3. Fenêtre [y, y+longueur-1] (en indices paddés) = op(h[y], g[y+longueur-1])
+            for (int y = 0; y < hauteur; y++) {
+                int baseH = y * bande;
+                int baseG = (y + longueur - 1) * bande;
+                for (int i = 0; i < bande; i++) {
+                    ligne[i] = minimum ? Math.min(h[baseH + i], g[baseG + i]) : Math.max(h[baseH + i], g[baseG + i]);
+                }
+                dest.ecrit(y, x0, ligne, bande);
+            }
+        }
+    }
+
+    /**
+     * Clé int d'un flottant, de même ordre : les bits IEEE 754 des négatifs sont inversés (hors signe),
+     * de sorte que la comparaison des clés en entiers signés suit celle des flottants (-0.0 < 0.0).
+     * La transformation est son propre inverse (cf. flottantCle).
+     */
+    static int cleFlottant(float valeur) {
+        int bits = Float.floatToIntBits(valeur);
+        return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+    }
+
+    /** Flottant correspondant à une clé calculée par cleFlottant. */
+    static float flottantCle(int cle) {
+        return Float.intBitsToFloat(cle ^ ((cle >> 31) & 0x7FFFFFFF));
+    }
+
+    /**
+     * Cœur 1D : sortie[t] = op(pad[t .. t+k-1]) pour t dans [0, n-k], via les cumuls par blocs g et h.
+     */
+    private static void fenetreGlissante(int[] pad, int n, int k, boolean minimum, int[] g, int[] h, int[] sortie) {
+        if (k == 1) {
+            System.arraycopy(pad, 0, sortie, 0, n);
+            return;
+        }
+        for (int t = 0; t < n; t++) {
+            g[t] = (t % k == 0) ? pad[t] : (minimum ? Math.min(g[t - 1], pad[t]) : Math.max(g[t - 1], pad[t]));
+        }
+        for (int t = n - 1; t >= 0; t--) {
+            h[t] = (t == n - 1 || (t + 1) % k == 0) ? pad[t] : (minimum ? Math.min(h[t + 1], pad[t]) : Math.max(h[t + 1], pad[t]));
+        }
+        int nombre = n - k + 1;
+        for (int t = 0; t < nombre; t++) {
+            sortie[t] = minimum ? Math.min(h[t], g[t + k - 1]) : Math.max(h[t], g[t + k - 1]);
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package ImageProcessing.Seuillage;
 
+import ImageProcessing.Core.Image16;
+import ImageProcessing.Core.Image8;
+import ImageProcessing.Core.ImageF32;
+import ImageProcessing.Core.ImageBinaire;
 import ImageProcessing.Histogramme.Histogramme; // Nécessaire pour Otsu
+import ImageProcessing.Metriques.Metriques;
+import java.util.logging.Logger;
 
 /**
  * Contient des méthodes statiques pour la segmentation d'images par seuillage.
  */
 public class Seuillage {
 
+    private static final Logger LOG = Logger.getLogger(Seuillage.class.getName());
+
     /**
      * Réalise un seuillage simple (binarisation) de l'image.
      * Les pixels <= seuil deviennent 0 (noir), les pixels > seuil deviennent 255 (blanc).
@@ -21,23 +29,25 @@ public class Seuillage {
     public static int[][] seuillageSimple(int[][] image, int seuil) {
         if (image == null || image.length == 0 || image[0].length == 0) return null;
 
-        int hauteur = image.length;
-        int largeur = image[0].length;
-        int[][] resultat = new int[hauteur][largeur];
+        return Metriques.mesure("Seuillage.seuillageSimple", Metriques.pixels(image), () -> {
+            int hauteur = image.length;
+            int largeur = image[0].length;
+            int[][] resultat = new int[hauteur][largeur];
 
-        // S'assurer que le seuil est dans une plage raisonnable
-        // (on pourrait débattre si on autorise <0 ou >255, mais restons simple)
-        // int seuilValide = Math.max(0, Math.min(255, seuil));
+            // S'assurer que le seuil est dans une plage raisonnable
+            // (on pourrait débattre si on autorise <0 ou >255, mais restons simple)
+            // int seuilValide = Math.max(0, Math.min(255, seuil));
 
-        System.out.println("Application Seuillage Simple (seuil=" + seuil + ")...");
+            LOG.fine(() -> "Application Seuillage Simple (seuil=" + seuil + ")...");
 
-        for (int y = 0; y < hauteur; y++) {
-            for (int x = 0; x < largeur; x++) {
-                // Appliquer la condition de seuillage
-                resultat[y][x] = (image[y][x] > seuil) ? 255 : 0;
+            for (int y = 0; y < hauteur; y++) {
+                for (int x = 0; x < largeur; x++) {
+                    // Appliquer la condition de seuillage
+                    resultat[y][x] = (image[y][x] > seuil) ? 255 : 0;
+                }
             }
-        }
-        return resultat;
+            return resultat;
+        });
     }
 
     /**
@@ -62,30 +72,32 @@ public class Seuillage {
             return null;
         }
 
-        int hauteur = image.length;
-        int largeur = image[0].length;
-        int[][] resultat = new int[hauteur][largeur];
-
-        // Définir les niveaux de sortie (on peut les choisir)
-        final int NIVEAU_BAS = 0;
-        final int NIVEAU_MOYEN = 128;
-        final int NIVEAU_HAUT = 255;
-
-        System.out.println("Application Seuillage Double (seuils=" + seuil1 + ", " + seuil2 + ")...");
-
-        for (int y = 0; y < hauteur; y++) {
-            for (int x = 0; x < largeur; x++) {
-                int pixel = image[y][x];
-                if (pixel <= seuil1) {
-                    resultat[y][x] = NIVEAU_BAS;
-                } else if (pixel <= seuil2) { // pixel > seuil1 ET pixel <= seuil2
-                    resultat[y][x] = NIVEAU_MOYEN;
-                } else { // pixel > seuil2
-                    resultat[y][x] = NIVEAU_HAUT;
+        return Metriques.mesure("Seuillage.seuillageDouble", Metriques.pixels(image), () -> {
+            int hauteur = image.length;
+            int largeur = image[0].length;
+            int[][] resultat = new int[hauteur][largeur];
+
+            // Définir les niveaux de sortie (on peut les choisir)
+            final int NIVEAU_BAS = 0;
+            final int NIVEAU_MOYEN = 128;
+            final int NIVEAU_HAUT = 255;
+
+            LOG.fine(() -> "Application Seuillage Double (seuils=" + seuil1 + ", " + seuil2 + ")...");
+
+            for (int y = 0; y < hauteur; y++) {
+                for (int x = 0; x < largeur; x++) {
+                    int pixel = image[y][x];
+                    if (pixel <= seuil1) {
+                        resultat[y][x] = NIVEAU_BAS;
+                    } else if (pixel <= seuil2) { // pixel > seuil1 ET pixel <= seuil2
+                        resultat[y][x] = NIVEAU_MOYEN;
+                    } else { // pixel > seuil2
+                        resultat[y][x] = NIVEAU_HAUT;
+                    }
                 }
             }
-        }
-        return resultat;
+            return resultat;
+        });
     }
 
     /**
@@ -100,25 +112,274 @@ public class Seuillage {
      * @technique Seuillage Automatique, Méthode d'Otsu. Section 1.6.4 des notes.
      */
     public static int[][] seuillageAutomatique(int[][] image) {
-        int[] histogramme = Histogramme.Histogramme256(image);
-        int seuil = 127;
+        if (image == null || image.length == 0 || image[0].length == 0) return null;
+        return Metriques.mesure("Seuillage.seuillageAutomatique", Metriques.pixels(image),
+                () -> seuillageSimple(image, calculeSeuilAutomatique(image)));
+    }
+
+    /**
+     * Calcule le seuil utilisé par seuillageAutomatique : seuil initial 127, puis itération
+     * seuil = (moyenne des pixels <= seuil + moyenne des pixels > seuil) / 2 jusqu'à stabilité.
+     *
+     * @param image L'image d'entrée en niveaux de gris (int[hauteur][largeur]).
+     * @return Le seuil calculé.
+     *
+     * @technique Seuillage Automatique, Seuil Itératif sur l'Histogramme.
+     */
+    public static int calculeSeuilAutomatique(int[][] image) {
+        return Metriques.mesure("Seuillage.calculeSeuilAutomatique", Metriques.pixels(image),
+                () -> seuilIteratif(Histogramme.Histogramme256(image)));
+    }
+
+    /**
+     * Calcule le seuil automatique (même itération que calculeSeuilAutomatique) à partir d'un
+     * histogramme déjà calculé, par exemple cumulé bande par bande sur une image trop grande pour la mémoire.
+     *
+     * @param histogramme L'histogramme int[256].
+     * @return Le seuil calculé, ou -1 si l'histogramme est invalide.
+     */
+    public static int calculeSeuilAutomatiqueHistogramme(int[] histogramme) {
+        if (histogramme == null || histogramme.length != 256) {
+            System.err.println("Erreur [calculeSeuilAutomatiqueHistogramme]: L'histogramme doit contenir 256 valeurs.");
+            return -1;
+        }
+        return seuilIteratif(histogramme);
+    }
+
+    /**
+     * Itération du seuil automatique sur un histogramme (cf. calculeSeuilAutomatique), de 256 niveaux
+     * (seuil initial 127) ou de 65536 niveaux pour les images 16 bits (seuil initial 32767).
+     * Le nombre d'itérations est signalé à Metriques.
+     */
+    private static int seuilIteratif(int[] histogramme) {
+        int niveaux = histogramme.length;
+        int seuil = niveaux / 2 - 1;
         int nouveauSeuil = -1;
+        int iterations = 0;
         while (seuil != nouveauSeuil) {
-            int sommeClasse1 = 0, effectifClasse1 = 0;
-            int sommeClasse2 = 0, effectifClasse2 = 0;
+            iterations++;
+            // Sommes sur 64 bits : i * histogramme[i] dépasse int dès ~8 millions de pixels clairs
+            long sommeClasse1 = 0, effectifClasse1 = 0;
+            long sommeClasse2 = 0, effectifClasse2 = 0;
             for (int i = 0; i <= seuil; i++) {
-                sommeClasse1 += i * histogramme[i];
+                sommeClasse1 += (long) i * histogramme[i];
                 effectifClasse1 += histogramme[i];
             }
-            for (int i = seuil + 1; i < 256; i++) {
-                sommeClasse2 += i * histogramme[i];
+            for (int i = seuil + 1; i < niveaux; i++) {
+                sommeClasse2 += (long) i * histogramme[i];
                 effectifClasse2 += histogramme[i];
             }
-            int moyenneClasse1 = (effectifClasse1 == 0) ? 0 : sommeClasse1 / effectifClasse1;
-            int moyenneClasse2 = (effectifClasse2 == 0) ? 0 : sommeClasse2 / effectifClasse2;
+            int moyenneClasse1 = (effectifClasse1 == 0) ? 0 : (int) (sommeClasse1 / effectifClasse1);
+            int moyenneClasse2 = (effectifClasse2 == 0) ? 0 : (int) (sommeClasse2 / effectifClasse2);
             nouveauSeuil = seuil;
             seuil = (moyenneClasse1 + moyenneClasse2) / 2;
         }
-        return seuillageSimple(image, seuil);
+        Metriques.iterations(iterations);
+        return seuil;
+    }
+
+    /**
+     * Seuillage simple produisant directement une image binaire compacte (1 bit par pixel) :
+     * pixel > seuil devient blanc. Même règle que seuillageSimple, sans matrice 0/255 intermédiaire.
+     *
+     * @param image L'image d'entrée en niveaux de gris (int[hauteur][largeur]).
+     * @param seuil La valeur de seuil.
+     * @return L'image binaire, ou null si l'image d'entrée est invalide.
+     *
+     * @technique Seuillage Simple (Binarisation), Image binaire compacte.
+     */
+    public static ImageBinaire seuillageSimpleBinaire(int[][] image, int seuil) {
+        if (image == null || image.length == 0 || image[0].length == 0) return null;
+        return Metriques.mesure("Seuillage.seuillageSimpleBinaire", Metriques.pixels(image),
+                () -> ImageBinaire.depuisSeuil(image, seuil));
+    }
+
+    /**
+     * Seuillage automatique produisant directement une image binaire compacte (1 bit par pixel).
+     * Même seuil que seuillageAutomatique (cf. calculeSeuilAutomatique).
+     *
+     * @param image L'image d'entrée en niveaux de gris (int[hauteur][largeur]).
+     * @return L'image binaire, ou null si l'image d'entrée est invalide.
+     *
+     * @technique Seuillage Automatique, Image binaire compacte.
+     */
+    public static ImageBinaire seuillageAutomatiqueBinaire(int[][] image) {
+        if (image == null || image.length == 0 || image[0].length == 0) return null;
+        return Metriques.mesure("Seuillage.seuillageAutomatiqueBinaire", Metriques.pixels(image),
+                () -> ImageBinaire.depuisSeuil(image, calculeSeuilAutomatique(image)));
+    }
+
+    // --- Surcharges pour les images 8 bits à plat ---
+
+    /**
+     * Seuillage simple d'une image 8 bits : pixel > seuil devient 255, sinon 0 (même règle que
+     * seuillageSimple(int[][], int)), par table de correspondance sur les octets.
+     *
+     * @param image L'image d'entrée (Image8, éventuellement une vue roi).
+     * @param seuil La valeur de seuil.
+     * @return Une nouvelle image 8 bits (contiguë) à valeurs 0 ou 255, ou null si l'image est null.
+     *
+     * @technique Seuillage Simple (Binarisation), Look-Up Table.
+     */
+    public static Image8 seuillageSimple(Image8 image, int seuil) {
+        if (image == null) return null;
+        return Metriques.mesure("Seuillage.seuillageSimple/Image8", Metriques.pixels(image), () -> {
+            byte[] lut = new byte[256];
+            for (int i = 0; i < 256; i++) lut[i] = (byte) ((i > seuil) ? 255 : 0);
+
+            int hauteur = image.getHauteur();
+            int largeur = image.getLargeur();
+            byte[] src = image.getDonnees();
+            Image8 resultat = new Image8(hauteur, largeur);
+            byte[] dest = resultat.getDonnees();
+            for (int y = 0; y < hauteur; y++) {
+                int base = image.index(y, 0);
+                int baseDest = y * largeur;
+                for (int x = 0; x < largeur; x++) dest[baseDest + x] = lut[src[base + x] & 0xFF];
+            }
+            return resultat;
+        });
+    }
+
+    /**
+     * Calcule le seuil automatique (cf. calculeSeuilAutomatique(int[][])) d'une image 8 bits.
+     * @param image L'image d'entrée.
+     * @return Le seuil calculé.
+     */
+    public static int calculeSeuilAutomatique(Image8 image) {
+        return Metriques.mesure("Seuillage.calculeSeuilAutomatique/Image8", Metriques.pixels(image),
+                () -> seuilIteratif(Histogramme.Histogramme256(image)));
+    }
+
+    /**
+     * Seuillage automatique d'une image 8 bits (même seuil que seuillageAutomatique(int[][])).
+     * @param image L'image d'entrée.
+     * @return Une nouvelle image 8 bits à valeurs 0 ou 255, ou null si l'image est null.
+     *
+     * @technique Seuillage Automatique.
+     */
+    public static Image8 seuillageAutomatique(Image8 image) {
+        if (image == null) return null;
+        return Metriques.mesure("Seuillage.seuillageAutomatique/Image8", Metriques.pixels(image),
+                () -> seuillageSimple(image, calculeSeuilAutomatique(image)));
+    }
+
+    /**
+     * Seuillage simple d'une image 8 bits vers une image binaire compacte (pixel > seuil devient blanc).
+     * @param image L'image d'entrée.
+     * @param seuil La valeur de seuil.
+     * @return L'image binaire, ou null si l'image est null.
+     *
+     * @technique Seuillage Simple (Binarisation), Image binaire compacte.
+     */
+    public static ImageBinaire seuillageSimpleBinaire(Image8 image, int seuil) {
+        if (image == null) return null;
+        return Metriques.mesure("Seuillage.seuillageSimpleBinaire/Image8", Metriques.pixels(image),
+                () -> ImageBinaire.depuisSeuil(image, seuil));
+    }
+
+    // --- Surcharges pour les images 16 bits et flottantes à plat ---
+
+    /**
+     * Seuillage simple d'une image 16 bits : pixel > seuil devient 255, sinon 0. Le résultat, binaire,
+     * est une image 8 bits (directement utilisable par les opérateurs Image8).
+     *
+     * @param image L'image d'entrée (Image16, éventuellement une vue roi).
+     * @param seuil La valeur de seuil (dans l'échelle 0..65535).
+     * @return Une nouvelle image 8 bits (contiguë) à valeurs 0 ou 255, ou null si l'image est null.
+     *
+     * @technique Seuillage Simple (Binarisation).
+     */
+    public static Image8 seuillageSimple(Image16 image, int seuil) {
+        if (image == null) return null;
+        return Metriques.mesure("Seuillage.seuillageSimple/Image16", Metriques.pixels(image), () -> {
+            int hauteur = image.getHauteur();
+            int largeur = image.getLargeur();
+            short[] src = image.getDonnees();
+            Image8 resultat = new Image8(hauteur, largeur);
+            byte[] dest = resultat.getDonnees();
+            for (int y = 0; y < hauteur; y++) {
+                int base = image.index(y, 0);
+                int baseDest = y * largeur;
+                for (int x = 0; x < largeur; x++) dest[baseDest + x] = (byte) (((src[base + x] & 0xFFFF) > seuil) ? 255 : 0);
+            }
+            return resultat;
+        });
+    }
+
+    /**
+     * Seuil automatique d'une image 16 bits : même itération que calculeSeuilAutomatique(int[][]),
+     * sur l'histogramme complet à 65536 niveaux (cf. Histogramme.Histogramme65536).
+     * @param image L'image d'entrée.
+     * @return Le seuil calculé (dans l'échelle 0..65535).
+     */
+    public static int calculeSeuilAutomatique(Image16 image) {
+        return Metriques.mesure("Seuillage.calculeSeuilAutomatique/Image16", Metriques.pixels(image),
+                () -> seuilIteratif(Histogramme.Histogramme65536(image)));
+    }
+
+    /**
+     * Seuillage automatique d'une image 16 bits (cf. calculeSeuilAutomatique(Image16)).
+     * @param image L'image d'entrée.
+     * @return Une nouvelle image 8 bits à valeurs 0 ou 255, ou null si l'image est null.
+     *
+     * @technique Seuillage Automatique.
+     */
+    public static Image8 seuillageAutomatique(Image16 image) {
+        if (image == null) return null;
+        return Metriques.mesure("Seuillage.seuillageAutomatique/Image16", Metriques.pixels(image),
+                () -> seuillageSimple(image, calculeSeuilAutomatique(image)));
+    }
+
+    /**
+     * Seuillage simple d'une image flottante : pixel > seuil devient 255, sinon 0 (valeurs brutes,
+     * sans arrondi). Le résultat est une image 8 bits.
+     *
+     * @param image L'image d'entrée (ImageF32, éventuellement une vue roi).
+     * @param seuil La valeur de seuil.
+     * @return Une nouvelle image 8 bits (contiguë) à valeurs 0 ou 255, ou null si l'image est null.
+     *
+     * @technique Seuillage Simple (Binarisation).
+     */
+    public static Image8 seuillageSimple(ImageF32 image, double seuil) {
+        if (image == null) return null;
+        return Metriques.mesure("Seuillage.seuillageSimple/ImageF32", Metriques.pixels(image), () -> {
+            int hauteur = image.getHauteur();
+            int largeur = image.getLargeur();
+            float[] src = image.getDonnees();
+            Image8 resultat = new Image8(hauteur, largeur);
+            byte[] dest = resultat.getDonnees();
+            for (int y = 0; y < hauteur; y++) {
+                int base = image.index(y, 0);
+                int baseDest = y * largeur;
+                for (int x = 0; x < largeur; x++) dest[baseDest + x] = (byte) ((src[base + x] > seuil) ? 255 : 0);
+            }
+            return resultat;
+        });
+    }
+
+    /**
+     * Seuil automatique d'une image flottante, calculé sur son histogramme à 256 niveaux
+     * (pixels arrondis et ramenés dans [0, 255], cf. Histogramme.Histogramme256(ImageF32)).
+     * @param image L'image d'entrée.
+     * @return Le seuil calculé.
+     */
+    public static int calculeSeuilAutomatique(ImageF32 image) {
+        return Metriques.mesure("Seuillage.calculeSeuilAutomatique/ImageF32", Metriques.pixels(image),
+                () -> seuilIteratif(Histogramme.Histogramme256(image)));
+    }
+
+    /**
+     * Seuillage automatique d'une image flottante : le seuil de calculeSeuilAutomatique(ImageF32)
+     * est appliqué aux valeurs brutes (pixel > seuil).
+     * @param image L'image d'entrée.
+     * @return Une nouvelle image 8 bits à valeurs 0 ou 255, ou null si l'image est null.
+     *
+     * @technique Seuillage Automatique.
+     */
+    public static Image8 seuillageAutomatique(ImageF32 image) {
+        if (image == null) return null;
+        return Metriques.mesure("Seuillage.seuillageAutomatique/ImageF32", Metriques.pixels(image),
+                () -> seuillageSimple(image, calculeSeuilAutomatique(image)));
     }
-}
\ No newline at end of file
+}
@@ -4,10 +4,13 @@ import CImage.*;
 import CImage.Exceptions.CImageNGException;
 import CImage.Observers.JLabelBeanCImage;
 import java.io.*;
+import java.util.logging.Logger;
 import javax.swing.*;
 
 public class JDialogAfficheMatriceDouble extends javax.swing.JDialog 
 {
+    private static final Logger LOG = Logger.getLogger(JDialogAfficheMatriceDouble.class.getName());
+
     private double Max;
     private double Min;
     private double blanc;
@@ -38,7 +41,7 @@ public class JDialogAfficheMatriceDouble extends javax.swing.JDialog
             image = new CImageNG(M,N,0);
         } 
         catch (CImageNGException ex) 
-        { System.out.println("Erreur CImageNG : " + ex.getMessage()); }
+        { LOG.warning("Erreur CImageNG : " + ex.getMessage()); }
         
         observer = new JLabelBeanCImage(image);
         jScrollPane1.setViewportView(observer);
@@ -264,7 +267,7 @@ public class JDialogAfficheMatriceDouble extends javax.swing.JDialog
         } 
         catch (CImageNGException ex) 
         {
-            System.out.println("Erreur CImageNG : " + ex.getMessage());
+            LOG.warning("Erreur CImageNG : " + ex.getMessage());
         }
     }
     
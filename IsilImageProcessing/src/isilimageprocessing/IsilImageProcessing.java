@@ -8,6 +8,8 @@ import ImageProcessing.Complexe.MatriceComplexe;
 import ImageProcessing.Contours.ContoursLineaire;
 import ImageProcessing.Contours.ContoursNonLineaire;
 import ImageProcessing.Core.ImageUtils;
+import ImageProcessing.Exercices.PipelinesExercices;
+import ImageProcessing.Exercices.ResultatExercice;
 import ImageProcessing.Fourier.Fourier;
 import ImageProcessing.Histogramme.Histogramme;
 import ImageProcessing.Lineaire.FiltrageLinaireGlobal;
@@ -18,13 +20,11 @@ import ImageProcessing.Seuillage.Seuillage;
 import isilimageprocessing.Dialogues.*;
 import java.awt.*;
 import java.io.*;
-import java.awt.image.BufferedImage;
-import java.awt.Graphics2D;
 import java.text.DecimalFormat;
-import javax.imageio.ImageIO;
 import javax.swing.*;
 
 import isilimageprocessing.utils.ResultViewerFrame;
+import isilimageprocessing.utils.TacheTraitement;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartFrame;
 import org.jfree.chart.JFreeChart;
@@ -34,6 +34,8 @@ import org.jfree.chart.plot.XYPlot;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 import java.awt.Color;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  *
@@ -41,6 +43,8 @@ import java.awt.Color;
  */
 public class IsilImageProcessing extends javax.swing.JFrame implements ClicListener,SelectLigneListener,SelectRectListener,SelectRectFillListener,SelectCercleListener,SelectCercleFillListener
 {
+    private static final Logger LOG = Logger.getLogger(IsilImageProcessing.class.getName());
+
     private CImageRGB imageRGB;
     private CImageNG  imageNG;
     
@@ -66,6 +70,7 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
     }
     // ---> NOUVELLE VARIABLE POUR L'IMAGE SECONDAIRE <---
     private int[][] secondaryImageMatrix = null; // Pour stocker le marqueur ou le masque
+    private TacheTraitement<?> tacheEnCours = null; // Traitement en arrière-plan (un seul à la fois)
     private String secondaryImageName = null;   // Nom du fichier (optionnel, pour info)
 
     // --- Menu Contours ---
@@ -198,7 +203,7 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
             CImage imageSource = (imageNG != null) ? imageNG : imageRGB;
 
             try {
-                System.out.println("Calcul des paramètres...");
+                LOG.fine("Calcul des paramètres...");
                 int[][] matrix = ImageUtils.imageToGrayMatrix(imageSource);
                 if (matrix == null) throw new RuntimeException("Erreur conversion image.");
 
@@ -220,7 +225,7 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
                 message.append("</body></html>");
 
                 JOptionPane.showMessageDialog(this, message.toString(), "Paramètres de l'image", JOptionPane.INFORMATION_MESSAGE);
-                System.out.println("Paramètres affichés.");
+                LOG.fine("Paramètres affichés.");
 
             } catch (Exception ex) {
                 handleProcessingError(operationName, ex);
@@ -376,46 +381,47 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
                     }
                 }
                 // Afficher le masque saisi (pour vérification console)
-                System.out.println("Masque de convolution saisi :");
-                for(double[] row : masque) { System.out.println(java.util.Arrays.toString(row)); }
+                if (LOG.isLoggable(Level.FINE)) {
+                    LOG.fine("Masque de convolution saisi : " + java.util.Arrays.deepToString(masque));
+                }
 
 
-                // 3. Convertir l'image actuelle en int[][]
-                System.out.println("Application Convolution avec masque personnalisé...");
-                int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSource);
-                if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
+                // 3. Conversion, filtrage et conversion du résultat hors de l'EDT
+                final double[][] masqueSaisi = masque;
+                lanceTraitement(operationName, () -> {
+                    LOG.fine("Application Convolution avec masque personnalisé...");
+                    int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSource);
+                    if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
 
-                // 4. Appeler la fonction de filtrage
-                int[][] resultMatrix = FiltrageLineaireLocal.filtreMasqueConvolution(inputMatrix, masque);
-                if (resultMatrix == null) throw new RuntimeException("Erreur lors de l'application du filtre de convolution.");
+                    // 4. Appeler la fonction de filtrage
+                    int[][] resultMatrix = FiltrageLineaireLocal.filtreMasqueConvolution(inputMatrix, masqueSaisi);
+                    if (resultMatrix == null) throw new RuntimeException("Erreur lors de l'application du filtre de convolution.");
 
-                // 5. Convertir le résultat en CImageNG
-                CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
-                if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
+                    // 5. Convertir le résultat en CImageNG
+                    CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
+                    if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
 
-                // 6. Mettre à jour l'affichage
-                updateImageDisplay(resultCImage);
-                // Afficher les résultats dans des fenêtres séparées
-                if (imageSource != null) {
-                    CImage originalPourAffichage = (imageSource instanceof CImageRGB) ?
-                            ImageUtils.matrixToCImageNG(ImageUtils.imageToGrayMatrix(imageSource)) : imageSource;
-                    final CImage finalOriginal = originalPourAffichage; // Pour lambda
-                    SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalOriginal, "Originale").display());
-                }
-                if (resultCImage != null) {
+                    // Afficher les résultats dans des fenêtres séparées
+                    if (imageSource != null) {
+                        CImage originalPourAffichage = (imageSource instanceof CImageRGB) ?
+                                ImageUtils.matrixToCImageNG(inputMatrix) : imageSource;
+                        final CImage finalOriginal = originalPourAffichage; // Pour lambda
+                        SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalOriginal, "Originale").display());
+                    }
                     final CImageNG finalResult = resultCImage; // Pour lambda
                     SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalResult, "Après Convolution Personnalisée").display());
-                }
-                System.out.println("Convolution avec masque personnalisé appliquée.");
-                JOptionPane.showMessageDialog(this, "Convolution avec masque personnalisé appliquée.", operationName, JOptionPane.INFORMATION_MESSAGE);
-
+                    return resultCImage;
+                }, resultCImage -> {
+                    // 6. Mettre à jour l'affichage
+                    updateImageDisplay(resultCImage);
+                    LOG.fine("Convolution avec masque personnalisé appliquée.");
+                    JOptionPane.showMessageDialog(this, "Convolution avec masque personnalisé appliquée.", operationName, JOptionPane.INFORMATION_MESSAGE);
+                });
 
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this,
                         "Erreur de saisie : " + ex.getMessage(),
                         "Erreur Paramètre", JOptionPane.ERROR_MESSAGE);
-            } catch (Exception ex) {
-                handleProcessingError(operationName, ex);
             }
         });
         subMenuLocal.add(itemConvolution);
@@ -429,28 +435,16 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
             String tailleStr = JOptionPane.showInputDialog(this, "Taille masque moyenneur (entier impair):", "Filtre Moyenneur", JOptionPane.QUESTION_MESSAGE);
             if (tailleStr == null || tailleStr.trim().isEmpty()) return;
 
+            int tailleMasque;
             try {
-                int tailleMasque = Integer.parseInt(tailleStr.trim());
+                tailleMasque = Integer.parseInt(tailleStr.trim());
                 if (tailleMasque <= 0 || tailleMasque % 2 == 0) throw new NumberFormatException("Taille invalide (doit être entier positif impair).");
-
-                System.out.println("Application Filtre Moyenneur...");
-                int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSource);
-                if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
-
-                int[][] resultMatrix = FiltrageLineaireLocal.filtreMoyenneur(inputMatrix, tailleMasque);
-                if (resultMatrix == null) throw new RuntimeException("Erreur filtre moyenneur.");
-
-                CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
-                if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
-
-                updateImageDisplay(resultCImage); // Utiliser une méthode pour mettre à jour
-                System.out.println("Filtre Moyenneur appliqué.");
-
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this, "Erreur saisie: " + ex.getMessage(), "Erreur Paramètre", JOptionPane.ERROR_MESSAGE);
-            } catch (Exception ex) {
-                handleProcessingError("Filtre Moyenneur", ex);
+                return;
             }
+
+            lanceTraitementNG("Filtre Moyenneur", imageSource, inputMatrix -> FiltrageLineaireLocal.filtreMoyenneur(inputMatrix, tailleMasque));
         });
         subMenuLocal.add(itemMoyenneur);
 
@@ -539,30 +533,17 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
             String tailleStr = JOptionPane.showInputDialog(this, "Taille du voisinage carré (entier impair):", operationName, JOptionPane.QUESTION_MESSAGE);
             if (tailleStr == null || tailleStr.trim().isEmpty()) return;
 
+            int tailleMasque;
             try {
-                int tailleMasque = Integer.parseInt(tailleStr.trim());
+                tailleMasque = Integer.parseInt(tailleStr.trim());
                 if (tailleMasque <= 0 || tailleMasque % 2 == 0) throw new NumberFormatException("Taille invalide (doit être entier positif impair).");
-
-                System.out.println("Application " + operationName + "...");
-                int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSource);
-                if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
-
-                // Appel de la nouvelle fonction
-                int[][] resultMatrix = ImageProcessing.NonLineaire.MorphoComplexe.filtreMedian(inputMatrix, tailleMasque);
-
-                if (resultMatrix == null) throw new RuntimeException("Erreur pendant l'opération " + operationName + ".");
-
-                CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
-                if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
-
-                updateImageDisplay(resultCImage); // Mettre à jour l'affichage
-                System.out.println("Opération " + operationName + " appliquée.");
-
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this, "Erreur saisie: " + ex.getMessage(), "Erreur Paramètre", JOptionPane.ERROR_MESSAGE);
-            } catch (Exception ex) {
-                handleProcessingError(operationName, ex);
+                return;
             }
+
+            // Appel de la nouvelle fonction (hors de l'EDT)
+            lanceTraitementNG(operationName, imageSource, inputMatrix -> ImageProcessing.NonLineaire.MorphoComplexe.filtreMedian(inputMatrix, tailleMasque));
         });
         subMenuComplexe.add(itemFiltreMedian); // Ajoute l'item au sous-menu Complexe
         // Dans le constructeur, ajouter cet item au menu jMenuImage:
@@ -578,7 +559,7 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
                 File fichier = choix.getSelectedFile();
                 if (fichier != null) {
                     try {
-                        System.out.println("Chargement de l'image secondaire: " + fichier.getName());
+                        LOG.fine(() -> "Chargement de l'image secondaire: " + fichier.getName());
                         // On charge comme CImage pour utiliser imageToGrayMatrix qui gère NG/RGB
                         CImage tempCImage;
                         try { // Essayer de charger comme NG d'abord (plus direct si c'est le cas)
@@ -625,7 +606,7 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         itemRevenirOriginal.setEnabled(false); // Désactivé au début
         itemRevenirOriginal.addActionListener(e -> {
             if (originalImageMatrix != null) {
-                System.out.println("Retour à l'image originale...");
+                LOG.fine("Retour à l'image originale...");
                 CImageNG originalAsNG = ImageUtils.matrixToCImageNG(originalImageMatrix);
                 if (originalAsNG != null) {
                     updateImageDisplay(originalAsNG); // Met à jour affichage et menus
@@ -667,7 +648,6 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
     private void handleExercice1() {
         String operationName = "Exercice 1: Débruitage Poivre & Sel";
         String outputSubDir = BASE_RESULT_DIR + "ex1_debruitage/";
-        new File(outputSubDir).mkdirs();
         JFileChooser choix = new JFileChooser();
         choix.setCurrentDirectory(new File("."));
         choix.setDialogTitle(operationName + " - Choisir une image bruitée");
@@ -678,53 +658,35 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
                 JOptionPane.showMessageDialog(this, "Fichier invalide.", "Erreur Fichier", JOptionPane.ERROR_MESSAGE);
                 return;
             }
-            String outputFilename = outputSubDir + fichier.getName().replaceFirst("[.][^.]+$", "") + "_median_debruite.png";
+            // Paramètre demandé sur l'EDT, avant le lancement du traitement
+            String tailleStr = JOptionPane.showInputDialog(this, "Taille voisinage filtre Médian (entier impair):", operationName, JOptionPane.QUESTION_MESSAGE);
+            if (tailleStr == null || tailleStr.trim().isEmpty()) return;
+            int tailleVoisinage;
             try {
+                tailleVoisinage = Integer.parseInt(tailleStr.trim());
+                if (tailleVoisinage <= 0 || tailleVoisinage % 2 == 0) throw new NumberFormatException("Taille invalide.");
+            } catch (NumberFormatException ex) { handleProcessingError(operationName, ex); return; }
+
+            lanceExercice(operationName, () -> {
                 CImage imageSourceBrute;
                 try { imageSourceBrute = new CImageNG(fichier); }
                 catch (Exception exNg) {
                     try { imageSourceBrute = new CImageRGB(fichier); }
                     catch (Exception exRgb) { throw new IOException("Impossible de charger l'image.", exRgb); }
                 }
+                int[][] originale = ImageUtils.imageToGrayMatrix(imageSourceBrute);
+                if (originale == null) throw new RuntimeException("Erreur conversion image.");
                 // Afficher l'originale
                 CImage imageAvantPourAffichage = (imageSourceBrute instanceof CImageRGB) ?
-                        ImageUtils.matrixToCImageNG(ImageUtils.imageToGrayMatrix(imageSourceBrute)) : imageSourceBrute;
+                        ImageUtils.matrixToCImageNG(originale) : imageSourceBrute;
                 if (imageAvantPourAffichage != null) {
                     SwingUtilities.invokeLater(() -> new ResultViewerFrame(imageAvantPourAffichage, "Originale: " + fichier.getName()).display());
                 }
-                originalImageMatrix = ImageUtils.imageToGrayMatrix(imageSourceBrute);
-                updateRevenirOriginalMenuState();
-                int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSourceBrute);
-                if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
-                String tailleStr = JOptionPane.showInputDialog(this, "Taille voisinage filtre Médian (entier impair):", operationName, JOptionPane.QUESTION_MESSAGE);
-                if (tailleStr == null || tailleStr.trim().isEmpty()) return;
-                int tailleVoisinage = Integer.parseInt(tailleStr.trim());
-                if (tailleVoisinage <= 0 || tailleVoisinage % 2 == 0) throw new NumberFormatException("Taille invalide.");
 
-                // ---> DÉBUT DU CHRONOMÈTRE <---
-                System.out.println("Début du traitement [Filtre Médian]...");
-                long startTime = System.nanoTime();
-
-                // --- EXÉCUTION DE L'ALGORITHME ---
-                int[][] resultMatrix = MorphoComplexe.filtreMedian(inputMatrix, tailleVoisinage);
-
-                // ---> FIN DU CHRONOMÈTRE <---
-                long endTime = System.nanoTime();
-                double durationMilli = (endTime - startTime) / 1_000_000.0;
-                System.out.println("Fin du traitement. Durée [Filtre Médian]: " + String.format("%.3f", durationMilli) + " ms");
-
-                if (resultMatrix == null) throw new RuntimeException("Erreur filtre médian.");
-                CImageNG resultCImageNG = ImageUtils.matrixToCImageNG(resultMatrix);
-                if (resultCImageNG == null) throw new RuntimeException("Erreur conversion résultat.");
-                resultCImageNG.enregistreFormatPNG(new File(outputFilename));
-                System.out.println("Résultat sauvegardé: " + outputFilename);
-                updateImageDisplay(resultCImageNG);
-                SwingUtilities.invokeLater(() -> new ResultViewerFrame(resultCImageNG, "Après Médian: " + fichier.getName()).display());
-                JOptionPane.showMessageDialog(this,
-                        "Débruitage appliqué.\n" +
-                                "Temps d'exécution: " + String.format("%.3f", durationMilli) + " ms",
-                        operationName, JOptionPane.INFORMATION_MESSAGE);
-            } catch (Exception ex) { handleProcessingError(operationName, ex); }
+                ResultatExercice resultat = PipelinesExercices.debruitageMedian(imageSourceBrute, tailleVoisinage);
+                String base = fichier.getName().replaceFirst("[.][^.]+$", "");
+                return termineExercice(operationName, resultat, outputSubDir, base, originale, "Débruitage appliqué.");
+            });
         }
     }
 
@@ -734,9 +696,6 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         String operationName = "Exercice 2: Égalisation Lena Couleur";
         String filename = "lenaAEgaliser.jpg";
         String outputSubDir = BASE_RESULT_DIR + "ex2_egalisation_lena/";
-        new File(outputSubDir).mkdirs();
-        String outputA_path = outputSubDir + "lena_egalisation_A_RGB.png";
-        String outputB_path = outputSubDir + "lena_egalisation_B_Luminance.png";
         File inputFile = new File(filename);
         if (!inputFile.exists()) {
             JOptionPane.showMessageDialog(this,
@@ -744,87 +703,16 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
                     "Erreur Fichier", JOptionPane.ERROR_MESSAGE);
             return;
         }
-        try {
+        lanceExercice(operationName, () -> {
             // Charger l'image couleur originale
-            System.out.println("Chargement de " + filename + "...");
-            CImageRGB imageRGB_Orig_PourMethodeA = new CImageRGB(inputFile);
-            CImageRGB imageRGB_Orig_PourMethodeB = new CImageRGB(inputFile);
-            CImageRGB imageRGB_Orig_PourAffichage = new CImageRGB(inputFile);
-            originalImageMatrix = ImageUtils.imageToGrayMatrix(imageRGB_Orig_PourAffichage);
-            updateRevenirOriginalMenuState();
-            final CImageRGB finalOriginalRGB = imageRGB_Orig_PourAffichage;
-            SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalOriginalRGB, "Originale: " + filename).display());
-            int hauteur = imageRGB_Orig_PourMethodeA.getHauteur();
-            int largeur = imageRGB_Orig_PourMethodeA.getLargeur();
-
-            // --- Méthode (a): Égalisation RGB Indépendante ---
-            System.out.println("Début Méthode (a): Égalisation RGB Indépendante...");
-            long startTimeA = System.nanoTime();
-
-            int[][] rOrig_xy_A = new int[largeur][hauteur];
-            int[][] gOrig_xy_A = new int[largeur][hauteur];
-            int[][] bOrig_xy_A = new int[largeur][hauteur];
-            imageRGB_Orig_PourMethodeA.getMatricesRGB(rOrig_xy_A, gOrig_xy_A, bOrig_xy_A);
-            int[][] rOrig_yx_A = transposeMatrix(rOrig_xy_A);
-            int[][] gOrig_yx_A = transposeMatrix(gOrig_xy_A);
-            int[][] bOrig_yx_A = transposeMatrix(bOrig_xy_A);
-            int[] lutR_A = Histogramme.creeCourbeTonaleEgalisation(rOrig_yx_A);
-            int[][] rEq_yx_A = Histogramme.rehaussement(rOrig_yx_A, lutR_A);
-            int[] lutG_A = Histogramme.creeCourbeTonaleEgalisation(gOrig_yx_A);
-            int[][] gEq_yx_A = Histogramme.rehaussement(gOrig_yx_A, lutG_A);
-            int[] lutB_A = Histogramme.creeCourbeTonaleEgalisation(bOrig_yx_A);
-            int[][] bEq_yx_A = Histogramme.rehaussement(bOrig_yx_A, lutB_A);
-            int[][] rEq_xy_A = transposeMatrix(rEq_yx_A);
-            int[][] gEq_xy_A = transposeMatrix(gEq_yx_A);
-            int[][] bEq_xy_A = transposeMatrix(bEq_yx_A);
-
-            long endTimeA = System.nanoTime();
-            double durationMilliA = (endTimeA - startTimeA) / 1_000_000.0;
-            System.out.println("Fin Méthode (a). Durée: " + String.format("%.3f", durationMilliA) + " ms");
-
-            CImageRGB resultA_CImageRGB = new CImageRGB(rEq_xy_A, gEq_xy_A, bEq_xy_A);
-            resultA_CImageRGB.enregistreFormatPNG(new File(outputA_path));
-            final CImageRGB finalResultA_RGB = new CImageRGB(new File(outputA_path));
-            SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalResultA_RGB, "Méthode A (RGB Indépendant)").display());
-
-            // --- Méthode (b): Égalisation Luminance + Application LUT Y ---
-            System.out.println("Début Méthode (b): Égalisation via Luminance...");
-            long startTimeB = System.nanoTime();
-
-            int[][] rOrig_xy_B = new int[largeur][hauteur];
-            int[][] gOrig_xy_B = new int[largeur][hauteur];
-            int[][] bOrig_xy_B = new int[largeur][hauteur];
-            imageRGB_Orig_PourMethodeB.getMatricesRGB(rOrig_xy_B, gOrig_xy_B, bOrig_xy_B);
-            int[][] rOrig_yx_B = transposeMatrix(rOrig_xy_B);
-            int[][] gOrig_yx_B = transposeMatrix(gOrig_xy_B);
-            int[][] bOrig_yx_B = transposeMatrix(bOrig_xy_B);
-            int[][] lum_yx_B = ImageUtils.imageToGrayMatrix(imageRGB_Orig_PourMethodeB);
-            int[] lutY_B = Histogramme.creeCourbeTonaleEgalisation(lum_yx_B);
-            int[][] rEqY_yx_B = Histogramme.rehaussement(rOrig_yx_B, lutY_B);
-            int[][] gEqY_yx_B = Histogramme.rehaussement(gOrig_yx_B, lutY_B);
-            int[][] bEqY_yx_B = Histogramme.rehaussement(bOrig_yx_B, lutY_B);
-            int[][] rEqY_xy_B = transposeMatrix(rEqY_yx_B);
-            int[][] gEqY_xy_B = transposeMatrix(gEqY_yx_B);
-            int[][] bEqY_xy_B = transposeMatrix(bEqY_yx_B);
-
-            long endTimeB = System.nanoTime();
-            double durationMilliB = (endTimeB - startTimeB) / 1_000_000.0;
-            System.out.println("Fin Méthode (b). Durée: " + String.format("%.3f", durationMilliB) + " ms");
-
-            CImageRGB resultB_CImageRGB = new CImageRGB(rEqY_xy_B, gEqY_xy_B, bEqY_xy_B);
-            resultB_CImageRGB.enregistreFormatPNG(new File(outputB_path));
-            final CImageRGB finalResultB_RGB = new CImageRGB(new File(outputB_path));
-            SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalResultB_RGB, "Méthode B (Via Luminance)").display());
-
-            CImageNG displayImage = ImageUtils.matrixToCImageNG(ImageUtils.imageToGrayMatrix(resultB_CImageRGB));
-            if (displayImage != null) updateImageDisplay(displayImage);
-            JOptionPane.showMessageDialog(this,
-                    "Égalisation terminée.\n" +
-                            "Méthode (a): " + String.format("%.3f", durationMilliA) + " ms\n" +
-                            "Méthode (b): " + String.format("%.3f", durationMilliB) + " ms\n" +
-                            "Résultats sauvegardés dans : " + outputA_path + ", " + outputB_path,
-                    operationName, JOptionPane.INFORMATION_MESSAGE);
-        } catch (Exception ex) { handleProcessingError(operationName, ex); }
+            LOG.fine(() -> "Chargement de " + filename + "...");
+            CImageRGB imageRGB_Orig = new CImageRGB(inputFile);
+            SwingUtilities.invokeLater(() -> new ResultViewerFrame(imageRGB_Orig, "Originale: " + filename).display());
+
+            ResultatExercice resultat = PipelinesExercices.egalisationCouleur(imageRGB_Orig);
+            return termineExercice(operationName, resultat, outputSubDir, "lena",
+                    ImageUtils.imageToGrayMatrix(imageRGB_Orig), "Égalisation terminée.");
+        });
     }
 
 
@@ -834,314 +722,84 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         String operationName = "Exercice 3: Segmentation Petits Pois";
         String filename = "petitsPois.png";
         String outputSubDir = BASE_RESULT_DIR + "ex3_petits_pois/";
-        new File(outputSubDir).mkdirs();
-        String outputRed_path = outputSubDir + "petitsPois_Rouges_seg.png";
-        String outputBlue_path = outputSubDir + "petitsPois_Bleus_seg.png";
         File inputFile = new File(filename);
         if (!inputFile.exists()) {
             JOptionPane.showMessageDialog(this, "Le fichier '" + filename + "' est introuvable.", "Erreur Fichier", JOptionPane.ERROR_MESSAGE);
             return;
         }
-        try {
-            System.out.println("Chargement de " + filename + "...");
+        lanceExercice(operationName, () -> {
+            LOG.fine(() -> "Chargement de " + filename + "...");
             CImageRGB imageRGB_Orig = new CImageRGB(inputFile);
-            originalImageMatrix = ImageUtils.imageToGrayMatrix(imageRGB_Orig);
-            updateRevenirOriginalMenuState();
-            final CImageRGB finalOriginalRGB = new CImageRGB(inputFile);
-            SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalOriginalRGB, "Originale: " + filename).display());
-            int hauteur = imageRGB_Orig.getHauteur();
-            int largeur = imageRGB_Orig.getLargeur();
-            int[][] r_xy = new int[largeur][hauteur];
-            int[][] g_xy = new int[largeur][hauteur];
-            int[][] b_xy = new int[largeur][hauteur];
-            imageRGB_Orig.getMatricesRGB(r_xy, g_xy, b_xy);
-            int[][] r_yx = transposeMatrix(r_xy);
-            int[][] g_yx = transposeMatrix(g_xy);
-            int[][] b_yx = transposeMatrix(b_xy);
-
-            // --- Segmenter les POIS ROUGES ---
-            System.out.println("Segmentation des pois rouges...");
-            long startTimeRed = System.nanoTime();
-
-            int[][] redBinary = new int[hauteur][largeur];
-            int seuilRougeHaut_R = 200;
-            int seuilBleuBas_R = 100;
-            int seuilVertBas_R = 100;
-            for (int y = 0; y < hauteur; y++) {
-                for (int x = 0; x < largeur; x++) {
-                    if (r_yx[y][x] > seuilRougeHaut_R && b_yx[y][x] < seuilBleuBas_R && g_yx[y][x] < seuilVertBas_R) {
-                        redBinary[y][x] = 255;
-                    } else {
-                        redBinary[y][x] = 0;
-                    }
-                }
-            }
-            int tailleErosionMarqueur_R = 5;
-            int[][] marqueurRouge = MorphoElementaire.erosion(redBinary, tailleErosionMarqueur_R);
-            int[][] redCleaned = MorphoComplexe.reconstructionGeodesique(marqueurRouge, redBinary);
-
-            long endTimeRed = System.nanoTime();
-            double durationMilliRed = (endTimeRed - startTimeRed) / 1_000_000.0;
-            System.out.println("Fin segmentation pois rouges. Durée: " + String.format("%.3f", durationMilliRed) + " ms");
-
-            CImageNG redResultCImage = ImageUtils.matrixToCImageNG(redCleaned);
-            if (redResultCImage != null) redResultCImage.enregistreFormatPNG(new File(outputRed_path));
-            final CImageNG finalRedSeg = new CImageNG(new File(outputRed_path));
-            SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalRedSeg, "Pois Rouges Segmentés").display());
-
-            // --- Segmenter les POIS BLEUS ---
-            System.out.println("Segmentation des pois bleus...");
-            long startTimeBlue = System.nanoTime();
-
-            int[][] blueBinary = new int[hauteur][largeur];
-            int seuilBleuHaut_B = 200;
-            int seuilRougeBas_B = 100;
-            int seuilVertBas_B = 100;
-            for (int y = 0; y < hauteur; y++) {
-                for (int x = 0; x < largeur; x++) {
-                    if (b_yx[y][x] > seuilBleuHaut_B && r_yx[y][x] < seuilRougeBas_B && g_yx[y][x] < seuilVertBas_B) {
-                        blueBinary[y][x] = 255;
-                    } else {
-                        blueBinary[y][x] = 0;
-                    }
-                }
-            }
-            int tailleErosionMarqueur_B = 5;
-            int[][] marqueurBleu = MorphoElementaire.erosion(blueBinary, tailleErosionMarqueur_B);
-            int[][] blueCleaned = MorphoComplexe.reconstructionGeodesique(marqueurBleu, blueBinary);
-
-            long endTimeBlue = System.nanoTime();
-            double durationMilliBlue = (endTimeBlue - startTimeBlue) / 1_000_000.0;
-            System.out.println("Fin segmentation pois bleus. Durée: " + String.format("%.3f", durationMilliBlue) + " ms");
-
-            CImageNG blueResultCImage = ImageUtils.matrixToCImageNG(blueCleaned);
-            if (blueResultCImage != null) blueResultCImage.enregistreFormatPNG(new File(outputBlue_path));
-            final CImageNG finalBlueSeg = new CImageNG(new File(outputBlue_path));
-            SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalBlueSeg, "Pois Bleus Segmentés").display());
+            SwingUtilities.invokeLater(() -> new ResultViewerFrame(imageRGB_Orig, "Originale: " + filename).display());
 
-            if (redResultCImage != null) updateImageDisplay(redResultCImage);
-            JOptionPane.showMessageDialog(this,
-                    "Segmentation terminée.\n" +
-                            "Pois rouges: " + String.format("%.3f", durationMilliRed) + " ms\n" +
-                            "Pois bleus: " + String.format("%.3f", durationMilliBlue) + " ms\n" +
-                            "Résultats sauvegardés.",
-                    operationName, JOptionPane.INFORMATION_MESSAGE);
-        } catch (Exception ex) { handleProcessingError(operationName, ex); }
+            ResultatExercice resultat = PipelinesExercices.segmentationPetitsPois(imageRGB_Orig);
+            return termineExercice(operationName, resultat, outputSubDir, "petitsPois",
+                    ImageUtils.imageToGrayMatrix(imageRGB_Orig), "Segmentation terminée.");
+        });
     }
 
 
     //Exercice 4 :
-// DANS IsilImageProcessing.java
 
     private void handleExercice4() {
         String operationName = "Exercice 4: Séparation Balanes";
         String filename = "balanes.png";
         String outputSubDir = BASE_RESULT_DIR + "ex4_balanes/";
-        new File(outputSubDir).mkdirs();
-        String outputGrandes_path = outputSubDir + "balanes_Grandes_NG.png";
-        String outputPetites_path = outputSubDir + "balanes_Petites_NG.png";
         File inputFile = new File(filename);
         if (!inputFile.exists()) {
             JOptionPane.showMessageDialog(this, "Le fichier '" + filename + "' est introuvable.", "Erreur Fichier", JOptionPane.ERROR_MESSAGE);
             return;
         }
-        try {
-            System.out.println("Chargement de " + filename + "...");
+        lanceExercice(operationName, () -> {
+            LOG.fine(() -> "Chargement de " + filename + "...");
             CImage imageSource;
             try { imageSource = new CImageNG(inputFile); }
             catch (Exception exNg) { imageSource = new CImageRGB(inputFile); }
             int[][] imageOriginaleNG = ImageUtils.imageToGrayMatrix(imageSource);
-            originalImageMatrix = ImageUtils.cloneMatrix(imageOriginaleNG);
-            updateRevenirOriginalMenuState();
             final CImageNG finalOriginalNG = ImageUtils.matrixToCImageNG(imageOriginaleNG);
             SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalOriginalNG, "Originale: " + filename).display());
 
-            // --- Seuillage initial ---
-            System.out.println("Seuillage automatique (Otsu)...");
-            long startTimeSeuil = System.nanoTime();
-            int[][] imageBinaire = Seuillage.seuillageAutomatique(imageOriginaleNG);
-            long endTimeSeuil = System.nanoTime();
-            double durationMilliSeuil = (endTimeSeuil - startTimeSeuil) / 1_000_000.0;
-            System.out.println("Fin seuillage. Durée: " + String.format("%.3f", durationMilliSeuil) + " ms");
-
-            // --- Nettoyage binaire ---
-            System.out.println("Nettoyage binaire (Fermeture)...");
-            long startTimeNettoyage = System.nanoTime();
-            int tailleSE_nettoyageBinaire = 3;
-            int[][] imageBinaireNettoyee = MorphoElementaire.fermeture(imageBinaire, tailleSE_nettoyageBinaire);
-            long endTimeNettoyage = System.nanoTime();
-            double durationMilliNettoyage = (endTimeNettoyage - startTimeNettoyage) / 1_000_000.0;
-            System.out.println("Fin nettoyage. Durée: " + String.format("%.3f", durationMilliNettoyage) + " ms");
-
-            // --- Reconstruction des grandes balanes ---
-            System.out.println("Reconstruction des grandes balanes...");
-            long startTimeReconstruction = System.nanoTime();
-            int tailleES_Marqueur = 21;
-            int[][] marqueurGrandes = MorphoElementaire.erosion(imageBinaireNettoyee, tailleES_Marqueur);
-            int[][] grandesBalanesBinaires = MorphoComplexe.reconstructionGeodesique(marqueurGrandes, imageBinaireNettoyee);
-            long endTimeReconstruction = System.nanoTime();
-            double durationMilliReconstruction = (endTimeReconstruction - startTimeReconstruction) / 1_000_000.0;
-            System.out.println("Fin reconstruction. Durée: " + String.format("%.3f", durationMilliReconstruction) + " ms");
-
-            // --- Extraction des petites balanes ---
-            System.out.println("Extraction petites balanes (Soustraction)...");
-            long startTimeSoustraction = System.nanoTime();
-            int[][] petitesBalanesBinaires_Bruitees = soustraireImagesBinaires(imageBinaireNettoyee, grandesBalanesBinaires);
-            int tailleES_NettoyagePetites = 5;
-            int[][] petitesBalanesBinaires = MorphoElementaire.ouverture(petitesBalanesBinaires_Bruitees, tailleES_NettoyagePetites);
-            long endTimeSoustraction = System.nanoTime();
-            double durationMilliSoustraction = (endTimeSoustraction - startTimeSoustraction) / 1_000_000.0;
-            System.out.println("Fin extraction petites. Durée: " + String.format("%.3f", durationMilliSoustraction) + " ms");
-
-            // --- Création des images finales ---
-            System.out.println("Création images finales NG...");
-            long startTimeFinal = System.nanoTime();
-            int[][] grandesBalanesNG_final = appliquerMasqueNG(imageOriginaleNG, grandesBalanesBinaires);
-            int[][] petitesBalanesNG_final = appliquerMasqueNG(imageOriginaleNG, petitesBalanesBinaires);
-            long endTimeFinal = System.nanoTime();
-            double durationMilliFinal = (endTimeFinal - startTimeFinal) / 1_000_000.0;
-            System.out.println("Fin création images. Durée: " + String.format("%.3f", durationMilliFinal) + " ms");
-
-            CImageNG grandesResultCImage = ImageUtils.matrixToCImageNG(grandesBalanesNG_final);
-            CImageNG petitesResultCImage = ImageUtils.matrixToCImageNG(petitesBalanesNG_final);
-            grandesResultCImage.enregistreFormatPNG(new File(outputGrandes_path));
-            petitesResultCImage.enregistreFormatPNG(new File(outputPetites_path));
-            final CImageNG finalGrandes = ImageUtils.matrixToCImageNG(grandesBalanesNG_final);
-            final CImageNG finalPetites = ImageUtils.matrixToCImageNG(petitesBalanesNG_final);
-            SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalGrandes, "Grandes Balanes (NG)").display());
-            SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalPetites, "Petites Balanes (NG)").display());
-            if (grandesResultCImage != null) updateImageDisplay(grandesResultCImage);
-            JOptionPane.showMessageDialog(this,
-                    "Séparation terminée.\n" +
-                            "Seuillage: " + String.format("%.3f", durationMilliSeuil) + " ms\n" +
-                            "Nettoyage: " + String.format("%.3f", durationMilliNettoyage) + " ms\n" +
-                            "Reconstruction: " + String.format("%.3f", durationMilliReconstruction) + " ms\n" +
-                            "Extraction petites: " + String.format("%.3f", durationMilliSoustraction) + " ms\n" +
-                            "Création images: " + String.format("%.3f", durationMilliFinal) + " ms\n" +
-                            "Résultats sauvegardés.",
-                    operationName, JOptionPane.INFORMATION_MESSAGE);
-        } catch (Exception ex) { handleProcessingError(operationName, ex); }
+            ResultatExercice resultat = PipelinesExercices.separationBalanes(imageSource);
+            return termineExercice(operationName, resultat, outputSubDir, "balanes", imageOriginaleNG, "Séparation terminée.");
+        });
     }
 
 
     //Exercice 5
-// DANS IsilImageProcessing.java
 
     private void handleExercice5() {
         String operationName = "Exercice 5: Segmentation Outils";
         String filename = "tools.png"; // Nom de fichier imposé
         String outputSubDir = BASE_RESULT_DIR + "ex5_outils_segmentation/";
-        new File(outputSubDir).mkdirs(); // Crée le dossier
-        String outputFondEstime_path = outputSubDir + "tools_fond_estime_debug.png";
-        String outputCorrigee_path = outputSubDir + "tools_corrigee_debug.png";
-        String outputBinaireInitial_path = outputSubDir + "tools_binaire_initial_debug.png";
-        String outputFinal_path = outputSubDir + "tools_Segmentation_Binaire.png";
-
-
         File inputFile = new File(filename);
         if (!inputFile.exists()) {
             JOptionPane.showMessageDialog(this, "Le fichier '" + filename + "' est introuvable.", "Erreur Fichier", JOptionPane.ERROR_MESSAGE);
             return;
         }
 
-        try {
+        lanceExercice(operationName, () -> {
             // 1. Charger l'image (sera convertie en NG)
-            System.out.println("Chargement de " + filename + "...");
+            LOG.fine(() -> "Chargement de " + filename + "...");
             CImage imageSource;
             try { imageSource = new CImageNG(inputFile); }
             catch (Exception exNg) {
                 try { imageSource = new CImageRGB(inputFile); } // Fallback RGB
                 catch (Exception exRgb) { throw new IOException("Impossible de charger l'image.", exRgb); }
             }
-
             int[][] imageOriginaleNG = ImageUtils.imageToGrayMatrix(imageSource);
             if (imageOriginaleNG == null) throw new RuntimeException("Erreur conversion image originale.");
 
-            originalImageMatrix = ImageUtils.cloneMatrix(imageOriginaleNG);
-            updateRevenirOriginalMenuState();
-
             // Afficher l'originale
             final CImageNG finalOriginalNG = ImageUtils.matrixToCImageNG(imageOriginaleNG);
             if (finalOriginalNG != null) {
                 SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalOriginalNG, "Originale: " + filename).display());
             }
 
-            // 2. Estimer le fond par Ouverture morphologique
-            // --> AJUSTER CETTE TAILLE D'ES (doit être > plus grand outil) <--
-            int tailleES_Fond = 71; // Point de départ (ex: 51, 71, 101...)
-            System.out.println("  Estimation du fond (Ouverture " + tailleES_Fond + "x" + tailleES_Fond + ")...");
-            int[][] fondEstime = MorphoElementaire.ouverture(imageOriginaleNG, tailleES_Fond);
-            if (fondEstime == null) throw new RuntimeException("Erreur pendant l'estimation du fond (ouverture).");
-            // Sauvegarder fond estimé
-            CImageNG fondImg = ImageUtils.matrixToCImageNG(fondEstime);
-            if (fondImg != null) fondImg.enregistreFormatPNG(new File(outputFondEstime_path));
-
-
-            // 3. Corriger l'illumination (Top-Hat morphologique: Original - FondEstimé)
-            System.out.println("  Correction de l'illumination (Top-Hat)...");
-            int[][] imageCorrigee = soustraireImagesNG(imageOriginaleNG, fondEstime);
-            if (imageCorrigee == null) throw new RuntimeException("Erreur pendant la correction (soustraction).");
-            // Sauvegarder image corrigée
-            CImageNG corrigeeImg = ImageUtils.matrixToCImageNG(imageCorrigee);
-            if (corrigeeImg != null) corrigeeImg.enregistreFormatPNG(new File(outputCorrigee_path));
-            // Afficher l'image corrigée dans une fenêtre
-            if (corrigeeImg != null) {
-                final CImageNG finalCorrigee = ImageUtils.matrixToCImageNG(imageCorrigee);
-                SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalCorrigee, "Image Corrigée (Top-Hat)").display());
-            }
-
-            // 4. Seuillage de l'image corrigée
-            // --> AJUSTER CE SEUIL MANUEL ou utiliser Otsu <--
-            int seuilManuel = 21; // Point de départ (le fond doit être proche de 0)
-            System.out.println("  Seuillage de l'image corrigée (Seuil=" + seuilManuel + ")...");
-            int[][] outilsBinaires = Seuillage.seuillageAutomatique(imageCorrigee); // Option Otsu
-            //int[][] outilsBinaires = Seuillage.seuillageSimple(imageCorrigee, seuilManuel); // Option Manuelle
-            if (outilsBinaires == null) throw new RuntimeException("Erreur pendant le seuillage.");
-            // Sauvegarder pour debug
-            CImageNG debugBinaireInitial = ImageUtils.matrixToCImageNG(outilsBinaires);
-            if (debugBinaireInitial != null) debugBinaireInitial.enregistreFormatPNG(new File(outputBinaireInitial_path));
-
-
-            // 5. Nettoyage final (Fermeture pour trous, puis Ouverture pour bruit)
-            // --> AJUSTER CES TAILLES D'ES <--
-            int tailleSE_fermeture = 3;
-            System.out.println("  Nettoyage (Fermeture " + tailleSE_fermeture + "x" + tailleSE_fermeture + ")...");
-            int[][] outilsBinairesFermes = MorphoElementaire.fermeture(outilsBinaires, tailleSE_fermeture);
-            if (outilsBinairesFermes == null) outilsBinairesFermes = outilsBinaires; // Fallback
-
-            int tailleSE_ouverture = 3;
-            System.out.println("  Nettoyage (Ouverture " + tailleSE_ouverture + "x" + tailleSE_ouverture + ")...");
-            int[][] outilsBinairesNettoyes = MorphoElementaire.ouverture(outilsBinairesFermes, tailleSE_ouverture);
-            if (outilsBinairesNettoyes == null) outilsBinairesNettoyes = outilsBinairesFermes; // Fallback
-
-
-            // 6. Sauvegarder le résultat binaire final
-            CImageNG finalResultCImage = ImageUtils.matrixToCImageNG(outilsBinairesNettoyes);
-            if (finalResultCImage != null) finalResultCImage.enregistreFormatPNG(new File(outputFinal_path));
-            else System.err.println("Erreur conversion/sauvegarde résultat final.");
-            System.out.println("Résultat final sauvegardé: " + outputFinal_path);
-
-
-            // 7. Afficher le résultat final et informer
-            if (finalResultCImage != null) {
-                updateImageDisplay(finalResultCImage); // Affichage principal
-                final CImageNG finalSeg = ImageUtils.matrixToCImageNG(outilsBinairesNettoyes);
-                SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalSeg, "Outils Segmentés (Binaire)").display()); // Fenêtre résultat
-
-                JOptionPane.showMessageDialog(this,
-                        "Segmentation terminée.\n" +
-                                "Originale, image corrigée et résultat binaire sauvegardés et affichés.",
-                        operationName, JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                JOptionPane.showMessageDialog(this, "Erreur lors de la segmentation des outils.", "Erreur", JOptionPane.ERROR_MESSAGE);
-            }
-
-        } catch (IOException exIO) {
-            JOptionPane.showMessageDialog(this, "Erreur I/O ou CImage: " + exIO.getMessage(), "Erreur Fichier/Image", JOptionPane.ERROR_MESSAGE);
-            handleProcessingError(operationName, exIO);
-        } catch (Exception ex) {
-            handleProcessingError(operationName, ex);
-        }
+            // 2. Fond (ouverture), correction Top-Hat, seuillage et nettoyage
+            ResultatExercice resultat = PipelinesExercices.segmentationOutils(imageSource);
+            return termineExercice(operationName, resultat, outputSubDir, "tools", imageOriginaleNG,
+                    "Segmentation terminée.\nOriginale, image corrigée et résultat binaire sauvegardés et affichés.");
+        });
     }
 
     //Execice 6
@@ -1150,254 +808,78 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         String vaisseauFile = "vaisseaux.jpg";
         String planeteFile = "planete.jpg";
         String outputSubDir = BASE_RESULT_DIR + "ex6_composition_vaisseau/";
-        new File(outputSubDir).mkdirs();
-        String outputSynthese2_path = outputSubDir + "synthese2.png";
         File vaisseauInputFile = new File(vaisseauFile);
         File planeteInputFile = new File(planeteFile);
         if (!vaisseauInputFile.exists() || !planeteInputFile.exists()) {
             JOptionPane.showMessageDialog(this, "Fichiers introuvables.", "Erreur Fichier", JOptionPane.ERROR_MESSAGE);
             return;
         }
-        try {
-            // --- Création du masque du petit vaisseau ---
-            System.out.println("Création du masque du petit vaisseau...");
-            long startTimeMasque = System.nanoTime();
+        lanceExercice(operationName, () -> {
             CImageRGB vaisseauxRGB_source = new CImageRGB(vaisseauInputFile);
-            int[][] vaisseauxNG = ImageUtils.imageToGrayMatrix(vaisseauxRGB_source);
-            int[][] vaisseauxBinaires = Seuillage.seuillageAutomatique(vaisseauxNG);
-            int[][] vaisseauxBinairesNettoyes = MorphoElementaire.fermeture(vaisseauxBinaires, 3);
-            int tailleES_MarqueurGros = 61;
-            int[][] marqueurGros = MorphoElementaire.erosion(vaisseauxBinairesNettoyes, tailleES_MarqueurGros);
-            int[][] grosVaisseauBinaire = MorphoComplexe.reconstructionGeodesique(marqueurGros, vaisseauxBinairesNettoyes);
-            int[][] petitVaisseauEtBruitBinaire = soustraireImagesBinaires(vaisseauxBinairesNettoyes, grosVaisseauBinaire);
-            int tailleES_NettoyagePetit = 11;
-            int[][] petitVaisseauBinaire = MorphoElementaire.ouverture(petitVaisseauEtBruitBinaire, tailleES_NettoyagePetit);
-            long endTimeMasque = System.nanoTime();
-            double durationMilliMasque = (endTimeMasque - startTimeMasque) / 1_000_000.0;
-            System.out.println("Fin création masque. Durée: " + String.format("%.3f", durationMilliMasque) + " ms");
-
-            // --- Copier/Coller via BufferedImage ---
-            System.out.println("Copier/Coller du vaisseau...");
-            long startTimeCollage = System.nanoTime();
             CImageRGB planeteRGB_cible = new CImageRGB(planeteInputFile);
-            BufferedImage biVaisseaux = vaisseauxRGB_source.getImage();
-            BufferedImage biPlanete = planeteRGB_cible.getImage();
-            int hauteurP = biPlanete.getHeight();
-            int largeurP = biPlanete.getWidth();
-            int hauteurV_BI = biVaisseaux.getHeight();
-            int largeurV_BI = biVaisseaux.getWidth();
-            BufferedImage biSynthese1 = new BufferedImage(largeurP, hauteurP, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2d = biSynthese1.createGraphics();
-            g2d.drawImage(biPlanete, 0, 0, null);
-            g2d.dispose();
-            int yMax = Math.min(vaisseauxNG.length, hauteurP);
-            int xMax = Math.min(vaisseauxNG[0].length, largeurP);
-            for (int y = 0; y < yMax; y++) {
-                for (int x = 0; x < xMax; x++) {
-                    if (y < petitVaisseauBinaire.length && x < petitVaisseauBinaire[0].length && petitVaisseauBinaire[y][x] == 255) {
-                        if (x < largeurV_BI && y < hauteurV_BI && x < largeurP && y < hauteurP) {
-                            int rgbVaisseau = biVaisseaux.getRGB(x, y);
-                            biSynthese1.setRGB(x, y, rgbVaisseau);
-                        }
-                    }
-                }
-            }
-            long endTimeCollage = System.nanoTime();
-            double durationMilliCollage = (endTimeCollage - startTimeCollage) / 1_000_000.0;
-            System.out.println("Fin collage. Durée: " + String.format("%.3f", durationMilliCollage) + " ms");
-
-            // --- Ajout du contour rouge ---
-            System.out.println("Ajout du contour rouge...");
-            long startTimeContour = System.nanoTime();
-            int[][] contourBinaire = ContoursNonLineaire.gradientBeucher(petitVaisseauBinaire);
-            int redRGB = Color.RED.getRGB();
-            for (int y = 0; y < yMax; y++) {
-                for (int x = 0; x < xMax; x++) {
-                    if (y < contourBinaire.length && x < contourBinaire[0].length && contourBinaire[y][x] == 255) {
-                        if (x < largeurP && y < hauteurP) {
-                            biSynthese1.setRGB(x, y, redRGB);
-                        }
-                    }
-                }
-            }
-            long endTimeContour = System.nanoTime();
-            double durationMilliContour = (endTimeContour - startTimeContour) / 1_000_000.0;
-            System.out.println("Fin contour. Durée: " + String.format("%.3f", durationMilliContour) + " ms");
-
-            ImageIO.write(biSynthese1, "png", new File(outputSynthese2_path));
-            final BufferedImage finalBiSynthese2 = ImageIO.read(new File(outputSynthese2_path));
-            SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalBiSynthese2, "Synthèse (Avec Contour Rouge)").display());
-            CImageRGB tempSyntheseRGB_pourAffichagePrincipal = new CImageRGB(largeurP, hauteurP, 0, 0, 0);
-            Graphics g = tempSyntheseRGB_pourAffichagePrincipal.getContexte();
-            if (g != null) g.drawImage(finalBiSynthese2, 0, 0, null);
-            CImageNG synthese2AffichagePrincipal = ImageUtils.matrixToCImageNG(ImageUtils.imageToGrayMatrix(tempSyntheseRGB_pourAffichagePrincipal));
-            if (synthese2AffichagePrincipal != null) updateImageDisplay(synthese2AffichagePrincipal);
-            JOptionPane.showMessageDialog(this,
-                    "Composition terminée.\n" +
-                            "Création masque: " + String.format("%.3f", durationMilliMasque) + " ms\n" +
-                            "Collage: " + String.format("%.3f", durationMilliCollage) + " ms\n" +
-                            "Contour: " + String.format("%.3f", durationMilliContour) + " ms\n" +
-                            "Résultat sauvegardé.",
-                    operationName, JOptionPane.INFORMATION_MESSAGE);
-        } catch (Exception ex) { handleProcessingError(operationName, ex); }
+
+            ResultatExercice resultat = PipelinesExercices.compositionVaisseau(vaisseauxRGB_source, planeteRGB_cible);
+            // Pas d'image originale mémorisée pour cet exercice (composition de deux images)
+            return termineExercice(operationName, resultat, outputSubDir, "", null, "Composition terminée.");
+        });
     }
 
 
 
     /// Exo 7
 
-// DANS IsilImageProcessing.java
-
     private void handleExercice7() {
         String operationName = "Exercice 7: Contours Tartines";
         String filename = "Tartines.jpg";
         String outputSubDir = BASE_RESULT_DIR + "ex7_tartines_contours/";
-        new File(outputSubDir).mkdirs();
-        String outputFinal_path = outputSubDir + "Tartines_avec_contours.png";
         File inputFile = new File(filename);
         if (!inputFile.exists()) {
             JOptionPane.showMessageDialog(this, "Le fichier '" + filename + "' est introuvable.", "Erreur Fichier", JOptionPane.ERROR_MESSAGE);
             return;
         }
-        try {
-            System.out.println("Chargement et conversion de " + filename + "...");
-            CImageRGB tartinesRGB_Orig_PourDessin = new CImageRGB(inputFile);
-            CImageRGB tartinesRGB_Orig_PourAffichage = new CImageRGB(inputFile);
-            int[][] tartinesNG = ImageUtils.imageToGrayMatrix(tartinesRGB_Orig_PourDessin);
-            originalImageMatrix = ImageUtils.cloneMatrix(tartinesNG);
-            updateRevenirOriginalMenuState();
-            final CImageRGB finalOriginalRGB = tartinesRGB_Orig_PourAffichage;
-            SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalOriginalRGB, "Originale: " + filename).display());
-            int hauteur = tartinesNG.length;
-            int largeur = tartinesNG[0].length;
-
-            // --- Lissage initial ---
-            System.out.println("Lissage initial (Moyenneur)...");
-            long startTimeLissage = System.nanoTime();
-            int tailleFiltreMoyenneur = 5;
-            int[][] tartinesNG_Lisse = FiltrageLineaireLocal.filtreMoyenneur(tartinesNG, tailleFiltreMoyenneur);
-            long endTimeLissage = System.nanoTime();
-            double durationMilliLissage = (endTimeLissage - startTimeLissage) / 1_000_000.0;
-            System.out.println("Fin lissage. Durée: " + String.format("%.3f", durationMilliLissage) + " ms");
-
-            // --- Détection des contours ---
-            System.out.println("Détection des contours (Gradient Beucher)...");
-            long startTimeContours = System.nanoTime();
-            int[][] contoursNG = ContoursNonLineaire.gradientBeucher(tartinesNG_Lisse);
-            long endTimeContours = System.nanoTime();
-            double durationMilliContours = (endTimeContours - startTimeContours) / 1_000_000.0;
-            System.out.println("Fin détection contours. Durée: " + String.format("%.3f", durationMilliContours) + " ms");
-
-            // --- Binarisation des contours ---
-            System.out.println("Binarisation des contours...");
-            long startTimeBinarisation = System.nanoTime();
-            int seuilContour = 50;
-            int[][] contoursBinaires = Seuillage.seuillageSimple(contoursNG, seuilContour);
-            long endTimeBinarisation = System.nanoTime();
-            double durationMilliBinarisation = (endTimeBinarisation - startTimeBinarisation) / 1_000_000.0;
-            System.out.println("Fin binarisation. Durée: " + String.format("%.3f", durationMilliBinarisation) + " ms");
-
-            // --- Traçage des contours ---
-            System.out.println("Traçage des contours en vert...");
-            long startTimeTracage = System.nanoTime();
-            BufferedImage biTartinesAvecContours = new BufferedImage(largeur, hauteur, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2d = biTartinesAvecContours.createGraphics();
-            g2d.drawImage(tartinesRGB_Orig_PourDessin.getImage(), 0, 0, null);
-            g2d.dispose();
-            int greenRGB = Color.GREEN.getRGB();
-            for (int y = 0; y < hauteur; y++) {
-                for (int x = 0; x < largeur; x++) {
-                    if (y < contoursBinaires.length && x < contoursBinaires[0].length && contoursBinaires[y][x] == 255) {
-                        if (x < largeur && y < hauteur) {
-                            biTartinesAvecContours.setRGB(x, y, greenRGB);
-                        }
-                    }
-                }
-            }
-            long endTimeTracage = System.nanoTime();
-            double durationMilliTracage = (endTimeTracage - startTimeTracage) / 1_000_000.0;
-            System.out.println("Fin traçage. Durée: " + String.format("%.3f", durationMilliTracage) + " ms");
-
-            ImageIO.write(biTartinesAvecContours, "png", new File(outputFinal_path));
-            final BufferedImage finalResultBi = ImageIO.read(new File(outputFinal_path));
-            SwingUtilities.invokeLater(() -> new ResultViewerFrame(finalResultBi, "Tartines avec Contours Verts").display());
-            CImageRGB tempResultRGB = new CImageRGB(largeur, hauteur, 0, 0, 0);
-            Graphics gTemp = tempResultRGB.getContexte();
-            if (gTemp != null) gTemp.drawImage(finalResultBi, 0, 0, null);
-            CImageNG resultatFinalNG = ImageUtils.matrixToCImageNG(ImageUtils.imageToGrayMatrix(tempResultRGB));
-            if (resultatFinalNG != null) updateImageDisplay(resultatFinalNG);
-            JOptionPane.showMessageDialog(this,
-                    "Détection et tracé des contours terminés.\n" +
-                            "Lissage: " + String.format("%.3f", durationMilliLissage) + " ms\n" +
-                            "Détection contours: " + String.format("%.3f", durationMilliContours) + " ms\n" +
-                            "Binarisation: " + String.format("%.3f", durationMilliBinarisation) + " ms\n" +
-                            "Traçage: " + String.format("%.3f", durationMilliTracage) + " ms\n" +
-                            "Résultat sauvegardé.",
-                    operationName, JOptionPane.INFORMATION_MESSAGE);
-        } catch (Exception ex) { handleProcessingError(operationName, ex); }
-    }
-
-    // Assurez-vous que les méthodes soustraireImagesBinaires, updateImageDisplay, handleProcessingError,
-    // ImageUtils.*, Seuillage.*, MorphoElementaire.*, ContoursNonLineaire.* existent et fonctionnent.
-    // La méthode transposeMatrix n'est pas explicitement nécessaire ici si on utilise getPixel/setPixel
-    // et que ImageUtils gère la convention pour les traitements internes.    /**
-//     * Méthode utilitaire pour soustraire imageB de imageA (A - B) pour des images NG.
-//     * Clampe le résultat à 0 si B > A.
-//     */
-    private int[][] soustraireImagesNG(int[][] imageA, int[][] imageB) {
-        if (imageA == null || imageB == null || imageA.length != imageB.length || imageA[0].length != imageB[0].length) return null;
-        int hauteur = imageA.length;
-        int largeur = imageA[0].length;
-        int[][] resultat = new int[hauteur][largeur];
-        for (int y = 0; y < hauteur; y++) {
-            for (int x = 0; x < largeur; x++) {
-                int diff = imageA[y][x] - imageB[y][x];
-                resultat[y][x] = Math.max(0, diff); // Met à 0 si négatif
-                // On ne clampe PAS à 255 ici, le résultat peut être > 255 si l'original l'était
-                // Le seuillage s'en chargera.
-            }
-        }
-        return resultat;
+        lanceExercice(operationName, () -> {
+            LOG.fine(() -> "Chargement et conversion de " + filename + "...");
+            CImageRGB tartinesRGB_Orig = new CImageRGB(inputFile);
+            SwingUtilities.invokeLater(() -> new ResultViewerFrame(tartinesRGB_Orig, "Originale: " + filename).display());
+
+            ResultatExercice resultat = PipelinesExercices.contoursTartines(tartinesRGB_Orig);
+            return termineExercice(operationName, resultat, outputSubDir, "Tartines",
+                    ImageUtils.imageToGrayMatrix(tartinesRGB_Orig), "Détection et tracé des contours terminés.");
+        });
     }
 
     /**
-     * Méthode utilitaire pour soustraire imageB de imageA (A - B).
-     * Utile pour obtenir les petites balanes: BinaireTotal - GrandesBinaires
-     * Suppose des images binaires (0 ou 255).
+     * Fin commune des exercices (hors de l'EDT) : enregistre les sorties du pipeline, ouvre une
+     * fenêtre par sortie titrée et renvoie la suite à exécuter sur l'EDT (image originale mémorisée,
+     * affichage du résultat principal, message avec les durées des étapes).
+     * @param originale Matrice à mémoriser pour "Revenir à l'original" (null : inchangée).
      */
-    private int[][] soustraireImagesBinaires(int[][] imageA, int[][] imageB) {
-        if (imageA == null || imageB == null || imageA.length != imageB.length || imageA[0].length != imageB[0].length) return null;
-        int hauteur = imageA.length;
-        int largeur = imageA[0].length;
-        int[][] resultat = new int[hauteur][largeur];
-        for (int y = 0; y < hauteur; y++) {
-            for (int x = 0; x < largeur; x++) {
-                resultat[y][x] = (imageA[y][x] == 255 && imageB[y][x] == 0) ? 255 : 0;
-            }
+    private Runnable termineExercice(String operationName, ResultatExercice resultat, String outputSubDir,
+                                     String base, int[][] originale, String message) throws IOException {
+        for (File f : resultat.enregistre(new File(outputSubDir), base)) {
+            LOG.info(() -> "Résultat sauvegardé: " + f.getPath());
         }
-        return resultat;
-    }
-
-    /**
-     * Méthode utilitaire pour appliquer un masque binaire à une image en niveaux de gris.
-     * Copie les pixels de l'image NG là où le masque est blanc (255), met 0 ailleurs.
-     */
-    private int[][] appliquerMasqueNG(int[][] imageNG, int[][] masqueBinaire) {
-        if (imageNG == null || masqueBinaire == null || imageNG.length != masqueBinaire.length || imageNG[0].length != masqueBinaire[0].length) return null;
-        int hauteur = imageNG.length;
-        int largeur = imageNG[0].length;
-        int[][] resultat = new int[hauteur][largeur];
-        for (int y = 0; y < hauteur; y++) {
-            for (int x = 0; x < largeur; x++) {
-                resultat[y][x] = (masqueBinaire[y][x] == 255) ? imageNG[y][x] : 0;
+        LOG.info(resultat::resumeDurees);
+        for (ResultatExercice.Sortie sortie : resultat.getSorties()) {
+            if (sortie.getTitre() != null) {
+                SwingUtilities.invokeLater(() -> new ResultViewerFrame(sortie.getImage(), sortie.getTitre()).display());
             }
         }
-        return resultat;
+        CImageNG affichage = ImageUtils.matrixToCImageNG(resultat.getAffichage());
+        return () -> {
+            if (originale != null) {
+                originalImageMatrix = originale;
+                updateRevenirOriginalMenuState();
+            }
+            if (affichage != null) updateImageDisplay(affichage);
+            JOptionPane.showMessageDialog(this,
+                    message + "\n" + resultat.resumeDurees() + "Résultats sauvegardés dans : " + outputSubDir,
+                    operationName, JOptionPane.INFORMATION_MESSAGE);
+        };
     }
 
 
 
-
     /**
      * Méthode factorisée pour appliquer une transformation basée sur une courbe tonale (LUT).
      * Gère la conversion, l'appel au créateur de LUT, l'application, et la mise à jour.
@@ -1416,16 +898,14 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         if (imageNG == null && imageRGB == null) { JOptionPane.showMessageDialog(this, "Veuillez charger une image.", "Aucune image", JOptionPane.WARNING_MESSAGE); return; }
         CImage imageSource = (imageNG != null) ? imageNG : imageRGB;
 
-        try {
-            System.out.println("Application Transformation: " + operationName + "...");
+        // Histogrammes, courbe tonale et rehaussement hors de l'EDT ; seuls les graphiques et l'affichage sur l'EDT
+        lanceTraitement(operationName, () -> {
+            LOG.fine(() -> "Application Transformation: " + operationName + "...");
             int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSource);
             if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
 
-            // Afficher l'histogramme AVANT si demandé
-            if (showHistograms) {
-                int[] histoAvant = Histogramme.Histogramme256(inputMatrix);
-                if (histoAvant != null) displayHistogram(histoAvant, "Histogramme AVANT " + operationName);
-            }
+            // Histogramme AVANT si demandé
+            int[] histoAvant = showHistograms ? Histogramme.Histogramme256(inputMatrix) : null;
 
             // Créer la courbe tonale (LUT)
             int[] lut = lutCreator.apply(inputMatrix);
@@ -1435,22 +915,19 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
             int[][] resultMatrix = Histogramme.rehaussement(inputMatrix, lut);
             if (resultMatrix == null) throw new RuntimeException("Erreur pendant l'opération de rehaussement.");
 
-            // Afficher l'histogramme APRÈS si demandé
-            if (showHistograms) {
-                int[] histoApres = Histogramme.Histogramme256(resultMatrix);
-                if (histoApres != null) displayHistogram(histoApres, "Histogramme APRÈS " + operationName);
-            }
+            // Histogramme APRÈS si demandé
+            int[] histoApres = showHistograms ? Histogramme.Histogramme256(resultMatrix) : null;
 
-            // Convertir et mettre à jour l'affichage
             CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
             if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
 
-            updateImageDisplay(resultCImage);
-            System.out.println("Transformation " + operationName + " appliquée.");
-
-        } catch (Exception ex) {
-            handleProcessingError(operationName, ex);
-        }
+            return () -> { // Suite sur l'EDT
+                if (histoAvant != null) displayHistogram(histoAvant, "Histogramme AVANT " + operationName);
+                if (histoApres != null) displayHistogram(histoApres, "Histogramme APRÈS " + operationName);
+                updateImageDisplay(resultCImage);
+                LOG.fine(() -> "Transformation " + operationName + " appliquée.");
+            };
+        }, Runnable::run);
     }
 
 // --- NOUVELLE MÉTHODE HELPER pour afficher un histogramme ---
@@ -1509,34 +986,19 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         String freqStr = JOptionPane.showInputDialog(this, "Fréquence de coupure D0:", filterType, JOptionPane.QUESTION_MESSAGE);
         if (freqStr == null || freqStr.trim().isEmpty()) return;
 
+        int freqCoupure;
         try {
-            int freqCoupure = Integer.parseInt(freqStr.trim());
+            freqCoupure = Integer.parseInt(freqStr.trim());
             if (freqCoupure <= 0) throw new NumberFormatException("Fréquence doit être positive.");
-
-            System.out.println("Application Filtre " + filterType + "...");
-            int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSource);
-            if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
-
-            int[][] resultMatrix;
-            if (isLowPass) {
-                resultMatrix = FiltrageLinaireGlobal.filtrePasseBasIdeal(inputMatrix, freqCoupure);
-            } else {
-                resultMatrix = FiltrageLinaireGlobal.filtrePasseHautIdeal(inputMatrix, freqCoupure);
-            }
-
-            if (resultMatrix == null) throw new RuntimeException("Erreur filtre " + filterType + ".");
-
-            CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
-            if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
-
-            updateImageDisplay(resultCImage); // Mettre à jour l'affichage
-            System.out.println("Filtre " + filterType + " appliqué.");
-
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Erreur saisie: " + ex.getMessage(), "Erreur Paramètre", JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            handleProcessingError(filterType, ex);
+            return;
         }
+
+        // FFT, filtrage et IFFT hors de l'EDT
+        lanceTraitementNG(filterType, imageSource, inputMatrix -> isLowPass
+                ? FiltrageLinaireGlobal.filtrePasseBasIdeal(inputMatrix, freqCoupure)
+                : FiltrageLinaireGlobal.filtrePasseHautIdeal(inputMatrix, freqCoupure));
     }
 
     /** Gère l'application d'un filtre Butterworth (Passe-Bas ou Passe-Haut) */
@@ -1558,40 +1020,25 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
 
         int result = JOptionPane.showConfirmDialog(this, myPanel,
                 filterType, JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE);
+        if (result != JOptionPane.OK_OPTION) return;
 
-        if (result == JOptionPane.OK_OPTION) {
-            try {
-                int freqCoupure = Integer.parseInt(freqField.getText().trim());
-                int ordre = Integer.parseInt(orderField.getText().trim());
-
-                if (freqCoupure <= 0) throw new NumberFormatException("Fréquence doit être positive.");
-                if (ordre <= 0) throw new NumberFormatException("Ordre doit être positif."); // Ou >= 1 selon la théorie
-
-                System.out.println("Application Filtre " + filterType + "...");
-                int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSource);
-                if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
-
-                int[][] resultMatrix;
-                if (isLowPass) {
-                    resultMatrix = FiltrageLinaireGlobal.filtrePasseBasButterworth(inputMatrix, freqCoupure, ordre);
-                } else {
-                    resultMatrix = FiltrageLinaireGlobal.filtrePasseHautButterworth(inputMatrix, freqCoupure, ordre);
-                }
-
-                if (resultMatrix == null) throw new RuntimeException("Erreur filtre " + filterType + ".");
-
-                CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
-                if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
-
-                updateImageDisplay(resultCImage); // Mettre à jour l'affichage
-                System.out.println("Filtre " + filterType + " appliqué.");
+        int freqCoupure;
+        int ordre;
+        try {
+            freqCoupure = Integer.parseInt(freqField.getText().trim());
+            ordre = Integer.parseInt(orderField.getText().trim());
 
-            } catch (NumberFormatException ex) {
-                JOptionPane.showMessageDialog(this, "Erreur saisie: Vérifiez que la fréquence et l'ordre sont des entiers valides.\n" + ex.getMessage(), "Erreur Paramètres", JOptionPane.ERROR_MESSAGE);
-            } catch (Exception ex) {
-                handleProcessingError(filterType, ex);
-            }
+            if (freqCoupure <= 0) throw new NumberFormatException("Fréquence doit être positive.");
+            if (ordre <= 0) throw new NumberFormatException("Ordre doit être positif."); // Ou >= 1 selon la théorie
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Erreur saisie: Vérifiez que la fréquence et l'ordre sont des entiers valides.\n" + ex.getMessage(), "Erreur Paramètres", JOptionPane.ERROR_MESSAGE);
+            return;
         }
+
+        // FFT, filtrage et IFFT hors de l'EDT
+        lanceTraitementNG(filterType, imageSource, inputMatrix -> isLowPass
+                ? FiltrageLinaireGlobal.filtrePasseBasButterworth(inputMatrix, freqCoupure, ordre)
+                : FiltrageLinaireGlobal.filtrePasseHautButterworth(inputMatrix, freqCoupure, ordre));
     }
 
     /** Gère l'application d'une opération morphologique élémentaire */
@@ -1603,44 +1050,30 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         String tailleStr = JOptionPane.showInputDialog(this, "Taille de l'élément structurant carré (entier impair):", operationName, JOptionPane.QUESTION_MESSAGE);
         if (tailleStr == null || tailleStr.trim().isEmpty()) return;
 
+        int tailleMasque;
         try {
-            int tailleMasque = Integer.parseInt(tailleStr.trim());
+            tailleMasque = Integer.parseInt(tailleStr.trim());
             if (tailleMasque <= 0 || tailleMasque % 2 == 0) throw new NumberFormatException("Taille invalide (doit être entier positif impair).");
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Erreur saisie: " + ex.getMessage(), "Erreur Paramètre", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
 
-            System.out.println("Application Opération Morpho: " + operationName + "...");
-            int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSource);
-            if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
-
-            int[][] resultMatrix = null;
-            // Sélectionner l'opération à appeler en fonction de l'enum
+        // Sélectionner l'opération à appeler en fonction de l'enum (exécutée hors de l'EDT)
+        lanceTraitementNG(operationName, imageSource, inputMatrix -> {
             switch (operation) {
                 case EROSION:
-                    resultMatrix = ImageProcessing.NonLineaire.MorphoElementaire.erosion(inputMatrix, tailleMasque);
-                    break;
+                    return ImageProcessing.NonLineaire.MorphoElementaire.erosion(inputMatrix, tailleMasque);
                 case DILATATION:
-                    resultMatrix = ImageProcessing.NonLineaire.MorphoElementaire.dilatation(inputMatrix, tailleMasque);
-                    break;
+                    return ImageProcessing.NonLineaire.MorphoElementaire.dilatation(inputMatrix, tailleMasque);
                 case OUVERTURE:
-                    resultMatrix = ImageProcessing.NonLineaire.MorphoElementaire.ouverture(inputMatrix, tailleMasque);
-                    break;
+                    return ImageProcessing.NonLineaire.MorphoElementaire.ouverture(inputMatrix, tailleMasque);
                 case FERMETURE:
-                    resultMatrix = ImageProcessing.NonLineaire.MorphoElementaire.fermeture(inputMatrix, tailleMasque);
-                    break;
+                    return ImageProcessing.NonLineaire.MorphoElementaire.fermeture(inputMatrix, tailleMasque);
+                default:
+                    return null;
             }
-
-            if (resultMatrix == null) throw new RuntimeException("Erreur pendant l'opération " + operationName + ".");
-
-            CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
-            if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
-
-            updateImageDisplay(resultCImage); // Mettre à jour l'affichage
-            System.out.println("Opération " + operationName + " appliquée.");
-
-        } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "Erreur saisie: " + ex.getMessage(), "Erreur Paramètre", JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            handleProcessingError(operationName, ex);
-        }
+        });
     }
 
     /** Gère l'application d'une opération géodésique (Dilatation itérative ou Reconstruction) */
@@ -1656,9 +1089,8 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
             JOptionPane.showMessageDialog(this, "Veuillez charger une image secondaire (Marqueur) via le menu 'Image'.", "Aucune image marqueur", JOptionPane.WARNING_MESSAGE); return;
         }
 
-        int nbIter = -1; // Sera utilisé seulement si isIterativeDilatation est true
-
         // 3. Demander le nombre d'itérations si nécessaire
+        int nbIter = -1; // Sera utilisé seulement si isIterativeDilatation est true
         if (isIterativeDilatation) {
             String iterStr = JOptionPane.showInputDialog(this, "Nombre d'itérations:", operationName, JOptionPane.QUESTION_MESSAGE);
             if (iterStr == null || iterStr.trim().isEmpty()) return; // Annulation
@@ -1669,20 +1101,13 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
                 JOptionPane.showMessageDialog(this, "Erreur saisie: " + ex.getMessage(), "Erreur Paramètre", JOptionPane.ERROR_MESSAGE);
                 return; // Arrêter si le paramètre est invalide
             }
-            if (nbIter < 1) return; // Quitter si invalide
         }
 
-// 4. Lancer le traitement
-        try {
-            System.out.println("Application Opération: " + operationName + "...");
-
-            // Préparer le MASQUE à partir de l'image principale
-            int[][] masque = ImageUtils.imageToGrayMatrix(imageMasqueSource);
-            if (masque == null) throw new RuntimeException("Erreur conversion image principale (Masque).");
-
-            // Utiliser l'image secondaire comme MARQUEUR
-            int[][] marqueur = this.secondaryImageMatrix; // Déjà en int[][]
-
+        // 4. Lancer le traitement hors de l'EDT
+        // Utiliser l'image secondaire comme MARQUEUR (déjà en int[][], capturée au lancement)
+        int[][] marqueur = this.secondaryImageMatrix;
+        int iterations = nbIter;
+        lanceTraitementNG(operationName, imageMasqueSource, masque -> {
             // ---> VÉRIFIER LES DIMENSIONS <---
             if (marqueur.length != masque.length || marqueur[0].length != masque[0].length) {
                 throw new RuntimeException("Les dimensions de l'image principale (Masque) et secondaire (Marqueur) doivent être identiques !");
@@ -1692,27 +1117,10 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
             // (Sinon le résultat peut être étrange)
             // for (int y=0; y<masque.length; y++) { for (int x=0; x<masque[0].length; x++) { if (marqueur[y][x] > masque[y][x]) { throw new RuntimeException("Condition Marqueur <= Masque non respectée !");}}}
 
-
-            int[][] resultMatrix = null;
-            if (isIterativeDilatation) {
-                resultMatrix = ImageProcessing.NonLineaire.MorphoComplexe.dilatationGeodesique(marqueur, masque, nbIter);
-            } else {
-                resultMatrix = ImageProcessing.NonLineaire.MorphoComplexe.reconstructionGeodesique(marqueur, masque);
-            }
-
-            if (resultMatrix == null) throw new RuntimeException("Erreur pendant l'opération " + operationName + ".");
-
-            CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
-            if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
-
-            updateImageDisplay(resultCImage); // Mettre à jour l'affichage avec le résultat
-            System.out.println("Opération " + operationName + " appliquée.");
-
-        } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "Erreur saisie: " + ex.getMessage(), "Erreur Paramètre", JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            handleProcessingError(operationName, ex);
-        }
+            return isIterativeDilatation
+                    ? ImageProcessing.NonLineaire.MorphoComplexe.dilatationGeodesique(marqueur, masque, iterations)
+                    : ImageProcessing.NonLineaire.MorphoComplexe.reconstructionGeodesique(marqueur, masque);
+        });
     }
     /**
      * Gère l'appel aux fonctions de calcul de gradient (Prewitt ou Sobel).
@@ -1724,29 +1132,9 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         if (imageNG == null && imageRGB == null) { JOptionPane.showMessageDialog(this, "Veuillez charger une image.", "Aucune image", JOptionPane.WARNING_MESSAGE); return; }
         CImage imageSource = (imageNG != null) ? imageNG : imageRGB;
 
-        try {
-            System.out.println("Application Opérateur: " + operationName + "...");
-            int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSource);
-            if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
-
-            int[][] resultMatrix;
-            if (isPrewitt) {
-                resultMatrix = ContoursLineaire.gradientPrewitt(inputMatrix, direction);
-            } else {
-                resultMatrix = ContoursLineaire.gradientSobel(inputMatrix, direction);
-            }
-
-            if (resultMatrix == null) throw new RuntimeException("Erreur pendant l'opération " + operationName + ".");
-
-            CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
-            if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
-
-            updateImageDisplay(resultCImage);
-            System.out.println("Opération " + operationName + " appliquée.");
-
-        } catch (Exception ex) {
-            handleProcessingError(operationName, ex);
-        }
+        lanceTraitementNG(operationName, imageSource, inputMatrix -> isPrewitt
+                ? ContoursLineaire.gradientPrewitt(inputMatrix, direction)
+                : ContoursLineaire.gradientSobel(inputMatrix, direction));
     }
 
     /**
@@ -1758,29 +1146,9 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         if (imageNG == null && imageRGB == null) { JOptionPane.showMessageDialog(this, "Veuillez charger une image.", "Aucune image", JOptionPane.WARNING_MESSAGE); return; }
         CImage imageSource = (imageNG != null) ? imageNG : imageRGB;
 
-        try {
-            System.out.println("Application Opérateur: " + operationName + "...");
-            int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSource);
-            if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
-
-            int[][] resultMatrix;
-            if (isLaplacien4) {
-                resultMatrix = ContoursLineaire.laplacien4(inputMatrix);
-            } else {
-                resultMatrix = ContoursLineaire.laplacien8(inputMatrix);
-            }
-
-            if (resultMatrix == null) throw new RuntimeException("Erreur pendant l'opération " + operationName + ".");
-
-            CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
-            if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
-
-            updateImageDisplay(resultCImage);
-            System.out.println("Opération " + operationName + " appliquée.");
-
-        } catch (Exception ex) {
-            handleProcessingError(operationName, ex);
-        }
+        lanceTraitementNG(operationName, imageSource, inputMatrix -> isLaplacien4
+                ? ContoursLineaire.laplacien4(inputMatrix)
+                : ContoursLineaire.laplacien8(inputMatrix));
     }
     /**
      * Gère l'appel aux fonctions de calcul de contours non-linéaires.
@@ -1791,31 +1159,15 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         if (imageNG == null && imageRGB == null) { JOptionPane.showMessageDialog(this, "Veuillez charger une image.", "Aucune image", JOptionPane.WARNING_MESSAGE); return; }
         CImage imageSource = (imageNG != null) ? imageNG : imageRGB;
 
-        try {
-            System.out.println("Application Opérateur: " + operationName + "...");
-            int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSource);
-            if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
-
-            int[][] resultMatrix = null;
+        lanceTraitementNG(operationName, imageSource, inputMatrix -> {
             switch (type) {
-                case 1: resultMatrix = ContoursNonLineaire.gradientErosion(inputMatrix); break;
-                case 2: resultMatrix = ContoursNonLineaire.gradientDilatation(inputMatrix); break;
-                case 3: resultMatrix = ContoursNonLineaire.gradientBeucher(inputMatrix); break;
-                case 4: resultMatrix = ContoursNonLineaire.laplacienNonLineaire(inputMatrix); break;
+                case 1: return ContoursNonLineaire.gradientErosion(inputMatrix);
+                case 2: return ContoursNonLineaire.gradientDilatation(inputMatrix);
+                case 3: return ContoursNonLineaire.gradientBeucher(inputMatrix);
+                case 4: return ContoursNonLineaire.laplacienNonLineaire(inputMatrix);
                 default: throw new IllegalArgumentException("Type d'opération non linéaire inconnu: " + type);
             }
-
-            if (resultMatrix == null) throw new RuntimeException("Erreur pendant l'opération " + operationName + ".");
-
-            CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
-            if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
-
-            updateImageDisplay(resultCImage);
-            System.out.println("Opération " + operationName + " appliquée.");
-
-        } catch (Exception ex) {
-            handleProcessingError(operationName, ex);
-        }
+        });
     }
 
     /** Gère l'appel au seuillage simple. */
@@ -1827,29 +1179,16 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         String seuilStr = JOptionPane.showInputDialog(this, "Entrez la valeur de seuil (0-255):", operationName, JOptionPane.QUESTION_MESSAGE);
         if (seuilStr == null || seuilStr.trim().isEmpty()) return;
 
+        int seuil;
         try {
-            int seuil = Integer.parseInt(seuilStr.trim());
+            seuil = Integer.parseInt(seuilStr.trim());
             // Pas besoin de validation stricte 0-255 ici, la méthode seuillageSimple peut gérer
-
-            System.out.println("Application " + operationName + "...");
-            int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSource);
-            if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
-
-            int[][] resultMatrix = Seuillage.seuillageSimple(inputMatrix, seuil);
-
-            if (resultMatrix == null) throw new RuntimeException("Erreur pendant l'opération " + operationName + ".");
-
-            CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
-            if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
-
-            updateImageDisplay(resultCImage);
-            System.out.println("Opération " + operationName + " appliquée.");
-
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Erreur saisie: Le seuil doit être un entier.", "Erreur Paramètre", JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            handleProcessingError(operationName, ex);
+            return;
         }
+
+        lanceTraitementNG(operationName, imageSource, inputMatrix -> Seuillage.seuillageSimple(inputMatrix, seuil));
     }
 
 
@@ -1869,35 +1208,23 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         panelSeuils.add(seuil2Field);
 
         int result = JOptionPane.showConfirmDialog(this, panelSeuils, operationName, JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE);
-        if (result == JOptionPane.OK_OPTION) {
-            try {
-                int seuil1 = Integer.parseInt(seuil1Field.getText().trim());
-                int seuil2 = Integer.parseInt(seuil2Field.getText().trim());
-
-                if (seuil1 > seuil2) {
-                    throw new NumberFormatException("Seuil 1 doit être <= Seuil 2.");
-                }
-
-                System.out.println("Application " + operationName + "...");
-                int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSource);
-                if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
-
-                int[][] resultMatrix = Seuillage.seuillageDouble(inputMatrix, seuil1, seuil2);
+        if (result != JOptionPane.OK_OPTION) return;
 
-                if (resultMatrix == null) throw new RuntimeException("Erreur pendant l'opération " + operationName + ".");
-
-                CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
-                if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
-
-                updateImageDisplay(resultCImage);
-                System.out.println("Opération " + operationName + " appliquée.");
+        int seuil1;
+        int seuil2;
+        try {
+            seuil1 = Integer.parseInt(seuil1Field.getText().trim());
+            seuil2 = Integer.parseInt(seuil2Field.getText().trim());
 
-            } catch (NumberFormatException ex) {
-                JOptionPane.showMessageDialog(this, "Erreur saisie: " + ex.getMessage(), "Erreur Paramètres", JOptionPane.ERROR_MESSAGE);
-            } catch (Exception ex) {
-                handleProcessingError(operationName, ex);
+            if (seuil1 > seuil2) {
+                throw new NumberFormatException("Seuil 1 doit être <= Seuil 2.");
             }
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Erreur saisie: " + ex.getMessage(), "Erreur Paramètres", JOptionPane.ERROR_MESSAGE);
+            return;
         }
+
+        lanceTraitementNG(operationName, imageSource, inputMatrix -> Seuillage.seuillageDouble(inputMatrix, seuil1, seuil2));
     }
 
     /** Gère l'appel au seuillage automatique (Otsu). */
@@ -1906,24 +1233,7 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         if (imageNG == null && imageRGB == null) { JOptionPane.showMessageDialog(this, "Veuillez charger une image.", "Aucune image", JOptionPane.WARNING_MESSAGE); return; }
         CImage imageSource = (imageNG != null) ? imageNG : imageRGB;
 
-        try {
-            System.out.println("Application " + operationName + "...");
-            int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSource);
-            if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
-
-            int[][] resultMatrix = Seuillage.seuillageAutomatique(inputMatrix);
-
-            if (resultMatrix == null) throw new RuntimeException("Erreur pendant l'opération " + operationName + ".");
-
-            CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
-            if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
-
-            updateImageDisplay(resultCImage);
-            System.out.println("Opération " + operationName + " appliquée.");
-
-        } catch (Exception ex) {
-            handleProcessingError(operationName, ex);
-        }
+        lanceTraitementNG(operationName, imageSource, Seuillage::seuillageAutomatique);
     }
 
     /** Méthode utilitaire pour afficher les erreurs de traitement */
@@ -1935,6 +1245,50 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
                 "Erreur Traitement", JOptionPane.ERROR_MESSAGE);
 
     }
+
+    /**
+     * Lance un calcul hors de l'EDT, avec fenêtre de progression et annulation (cf. TacheTraitement) ;
+     * suite est exécutée sur l'EDT avec le résultat. Un seul traitement à la fois.
+     * @param operationName Nom pour la fenêtre de progression et les messages d'erreur.
+     */
+    private <T> void lanceTraitement(String operationName, TacheTraitement.Calcul<T> calcul, TacheTraitement.Suite<T> suite) {
+        if (tacheEnCours != null && !tacheEnCours.estTerminee()) { // Y compris un calcul annulé pas encore arrêté
+            JOptionPane.showMessageDialog(this, "Un traitement est déjà en cours.", operationName, JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        tacheEnCours = TacheTraitement.lance(this, operationName, calcul, suite, ex -> handleProcessingError(operationName, ex));
+    }
+
+    /**
+     * Cas courant : conversion de l'image en niveaux de gris, opération int[][] -> int[][] et conversion
+     * du résultat hors de l'EDT ; seul updateImageDisplay est exécuté sur l'EDT.
+     * Un résultat null de l'opération est signalé comme une erreur de traitement.
+     */
+    private void lanceTraitementNG(String operationName, CImage imageSource, java.util.function.UnaryOperator<int[][]> operation) {
+        lanceTraitement(operationName, () -> {
+            LOG.fine(() -> "Application " + operationName + "...");
+            int[][] inputMatrix = ImageUtils.imageToGrayMatrix(imageSource);
+            if (inputMatrix == null) throw new RuntimeException("Erreur conversion image.");
+
+            int[][] resultMatrix = operation.apply(inputMatrix);
+            if (resultMatrix == null) throw new RuntimeException("Erreur pendant l'opération " + operationName + ".");
+
+            CImageNG resultCImage = ImageUtils.matrixToCImageNG(resultMatrix);
+            if (resultCImage == null) throw new RuntimeException("Erreur conversion résultat.");
+            return resultCImage;
+        }, resultCImage -> {
+            updateImageDisplay(resultCImage);
+            LOG.fine(() -> "Opération " + operationName + " appliquée.");
+        });
+    }
+
+    /**
+     * Exercices : le calcul (chargement, traitements, sauvegardes) est exécuté hors de l'EDT et renvoie
+     * la suite à exécuter sur l'EDT (image originale mémorisée, affichage, message de fin).
+     */
+    private void lanceExercice(String operationName, TacheTraitement.Calcul<Runnable> calcul) {
+        lanceTraitement(operationName, calcul, Runnable::run);
+    }
     private void jMenuItemOuvrirNGActionPerformed(java.awt.event.ActionEvent evt) {
         JFileChooser choix = new JFileChooser();
         File fichier;
@@ -2306,18 +1660,13 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
     }// </editor-fold>//GEN-END:initComponents
 
     private void jMenuHistogrammeAfficherActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jMenuHistogrammeAfficherActionPerformed
-        int histo[];
-        try 
-        {
-            int f_int[][] = imageNG.getMatrice();
-            histo = Histogramme.Histogramme256(f_int);
-        } 
-        catch (CImageNGException ex) 
-        {
-            System.out.println("Erreur CImageNG : " + ex.getMessage());
-            return;
-        }
-        
+        if (imageNG == null) return;
+        CImageNG source = imageNG;
+        // Calcul de l'histogramme hors de l'EDT, graphique sur l'EDT
+        lanceTraitement("Histogramme", () -> Histogramme.Histogramme256(source.getMatrice()), this::afficheHistogrammeImage);
+    }//GEN-LAST:event_jMenuHistogrammeAfficherActionPerformed
+
+    private void afficheHistogrammeImage(int[] histo) {
         // Cr�ation du dataset
         XYSeries serie = new XYSeries("Histo");
         for(int i=0 ; i<256 ; i++) serie.add(i,histo[i]);
@@ -2336,7 +1685,7 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         ChartFrame frame = new ChartFrame("Histogramme de l'image",chart);
         frame.pack();
         frame.setVisible(true);
-    }//GEN-LAST:event_jMenuHistogrammeAfficherActionPerformed
+    }
 
     private void activeMenusNG()
     {
@@ -2407,9 +1756,9 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
             for(int i=0 ; i<imageNG.getLargeur() ; i++)
                 for(int j=0 ; j<imageNG.getHauteur() ; j++) f[i][j] = (double)(f_int[i][j]);
             
-            System.out.println("Debut Fourier");
-            MatriceComplexe fourier = Fourier.Fourier2D(f);
-            System.out.println("Fin Fourier");
+            LOG.fine("Debut Fourier");
+            MatriceComplexe fourier = Fourier.completeSpectre(Fourier.Fourier2DReel(f),f[0].length);
+            LOG.fine("Fin Fourier");
             fourier = Fourier.decroise(fourier);
             double partieImaginaire[][] = fourier.getPartieImaginaire();
             
@@ -2418,7 +1767,7 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         } 
         catch (CImageNGException ex) 
         {
-            System.out.println("Erreur CImageNG : " + ex.getMessage());
+            LOG.warning("Erreur CImageNG : " + ex.getMessage());
         }
     }//GEN-LAST:event_jMenuItemFourierAfficherPartieImaginaireActionPerformed
 
@@ -2430,9 +1779,9 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
             for(int i=0 ; i<imageNG.getLargeur() ; i++)
                 for(int j=0 ; j<imageNG.getHauteur() ; j++) f[i][j] = (double)(f_int[i][j]);
             
-            System.out.println("Debut Fourier");
-            MatriceComplexe fourier = Fourier.Fourier2D(f);
-            System.out.println("Fin Fourier");
+            LOG.fine("Debut Fourier");
+            MatriceComplexe fourier = Fourier.completeSpectre(Fourier.Fourier2DReel(f),f[0].length);
+            LOG.fine("Fin Fourier");
             fourier = Fourier.decroise(fourier);
             double partieReelle[][] = fourier.getPartieReelle();
             
@@ -2441,7 +1790,7 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         } 
         catch (CImageNGException ex) 
         {
-            System.out.println("Erreur CImageNG : " + ex.getMessage());
+            LOG.warning("Erreur CImageNG : " + ex.getMessage());
         }
 
     }//GEN-LAST:event_jMenuItemFourierAfficherPartieReelleActionPerformed
@@ -2454,9 +1803,9 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
             for(int i=0 ; i<imageNG.getLargeur() ; i++)
                 for(int j=0 ; j<imageNG.getHauteur() ; j++) f[i][j] = (double)(f_int[i][j]);
             
-            System.out.println("Debut Fourier");
-            MatriceComplexe fourier = Fourier.Fourier2D(f);
-            System.out.println("Fin Fourier");
+            LOG.fine("Debut Fourier");
+            MatriceComplexe fourier = Fourier.completeSpectre(Fourier.Fourier2DReel(f),f[0].length);
+            LOG.fine("Fin Fourier");
             fourier = Fourier.decroise(fourier);
             double phase[][] = fourier.getPhase();
             
@@ -2465,7 +1814,7 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         } 
         catch (CImageNGException ex) 
         {
-            System.out.println("Erreur CImageNG : " + ex.getMessage());
+            LOG.warning("Erreur CImageNG : " + ex.getMessage());
         }
 
     }//GEN-LAST:event_jMenuItemFourierAfficherPhaseActionPerformed
@@ -2478,9 +1827,9 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
             for(int i=0 ; i<imageNG.getLargeur() ; i++)
                 for(int j=0 ; j<imageNG.getHauteur() ; j++) f[i][j] = (double)(f_int[i][j]);
             
-            System.out.println("Debut Fourier");
-            MatriceComplexe fourier = Fourier.Fourier2D(f);
-            System.out.println("Fin Fourier");
+            LOG.fine("Debut Fourier");
+            MatriceComplexe fourier = Fourier.completeSpectre(Fourier.Fourier2DReel(f),f[0].length);
+            LOG.fine("Fin Fourier");
             fourier = Fourier.decroise(fourier);
             double module[][] = fourier.getModule();
             
@@ -2489,7 +1838,7 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
         } 
         catch (CImageNGException ex) 
         {
-            System.out.println("Erreur CImageNG : " + ex.getMessage());
+            LOG.warning("Erreur CImageNG : " + ex.getMessage());
         }
     }//GEN-LAST:event_jMenuItemFourierAfficherModuleActionPerformed
 
@@ -2635,9 +1984,9 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
                     imageNG.setPixel(e.getX(),e.getY(),couleurPinceauNG);
             } 
             catch (CImageRGBException ex) 
-            { System.out.println("Erreur RGB : " + ex.getMessage()); }
+            { LOG.warning("Erreur RGB : " + ex.getMessage()); }
             catch (CImageNGException ex) 
-            { System.out.println("Erreur NG : " + ex.getMessage()); }
+            { LOG.warning("Erreur NG : " + ex.getMessage()); }
         }
     }
 
@@ -2653,9 +2002,9 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
                     imageNG.DessineLigne(e.getX1(),e.getY1(),e.getX2(),e.getY2(),couleurPinceauNG);
             } 
             catch (CImageRGBException ex) 
-            { System.out.println("Erreur RGB : " + ex.getMessage()); }
+            { LOG.warning("Erreur RGB : " + ex.getMessage()); }
             catch (CImageNGException ex) 
-            { System.out.println("Erreur NG : " + ex.getMessage()); }
+            { LOG.warning("Erreur NG : " + ex.getMessage()); }
         }
     }
 
@@ -2671,9 +2020,9 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
                     imageNG.DessineRect(e.getX1(),e.getY1(),e.getX2(),e.getY2(),couleurPinceauNG);
             } 
             catch (CImageRGBException ex) 
-            { System.out.println("Erreur RGB : " + ex.getMessage()); }
+            { LOG.warning("Erreur RGB : " + ex.getMessage()); }
             catch (CImageNGException ex) 
-            { System.out.println("Erreur NG : " + ex.getMessage()); }
+            { LOG.warning("Erreur NG : " + ex.getMessage()); }
         }
     }
 
@@ -2689,9 +2038,9 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
                     imageNG.DessineCercle(e.getX1(),e.getY1(),e.getX2(),e.getY2(),couleurPinceauNG);
             } 
             catch (CImageRGBException ex) 
-            { System.out.println("Erreur RGB : " + ex.getMessage()); }
+            { LOG.warning("Erreur RGB : " + ex.getMessage()); }
             catch (CImageNGException ex) 
-            { System.out.println("Erreur NG : " + ex.getMessage()); }
+            { LOG.warning("Erreur NG : " + ex.getMessage()); }
         }
     }
 
@@ -2707,9 +2056,9 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
                     imageNG.RemplitCercle(e.getX1(),e.getY1(),e.getX2(),e.getY2(),couleurPinceauNG);
             } 
             catch (CImageRGBException ex) 
-            { System.out.println("Erreur RGB : " + ex.getMessage()); }
+            { LOG.warning("Erreur RGB : " + ex.getMessage()); }
             catch (CImageNGException ex) 
-            { System.out.println("Erreur NG : " + ex.getMessage()); }
+            { LOG.warning("Erreur NG : " + ex.getMessage()); }
         }
     }
 
@@ -2725,9 +2074,9 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
                     imageNG.RemplitRect(e.getX1(),e.getY1(),e.getX2(),e.getY2(),couleurPinceauNG);
             } 
             catch (CImageRGBException ex) 
-            { System.out.println("Erreur RGB : " + ex.getMessage()); }
+            { LOG.warning("Erreur RGB : " + ex.getMessage()); }
             catch (CImageNGException ex) 
-            { System.out.println("Erreur NG : " + ex.getMessage()); }
+            { LOG.warning("Erreur NG : " + ex.getMessage()); }
         }
     }
     
@@ -2765,24 +2114,6 @@ public class IsilImageProcessing extends javax.swing.JFrame implements ClicListe
 
     // End of variables declaration//GEN-END:variables
 
-    /**
-     * Méthode utilitaire pour transposer une matrice int[][].
-     * Si l'entrée est [A][B], la sortie est [B][A].
-     * @param matrix Matrice d'entrée.
-     * @return Nouvelle matrice transposée, ou null si l'entrée est invalide.
-     */
-    private int[][] transposeMatrix(int[][] matrix) {
-        if (matrix == null || matrix.length == 0 || matrix[0].length == 0) return null;
-        int rows = matrix.length;
-        int cols = matrix[0].length;
-        int[][] transposed = new int[cols][rows];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                transposed[j][i] = matrix[i][j];
-            }
-        }
-        return transposed;
-    }
 
 
     
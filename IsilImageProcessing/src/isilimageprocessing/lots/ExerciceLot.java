@@ -0,0 +1,115 @@
+package isilimageprocessing.lots;
+
+import CImage.CImage;
+import CImage.CImageNG;
+import CImage.CImageRGB;
+import ImageProcessing.Exercices.PipelinesExercices;
+import ImageProcessing.Exercices.ResultatExercice;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Exercices exécutables par TraitementLots : mode de chargement de l'image d'entrée et pipeline
+ * correspondant de PipelinesExercices.
+ */
+public enum ExerciceLot {
+
+    EX1("ex1_debruitage", false) {
+        @Override
+        ResultatExercice execute(CImage source, Parametres parametres) throws Exception {
+            return PipelinesExercices.debruitageMedian(source, parametres.tailleVoisinage);
+        }
+    },
+    EX2("ex2_egalisation", true) {
+        @Override
+        ResultatExercice execute(CImage source, Parametres parametres) throws Exception {
+            return PipelinesExercices.egalisationCouleur((CImageRGB) source);
+        }
+    },
+    EX3("ex3_petits_pois", true) {
+        @Override
+        ResultatExercice execute(CImage source, Parametres parametres) throws Exception {
+            return PipelinesExercices.segmentationPetitsPois((CImageRGB) source);
+        }
+    },
+    EX4("ex4_balanes", false) {
+        @Override
+        ResultatExercice execute(CImage source, Parametres parametres) throws Exception {
+            return PipelinesExercices.separationBalanes(source);
+        }
+    },
+    EX5("ex5_outils_segmentation", false) {
+        @Override
+        ResultatExercice execute(CImage source, Parametres parametres) throws Exception {
+            return PipelinesExercices.segmentationOutils(source);
+        }
+    },
+    EX6("ex6_composition_vaisseau", true) {
+        @Override
+        ResultatExercice execute(CImage source, Parametres parametres) throws Exception {
+            if (parametres.fond == null) throw new IllegalArgumentException("Image de fond (planète) absente.");
+            return PipelinesExercices.compositionVaisseau((CImageRGB) source, parametres.fond);
+        }
+    },
+    EX7("ex7_tartines_contours", true) {
+        @Override
+        ResultatExercice execute(CImage source, Parametres parametres) throws Exception {
+            return PipelinesExercices.contoursTartines((CImageRGB) source);
+        }
+    };
+
+    /** Paramètres communs à tous les fichiers d'un lot (partagés en lecture seule entre les threads). */
+    public static final class Parametres {
+        /** Exercice 1 : taille du voisinage du filtre médian (entier positif impair). */
+        int tailleVoisinage = 3;
+        /** Exercice 6 : image de la planète, sur laquelle chaque vaisseau est incrusté. */
+        CImageRGB fond;
+    }
+
+    private final String nomRapport;
+    private final boolean couleur;
+
+    ExerciceLot(String nomRapport, boolean couleur) {
+        this.nomRapport = nomRapport;
+        this.couleur = couleur;
+    }
+
+    /** @return Nom utilisé pour le fichier de rapport (ex: "ex1_debruitage"). */
+    public String getNomRapport() {
+        return nomRapport;
+    }
+
+    /**
+     * Charge l'image d'entrée : en couleur pour les exercices qui travaillent sur les canaux RGB,
+     * sinon en niveaux de gris (ou en couleur si le fichier n'est pas une image NG).
+     */
+    CImage charge(File fichier) throws IOException {
+        if (couleur) return new CImageRGB(fichier);
+        try {
+            return new CImageNG(fichier);
+        } catch (Exception exNg) {
+            try {
+                return new CImageRGB(fichier);
+            } catch (IOException exRgb) {
+                throw exRgb; // Fichier illisible : message de CImage.charge
+            } catch (Exception exRgb) {
+                throw new IOException("Impossible de charger l'image.", exRgb);
+            }
+        }
+    }
+
+    abstract ResultatExercice execute(CImage source, Parametres parametres) throws Exception;
+
+    /** @return L'exercice désigné par "1".."7" ou "ex1".."ex7" (casse ignorée). */
+    public static ExerciceLot depuisNom(String nom) {
+        String n = nom.trim().toLowerCase();
+        if (n.startsWith("ex")) n = n.substring(2);
+        try {
+            int numero = Integer.parseInt(n);
+            if (numero >= 1 && numero <= values().length) return values()[numero - 1];
+        } catch (NumberFormatException ex) {
+            // Message ci-dessous
+        }
+        throw new IllegalArgumentException("Exercice inconnu : " + nom + " (attendu : 1 à " + values().length + ")");
+    }
+}
@@ -0,0 +1,400 @@
+package isilimageprocessing.lots;
+
+import CImage.CImage;
+import CImage.CImageRGB;
+import ImageProcessing.Exercices.ResultatExercice;
+import ImageProcessing.Metriques.Metriques;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Traitement par lots, sans interface graphique : applique le pipeline d'un exercice
+ * (PipelinesExercices) à toutes les images d'un dossier et écrit les résultats dans un autre.
+ *
+ * Utilisation :
+ * <pre>
+ * java -cp IsilImageProcessing.jar isilimageprocessing.lots.TraitementLots &lt;exercice 1-7&gt; &lt;dossierEntree&gt; &lt;dossierSortie&gt;
+ *      [--threads N] [--decodeurs N] [--file N] [--taille N] [--fond planete.jpg] [--rapport rapport.csv]
+ *      [--metriques metriques.json]
+ * </pre>
+ *
+ * Organisation : des threads de décodage lisent les fichiers (dans l'ordre des noms) et déposent
+ * les images décodées dans une file bornée ; les threads de traitement les en retirent, exécutent
+ * le pipeline et écrivent les PNG. Quand la file est pleine, les décodeurs attendent (contre-pression) :
+ * au plus file + décodeurs + threads images sont en mémoire à un instant donné, quel que soit le
+ * nombre de fichiers. Une erreur sur un fichier est notée dans le rapport et n'arrête pas le lot.
+ *
+ * Rapport (CSV, séparateur ';', une ligne par fichier, triées par nom) : statut, durées de
+ * décodage, d'attente dans la file, de traitement, d'écriture et totale (ms), puis durée de
+ * chaque étape du pipeline. Avec --metriques, les statistiques par opérateur (cf. Metriques :
+ * percentiles de durée, débit, allocations, itérations) sont en plus écrites au format JSON.
+ *
+ * Aucune classe Swing n'est chargée (java.awt.headless est activé) : utilisable sur un serveur sans affichage.
+ *
+ * @technique Producteur/consommateurs, File bornée (contre-pression), Pool de threads borné.
+ */
+public final class TraitementLots {
+
+    private static final String[] EXTENSIONS = {".png", ".jpg", ".jpeg", ".bmp", ".gif"};
+    private static final long ATTENTE_FILE_MS = 100;
+
+    /** Image décodée en attente de traitement. */
+    private static final class Element {
+        final File fichier;
+        final String base;
+        final CImage image;
+        final double decodageMs;
+        final long finDecodage;
+
+        Element(File fichier, String base, CImage image, double decodageMs, long finDecodage) {
+            this.fichier = fichier;
+            this.base = base;
+            this.image = image;
+            this.decodageMs = decodageMs;
+            this.finDecodage = finDecodage;
+        }
+    }
+
+    /** Marqueur de fin de lot (un par thread de traitement). */
+    private static final Element FIN = new Element(null, null, null, 0, 0);
+
+    /** Ligne du rapport. */
+    private static final class Ligne {
+        final String fichier;
+        String statut = "OK";
+        double decodageMs;
+        double attenteMs;
+        double traitementMs;
+        double ecritureMs;
+        String etapes = "";
+        String message = "";
+
+        Ligne(String fichier) {
+            this.fichier = fichier;
+        }
+
+        double totalMs() {
+            return decodageMs + attenteMs + traitementMs + ecritureMs;
+        }
+    }
+
+    private final ExerciceLot exercice;
+    private final File dossierEntree;
+    private final File dossierSortie;
+    private final int nbThreads;
+    private final int nbDecodeurs;
+    private final int capaciteFile;
+    private final ExerciceLot.Parametres parametres;
+
+    /**
+     * @param nbThreads Nombre de threads de traitement (>= 1).
+     * @param nbDecodeurs Nombre de threads de décodage (>= 1).
+     * @param capaciteFile Nombre maximal d'images décodées en attente de traitement (>= 1).
+     */
+    public TraitementLots(ExerciceLot exercice, File dossierEntree, File dossierSortie,
+                          int nbThreads, int nbDecodeurs, int capaciteFile, ExerciceLot.Parametres parametres) {
+        if (exercice == null || dossierEntree == null || dossierSortie == null || parametres == null) {
+            throw new IllegalArgumentException("TraitementLots: paramètre manquant.");
+        }
+        if (!dossierEntree.isDirectory()) {
+            throw new IllegalArgumentException("TraitementLots: dossier d'entrée introuvable : " + dossierEntree);
+        }
+        if (nbThreads < 1 || nbDecodeurs < 1 || capaciteFile < 1) {
+            throw new IllegalArgumentException("TraitementLots: threads, décodeurs et file doivent être >= 1.");
+        }
+        this.exercice = exercice;
+        this.dossierEntree = dossierEntree;
+        this.dossierSortie = dossierSortie;
+        this.nbThreads = nbThreads;
+        this.nbDecodeurs = nbDecodeurs;
+        this.capaciteFile = capaciteFile;
+        this.parametres = parametres;
+    }
+
+    /**
+     * Traite toutes les images du dossier d'entrée et écrit le rapport.
+     * @param fichierRapport Fichier CSV du rapport.
+     * @return Le nombre de fichiers en échec.
+     */
+    public int execute(File fichierRapport) throws IOException, InterruptedException {
+        File[] fichiers = dossierEntree.listFiles(f -> f.isFile() && estImage(f.getName()));
+        if (fichiers == null) throw new IOException("Dossier d'entrée illisible : " + dossierEntree);
+        Arrays.sort(fichiers);
+        String[] bases = nomsDeSortie(fichiers);
+        if (!dossierSortie.isDirectory() && !dossierSortie.mkdirs()) {
+            throw new IOException("Impossible de créer le dossier de sortie : " + dossierSortie);
+        }
+
+        BlockingQueue<Element> file = new ArrayBlockingQueue<>(capaciteFile);
+        Queue<Ligne> lignes = new ConcurrentLinkedQueue<>();
+        AtomicInteger suivant = new AtomicInteger();
+        AtomicBoolean arret = new AtomicBoolean(); // Un thread de traitement s'est arrêté anormalement
+
+        ExecutorService decodeurs = Executors.newFixedThreadPool(nbDecodeurs, fabrique("lot-decodage-"));
+        ExecutorService travailleurs = Executors.newFixedThreadPool(nbThreads, fabrique("lot-traitement-"));
+        long debut = System.nanoTime();
+        try {
+            List<Future<Void>> fins = new ArrayList<>(nbThreads);
+            for (int i = 0; i < nbThreads; i++) {
+                fins.add(travailleurs.submit(() -> {
+                    try {
+                        traite(file, lignes);
+                    } catch (Throwable t) {
+                        arret.set(true);
+                        throw t;
+                    }
+                    return null;
+                }));
+            }
+
+            List<Callable<Void>> taches = new ArrayList<>(nbDecodeurs);
+            for (int i = 0; i < nbDecodeurs; i++) {
+                taches.add(() -> {
+                    decode(fichiers, bases, suivant, file, lignes, arret);
+                    return null;
+                });
+            }
+            decodeurs.invokeAll(taches);
+            for (int i = 0; i < nbThreads; i++) depose(file, FIN, arret);
+
+            for (Future<Void> f : fins) {
+                try {
+                    f.get();
+                } catch (ExecutionException ex) {
+                    throw new IOException("Arrêt anormal d'un thread de traitement", ex.getCause());
+                }
+            }
+        } finally {
+            decodeurs.shutdownNow();
+            travailleurs.shutdownNow();
+        }
+        double dureeMs = (System.nanoTime() - debut) / 1_000_000.0;
+
+        List<Ligne> rapport = new ArrayList<>(lignes);
+        rapport.sort(Comparator.comparing(l -> l.fichier));
+        ecritRapport(rapport, fichierRapport);
+
+        int echecs = 0;
+        for (Ligne l : rapport) if (!"OK".equals(l.statut)) echecs++;
+        System.out.println(String.format(Locale.ROOT, "Lot %s : %d fichiers, %d échecs, %.1f s (%.2f fichiers/s). Rapport : %s",
+                exercice.getNomRapport(), rapport.size(), echecs, dureeMs / 1000.0,
+                rapport.isEmpty() ? 0.0 : rapport.size() * 1000.0 / dureeMs, fichierRapport.getPath()));
+        return echecs;
+    }
+
+    /** Décodeur : prend le fichier suivant de la liste, le charge et le dépose dans la file (bloque si elle est pleine). */
+    private void decode(File[] fichiers, String[] bases, AtomicInteger suivant, BlockingQueue<Element> file,
+                        Queue<Ligne> lignes, AtomicBoolean arret) throws InterruptedException {
+        int i;
+        while ((i = suivant.getAndIncrement()) < fichiers.length && !arret.get()) {
+            File fichier = fichiers[i];
+            long t0 = System.nanoTime();
+            CImage image;
+            try {
+                image = exercice.charge(fichier);
+            } catch (Exception | OutOfMemoryError ex) {
+                Ligne ligne = new Ligne(fichier.getName());
+                ligne.statut = "ECHEC_DECODAGE";
+                ligne.decodageMs = (System.nanoTime() - t0) / 1_000_000.0;
+                ligne.message = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+                lignes.add(ligne);
+                continue;
+            }
+            long t1 = System.nanoTime();
+            depose(file, new Element(fichier, bases[i], image, (t1 - t0) / 1_000_000.0, t1), arret);
+        }
+    }
+
+    /** Thread de traitement : traite les images de la file jusqu'au marqueur de fin. */
+    private void traite(BlockingQueue<Element> file, Queue<Ligne> lignes) throws InterruptedException {
+        while (true) {
+            Element element = file.take();
+            if (element == FIN) return;
+            long t0 = System.nanoTime();
+            Ligne ligne = new Ligne(element.fichier.getName());
+            ligne.decodageMs = element.decodageMs;
+            ligne.attenteMs = (t0 - element.finDecodage) / 1_000_000.0;
+            try {
+                ResultatExercice resultat = exercice.execute(element.image, parametres);
+                long t1 = System.nanoTime();
+                ligne.traitementMs = (t1 - t0) / 1_000_000.0;
+                ligne.etapes = resultat.dureesCompactes();
+
+                resultat.enregistre(dossierSortie, element.base);
+                ligne.ecritureMs = (System.nanoTime() - t1) / 1_000_000.0;
+            } catch (Exception | OutOfMemoryError ex) {
+                // Un fichier invalide ou trop grand ne doit pas arrêter le lot
+                ligne.statut = "ECHEC";
+                ligne.traitementMs = (System.nanoTime() - t0) / 1_000_000.0;
+                ligne.message = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+            }
+            lignes.add(ligne);
+        }
+    }
+
+    /** Dépose un élément dans la file en attendant qu'une place se libère, sauf si le lot est interrompu. */
+    private static void depose(BlockingQueue<Element> file, Element element, AtomicBoolean arret) throws InterruptedException {
+        while (!file.offer(element, ATTENTE_FILE_MS, TimeUnit.MILLISECONDS)) {
+            if (arret.get()) return;
+        }
+    }
+
+    private static void ecritRapport(List<Ligne> rapport, File fichierRapport) throws IOException {
+        File parent = fichierRapport.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Impossible de créer le dossier du rapport : " + parent);
+        }
+        try (PrintWriter out = new PrintWriter(fichierRapport, StandardCharsets.UTF_8.name())) {
+            out.println("fichier;statut;decodage_ms;attente_ms;traitement_ms;ecriture_ms;total_ms;etapes;message");
+            for (Ligne l : rapport) {
+                out.println(String.format(Locale.ROOT, "%s;%s;%.3f;%.3f;%.3f;%.3f;%.3f;%s;%s",
+                        champ(l.fichier), l.statut, l.decodageMs, l.attenteMs, l.traitementMs, l.ecritureMs,
+                        l.totalMs(), champ(l.etapes), champ(l.message)));
+            }
+        }
+    }
+
+    /** Neutralise les séparateurs et retours à la ligne dans un champ du rapport. */
+    private static String champ(String s) {
+        return (s == null) ? "" : s.replace(';', ',').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    /**
+     * Préfixe des fichiers de sortie de chaque entrée : le nom sans extension ("c.png" -> "c"), sauf si
+     * une autre entrée du lot a le même (c.png et c.jpg) : l'extension est alors gardée ("c.png", "c.jpg"),
+     * sinon les deux écriraient les mêmes c_*.png. La casse est ignorée (systèmes de fichiers insensibles).
+     */
+    static String[] nomsDeSortie(File[] fichiers) {
+        String[] bases = new String[fichiers.length];
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (int i = 0; i < fichiers.length; i++) {
+            bases[i] = fichiers[i].getName().replaceFirst("[.][^.]+$", "");
+            occurrences.merge(bases[i].toLowerCase(Locale.ROOT), 1, Integer::sum);
+        }
+        for (int i = 0; i < fichiers.length; i++) {
+            if (occurrences.get(bases[i].toLowerCase(Locale.ROOT)) > 1) bases[i] = fichiers[i].getName();
+        }
+        return bases;
+    }
+
+    private static boolean estImage(String nom) {
+        String n = nom.toLowerCase(Locale.ROOT);
+        for (String ext : EXTENSIONS) {
+            if (n.endsWith(ext)) return true;
+        }
+        return false;
+    }
+
+    private static ThreadFactory fabrique(String prefixe) {
+        AtomicInteger numero = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefixe + numero.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    // --- Ligne de commande ---
+
+    private static final String USAGE =
+            "Usage : TraitementLots <exercice 1-7> <dossierEntree> <dossierSortie> [options]\n"
+            + "  --threads N     threads de traitement (défaut : nombre de processeurs)\n"
+            + "  --decodeurs N   threads de décodage (défaut : threads / 4, au moins 1)\n"
+            + "  --file N        images décodées en attente au plus (défaut : 2 x threads)\n"
+            + "  --taille N      exercice 1 : taille du filtre médian, entier impair (défaut : 3)\n"
+            + "  --fond FICHIER  exercice 6 : image de la planète (défaut : planete.jpg)\n"
+            + "  --rapport F     rapport CSV (défaut : <dossierSortie>/rapport_<exercice>.csv)\n"
+            + "  --metriques F   active les métriques par opérateur et les écrit en JSON dans F";
+
+    /**
+     * Point d'entrée. Code de sortie : 0 si tous les fichiers ont été traités, 1 en cas d'échec
+     * sur au moins un fichier, 2 pour des arguments invalides ou une erreur d'entrée/sortie.
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        try {
+            if (args.length < 3) throw new IllegalArgumentException("Arguments manquants.");
+            ExerciceLot exercice = ExerciceLot.depuisNom(args[0]);
+            File entree = new File(args[1]);
+            File sortie = new File(args[2]);
+
+            int threads = Runtime.getRuntime().availableProcessors();
+            int decodeurs = -1;
+            int capacite = -1;
+            ExerciceLot.Parametres parametres = new ExerciceLot.Parametres();
+            File fond = new File("planete.jpg");
+            File rapport = null;
+            File metriques = null;
+            for (int i = 3; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 >= args.length) throw new IllegalArgumentException("Valeur manquante pour " + option);
+                String valeur = args[++i];
+                switch (option) {
+                    case "--threads": threads = entier(option, valeur); break;
+                    case "--decodeurs": decodeurs = entier(option, valeur); break;
+                    case "--file": capacite = entier(option, valeur); break;
+                    case "--taille": parametres.tailleVoisinage = entier(option, valeur); break;
+                    case "--fond": fond = new File(valeur); break;
+                    case "--rapport": rapport = new File(valeur); break;
+                    case "--metriques": metriques = new File(valeur); break;
+                    default: throw new IllegalArgumentException("Option inconnue : " + option);
+                }
+            }
+            if (decodeurs < 0) decodeurs = Math.max(1, threads / 4);
+            if (capacite < 0) capacite = 2 * threads;
+            if (rapport == null) rapport = new File(sortie, "rapport_" + exercice.getNomRapport() + ".csv");
+            if (exercice == ExerciceLot.EX6) {
+                if (!fond.isFile()) throw new IllegalArgumentException("Image de fond introuvable : " + fond);
+                parametres.fond = new CImageRGB(fond); // Décodée une fois, partagée en lecture seule
+            }
+
+            if (metriques != null) Metriques.setActif(true);
+            int echecs = new TraitementLots(exercice, entree, sortie, threads, decodeurs, capacite, parametres).execute(rapport);
+            if (metriques != null) {
+                Files.write(metriques.toPath(), Metriques.rapportJSON().getBytes(StandardCharsets.UTF_8));
+            }
+            System.exit(echecs == 0 ? 0 : 1);
+        } catch (IllegalArgumentException ex) {
+            System.err.println("Erreur [TraitementLots]: " + ex.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        } catch (IOException ex) {
+            System.err.println("Erreur [TraitementLots]: " + ex.getMessage());
+            System.exit(2);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            System.exit(2);
+        }
+    }
+
+    private static int entier(String option, String valeur) {
+        try {
+            return Integer.parseInt(valeur.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Valeur entière attendue pour " + option + " : " + valeur);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package isilimageprocessing.utils;
+
+import ImageProcessing.Core.Progression;
+import ImageProcessing.Core.SuiviProgression;
+import ImageProcessing.Core.TraitementAnnuleException;
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Exécute un traitement d'image hors du thread Swing (EDT), avec une fenêtre de progression
+ * et un bouton "Annuler".
+ *
+ * Le calcul tourne dans le thread du SwingWorker, avec cette tâche comme Progression du thread
+ * (cf. SuiviProgression) : les opérateurs appelés font avancer la barre et s'interrompent
+ * (TraitementAnnuleException) dès que l'annulation est demandée. Seule la suite (mise à jour de
+ * l'affichage, fenêtres de résultat, messages) est exécutée sur l'EDT, une fois le calcul terminé.
+ *
+ * La fenêtre de progression est modale (l'image affichée ne peut pas être modifiée pendant le calcul),
+ * mais n'apparaît qu'après DELAI_AFFICHAGE_MS : les traitements courts ne la font pas clignoter.
+ */
+public class TacheTraitement<T> extends SwingWorker<T, Void> implements Progression {
+
+    /** Calcul exécuté en arrière-plan : il ne doit accéder à aucun composant Swing. */
+    @FunctionalInterface
+    public interface Calcul<T> {
+        T calcule() throws Exception;
+    }
+
+    /** Suite exécutée sur l'EDT avec le résultat du calcul. */
+    @FunctionalInterface
+    public interface Suite<T> {
+        void termine(T resultat) throws Exception;
+    }
+
+    /** Traitement d'une erreur du calcul ou de la suite (appelé sur l'EDT). */
+    @FunctionalInterface
+    public interface GestionErreur {
+        void echec(Exception ex);
+    }
+
+    private static final Logger LOG = Logger.getLogger(TacheTraitement.class.getName());
+
+    private static final int DELAI_AFFICHAGE_MS = 300;
+
+    /** États du calcul (cf. estTerminee). */
+    private static final int NON_DEMARRE = 0, EN_COURS = 1, TERMINE = 2;
+
+    private final String titre;
+    private final Calcul<T> calcul;
+    private final Suite<T> suite;
+    private final GestionErreur erreur;
+    private final JDialog dialogue;
+    private final JProgressBar barre;
+    private final Timer minuterie;
+    private final AtomicInteger etatCalcul = new AtomicInteger(NON_DEMARRE);
+
+    private TacheTraitement(Component parent, String titre, Calcul<T> calcul, Suite<T> suite, GestionErreur erreur) {
+        this.titre = titre;
+        this.calcul = calcul;
+        this.suite = suite;
+        this.erreur = erreur;
+
+        barre = new JProgressBar(0, 100);
+        barre.setIndeterminate(true); // Jusqu'au premier point de contrôle
+        barre.setStringPainted(true);
+        JButton annuler = new JButton("Annuler");
+        annuler.addActionListener(e -> {
+            annuler.setEnabled(false);
+            cancel(false); // Annulation coopérative : pas d'interruption du thread
+        });
+
+        JPanel contenu = new JPanel(new BorderLayout(10, 10));
+        contenu.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        contenu.add(new JLabel(titre + " en cours..."), BorderLayout.NORTH);
+        contenu.add(barre, BorderLayout.CENTER);
+        JPanel boutons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 0, 0));
+        boutons.add(annuler);
+        contenu.add(boutons, BorderLayout.SOUTH);
+
+        Window proprietaire = (parent == null) ? null : SwingUtilities.getWindowAncestor(parent);
+        if (parent instanceof Window) proprietaire = (Window) parent;
+        dialogue = new JDialog(proprietaire, titre, Dialog.ModalityType.APPLICATION_MODAL);
+        dialogue.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        dialogue.setContentPane(contenu);
+        dialogue.pack();
+        dialogue.setSize(Math.max(320, dialogue.getWidth()), dialogue.getHeight());
+        dialogue.setLocationRelativeTo(parent);
+
+        addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName())) {
+                barre.setIndeterminate(false);
+                barre.setValue((Integer) evt.getNewValue());
+            }
+        });
+
+        // Fenêtre modale affichée depuis le Timer : setVisible bloque jusqu'à done() (dispose)
+        minuterie = new Timer(DELAI_AFFICHAGE_MS, e -> {
+            if (!isDone()) dialogue.setVisible(true);
+        });
+        minuterie.setRepeats(false);
+    }
+
+    /**
+     * Lance le calcul en arrière-plan. À appeler depuis l'EDT.
+     *
+     * @param parent Composant au-dessus duquel centrer la fenêtre de progression.
+     * @param titre Nom du traitement (titre de la fenêtre, messages console).
+     * @param calcul Le calcul, exécuté hors de l'EDT.
+     * @param suite Exécutée sur l'EDT avec le résultat, si le calcul a abouti sans être annulé.
+     * @param erreur Appelée sur l'EDT si le calcul ou la suite lève une exception (hors annulation).
+     * @return La tâche lancée.
+     */
+    public static <T> TacheTraitement<T> lance(Component parent, String titre, Calcul<T> calcul,
+                                               Suite<T> suite, GestionErreur erreur) {
+        TacheTraitement<T> tache = new TacheTraitement<>(parent, titre, calcul, suite, erreur);
+        tache.minuterie.start();
+        tache.execute();
+        return tache;
+    }
+
+    @Override
+    protected T doInBackground() throws Exception {
+        if (!etatCalcul.compareAndSet(NON_DEMARRE, EN_COURS)) return null; // Annulée avant de démarrer
+        try {
+            return SuiviProgression.execute(this, calcul::calcule);
+        } finally {
+            etatCalcul.set(TERMINE);
+        }
+    }
+
+    /**
+     * @return true quand le calcul ne s'exécute plus. Contrairement à isDone(), qui devient vrai dès
+     *         cancel(), le calcul annulé n'est terminé qu'à son prochain point de contrôle : c'est
+     *         cette méthode qui indique qu'un autre traitement peut être lancé.
+     */
+    public boolean estTerminee() {
+        // Annulée avant d'avoir démarré : doInBackground ne démarrera plus le calcul
+        if (isCancelled()) etatCalcul.compareAndSet(NON_DEMARRE, TERMINE);
+        return etatCalcul.get() == TERMINE;
+    }
+
+    @Override
+    protected void done() {
+        minuterie.stop();
+        dialogue.dispose();
+        if (isCancelled()) {
+            // Le calcul s'arrêtera à son prochain point de contrôle ; son résultat sera ignoré
+            LOG.fine(() -> "Traitement annulé : " + titre);
+            return;
+        }
+        T resultat;
+        try {
+            resultat = get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof TraitementAnnuleException) {
+                LOG.fine(() -> "Traitement annulé : " + titre);
+            } else {
+                erreur.echec((cause instanceof Exception) ? (Exception) cause : new RuntimeException(cause));
+            }
+            return;
+        }
+        try {
+            suite.termine(resultat);
+        } catch (Exception ex) {
+            erreur.echec(ex);
+        }
+    }
+
+    // --- Progression (appelée depuis le thread de calcul ou les threads des opérateurs parallèles) ---
+
+    @Override
+    public void avance(double fraction) {
+        setProgress((int) Math.round(100 * Math.max(0.0, Math.min(1.0, fraction))));
+    }
+
+    @Override
+    public boolean estAnnulee() {
+        return isCancelled();
+    }
+}
@@ -0,0 +1,80 @@
+package test;
+
+import isilimageprocessing.lots.ExerciceLot;
+import isilimageprocessing.lots.TraitementLots;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import javax.imageio.ImageIO;
+
+/**
+ * Vérifie que deux entrées d'un lot qui ne diffèrent que par l'extension (c.png et c.jpg)
+ * produisent des sorties distinctes : chacune garde son extension dans le nom (c.png_*.png, c.jpg_*.png)
+ * et aucune n'écrase les résultats de l'autre.
+ */
+public class TesteurNomsLots {
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        System.out.println("--- Début du Test Noms de Sortie (lots) ---");
+
+        File dossier = Files.createTempDirectory("lot_noms").toFile();
+        File entree = new File(dossier, "entree");
+        File sortie = new File(dossier, "sortie");
+        entree.mkdirs();
+
+        // Deux images de contenu différent (noire et blanche) et de même nom de base
+        ecritImage(new File(entree, "c.png"), "png", 0);
+        ecritImage(new File(entree, "c.jpg"), "jpg", 255);
+        ecritImage(new File(entree, "d.png"), "png", 128);
+
+        int echecs = new TraitementLots(ExerciceLot.EX1, entree, sortie, 2, 1, 2, new ExerciceLot.Parametres())
+                .execute(new File(dossier, "rapport.csv"));
+
+        String[] noms = sortie.list((d, n) -> n.endsWith(".png"));
+        Arrays.sort(noms);
+        System.out.println("Sorties : " + Arrays.toString(noms));
+
+        boolean ok = echecs == 0;
+        ok &= verifie(noms, "c.png_", true);
+        ok &= verifie(noms, "c.jpg_", true);
+        ok &= verifie(noms, "c_", false);  // Ancien nom commun aux deux entrées
+        ok &= verifie(noms, "d_", true);   // Nom sans extension quand il n'y a pas de conflit
+        if (ok) {
+            ok = niveau(new File(sortie, premier(noms, "c.png_"))) < niveau(new File(sortie, premier(noms, "c.jpg_")));
+            System.out.println("Contenus distincts (noir pour c.png, blanc pour c.jpg) : " + ok);
+        }
+
+        System.out.println(ok ? "--- Test Noms de Sortie : SUCCÈS ---" : "--- Test Noms de Sortie : ÉCHEC ---");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static void ecritImage(File fichier, String format, int niveau) throws IOException {
+        BufferedImage image = new BufferedImage(16, 16, BufferedImage.TYPE_BYTE_GRAY);
+        for (int y = 0; y < 16; y++)
+            for (int x = 0; x < 16; x++)
+                image.getRaster().setSample(x, y, 0, niveau);
+        ImageIO.write(image, format, fichier);
+    }
+
+    private static boolean verifie(String[] noms, String prefixe, boolean attendu) {
+        boolean present = premier(noms, prefixe) != null;
+        if (present != attendu) {
+            System.err.println("Erreur : sortie " + prefixe + "*.png " + (attendu ? "absente" : "inattendue"));
+        }
+        return present == attendu;
+    }
+
+    private static String premier(String[] noms, String prefixe) {
+        for (String n : noms) if (n.startsWith(prefixe)) return n;
+        return null;
+    }
+
+    /** Niveau de gris du pixel central. */
+    private static int niveau(File fichier) throws IOException {
+        BufferedImage image = ImageIO.read(fichier);
+        return image.getRGB(image.getWidth() / 2, image.getHeight() / 2) & 0xFF;
+    }
+}